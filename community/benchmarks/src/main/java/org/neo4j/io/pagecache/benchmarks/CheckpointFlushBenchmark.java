@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.benchmarks;
+
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_buffered_flush_enabled;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.neo4j.configuration.Config;
+import org.neo4j.configuration.pagecache.ConfigurableIOBufferFactory;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.fs.FileUtils;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput, in flushed bytes per second, of checkpoint-like flushes of a mapped file.
+ * <p>
+ * Every invocation dirties the file in runs of {@code dirtyRun} pages, separated by a single clean page, and then
+ * flushes and forces it. The {@code flush} parameter compares flushes that copy pages into the flush buffer with
+ * flushes that gather them straight from page cache memory into vectored writes, and with unbuffered flushes.
+ * The {@code bytes} secondary result is the number of dirty bytes flushed per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(
+        value = 1,
+        jvmArgsAppend = {
+            "--add-opens=java.base/java.nio=ALL-UNNAMED",
+            "--add-opens=java.base/sun.nio.ch=ALL-UNNAMED",
+            "--add-exports=java.base/sun.nio.ch=ALL-UNNAMED"
+        })
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CheckpointFlushBenchmark {
+    public enum FlushMode {
+        COPY,
+        VECTORED,
+        UNBUFFERED
+    }
+
+    private static final int FILE_PAGES = 16_384;
+
+    @Param({"COPY", "VECTORED", "UNBUFFERED"})
+    public FlushMode flush;
+
+    @Param({"1", "8", "64"})
+    public int dirtyRun;
+
+    private Path directory;
+    private DefaultFileSystemAbstraction fs;
+    private ThreadPoolJobScheduler jobScheduler;
+    private MuninnPageCache pageCache;
+    private PagedFile pagedFile;
+    private long dirtyBytes;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class FlushedBytes {
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = PagedFileBenchmark.createDirectory("checkpoint-flush");
+        fs = new DefaultFileSystemAbstraction();
+        jobScheduler = new ThreadPoolJobScheduler();
+        var memoryTracker = new LocalMemoryTracker();
+        var bufferFactory = new ConfigurableIOBufferFactory(
+                Config.defaults(pagecache_buffered_flush_enabled, flush != FlushMode.UNBUFFERED), memoryTracker);
+        var swapperFactory =
+                new SingleFilePageSwapperFactory(fs, PageCacheTracer.NULL, EmptyMemoryTracker.INSTANCE);
+        var configuration = MuninnPageCache.config(FILE_PAGES + 1024)
+                .memoryTracker(memoryTracker)
+                .bufferFactory(bufferFactory)
+                .vectoredFlush(flush == FlushMode.VECTORED);
+        pageCache = new MuninnPageCache(swapperFactory, jobScheduler, configuration);
+
+        Path file = directory.resolve("store");
+        Files.createFile(file);
+        pagedFile = pageCache.map(file, pageCache.pageSize(), "neo4j");
+        // Load every page, so that the clean pages between the dirty runs are in memory, like they would be in a
+        // warm database.
+        dirtyPages(FILE_PAGES);
+        pagedFile.flushAndForce(FileFlushEvent.NULL);
+    }
+
+    @Setup(Level.Invocation)
+    public void dirtyPages() throws IOException {
+        dirtyBytes = dirtyPages(dirtyRun) * (long) pagedFile.pageSize();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pagedFile.close();
+        pageCache.close();
+        jobScheduler.shutdown();
+        fs.close();
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public void flushAndForce(FlushedBytes flushed) throws IOException {
+        pagedFile.flushAndForce(FileFlushEvent.NULL);
+        flushed.bytes += dirtyBytes;
+    }
+
+    private int dirtyPages(int run) throws IOException {
+        int dirtied = 0;
+        try (PageCursor cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+            for (int pageId = 0; pageId < FILE_PAGES; pageId++) {
+                if (pageId % (run + 1) == run) {
+                    continue;
+                }
+                if (cursor.next(pageId)) {
+                    cursor.putLong(0, pageId ^ System.nanoTime());
+                    dirtied++;
+                }
+            }
+        }
+        return dirtied;
+    }
+}
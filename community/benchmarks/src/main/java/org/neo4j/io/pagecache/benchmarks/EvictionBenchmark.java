@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.benchmarks;
+
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.context.EmptyVersionContextSupplier.EMPTY;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures page fault and eviction throughput when only part of a file fits in the page cache.
+ * <p>
+ * Every operation pins a random page of the file, so with {@code residentPercent} of the file in the page cache,
+ * roughly the remaining share of the pins fault, and every fault needs a page to be evicted, either by the eviction
+ * threads or by the faulting thread itself. With {@code dirty} set, the pages are written to, so evictions also have
+ * to flush. The {@code faults} and {@code cooperativeEvictions} secondary results count per second how many pins
+ * faulted, and how many evictions the faulting threads had to do themselves because the free lists ran dry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(
+        value = 1,
+        jvmArgsAppend = {
+            "--add-opens=java.base/java.nio=ALL-UNNAMED",
+            "--add-opens=java.base/sun.nio.ch=ALL-UNNAMED",
+            "--add-exports=java.base/sun.nio.ch=ALL-UNNAMED"
+        })
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+public class EvictionBenchmark extends PagedFileBenchmark {
+    private static final int FILE_PAGES = 65_536;
+
+    @Param({"10", "50", "90"})
+    public int residentPercent;
+
+    @Param({"false", "true"})
+    public boolean dirty;
+
+    @Override
+    protected int filePages() {
+        return FILE_PAGES;
+    }
+
+    @Override
+    protected int cachePages() {
+        return FILE_PAGES / 100 * residentPercent;
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Pins {
+        private final SplittableRandom random = new SplittableRandom();
+        private CursorContext cursorContext;
+        private PageCursor cursor;
+        private long faultsAtStart;
+        private long evictionsAtStart;
+
+        @Setup(Level.Trial)
+        public void setUp(EvictionBenchmark benchmark) throws IOException {
+            cursorContext = new CursorContextFactory(benchmark.pageCacheTracer, EMPTY).create("evictionBenchmark");
+            int flags = benchmark.dirty ? PF_SHARED_WRITE_LOCK : PF_SHARED_READ_LOCK;
+            cursor = benchmark.pagedFile.io(0, flags, cursorContext);
+        }
+
+        @Setup(Level.Iteration)
+        public void resetCounters() {
+            PageCursorTracer cursorTracer = cursorContext.getCursorTracer();
+            faultsAtStart = cursorTracer.faults();
+            evictionsAtStart = cursorTracer.evictions();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            cursor.close();
+            cursorContext.close();
+        }
+
+        public long faults() {
+            return cursorContext.getCursorTracer().faults() - faultsAtStart;
+        }
+
+        public long cooperativeEvictions() {
+            return cursorContext.getCursorTracer().evictions() - evictionsAtStart;
+        }
+    }
+
+    @Benchmark
+    public void pinRandomPage(EvictionBenchmark benchmark, Pins pins) throws IOException {
+        PageCursor cursor = pins.cursor;
+        long pageId = pins.random.nextInt(FILE_PAGES);
+        if (!cursor.next(pageId)) {
+            throw new IllegalStateException("Page outside of the file");
+        }
+        if (benchmark.dirty) {
+            cursor.putLong(0, pageId);
+        }
+    }
+}
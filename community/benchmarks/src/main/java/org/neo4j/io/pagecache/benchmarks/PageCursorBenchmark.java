@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.benchmarks;
+
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.context.EmptyVersionContextSupplier.EMPTY;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of pinning, reading or writing, and unpinning a page that is resident in the page cache.
+ * <p>
+ * Every operation moves a long-lived cursor to another page, so this covers the pin and unpin paths of the read and
+ * write cursors, and the optimistic read lock of read cursors, without any page faults. The {@code access} parameter
+ * picks the page ids: {@code SEQUENTIAL} scans the file, {@code RANDOM} picks any page of the file, and {@code HOT}
+ * picks from a handful of pages, which makes the contended variants fight over the same page locks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(
+        value = 1,
+        jvmArgsAppend = {
+            "--add-opens=java.base/java.nio=ALL-UNNAMED",
+            "--add-opens=java.base/sun.nio.ch=ALL-UNNAMED",
+            "--add-exports=java.base/sun.nio.ch=ALL-UNNAMED"
+        })
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PageCursorBenchmark extends PagedFileBenchmark {
+    public enum Access {
+        SEQUENTIAL,
+        RANDOM,
+        HOT
+    }
+
+    private static final int FILE_PAGES = 8_192;
+    private static final int HOT_PAGES = 8;
+    private static final int CONTENDING_THREADS = 4;
+
+    @Param({"SEQUENTIAL", "RANDOM", "HOT"})
+    public Access access;
+
+    @Override
+    protected int filePages() {
+        return FILE_PAGES;
+    }
+
+    @Override
+    protected int cachePages() {
+        // Leave room for the eviction threads to keep their free lists full, so every page stays resident.
+        return FILE_PAGES + 1024;
+    }
+
+    @State(Scope.Thread)
+    public static class Cursors {
+        private final SplittableRandom random = new SplittableRandom();
+        private CursorContext cursorContext;
+        private PageCursor reader;
+        private PageCursor writer;
+        private Access access;
+        private long sequentialPageId;
+
+        @Setup(Level.Trial)
+        public void setUp(PageCursorBenchmark benchmark) throws IOException {
+            access = benchmark.access;
+            cursorContext = new CursorContextFactory(benchmark.pageCacheTracer, EMPTY).create("pageCursorBenchmark");
+            reader = benchmark.pagedFile.io(0, PF_SHARED_READ_LOCK, cursorContext);
+            writer = benchmark.pagedFile.io(0, PF_SHARED_WRITE_LOCK, cursorContext);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            reader.close();
+            writer.close();
+            cursorContext.close();
+        }
+
+        long nextPageId() {
+            return switch (access) {
+                case SEQUENTIAL -> sequentialPageId = (sequentialPageId + 1) % FILE_PAGES;
+                case RANDOM -> random.nextInt(FILE_PAGES);
+                case HOT -> random.nextInt(HOT_PAGES);
+            };
+        }
+
+        long read() throws IOException {
+            long value;
+            if (!reader.next(nextPageId())) {
+                throw new IllegalStateException("Page outside of the file");
+            }
+            do {
+                value = reader.getLong(0);
+            } while (reader.shouldRetry());
+            return value;
+        }
+
+        void write() throws IOException {
+            long pageId = nextPageId();
+            if (!writer.next(pageId)) {
+                throw new IllegalStateException("Page outside of the file");
+            }
+            writer.putLong(0, pageId);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long read(Cursors cursors) throws IOException {
+        return cursors.read();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void write(Cursors cursors) throws IOException {
+        cursors.write();
+    }
+
+    @Benchmark
+    @Threads(CONTENDING_THREADS)
+    public long contendedRead(Cursors cursors) throws IOException {
+        return cursors.read();
+    }
+
+    @Benchmark
+    @Threads(CONTENDING_THREADS)
+    public void contendedWrite(Cursors cursors) throws IOException {
+        cursors.write();
+    }
+}
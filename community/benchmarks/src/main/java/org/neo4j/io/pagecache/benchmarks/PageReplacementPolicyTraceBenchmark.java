@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.benchmarks;
+
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.fs.FileUtils;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.impl.muninn.PageReplacementPolicy;
+import org.neo4j.io.pagecache.monitoring.PageFileAccesses;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Replays a {@link PinTrace} against page caches with different {@link PageReplacementPolicy replacement policies},
+ * starting from an empty page cache every time, and measures how long a replay takes and how many of its pins hit.
+ * <p>
+ * The trace is read from the file given by the {@code trace} parameter, e.g. {@code -p trace=/path/to/pins.trace}, and
+ * one recorded with a {@link PinTrace.Recorder} works. Without a trace, a generated workload is replayed, where a
+ * sequential scan that is much larger than the page cache runs alongside random pins of a small hot set of pages. The
+ * page cache holds {@code cachePercent} percent of the pages of the files in the trace. The background eviction thread
+ * is disabled, so that the pins that hit only depend on the trace and the policy.
+ * <p>
+ * The {@code hits} and {@code faults} secondary results are the number of pins of a replay that hit and faulted. Run
+ * {@link #main(String[])} with a trace file, and optionally a cache percentage, to only print the hit ratio of every
+ * policy without measuring time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(
+        value = 1,
+        jvmArgsAppend = {
+            "--add-opens=java.base/java.nio=ALL-UNNAMED",
+            "--add-opens=java.base/sun.nio.ch=ALL-UNNAMED",
+            "--add-exports=java.base/sun.nio.ch=ALL-UNNAMED"
+        })
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class PageReplacementPolicyTraceBenchmark {
+    private static final int GENERATED_HOT_PAGES = 400;
+    private static final int GENERATED_SCAN_PAGES = 10_000;
+    private static final int GENERATED_SCAN_ROUNDS = 5;
+    private static final int GENERATED_SCAN_PAGES_PER_HOT_PIN = 2;
+
+    @Param("")
+    public String trace;
+
+    @Param({"CLOCK", "SCAN_RESISTANT"})
+    public PageReplacementPolicy policy;
+
+    @Param({"10", "50"})
+    public int cachePercent;
+
+    private PinTrace pinTrace;
+    private Path directory;
+    private DefaultFileSystemAbstraction fs;
+    private ThreadPoolJobScheduler jobScheduler;
+    private MuninnPageCache pageCache;
+    private final Map<String, PageCursor> cursors = new HashMap<>();
+    private final List<PagedFile> pagedFiles = new ArrayList<>();
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Accesses {
+        public long hits;
+        public long faults;
+    }
+
+    @Setup(Level.Trial)
+    public void setUpFiles() throws IOException {
+        pinTrace = trace.isEmpty() ? generateTrace(new SplittableRandom(42)) : PinTrace.read(Path.of(trace));
+        directory = PagedFileBenchmark.createDirectory(getClass().getSimpleName());
+        fs = new DefaultFileSystemAbstraction();
+        jobScheduler = new ThreadPoolJobScheduler();
+        createFiles();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownFiles() throws IOException {
+        jobScheduler.shutdown();
+        fs.close();
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Setup(Level.Iteration)
+    public void startPageCache() throws IOException {
+        int cachePages = (int) Math.max(2, totalFilePages() * cachePercent / 100);
+        var configuration = MuninnPageCache.config(cachePages).replacementPolicy(policy).disableEvictionThread();
+        pageCache = startPageCache(configuration);
+        for (String file : pinTrace.filePages().keySet()) {
+            PagedFile pagedFile = pageCache.map(directory.resolve(file), pageCache.pageSize(), "neo4j");
+            pagedFiles.add(pagedFile);
+            cursors.put(file, pagedFile.io(0, PF_SHARED_READ_LOCK, NULL_CONTEXT));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopPageCache() {
+        cursors.values().forEach(PageCursor::close);
+        cursors.clear();
+        pagedFiles.forEach(PagedFile::close);
+        pagedFiles.clear();
+        pageCache.close();
+    }
+
+    @Benchmark
+    public void replay(Accesses accesses) throws IOException {
+        for (PinTrace.Pin pin : pinTrace.pins()) {
+            if (!cursors.get(pin.file()).next(pin.filePageId())) {
+                throw new IllegalStateException("Page outside of the file: " + pin);
+            }
+        }
+        for (PagedFile pagedFile : pagedFiles) {
+            PageFileAccesses fileAccesses = pagedFile.accesses();
+            accesses.hits += fileAccesses.hits();
+            accesses.faults += fileAccesses.faults();
+        }
+    }
+
+    /**
+     * Prints the hit ratio of every replacement policy when replaying a trace.
+     *
+     * @param args the trace file, and optionally the percentage of the pages of the traced files that the page cache
+     * holds, 10 by default.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1 || args.length > 2) {
+            String name = PageReplacementPolicyTraceBenchmark.class.getSimpleName();
+            System.err.println("Usage: " + name + " <trace file> [cache percent]");
+            System.exit(1);
+        }
+        var benchmark = new PageReplacementPolicyTraceBenchmark();
+        benchmark.trace = args[0];
+        benchmark.cachePercent = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        benchmark.setUpFiles();
+        try {
+            System.out.printf(
+                    "%d pins of %d pages, %d%% of which fit in the page cache%n",
+                    benchmark.pinTrace.pins().size(), benchmark.totalFilePages(), benchmark.cachePercent);
+            for (PageReplacementPolicy policy : PageReplacementPolicy.values()) {
+                benchmark.policy = policy;
+                var accesses = new Accesses();
+                benchmark.startPageCache();
+                try {
+                    benchmark.replay(accesses);
+                } finally {
+                    benchmark.stopPageCache();
+                }
+                double hitRatio = (double) accesses.hits / Math.max(1, accesses.hits + accesses.faults);
+                System.out.printf(
+                        "%-16s hit ratio %.4f (%d hits, %d faults)%n",
+                        policy, hitRatio, accesses.hits, accesses.faults);
+            }
+        } finally {
+            benchmark.tearDownFiles();
+        }
+    }
+
+    private long totalFilePages() {
+        return pinTrace.filePages().values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private void createFiles() throws IOException {
+        try (MuninnPageCache writePageCache = startPageCache(MuninnPageCache.config(1000))) {
+            for (Map.Entry<String, Long> file : pinTrace.filePages().entrySet()) {
+                Path path = directory.resolve(file.getKey());
+                Files.createFile(path);
+                try (PagedFile pagedFile = writePageCache.map(path, writePageCache.pageSize(), "neo4j");
+                        PageCursor cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+                    for (long pageId = 0; pageId < file.getValue(); pageId++) {
+                        if (cursor.next()) {
+                            cursor.putLong(pageId);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private MuninnPageCache startPageCache(MuninnPageCache.Configuration configuration) {
+        var swapperFactory = new SingleFilePageSwapperFactory(fs, PageCacheTracer.NULL, EmptyMemoryTracker.INSTANCE);
+        return new MuninnPageCache(swapperFactory, jobScheduler, configuration);
+    }
+
+    private static PinTrace generateTrace(SplittableRandom random) {
+        List<PinTrace.Pin> pins = new ArrayList<>();
+        // Warm up the hot set, so it is well established in the cache before the scans begin.
+        for (int i = 0; i < 2; i++) {
+            for (int hotPage = 0; hotPage < GENERATED_HOT_PAGES; hotPage++) {
+                pins.add(new PinTrace.Pin("hot", hotPage));
+            }
+        }
+        for (int round = 0; round < GENERATED_SCAN_ROUNDS; round++) {
+            for (int scanPage = 0; scanPage < GENERATED_SCAN_PAGES; scanPage++) {
+                pins.add(new PinTrace.Pin("scan", scanPage));
+                if (scanPage % GENERATED_SCAN_PAGES_PER_HOT_PIN == 0) {
+                    pins.add(new PinTrace.Pin("hot", random.nextInt(GENERATED_HOT_PAGES)));
+                }
+            }
+        }
+        return new PinTrace(pins);
+    }
+}
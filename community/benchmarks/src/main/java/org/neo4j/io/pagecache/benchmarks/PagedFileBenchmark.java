@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.benchmarks;
+
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.fs.FileUtils;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Base state for benchmarks that work on a single file, mapped by a {@link MuninnPageCache} of a given size.
+ * <p>
+ * The file is written in full and flushed before the trial starts, so every page holds data. It is created in a fresh
+ * directory under the directory named by the {@value #DIRECTORY_PROPERTY} system property, or under the default
+ * temporary directory if the property is not set. Point the property at a tmpfs mount to take the storage device out
+ * of the measurements.
+ */
+@State(Scope.Benchmark)
+public abstract class PagedFileBenchmark {
+    public static final String DIRECTORY_PROPERTY = "neo4j.benchmarks.dir";
+
+    protected final DefaultPageCacheTracer pageCacheTracer = new DefaultPageCacheTracer();
+    protected MuninnPageCache pageCache;
+    protected PagedFile pagedFile;
+
+    private Path directory;
+    private DefaultFileSystemAbstraction fs;
+    private ThreadPoolJobScheduler jobScheduler;
+
+    /**
+     * @return the number of pages in the mapped file.
+     */
+    protected abstract int filePages();
+
+    /**
+     * @return the number of pages the page cache can hold.
+     */
+    protected abstract int cachePages();
+
+    @Setup(Level.Trial)
+    public void setUpPagedFile() throws IOException {
+        directory = createDirectory(getClass().getSimpleName());
+        fs = new DefaultFileSystemAbstraction();
+        jobScheduler = new ThreadPoolJobScheduler();
+        var swapperFactory = new SingleFilePageSwapperFactory(fs, pageCacheTracer, EmptyMemoryTracker.INSTANCE);
+        pageCache = new MuninnPageCache(
+                swapperFactory,
+                jobScheduler,
+                MuninnPageCache.config(cachePages()).pageCacheTracer(pageCacheTracer));
+
+        Path file = directory.resolve("store");
+        Files.createFile(file);
+        pagedFile = pageCache.map(file, pageCache.pageSize(), "neo4j");
+        try (PageCursor cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+            for (int pageId = 0; pageId < filePages(); pageId++) {
+                if (cursor.next()) {
+                    for (int offset = 0; offset < pagedFile.pageSize(); offset += Long.BYTES) {
+                        cursor.putLong(offset, pageId + offset);
+                    }
+                }
+            }
+        }
+        pagedFile.flushAndForce(FileFlushEvent.NULL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownPagedFile() throws IOException {
+        pagedFile.close();
+        pageCache.close();
+        jobScheduler.shutdown();
+        fs.close();
+        FileUtils.deleteDirectory(directory);
+    }
+
+    static Path createDirectory(String prefix) throws IOException {
+        String base = System.getProperty(DIRECTORY_PROPERTY);
+        return base == null ? Files.createTempDirectory(prefix) : Files.createTempDirectory(Path.of(base), prefix);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.neo4j.io.pagecache.PageSwapper;
+import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
+import org.neo4j.io.pagecache.tracing.PinEvent;
+import org.neo4j.io.pagecache.tracing.cursor.DefaultPageCursorTracer;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
+
+/**
+ * The pins of a workload against a page cache, in the order they happened, so that the workload can be replayed
+ * against page caches that are configured differently.
+ * <p>
+ * A trace is stored as text, with one pin per line: the name of the pinned file, a space, and the id of the pinned
+ * page in that file. Empty lines, and lines that start with {@code #}, are ignored. Files are only identified by their
+ * name, not by their directory. Record a trace by running the workload with a {@link Recorder} as the page cache
+ * tracer, and {@link #write(Path) write} what it has recorded.
+ *
+ * @param pins the pins of the trace, in the order they happened.
+ */
+public record PinTrace(List<Pin> pins) {
+    private static final String COMMENT = "#";
+
+    public record Pin(String file, long filePageId) {}
+
+    public static PinTrace read(Path path) throws IOException {
+        List<Pin> pins = new ArrayList<>();
+        for (String line : Files.readAllLines(path)) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith(COMMENT)) {
+                continue;
+            }
+            int separator = line.lastIndexOf(' ');
+            if (separator <= 0) {
+                throw new IOException("Malformed pin '" + line + "' in trace " + path);
+            }
+            try {
+                pins.add(new Pin(line.substring(0, separator).strip(), Long.parseLong(line.substring(separator + 1))));
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed pin '" + line + "' in trace " + path, e);
+            }
+        }
+        return new PinTrace(pins);
+    }
+
+    public void write(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            for (Pin pin : pins) {
+                writer.write(pin.file());
+                writer.write(' ');
+                writer.write(Long.toString(pin.filePageId()));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * @return the number of pages that every file of the trace must at least have, by file name, in the order the
+     * files are first pinned.
+     */
+    public Map<String, Long> filePages() {
+        Map<String, Long> filePages = new LinkedHashMap<>();
+        for (Pin pin : pins) {
+            filePages.merge(pin.file(), pin.filePageId() + 1, Math::max);
+        }
+        return filePages;
+    }
+
+    /**
+     * A page cache tracer that, on top of what the {@link DefaultPageCacheTracer} does, records every pin of every
+     * page cursor. Pins from concurrent cursors are recorded in the order their pin events begin.
+     */
+    public static class Recorder extends DefaultPageCacheTracer {
+        private final Queue<Pin> pins = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public PageCursorTracer createPageCursorTracer(String tag) {
+            return new DefaultPageCursorTracer(this, tag) {
+                @Override
+                public PinEvent beginPin(boolean writeLock, long filePageId, PageSwapper swapper) {
+                    pins.add(new Pin(swapper.path().getFileName().toString(), filePageId));
+                    return super.beginPin(writeLock, filePageId, swapper);
+                }
+            };
+        }
+
+        /**
+         * @return the pins that have been recorded so far.
+         */
+        public PinTrace trace() {
+            return new PinTrace(List.copyOf(pins));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures how the {@link LatchMap} copes with concurrent page faults.
+ * <p>
+ * Every operation takes, or waits for, the latch of a random page id out of {@code pages} ids, and releases the
+ * latch after a short stand-in for the fault if it got it. With a single page id, all threads fault the same page
+ * and most of them end up waiting for the one thread that took the latch. With more page ids than latch stripes, the
+ * faults collide on the stripes instead.
+ * This lives in the package of the page cache, because the latch map is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+public class LatchMapBenchmark {
+    // Stands in for the work of the page fault itself, so that the latch is held long enough for others to wait on it.
+    private static final long FAULT_TOKENS = 100;
+
+    @Param({"1", "16", "1024"})
+    public int pages;
+
+    private final LatchMap latchMap = new LatchMap(LatchMap.DEFAULT_FAULT_LOCK_STRIPING);
+
+    @State(Scope.Thread)
+    public static class PageIds {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public boolean takeOrAwaitLatch(PageIds pageIds) {
+        LatchMap.Latch latch = latchMap.takeOrAwaitLatch(pageIds.random.nextInt(pages));
+        if (latch != null) {
+            Blackhole.consumeCPU(FAULT_TOKENS);
+            latch.release();
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking.forseti;
+
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.lock_manager_striped_lock_table;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.neo4j.configuration.Config;
+import org.neo4j.kernel.impl.api.LeaseService;
+import org.neo4j.kernel.impl.locking.Locks;
+import org.neo4j.lock.LockTracer;
+import org.neo4j.lock.ResourceTypes;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.time.Clocks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how fast {@link ForsetiClient}s acquire and release locks, with the lock tables of the lock manager backed
+ * by either concurrent hash maps or {@link StripedLockTable striped primitive hash tables}.
+ * <p>
+ * Every operation locks a random node out of {@code resources} nodes, and releases it again. With few resources, the
+ * shared locks have many holders at the same time and the exclusive locks often have to wait for each other, while
+ * with many resources the cost is dominated by inserting locks into, and removing them from, the lock table. Run with
+ * {@code -prof gc} to compare the allocation rates of the lock tables.
+ * <p>
+ * The benchmark runs with 8 threads by default. To see how the lock tables scale, run it with {@code -t} set to each
+ * of 1, 8, 32 and 128 threads.
+ * This lives in the package of the lock manager, because the lock tables are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+public class ForsetiLockBenchmark {
+    @Param({"false", "true"})
+    public boolean stripedLockTable;
+
+    @Param({"64", "1000000"})
+    public int resources;
+
+    private final AtomicLong transactionIds = new AtomicLong();
+    private Config config;
+    private Locks lockManager;
+
+    @Setup
+    public void setUp() {
+        config = Config.defaults(lock_manager_striped_lock_table, stripedLockTable);
+        lockManager = new ForsetiLockManager(config, Clocks.nanoClock(), ResourceTypes.values());
+    }
+
+    @TearDown
+    public void tearDown() {
+        lockManager.close();
+    }
+
+    @State(Scope.Thread)
+    public static class LockClient {
+        private final SplittableRandom random = new SplittableRandom();
+        private Locks.Client client;
+
+        @Setup(Level.Iteration)
+        public void setUp(ForsetiLockBenchmark benchmark) {
+            client = benchmark.lockManager.newClient();
+            client.initialize(
+                    LeaseService.NoLeaseClient.INSTANCE,
+                    benchmark.transactionIds.incrementAndGet(),
+                    EmptyMemoryTracker.INSTANCE,
+                    benchmark.config);
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            client.close();
+        }
+
+        long nextResource(int resources) {
+            return random.nextInt(resources);
+        }
+    }
+
+    @Benchmark
+    public void acquireAndReleaseShared(LockClient lockClient) {
+        long resourceId = lockClient.nextResource(resources);
+        lockClient.client.acquireShared(LockTracer.NONE, ResourceTypes.NODE, resourceId);
+        lockClient.client.releaseShared(ResourceTypes.NODE, resourceId);
+    }
+
+    @Benchmark
+    public void acquireAndReleaseExclusive(LockClient lockClient) {
+        long resourceId = lockClient.nextResource(resources);
+        lockClient.client.acquireExclusive(LockTracer.NONE, ResourceTypes.NODE, resourceId);
+        lockClient.client.releaseExclusive(ResourceTypes.NODE, resourceId);
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.benchmarks;
+
+import static org.neo4j.common.Subject.ANONYMOUS;
+import static org.neo4j.internal.recordstorage.RecordStorageCommandReaderFactory.LATEST_LOG_SERIALIZATION;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.storageengine.api.TransactionIdStore.BASE_TX_CHECKSUM;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.neo4j.internal.recordstorage.Command;
+import org.neo4j.internal.recordstorage.RecordStorageCommandReaderFactory;
+import org.neo4j.kernel.KernelVersion;
+import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.kernel.impl.transaction.log.CompleteTransaction;
+import org.neo4j.kernel.impl.transaction.log.InMemoryClosableChannel;
+import org.neo4j.kernel.impl.transaction.log.entry.CompressingLogEntryWriter;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntry;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryCommit;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryReader;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryWriter;
+import org.neo4j.kernel.impl.transaction.log.entry.VersionAwareLogEntryReader;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.storageengine.api.StorageCommand;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares writing the commands of each transaction as one compressed block in the transaction log with writing them
+ * as individual command entries, on a mixed write workload of created and updated nodes, relationships and properties.
+ * <p>
+ * {@code append} writes a transaction the way the transaction log writer does, and {@code recover} reads one back
+ * through the {@link VersionAwareLogEntryReader}, the way recovery and the reverse transaction cursors do. Both work
+ * against an in memory channel, to measure the encoding cost rather than the disk. The {@code bytesPerTransaction}
+ * secondary result of {@code append} is what a transaction takes up in the log, which is what the disk pays for.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CommandBatchCompressionBenchmark {
+    private static final KernelVersion VERSION = KernelVersion.V5_0;
+    private static final int TRANSACTIONS = 256;
+    private static final int CHANNEL_SIZE = 1 << 20;
+
+    @Param({"false", "true"})
+    public boolean compressed;
+
+    @Param({"10", "100", "1000"})
+    public int commandsPerTransaction;
+
+    private CompleteTransaction[] transactions;
+    private InMemoryClosableChannel appendChannel;
+    private LogEntryWriter<InMemoryClosableChannel> appendWriter;
+    private InMemoryClosableChannel recoveryChannel;
+    private LogEntryReader reader;
+    private int nextTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        transactions = new MixedWorkload(commandsPerTransaction).transactions(TRANSACTIONS);
+        appendChannel = new InMemoryClosableChannel(CHANNEL_SIZE);
+        appendWriter = writer(appendChannel);
+
+        recoveryChannel = new InMemoryClosableChannel(CHANNEL_SIZE * 64, true);
+        LogEntryWriter<InMemoryClosableChannel> recoveryWriter = writer(recoveryChannel);
+        for (CompleteTransaction transaction : transactions) {
+            append(recoveryWriter, transaction);
+        }
+        reader = new VersionAwareLogEntryReader(RecordStorageCommandReaderFactory.INSTANCE);
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class LogSize {
+        private long bytes;
+        private long transactions;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            transactions = 0;
+        }
+
+        public double bytesPerTransaction() {
+            return transactions == 0 ? 0 : (double) bytes / transactions;
+        }
+    }
+
+    @Benchmark
+    public int append(LogSize logSize) throws IOException {
+        appendChannel.positionWriter(0);
+        int checksum = append(appendWriter, nextTransaction());
+        logSize.bytes += appendChannel.writerPosition();
+        logSize.transactions++;
+        return checksum;
+    }
+
+    @Benchmark
+    public void recover(Blackhole blackhole) throws IOException {
+        LogEntry entry = reader.readLogEntry(recoveryChannel);
+        if (entry == null) {
+            recoveryChannel.positionReader(0);
+            entry = reader.readLogEntry(recoveryChannel);
+        }
+        while (!(entry instanceof LogEntryCommit)) {
+            blackhole.consume(entry);
+            entry = reader.readLogEntry(recoveryChannel);
+        }
+        blackhole.consume(entry);
+    }
+
+    private LogEntryWriter<InMemoryClosableChannel> writer(InMemoryClosableChannel channel) {
+        return compressed ? new CompressingLogEntryWriter<>(channel, VERSION) : new LogEntryWriter<>(channel, VERSION);
+    }
+
+    private static int append(LogEntryWriter<InMemoryClosableChannel> writer, CompleteTransaction transaction)
+            throws IOException {
+        writer.writeStartEntry(
+                transaction.getTimeStarted(),
+                transaction.getLatestCommittedTxWhenStarted(),
+                BASE_TX_CHECKSUM,
+                transaction.additionalHeader());
+        writer.serialize(transaction);
+        long transactionId = transaction.getLatestCommittedTxWhenStarted() + 1;
+        return writer.writeCommitEntry(transactionId, transaction.getTimeCommitted());
+    }
+
+    private CompleteTransaction nextTransaction() {
+        CompleteTransaction transaction = transactions[nextTransaction];
+        nextTransaction = (nextTransaction + 1) % transactions.length;
+        return transaction;
+    }
+
+    /**
+     * Transactions that create nodes with a couple of inlined properties and connect them with relationships to
+     * previously created nodes, mixed with updates of previously created nodes. Ids are handed out sequentially, like
+     * a store without much reuse would.
+     */
+    private static class MixedWorkload {
+        private final SplittableRandom random = new SplittableRandom(42);
+        private final int commandsPerTransaction;
+        private long nextNodeId;
+        private long nextRelationshipId;
+        private long nextPropertyId;
+
+        MixedWorkload(int commandsPerTransaction) {
+            this.commandsPerTransaction = commandsPerTransaction;
+        }
+
+        CompleteTransaction[] transactions(int count) {
+            CompleteTransaction[] transactions = new CompleteTransaction[count];
+            long time = System.currentTimeMillis();
+            for (int i = 0; i < count; i++) {
+                List<StorageCommand> commands = new ArrayList<>(commandsPerTransaction);
+                while (commands.size() < commandsPerTransaction) {
+                    if (nextNodeId > 0 && random.nextInt(4) == 0) {
+                        updateNode(commands);
+                    } else {
+                        createNode(commands);
+                    }
+                }
+                transactions[i] = new CompleteTransaction(
+                        commands, new byte[0], time + i, i, time + i + 1, -1, VERSION, ANONYMOUS);
+            }
+            return transactions;
+        }
+
+        private void createNode(List<StorageCommand> commands) {
+            long nodeId = nextNodeId++;
+            long propertyId = nextPropertyId++;
+            long relationshipId = nodeId > 0 ? nextRelationshipId++ : -1;
+
+            NodeRecord node = new NodeRecord(nodeId).initialize(true, propertyId, false, relationshipId, 0);
+            node.setCreated();
+            commands.add(new Command.NodeCommand(LATEST_LOG_SERIALIZATION, new NodeRecord(nodeId), node));
+            commands.add(propertyCommand(propertyId, node));
+            if (relationshipId != -1) {
+                long otherNodeId = random.nextLong(nodeId);
+                RelationshipRecord relationship = new RelationshipRecord(relationshipId)
+                        .initialize(true, -1, nodeId, otherNodeId, random.nextInt(4), 1, -1, 1, -1, true, true);
+                relationship.setCreated();
+                commands.add(new Command.RelationshipCommand(
+                        LATEST_LOG_SERIALIZATION, new RelationshipRecord(relationshipId), relationship));
+            }
+        }
+
+        private void updateNode(List<StorageCommand> commands) {
+            long nodeId = random.nextLong(nextNodeId);
+            NodeRecord before = new NodeRecord(nodeId).initialize(true, nodeId, false, -1, 0);
+            NodeRecord after = new NodeRecord(nodeId).initialize(true, nodeId, false, -1, 0);
+            commands.add(new Command.NodeCommand(LATEST_LOG_SERIALIZATION, before, after));
+            commands.add(propertyCommand(nodeId, after));
+        }
+
+        private Command.PropertyCommand propertyCommand(long propertyId, NodeRecord owner) {
+            PropertyRecord property = new PropertyRecord(propertyId, owner).initialize(true, -1, -1);
+            property.addPropertyBlock(block(0, Values.longValue(random.nextLong(1_000_000))));
+            property.addPropertyBlock(block(1, Values.stringValue("user" + owner.getId())));
+            return new Command.PropertyCommand(LATEST_LOG_SERIALIZATION, new PropertyRecord(propertyId), property);
+        }
+
+        private static PropertyBlock block(int keyId, Value value) {
+            PropertyBlock block = new PropertyBlock();
+            PropertyStore.encodeValue(block, keyId, value, null, null, NULL_CONTEXT, EmptyMemoryTracker.INSTANCE);
+            return block;
+        }
+    }
+}
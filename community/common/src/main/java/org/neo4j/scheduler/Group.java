@@ -34,6 +34,8 @@ public enum Group {
     PAGE_CACHE_EVICTION("PageCacheEviction"),
     /* Page cache background eviction. */
     PAGE_CACHE_PRE_FETCHER("PageCachePreFetcher", ExecutorServiceFactory.cachedWithDiscard(), 4),
+    /** Page cache profiling and warmup. */
+    PAGE_CACHE_WARMER("PageCacheWarmer"),
     /** Watch out for, and report, external manipulation of store files. */
     FILE_WATCHER("FileWatcher", ExecutorServiceFactory.unschedulable()),
     /** Monitor and report system-wide pauses, in case they lead to service interruption. */
@@ -48,6 +50,12 @@ public enum Group {
     INDEX_CLEANUP("IndexCleanup"),
     /** Index recovery cleanup work. */
     INDEX_CLEANUP_WORK("IndexCleanupWork"),
+    /** Reads and decodes transactions ahead of their application during recovery. */
+    RECOVERY_READ_AHEAD("RecoveryReadAhead"),
+    /** Checks the tail of the transaction log for bytes after the last entry during recovery. */
+    RECOVERY_LOG_TAIL_SCAN("RecoveryLogTailScan"),
+    /** Zeroes transaction log files that are kept as spares for log rotation. */
+    TRANSACTION_LOG_SPARE_FILES("TransactionLogSpareFiles"),
     /** Terminates kernel transactions that have timed out. */
     TRANSACTION_TIMEOUT_MONITOR("TransactionTimeoutMonitor"),
     /** Background index population. */
@@ -71,6 +79,10 @@ public enum Group {
     /** Thread pool for anyone who want some help doing file IO in parallel. */
     FILE_IO_HELPER("FileIOHelper"),
     LOG_WRITER("LOG_WRITER"),
+    /** Applies transactions to the store once they have been appended and forced, with pipelined commit. */
+    STORE_APPLY("StoreApply"),
+    /** Applies single transactions to the store for the store apply stage, with more than one pipelined applier. */
+    STORE_APPLY_WORK("StoreApplyWork"),
     NATIVE_SECURITY("NativeSecurity"),
     METRICS_CSV_WRITE("MetricsCsvWrite"),
     METRICS_GRAPHITE_WRITE("MetricsGraphiteWrite"),
@@ -2400,6 +2400,54 @@ public abstract class PageCacheTest<T extends PageCache> extends PageCacheTestSu
         });
     }
 
+    @Test
+    void perFileTracerMustAttributePinsToTheFileTheyBelongTo() {
+        assertTimeoutPreemptively(ofMillis(SHORT_TIMEOUT_MILLIS), () -> {
+            DefaultPageCacheTracer tracer = new DefaultPageCacheTracer(true);
+            var contextFactory = new CursorContextFactory(tracer, EMPTY);
+            getPageCache(fs, maxPages, tracer);
+
+            generateFileWithRecords(
+                    file("a"), recordCount, recordSize, recordsPerFilePage, reservedBytes, filePageSize);
+            generateFileWithRecords(
+                    file("b"), recordCount / 2, recordSize, recordsPerFilePage, reservedBytes, filePageSize);
+
+            try (CursorContext cursorContext =
+                            contextFactory.create("perFileTracerMustAttributePinsToTheFileTheyBelongTo");
+                    PagedFile pagedFileA = map(file("a"), filePageSize);
+                    PagedFile pagedFileB = map(file("b"), filePageSize)) {
+                long initialPinsA = pagedFileA.pageFileCounters().pins();
+                long initialPinsB = pagedFileB.pageFileCounters().pins();
+                long pagesA = 0;
+                long pagesB = 0;
+                // Alternate between the files with the same cursor context, so their events are interleaved.
+                try (PageCursor cursorA = pagedFileA.io(0, PF_SHARED_READ_LOCK, cursorContext);
+                        PageCursor cursorB = pagedFileB.io(0, PF_SHARED_READ_LOCK, cursorContext)) {
+                    boolean moreA = cursorA.next();
+                    boolean moreB = cursorB.next();
+                    while (moreA || moreB) {
+                        if (moreA) {
+                            pagesA++;
+                            moreA = cursorA.next();
+                        }
+                        if (moreB) {
+                            pagesB++;
+                            moreB = cursorB.next();
+                        }
+                    }
+                }
+
+                var countersA = pagedFileA.pageFileCounters();
+                var countersB = pagedFileB.pageFileCounters();
+                assertThat(countersA.pins()).as("pins of a").isEqualTo(initialPinsA + pagesA);
+                assertThat(countersB.pins()).as("pins of b").isEqualTo(initialPinsB + pagesB);
+                assertThat(countersA.unpins()).as("unpins of a").isEqualTo(countersA.pins());
+                assertThat(countersB.unpins()).as("unpins of b").isEqualTo(countersB.pins());
+                assertThat(pagesA).as("pages of a").isGreaterThan(pagesB);
+            }
+        });
+    }
+
     @Test
     void tracerMustBeNotifiedOfReadAndWritePins() throws Exception {
         final AtomicInteger writeCount = new AtomicInteger();
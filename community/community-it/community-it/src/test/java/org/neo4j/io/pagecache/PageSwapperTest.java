@@ -522,6 +522,53 @@ public abstract class PageSwapperTest {
         assertThat(getInt(result, 0)).isEqualTo(0);
     }
 
+    @Test
+    void positionedVectoredReadMustFillAllBuffersInOrder() throws Exception {
+        Path file = file("file");
+        PageSwapperFactory factory = createSwapperFactory(getFs());
+        PageSwapper swapper = createSwapperAndFile(factory, file, 4);
+
+        long page = createPage(4);
+        for (int i = 0; i < 4; i++) {
+            putInt(page, 0, i + 2);
+            write(swapper, i, page);
+        }
+
+        long pageA = createPage(4);
+        long pageB = createPage(4);
+        long pageC = createPage(4);
+        long pageD = createPage(4);
+        putInt(pageD, 0, 42);
+
+        // The last buffer lies beyond the end of the file, and must be zero-filled.
+        assertThat(read(
+                        swapper,
+                        2,
+                        new long[] {pageA, pageB, pageC, pageD},
+                        new int[] {4 + RESERVED_BYTES, 4 + RESERVED_BYTES, 4 + RESERVED_BYTES, 4 + RESERVED_BYTES},
+                        4))
+                .isEqualTo(2L * (4 + RESERVED_BYTES));
+        assertThat(getInt(pageA, 0)).isEqualTo(4);
+        assertThat(getInt(pageB, 0)).isEqualTo(5);
+        assertThat(getInt(pageC, 0)).isEqualTo(0);
+        assertThat(getInt(pageD, 0)).isEqualTo(0);
+    }
+
+    @Test
+    void vectoredReadMustNotReopenExplicitlyClosedChannel() throws Exception {
+        Path file = file("a");
+
+        long page = createPage();
+        PageSwapperFactory swapperFactory = createSwapperFactory(getFs());
+        PageSwapper swapper = createSwapperAndFile(swapperFactory, file);
+        write(swapper, 0, page);
+        swapper.close();
+
+        assertThrows(
+                ClosedChannelException.class,
+                () -> read(swapper, 0, new long[] {page}, new int[] {cachePageSize()}, 1));
+    }
+
     @Test
     void positionedVectoredWriteMustFlushAllBuffersOfDifferentSizeInOrder() throws Exception {
         assumeThat(RESERVED_BYTES).isEqualTo(0);
@@ -638,6 +685,22 @@ public abstract class PageSwapperTest {
                         2));
     }
 
+    @Test
+    void vectoredReadMustThrowForNegativeFilePageIds() throws Exception {
+        Path file = file("file");
+        PageSwapperFactory factory = createSwapperFactory(getFs());
+        PageSwapper swapper = createSwapperAndFile(factory, file, 4);
+
+        assertThrows(
+                IOException.class,
+                () -> read(
+                        swapper,
+                        -1,
+                        new long[] {createPage(4), createPage(4)},
+                        new int[] {4 + RESERVED_BYTES, 4 + RESERVED_BYTES},
+                        2));
+    }
+
     @Test
     void vectoredWriteMustWriteNothingWhenLengthIsZero() throws Exception {
         Path file = file("file");
@@ -811,6 +874,11 @@ public abstract class PageSwapperTest {
         return swapper.read(filePageId, address);
     }
 
+    private static long read(PageSwapper swapper, long startFilePageId, long[] pages, int[] pageSizes, int length)
+            throws IOException {
+        return swapper.read(startFilePageId, pages, pageSizes, length);
+    }
+
     private static long write(
             PageSwapper swapper, long startFilePageId, long[] pages, int[] pageSizes, int length, int affectedPages)
             throws IOException {
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.io.pagecache.impl.muninn.EvictionPartition.UNKNOWN_PAGES_TO_EVICT;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class EvictionPartitionTest {
+    @ValueSource(ints = {1, 2, 3, 7, 16})
+    @ParameterizedTest
+    void splitMustCoverAllPagesWithoutOverlap(int partitionCount) {
+        int pageCount = 1001;
+        EvictionPartition[] partitions = EvictionPartition.split(pageCount, partitionCount, 50);
+
+        assertThat(partitions).hasSize(partitionCount);
+        int nextPageId = 0;
+        for (int i = 0; i < partitions.length; i++) {
+            EvictionPartition partition = partitions[i];
+            assertThat(partition.index).isEqualTo(i);
+            assertThat(partition.firstPageId).isEqualTo(nextPageId);
+            assertThat(partition.pageCount).isBetween(pageCount / partitionCount, pageCount / partitionCount + 1);
+            assertThat(partition.contains(partition.firstPageId)).isTrue();
+            assertThat(partition.contains(partition.firstPageId + partition.pageCount)).isFalse();
+            nextPageId += partition.pageCount;
+        }
+        assertThat(nextPageId).isEqualTo(pageCount);
+    }
+
+    @Test
+    void splitMustNotCreateMorePartitionsThanHalfThePages() {
+        assertThat(EvictionPartition.split(2, 8, 1)).hasSize(1);
+        assertThat(EvictionPartition.split(10, 8, 1)).hasSize(5);
+    }
+
+    @Test
+    void splitMustSpreadKeepFreeOverPartitions() {
+        EvictionPartition[] partitions = EvictionPartition.split(1000, 4, 50);
+        for (EvictionPartition partition : partitions) {
+            assertThat(partition.keepFree).isEqualTo(13);
+        }
+    }
+
+    @Test
+    void freelistMustCountUnusedAndReleasedPages() {
+        EvictionPartition partition = new EvictionPartition(0, 100, 10, 2);
+        assertThat(partition.freeListSize()).isEqualTo(10);
+        assertThat(partition.tryGetNumberOfPagesToEvict(2)).isEqualTo(UNKNOWN_PAGES_TO_EVICT);
+
+        partition.setFreelistHead(null);
+        assertThat(partition.freeListSize()).isZero();
+        assertThat(partition.tryGetNumberOfPagesToEvict(2)).isEqualTo(2);
+
+        partition.addFreePage(1);
+        assertThat(partition.freeListSize()).isEqualTo(1);
+        assertThat(partition.tryGetNumberOfPagesToEvict(2)).isEqualTo(1);
+
+        partition.addFreePage(2);
+        assertThat(partition.freeListSize()).isEqualTo(2);
+        assertThat(partition.tryGetNumberOfPagesToEvict(2)).isEqualTo(UNKNOWN_PAGES_TO_EVICT);
+    }
+}
@@ -73,6 +73,19 @@ class LatchMapTest {
         }
     }
 
+    @ValueSource(ints = {LatchMap.DEFAULT_FAULT_LOCK_STRIPING, 1 << 10, 1 << 11})
+    @ParameterizedTest
+    void tryTakeLatchMustReturnNullWithoutWaitingIfLatchIsTaken(int size) {
+        LatchMap latches = new LatchMap(size);
+        BinaryLatch latch = latches.tryTakeLatch(42);
+        assertThat(latch).isNotNull();
+        assertThat(latches.tryTakeLatch(42)).isNull();
+        latch.release();
+        BinaryLatch another = latches.tryTakeLatch(42);
+        assertThat(another).isNotNull();
+        another.release();
+    }
+
     @ValueSource(ints = {LatchMap.DEFAULT_FAULT_LOCK_STRIPING, 1 << 10, 1 << 11})
     @ParameterizedTest
     void takeOrAwaitLatchMustNotLetUnrelatedLatchesConflictTooMuch(int size) throws Exception {
@@ -33,6 +33,7 @@ import org.neo4j.scheduler.JobScheduler;
 public class MuninnPageCacheFixture extends PageCacheTestSupport.Fixture<MuninnPageCache> {
     CountDownLatch backgroundFlushLatch;
     private MemoryAllocator allocator;
+    private boolean vectoredFlush;
 
     @Override
     public MuninnPageCache createPageCache(
@@ -57,10 +58,20 @@ public class MuninnPageCacheFixture extends PageCacheTestSupport.Fixture<MuninnP
         MuninnPageCache.Configuration configuration = MuninnPageCache.config(allocator)
                 .pageCacheTracer(tracer)
                 .bufferFactory(selectBufferFactory(bufferFactory, memoryTracker))
-                .reservedPageBytes(reservedBytes);
+                .reservedPageBytes(reservedBytes)
+                .vectoredFlush(vectoredFlush);
         return new MuninnPageCache(swapperFactory, jobScheduler, configuration);
     }
 
+    public MuninnPageCacheFixture withVectoredFlush(boolean vectoredFlush) {
+        this.vectoredFlush = vectoredFlush;
+        return this;
+    }
+
+    public boolean isVectoredFlush() {
+        return vectoredFlush;
+    }
+
     private static IOBufferFactory selectBufferFactory(
             IOBufferFactory bufferFactory, LocalMemoryTracker memoryTracker) {
         return bufferFactory != null
@@ -35,6 +35,7 @@ import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_flush_buff
 import static org.neo4j.io.pagecache.PageCache.PAGE_SIZE;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_GROW;
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
 import static org.neo4j.io.pagecache.PagedFile.PF_TRANSIENT;
@@ -50,6 +51,7 @@ import java.nio.ByteOrder;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -73,6 +75,7 @@ import org.neo4j.io.fs.DelegatingStoreChannel;
 import org.neo4j.io.fs.EphemeralFileSystemAbstraction;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.mem.MemoryAllocator;
 import org.neo4j.io.memory.ByteBuffers;
 import org.neo4j.io.pagecache.DelegatingPageSwapper;
 import org.neo4j.io.pagecache.IOController;
@@ -88,6 +91,9 @@ import org.neo4j.io.pagecache.context.CursorContextFactory;
 import org.neo4j.io.pagecache.context.VersionContext;
 import org.neo4j.io.pagecache.context.VersionContextSupplier;
 import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.monitoring.PageFileAccesses;
+import org.neo4j.io.pagecache.monitoring.PageFileResidency;
+import org.neo4j.io.pagecache.monitoring.PagedFileStatistics;
 import org.neo4j.io.pagecache.tracing.DatabaseFlushEvent;
 import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.DelegatingPageCacheTracer;
@@ -123,6 +129,10 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache> {
         return fixture;
     }
 
+    private boolean copiesIntoFlushBuffer() {
+        return !DISABLED_BUFFER_FACTORY.equals(fixture.getBufferFactory()) && !fixture.isVectoredFlush();
+    }
+
     private PageCacheTracer blockCacheFlush(PageCacheTracer delegate) {
         fixture.backgroundFlushLatch = new CountDownLatch(1);
         return new DelegatingPageCacheTracer(delegate) {
@@ -295,6 +305,172 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache> {
         }
     }
 
+    @Test
+    void partitionedPageCacheMustStealFreePagesFromOtherPartitions() throws IOException {
+        int maxPages = 1024;
+        var tracer = new DefaultPageCacheTracer();
+        var configuration = MuninnPageCache.config(maxPages).pageCacheTracer(tracer).evictionPartitions(4);
+        var swapperFactory = new SingleFilePageSwapperFactory(fs, tracer, EmptyMemoryTracker.INSTANCE);
+        try (var pageCache = new MuninnPageCache(swapperFactory, jobScheduler, configuration)) {
+            assertEquals(4, pageCache.partitions.length);
+            assertEquals(4, tracer.evictionPartitions());
+
+            Set<Long> pageRefs = new HashSet<>();
+            for (int i = 0; i < maxPages; i++) {
+                assertTrue(pageRefs.add(pageCache.grabFreeAndExclusivelyLockedPage(PageFaultEvent.NULL)));
+            }
+
+            long released = pageRefs.iterator().next();
+            pageCache.addFreePageToFreelist(released, EvictionRunEvent.NULL);
+            assertEquals(released, pageCache.grabFreeAndExclusivelyLockedPage(PageFaultEvent.NULL));
+        }
+    }
+
+    @Test
+    void numaAlignedPartitionsMustPlaceEveryPartitionOnSingleNode() throws IOException {
+        int maxPages = 1024;
+        var allocator = new TwoNodeMemoryAllocator(
+                MemoryAllocator.createAllocator(MuninnPageCache.memoryRequiredForPages(maxPages), INSTANCE));
+        var configuration = MuninnPageCache.config(allocator).evictionPartitions(3).numaAlignedPartitions(true);
+        var swapperFactory = new SingleFilePageSwapperFactory(fs, PageCacheTracer.NULL, EmptyMemoryTracker.INSTANCE);
+        try (var pageCache = new MuninnPageCache(swapperFactory, jobScheduler, configuration)) {
+            assertEquals(4, pageCache.partitions.length);
+            for (EvictionPartition partition : pageCache.partitions) {
+                for (int i = 0; i < partition.pageCount; i++) {
+                    pageCache.pages.initBuffer(pageCache.pages.deref(partition.firstPageId + i));
+                    assertEquals(partition.index / 2, allocator.lastNode);
+                }
+            }
+            assertThat(pageCache.describeMemoryLayout())
+                    .contains("NUMA node 0: pages 0 to 511, 2 eviction partitions.")
+                    .contains("NUMA node 1: pages 512 to 1023, 2 eviction partitions.");
+        } finally {
+            allocator.close();
+        }
+    }
+
+    @Test
+    void writeBehindMustFlushDirtyPagesAheadOfEviction() throws IOException {
+        int maxPages = 10;
+        var tracer = new DefaultPageCacheTracer();
+        var contextFactory = new CursorContextFactory(tracer, EMPTY);
+        var configuration = MuninnPageCache.config(maxPages)
+                .pageCacheTracer(tracer)
+                .disableEvictionThread()
+                .writeBehind(true);
+        var swapperFactory = new SingleFilePageSwapperFactory(fs, tracer, EmptyMemoryTracker.INSTANCE);
+        try (var pageCache = new MuninnPageCache(swapperFactory, jobScheduler, configuration);
+                var pagedFile = map(pageCache, file("a"), pageCache.pageSize())) {
+            try (var cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, contextFactory.create("writeBehind"))) {
+                for (int i = 0; i < maxPages; i++) {
+                    assertTrue(cursor.next());
+                    cursor.putLong(i);
+                }
+            }
+
+            EvictionPartition partition = pageCache.partitions[0];
+            assertEquals(maxPages, pageCache.writeBehind(partition));
+            assertEquals(maxPages, tracer.writeBehindFlushes());
+            assertEquals((long) maxPages * pageCache.pageSize(), tracer.writeBehindBytesWritten());
+            // All pages are clean now, so there is nothing left to write behind.
+            assertEquals(0, pageCache.writeBehind(partition));
+
+            try (var cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, contextFactory.create("writeBehind"))) {
+                assertTrue(cursor.next());
+                cursor.putLong(42);
+            }
+            pageCache.evictPages(maxPages, 0, tracer.beginPageEvictions(maxPages));
+            assertEquals(maxPages, tracer.evictions());
+            assertEquals(1, tracer.dirtyEvictions());
+            assertEquals(0.1, tracer.dirtyEvictionRatio(), 0.0001);
+        }
+    }
+
+    @Test
+    void pagedFileStatisticsMustReportCountersAndResidency() throws IOException {
+        int maxPages = 20;
+        int filePages = 5;
+        var tracer = new DefaultPageCacheTracer(true);
+        var contextFactory = new CursorContextFactory(tracer, EMPTY);
+        try (var pageCache = createPageCache(fs, maxPages, tracer);
+                var pagedFile = map(pageCache, file("a"), pageCache.pageSize())) {
+            assertEquals(PageFileResidency.EMPTY, pagedFile.residency());
+
+            try (var cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, contextFactory.create("statistics"))) {
+                for (int i = 0; i < filePages; i++) {
+                    assertTrue(cursor.next());
+                    cursor.putLong(i);
+                }
+            }
+            assertEquals(new PageFileResidency(filePages, filePages), pagedFile.residency());
+
+            try (var flushEvent = tracer.beginFileFlush()) {
+                pagedFile.flushAndForce(flushEvent);
+            }
+            assertEquals(new PageFileResidency(filePages, 0), pagedFile.residency());
+
+            try (var cursor = pagedFile.io(0, PF_SHARED_READ_LOCK, contextFactory.create("statistics"))) {
+                for (int i = 0; i < filePages; i++) {
+                    assertTrue(cursor.next());
+                }
+            }
+
+            PagedFileStatistics statistics = PagedFileStatistics.of(pagedFile);
+            assertEquals(file("a"), statistics.path());
+            assertEquals(2L * filePages, statistics.pins());
+            assertEquals(filePages, statistics.hits());
+            assertEquals(filePages, statistics.faults());
+            assertEquals(0.5, statistics.hitRatio(), 0.0001);
+            assertEquals(filePages, statistics.residentPages());
+            assertEquals(0, statistics.dirtyPages());
+            assertEquals((long) filePages * pageCache.pageSize(), statistics.bytesWritten());
+        }
+    }
+
+    @Test
+    void flushOldDirtyPagesMustOnlyScanPartOfTheFilePerCallAndContinueFromThere() throws IOException {
+        try (var pageCache = createPageCache(fs, 20, PageCacheTracer.NULL);
+                var pagedFile = map(pageCache, file("a"), pageCache.pageSize())) {
+            try (var cursor = pagedFile.io(200, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+                assertTrue(cursor.next());
+                cursor.putLong(1);
+            }
+
+            // A call that may write one page looks at 64 pages, so it takes four calls to get to page 200.
+            for (int i = 0; i < 3; i++) {
+                assertEquals(0, pagedFile.flushOldDirtyPages(Long.MAX_VALUE, 1));
+                assertEquals(new PageFileResidency(1, 1), pagedFile.residency());
+            }
+            assertEquals(1, pagedFile.flushOldDirtyPages(Long.MAX_VALUE, 1));
+            assertEquals(new PageFileResidency(1, 0), pagedFile.residency());
+        }
+    }
+
+    @Test
+    void pagedFileMustCountHitsAndFaultsWithoutPerFileTracing() throws IOException {
+        int filePages = 5;
+        try (var pageCache = createPageCache(fs, 20, PageCacheTracer.NULL);
+                var pagedFile = map(pageCache, file("a"), pageCache.pageSize())) {
+            assertEquals(PageFileAccesses.EMPTY, pagedFile.accesses());
+
+            try (var cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+                for (int i = 0; i < filePages; i++) {
+                    assertTrue(cursor.next());
+                }
+            }
+            try (var cursor = pagedFile.io(0, PF_SHARED_READ_LOCK, NULL_CONTEXT)) {
+                for (int i = 0; i < filePages; i++) {
+                    assertTrue(cursor.next());
+                }
+            }
+
+            assertEquals(new PageFileAccesses(filePages, filePages), pagedFile.accesses());
+            PagedFileStatistics statistics = PagedFileStatistics.of(pagedFile);
+            assertEquals(2L * filePages, statistics.pins());
+            assertEquals(0.5, statistics.hitRatio(), 0.0001);
+        }
+    }
+
     @Test
     void countPagesToEvictWithAllPagesAcquiredAndReleased() throws IOException {
         int maxPages = 1024;
@@ -1115,7 +1291,7 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache> {
 
     @Test
     void countMergesPerChunkWithBuffers() throws IOException {
-        assumeFalse(DISABLED_BUFFER_FACTORY.equals(fixture.getBufferFactory()));
+        assumeTrue(copiesIntoFlushBuffer());
         var pageCacheTracer = new InfoTracer();
         try (MuninnPageCache pageCache = createPageCache(fs, 40, pageCacheTracer);
                 PagedFile pagedFile = map(pageCache, file("a"), (int) ByteUnit.kibiBytes(8))) {
@@ -1237,7 +1413,7 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache> {
 
     @Test
     void usedBuffersPerChunkIsAlwaysOneWithBuffers() throws IOException {
-        assumeFalse(DISABLED_BUFFER_FACTORY.equals(fixture.getBufferFactory()));
+        assumeTrue(copiesIntoFlushBuffer());
         var pageCacheTracer = new InfoTracer();
         try (MuninnPageCache pageCache = createPageCache(fs, 40, pageCacheTracer);
                 PagedFile pagedFile = map(pageCache, file("a"), (int) ByteUnit.kibiBytes(8))) {
@@ -1361,7 +1537,7 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache> {
 
     @Test
     void flushSequentialPagesOnPageFileFlushWithBuffers() throws IOException {
-        assumeFalse(DISABLED_BUFFER_FACTORY.equals(fixture.getBufferFactory()));
+        assumeTrue(copiesIntoFlushBuffer());
         var pageCacheTracer = new DefaultPageCacheTracer(true);
         try (MuninnPageCache pageCache = createPageCache(fs, 4, pageCacheTracer);
                 PagedFile pagedFile = map(pageCache, file("a"), (int) ByteUnit.kibiBytes(8))) {
@@ -1384,6 +1560,39 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache> {
         }
     }
 
+    @Test
+    void gatherSequentialPagesOnPageFileFlushWithVectoredBuffers() throws IOException {
+        assumeFalse(DISABLED_BUFFER_FACTORY.equals(fixture.getBufferFactory()));
+        assumeTrue(fixture.isVectoredFlush());
+        var pageCacheTracer = new DefaultPageCacheTracer(true);
+        Path file = file("a");
+        try (MuninnPageCache pageCache = createPageCache(fs, 4, pageCacheTracer);
+                PagedFile pagedFile = map(pageCache, file, (int) ByteUnit.kibiBytes(8))) {
+            for (int pageId = 1; pageId <= 2; pageId++) {
+                try (PageCursor cursor = pagedFile.io(pageId, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+                    assertTrue(cursor.next());
+                    cursor.putLong(pageId);
+                }
+            }
+            try (var flushEvent = pageCacheTracer.beginFileFlush()) {
+                pagedFile.flushAndForce(flushEvent);
+            }
+
+            // Both pages are written with a single vectored write, straight from the page cache memory.
+            assertEquals(2, pageCacheTracer.flushes());
+            assertEquals(1, pagedFile.pageFileCounters().merges());
+            assertEquals(2 * pagedFile.pageSize(), pageCacheTracer.bytesWritten());
+        }
+        try (MuninnPageCache pageCache = createPageCache(fs, 4, PageCacheTracer.NULL);
+                PagedFile pagedFile = map(pageCache, file, (int) ByteUnit.kibiBytes(8));
+                PageCursor cursor = pagedFile.io(1, PF_SHARED_READ_LOCK, NULL_CONTEXT)) {
+            assertTrue(cursor.next());
+            assertEquals(1, cursor.getLong());
+            assertTrue(cursor.next());
+            assertEquals(2, cursor.getLong());
+        }
+    }
+
     @Test
     void doNotMergeNonSequentialPageBuffersOnPageFileFlush() throws IOException {
         var pageCacheTracer = new DefaultPageCacheTracer(true);
@@ -1474,6 +1683,35 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache> {
         }
     }
 
+    @Test
+    void flushOldDirtyPagesMustOnlyWritePagesLastModifiedByOldEnoughTransactions() throws IOException {
+        assumeFalse(multiVersioned);
+
+        TestVersionContext versionContext = new TestVersionContext(() -> 0);
+        var contextFactory =
+                new CursorContextFactory(PageCacheTracer.NULL, new SingleVersionContextSupplier(versionContext));
+        try (MuninnPageCache pageCache = createPageCache(fs, 10, PageCacheTracer.NULL);
+                PagedFile pagedFile = map(pageCache, file("a"), 8);
+                var cursorContext = contextFactory.create("flushOldDirtyPages")) {
+            for (int pageId = 0; pageId < 4; pageId++) {
+                versionContext.initWrite(pageId + 1);
+                try (PageCursor cursor = pagedFile.io(pageId, PF_SHARED_WRITE_LOCK, cursorContext)) {
+                    assertTrue(cursor.next());
+                    cursor.putLong(pageId);
+                }
+            }
+
+            // Only the first two pages were last modified by transactions no newer than 2.
+            assertEquals(1, pagedFile.flushOldDirtyPages(2, 1));
+            assertEquals(1, pagedFile.flushOldDirtyPages(2, 10));
+            assertEquals(0, pagedFile.flushOldDirtyPages(2, 10));
+            assertEquals(2, pagedFile.residency().dirtyPages());
+
+            assertEquals(2, pagedFile.flushOldDirtyPages(4, 10));
+            assertEquals(0, pagedFile.residency().dirtyPages());
+        }
+    }
+
     @Test
     void markCursorContextDirtyWhenRepositionCursorOnItsCurrentPage() throws IOException {
         assumeFalse(multiVersioned);
@@ -1852,6 +2090,43 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache> {
         }
     }
 
+    @Test
+    void scanResistantPolicyMustKeepPagesTouchedOnlyByScansProbationary() throws IOException {
+        var configuration = MuninnPageCache.config(40)
+                .reservedPageBytes(reservedBytes)
+                .replacementPolicy(PageReplacementPolicy.SCAN_RESISTANT);
+        var swapperFactory = new SingleFilePageSwapperFactory(fs, PageCacheTracer.NULL, EmptyMemoryTracker.INSTANCE);
+        try (MuninnPageCache pageCache = new MuninnPageCache(swapperFactory, jobScheduler, configuration);
+                PagedFile pagedFile = map(pageCache, file("a"), 8 + reservedBytes)) {
+            PageList pages = pageCache.pages;
+            long zeroPageRef = pages.deref(0);
+            try (PageCursor cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK | PF_TRANSIENT, NULL_CONTEXT)) {
+                assertTrue(cursor.next());
+                assertThat(PageList.getUsage(zeroPageRef)).isEqualTo(0);
+            }
+
+            // Scanning over the page, no matter how many times, must leave it probationary
+            for (int i = 0; i < 3; i++) {
+                try (PageCursor cursor = pagedFile.io(0, PF_SHARED_READ_LOCK | PF_READ_AHEAD, NULL_CONTEXT)) {
+                    assertTrue(cursor.next());
+                    assertThat(PageList.getUsage(zeroPageRef)).isEqualTo(1);
+                }
+            }
+
+            // Regular access promotes the page
+            try (PageCursor cursor = pagedFile.io(0, PF_SHARED_READ_LOCK, NULL_CONTEXT)) {
+                assertTrue(cursor.next());
+                assertThat(PageList.getUsage(zeroPageRef)).isEqualTo(2);
+            }
+
+            // And scanning over a promoted page must not demote it again
+            try (PageCursor cursor = pagedFile.io(0, PF_SHARED_READ_LOCK | PF_READ_AHEAD, NULL_CONTEXT)) {
+                assertTrue(cursor.next());
+                assertThat(PageList.getUsage(zeroPageRef)).isEqualTo(2);
+            }
+        }
+    }
+
     @Test
     void shouldDealWithOutOfBoundsWithRetries() throws IOException {
         try (var pageCache = createPageCache(fs, 1024, new DefaultPageCacheTracer())) {
@@ -2319,4 +2594,44 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache> {
             return versionContext;
         }
     }
+
+    private static class TwoNodeMemoryAllocator implements MemoryAllocator {
+        private final MemoryAllocator delegate;
+        private int lastNode = -1;
+
+        TwoNodeMemoryAllocator(MemoryAllocator delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long usedMemory() {
+            return delegate.usedMemory();
+        }
+
+        @Override
+        public long availableMemory() {
+            return delegate.availableMemory();
+        }
+
+        @Override
+        public long allocateAligned(long bytes, long alignment) {
+            return delegate.allocateAligned(bytes, alignment);
+        }
+
+        @Override
+        public long allocateAligned(long bytes, long alignment, int numaNode) {
+            lastNode = numaNode;
+            return delegate.allocateAligned(bytes, alignment);
+        }
+
+        @Override
+        public int numaNodes() {
+            return 2;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.io.pagecache.context.EmptyVersionContextSupplier.EMPTY;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.eclipse.collections.api.factory.Sets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.impl.scheduler.JobSchedulerFactory;
+import org.neo4j.kernel.lifecycle.LifeSupport;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+/**
+ * Runs a synthetic workload, where a large sequential scan runs alongside random accesses to a small hot set of pages,
+ * against page caches with different {@link PageReplacementPolicy replacement policies}, and compares the hit ratios
+ * they achieve on the hot set. The workload is generated by the test, and is not recorded from a real database.
+ * <p>
+ * Every page of the scan is pinned twice, once by the pre-fetcher and once by the scanning cursor itself, the way it
+ * happens with {@link PagedFile#PF_READ_AHEAD} cursors. The scan pins are issued directly through the cursor factory
+ * so that no real pre-fetcher is started, and the background eviction thread is disabled, so that the outcome only
+ * depends on the generated workload.
+ */
+@TestDirectoryExtension
+class PageReplacementPolicyScanResistanceTest {
+    private static final int CACHE_PAGES = 100;
+    private static final int HOT_PAGES = 40;
+    private static final int SCAN_PAGES = 1000;
+    private static final int SCAN_ROUNDS = 5;
+    private static final int SCAN_PAGES_PER_HOT_PIN = 2;
+
+    @Inject
+    private TestDirectory directory;
+
+    @Inject
+    private FileSystemAbstraction fs;
+
+    private JobScheduler jobScheduler;
+    private final LifeSupport life = new LifeSupport();
+
+    @BeforeEach
+    void start() {
+        jobScheduler = JobSchedulerFactory.createScheduler();
+        life.add(jobScheduler);
+        life.start();
+    }
+
+    @AfterEach
+    void stop() {
+        life.shutdown();
+    }
+
+    @Test
+    void scanResistantPolicyMustKeepMoreOfTheHotSetInMemoryDuringScans() throws IOException {
+        Path hotFile = directory.file("hot");
+        Path scanFile = directory.file("scan");
+        createFile(hotFile, HOT_PAGES);
+        createFile(scanFile, SCAN_PAGES);
+        List<Pin> workload = generateWorkload(new SplittableRandom(42));
+
+        double clockHitRatio = run(PageReplacementPolicy.CLOCK, workload, hotFile, scanFile);
+        double scanResistantHitRatio = run(PageReplacementPolicy.SCAN_RESISTANT, workload, hotFile, scanFile);
+
+        assertThat(scanResistantHitRatio)
+                .as("hot set hit ratio of the scan resistant policy, compared to the clock policy")
+                .isGreaterThan(clockHitRatio);
+    }
+
+    private static List<Pin> generateWorkload(SplittableRandom random) {
+        List<Pin> workload = new ArrayList<>();
+        // Warm up the hot set, so it is well established in the cache before the scans begin.
+        for (int i = 0; i < 2; i++) {
+            for (int hotPage = 0; hotPage < HOT_PAGES; hotPage++) {
+                workload.add(new Pin(false, hotPage));
+            }
+        }
+        for (int round = 0; round < SCAN_ROUNDS; round++) {
+            for (int scanPage = 0; scanPage < SCAN_PAGES; scanPage++) {
+                workload.add(new Pin(true, scanPage));
+                workload.add(new Pin(true, scanPage));
+                if (scanPage % SCAN_PAGES_PER_HOT_PIN == 0) {
+                    workload.add(new Pin(false, random.nextInt(HOT_PAGES)));
+                }
+            }
+        }
+        return workload;
+    }
+
+    private double run(PageReplacementPolicy policy, List<Pin> workload, Path hotFile, Path scanFile)
+            throws IOException {
+        var tracer = new DefaultPageCacheTracer();
+        var contextFactory = new CursorContextFactory(tracer, EMPTY);
+        var configuration = MuninnPageCache.config(CACHE_PAGES)
+                .pageCacheTracer(tracer)
+                .replacementPolicy(policy)
+                .disableEvictionThread();
+        try (var pageCache = startPageCache(configuration, tracer);
+                var hot = (MuninnPagedFile) map(pageCache, hotFile);
+                var scan = (MuninnPagedFile) map(pageCache, scanFile);
+                var hotContext = contextFactory.create("hotPins");
+                var scanContext = contextFactory.create("scanPins")) {
+            for (Pin pin : workload) {
+                if (pin.scan()) {
+                    try (PageCursor cursor = scan.cursorFactory.takeReadCursor(
+                            pin.filePageId(), PF_SHARED_READ_LOCK | PF_READ_AHEAD, scanContext)) {
+                        assertTrue(cursor.next());
+                    }
+                } else {
+                    try (PageCursor cursor = hot.io(pin.filePageId(), PF_SHARED_READ_LOCK, hotContext)) {
+                        assertTrue(cursor.next());
+                    }
+                }
+            }
+            var hotPins = hotContext.getCursorTracer();
+            return (double) hotPins.hits() / hotPins.pins();
+        }
+    }
+
+    private void createFile(Path file, int pages) throws IOException {
+        var configuration = MuninnPageCache.config(CACHE_PAGES);
+        try (var pageCache = startPageCache(configuration, PageCacheTracer.NULL);
+                var pagedFile = map(pageCache, file);
+                var cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+            for (int i = 0; i < pages; i++) {
+                assertTrue(cursor.next());
+                cursor.putInt(i);
+            }
+        }
+    }
+
+    private MuninnPageCache startPageCache(MuninnPageCache.Configuration configuration, PageCacheTracer tracer) {
+        var swapperFactory = new SingleFilePageSwapperFactory(fs, tracer, EmptyMemoryTracker.INSTANCE);
+        return new MuninnPageCache(swapperFactory, jobScheduler, configuration);
+    }
+
+    private static PagedFile map(PageCache pageCache, Path file) throws IOException {
+        return pageCache.map(
+                file, PageCache.PAGE_SIZE, DEFAULT_DATABASE_NAME, Sets.immutable.of(StandardOpenOption.CREATE));
+    }
+
+    private record Pin(boolean scan, long filePageId) {}
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.io.pagecache.context.EmptyVersionContextSupplier.EMPTY;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.eclipse.collections.api.factory.Sets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.DelegatingPageSwapper;
+import org.neo4j.io.pagecache.IOController;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PageEvictionCallback;
+import org.neo4j.io.pagecache.PageSwapper;
+import org.neo4j.io.pagecache.PageSwapperFactory;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.impl.scheduler.JobSchedulerFactory;
+import org.neo4j.kernel.lifecycle.LifeSupport;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+@TestDirectoryExtension
+class StreamPrefetcherTest {
+    private static final int CACHE_PAGES = 2_000;
+    private static final int FILE_PAGES = 1_000;
+
+    @Inject
+    private TestDirectory directory;
+
+    @Inject
+    private FileSystemAbstraction fs;
+
+    private JobScheduler jobScheduler;
+    private final LifeSupport life = new LifeSupport();
+    private Path file;
+
+    @BeforeEach
+    void start() throws IOException {
+        jobScheduler = JobSchedulerFactory.createScheduler();
+        life.add(jobScheduler);
+        life.start();
+        file = directory.file("file");
+        createFile(file, FILE_PAGES);
+    }
+
+    @AfterEach
+    void stop() {
+        life.shutdown();
+    }
+
+    @Test
+    void sequentialStreamMustBePrefetchedAhead() throws IOException {
+        var tracer = new DefaultPageCacheTracer();
+        long faults = scan(tracer, true, 0, FILE_PAGES, 1);
+
+        assertThat(faults).as("faults").isLessThan(FILE_PAGES / 2);
+        assertThat(tracer.prefetchedPages()).as("prefetched pages").isPositive();
+        assertThat(tracer.prefetchHits()).as("prefetch hits").isPositive();
+    }
+
+    @Test
+    void backwardSequentialStreamMustBePrefetchedAhead() throws IOException {
+        var tracer = new DefaultPageCacheTracer();
+        long faults = scan(tracer, true, FILE_PAGES - 1, -1, -1);
+
+        assertThat(faults).as("faults").isLessThan(FILE_PAGES / 2);
+        assertThat(tracer.prefetchedPages()).as("prefetched pages").isPositive();
+    }
+
+    @Test
+    void stridedStreamMustBePrefetchedAhead() throws IOException {
+        var tracer = new DefaultPageCacheTracer();
+        int stride = 3;
+        long faults = scan(tracer, true, 0, FILE_PAGES, stride);
+
+        assertThat(faults).as("faults").isLessThan(FILE_PAGES / stride / 2);
+        assertThat(tracer.prefetchedPages()).as("prefetched pages").isPositive();
+    }
+
+    @Test
+    void streamsMustBeDetectedAcrossCursors() throws IOException {
+        var tracer = new DefaultPageCacheTracer();
+        var contextFactory = new CursorContextFactory(tracer, EMPTY);
+        var configuration = MuninnPageCache.config(CACHE_PAGES)
+                .pageCacheTracer(tracer)
+                .streamPrefetching(true);
+        try (var pageCache = startPageCache(configuration, tracer);
+                var pagedFile = map(pageCache, file);
+                var context = contextFactory.create("streamsMustBeDetectedAcrossCursors")) {
+            for (int filePageId = 0; filePageId < FILE_PAGES; filePageId++) {
+                // A new cursor for every page, like point lookups that happen to walk the file in order.
+                try (PageCursor cursor = pagedFile.io(filePageId, PF_SHARED_READ_LOCK, context)) {
+                    assertTrue(cursor.next());
+                }
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+            }
+            assertThat(context.getCursorTracer().faults()).as("faults").isLessThan(FILE_PAGES / 2);
+        }
+    }
+
+    @Test
+    void failedPrefetchesMustBeCountedWithoutFailingTheScan() throws IOException {
+        var tracer = new DefaultPageCacheTracer();
+        var contextFactory = new CursorContextFactory(tracer, EMPTY);
+        var configuration = MuninnPageCache.config(CACHE_PAGES)
+                .pageCacheTracer(tracer)
+                .streamPrefetching(true);
+        var swapperFactory =
+                failingPrefetchReads(new SingleFilePageSwapperFactory(fs, tracer, EmptyMemoryTracker.INSTANCE));
+        try (var pageCache = new MuninnPageCache(swapperFactory, jobScheduler, configuration);
+                var pagedFile = map(pageCache, file);
+                var context = contextFactory.create("failedPrefetchesMustBeCountedWithoutFailingTheScan");
+                var cursor = pagedFile.io(0, PF_SHARED_READ_LOCK, context)) {
+            for (int filePageId = 0; filePageId < FILE_PAGES; filePageId++) {
+                assertTrue(cursor.next(filePageId));
+                assertThat(cursor.getInt()).isEqualTo(filePageId);
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+            }
+        }
+        assertThat(tracer.prefetchFailures()).as("prefetch failures").isPositive();
+        assertThat(tracer.prefetchedPages()).as("prefetched pages").isZero();
+    }
+
+    @Test
+    void mustNotPrefetchWhenDisabled() throws IOException {
+        var tracer = new DefaultPageCacheTracer();
+        long faults = scan(tracer, false, 0, FILE_PAGES, 1);
+
+        assertThat(faults).as("faults").isEqualTo(FILE_PAGES);
+        assertThat(tracer.prefetchedPages()).as("prefetched pages").isZero();
+    }
+
+    private long scan(DefaultPageCacheTracer tracer, boolean streamPrefetching, int from, int to, int stride)
+            throws IOException {
+        var contextFactory = new CursorContextFactory(tracer, EMPTY);
+        var configuration = MuninnPageCache.config(CACHE_PAGES)
+                .pageCacheTracer(tracer)
+                .streamPrefetching(streamPrefetching);
+        try (var pageCache = startPageCache(configuration, tracer);
+                var pagedFile = map(pageCache, file);
+                var context = contextFactory.create("scan");
+                var cursor = pagedFile.io(0, PF_SHARED_READ_LOCK, context)) {
+            for (int filePageId = from; filePageId != to && filePageId >= 0; filePageId += stride) {
+                assertTrue(cursor.next(filePageId));
+                // Give the prefetcher a chance to keep up, as if the scan was doing some work on every page.
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+            }
+            return context.getCursorTracer().faults();
+        }
+    }
+
+    private static PageSwapperFactory failingPrefetchReads(PageSwapperFactory actual) {
+        return new PageSwapperFactory() {
+            @Override
+            public PageSwapper createPageSwapper(
+                    Path path,
+                    int filePageSize,
+                    int reservedPageBytes,
+                    PageEvictionCallback onEviction,
+                    boolean createIfNotExist,
+                    boolean useDirectIO,
+                    boolean preallocateStoreFiles,
+                    boolean checksumPages,
+                    IOController ioController,
+                    SwapperSet swappers)
+                    throws IOException {
+                PageSwapper actualSwapper = actual.createPageSwapper(
+                        path,
+                        filePageSize,
+                        reservedPageBytes,
+                        onEviction,
+                        createIfNotExist,
+                        useDirectIO,
+                        preallocateStoreFiles,
+                        checksumPages,
+                        ioController,
+                        swappers);
+                // Page faults read one page at a time, while the prefetcher uses the multi-page reads.
+                return new DelegatingPageSwapper(actualSwapper) {
+                    @Override
+                    public long read(long filePageId, long bufferAddress, int bufferLength) throws IOException {
+                        throw new IOException("Prefetch read failure");
+                    }
+
+                    @Override
+                    public long read(long startFilePageId, long[] bufferAddresses, int[] bufferLengths, int length)
+                            throws IOException {
+                        throw new IOException("Prefetch read failure");
+                    }
+                };
+            }
+        };
+    }
+
+    private void createFile(Path file, int pages) throws IOException {
+        var configuration = MuninnPageCache.config(CACHE_PAGES);
+        try (var pageCache = startPageCache(configuration, PageCacheTracer.NULL);
+                var pagedFile = map(pageCache, file);
+                var cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+            for (int i = 0; i < pages; i++) {
+                assertTrue(cursor.next());
+                cursor.putInt(i);
+            }
+        }
+    }
+
+    private MuninnPageCache startPageCache(MuninnPageCache.Configuration configuration, PageCacheTracer tracer) {
+        var swapperFactory = new SingleFilePageSwapperFactory(fs, tracer, EmptyMemoryTracker.INSTANCE);
+        return new MuninnPageCache(swapperFactory, jobScheduler, configuration);
+    }
+
+    private static PagedFile map(PageCache pageCache, Path file) throws IOException {
+        return pageCache.map(
+                file, PageCache.PAGE_SIZE, DEFAULT_DATABASE_NAME, Sets.immutable.of(StandardOpenOption.CREATE));
+    }
+}
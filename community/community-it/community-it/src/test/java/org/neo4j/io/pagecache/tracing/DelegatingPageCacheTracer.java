@@ -65,6 +65,11 @@ public class DelegatingPageCacheTracer implements PageCacheTracer {
         return delegate.beginPageEvictions(pageCountToEvict);
     }
 
+    @Override
+    public EvictionRunEvent beginPageEvictions(int partition, int pageCountToEvict) {
+        return delegate.beginPageEvictions(partition, pageCountToEvict);
+    }
+
     @Override
     public EvictionRunEvent beginEviction() {
         return delegate.beginEviction();
@@ -140,6 +145,21 @@ public class DelegatingPageCacheTracer implements PageCacheTracer {
         return delegate.maxPages();
     }
 
+    @Override
+    public int evictionPartitions() {
+        return delegate.evictionPartitions();
+    }
+
+    @Override
+    public long partitionEvictions(int partition) {
+        return delegate.partitionEvictions(partition);
+    }
+
+    @Override
+    public long partitionFreeListSize(int partition) {
+        return delegate.partitionFreeListSize(partition);
+    }
+
     @Override
     public long iopqPerformed() {
         return delegate.iopqPerformed();
@@ -175,6 +195,46 @@ public class DelegatingPageCacheTracer implements PageCacheTracer {
         return delegate.snapshotsLoaded();
     }
 
+    @Override
+    public long prefetchedPages() {
+        return delegate.prefetchedPages();
+    }
+
+    @Override
+    public long prefetchHits() {
+        return delegate.prefetchHits();
+    }
+
+    @Override
+    public long prefetchWaste() {
+        return delegate.prefetchWaste();
+    }
+
+    @Override
+    public long prefetchFailures() {
+        return delegate.prefetchFailures();
+    }
+
+    @Override
+    public long dirtyEvictions() {
+        return delegate.dirtyEvictions();
+    }
+
+    @Override
+    public double dirtyEvictionRatio() {
+        return delegate.dirtyEvictionRatio();
+    }
+
+    @Override
+    public long writeBehindFlushes() {
+        return delegate.writeBehindFlushes();
+    }
+
+    @Override
+    public long writeBehindBytesWritten() {
+        return delegate.writeBehindBytesWritten();
+    }
+
     @Override
     public long closedCursors() {
         return delegate.closedCursors();
@@ -245,6 +305,41 @@ public class DelegatingPageCacheTracer implements PageCacheTracer {
         delegate.snapshotsLoaded(snapshotsLoaded);
     }
 
+    @Override
+    public void pagesPrefetched(long pagesPrefetched) {
+        delegate.pagesPrefetched(pagesPrefetched);
+    }
+
+    @Override
+    public void prefetchHits(long prefetchHits) {
+        delegate.prefetchHits(prefetchHits);
+    }
+
+    @Override
+    public void prefetchWaste(long prefetchWaste) {
+        delegate.prefetchWaste(prefetchWaste);
+    }
+
+    @Override
+    public void prefetchFailed() {
+        delegate.prefetchFailed();
+    }
+
+    @Override
+    public void dirtyEvictions(long dirtyEvictions) {
+        delegate.dirtyEvictions(dirtyEvictions);
+    }
+
+    @Override
+    public void writeBehindFlushes(long writeBehindFlushes) {
+        delegate.writeBehindFlushes(writeBehindFlushes);
+    }
+
+    @Override
+    public void writeBehindBytesWritten(long bytesWritten) {
+        delegate.writeBehindBytesWritten(bytesWritten);
+    }
+
     @Override
     public void merges(long merges) {
         delegate.merges(merges);
@@ -255,6 +350,11 @@ public class DelegatingPageCacheTracer implements PageCacheTracer {
         delegate.maxPages(maxPages, pageSize);
     }
 
+    @Override
+    public void evictionPartitions(int partitions) {
+        delegate.evictionPartitions(partitions);
+    }
+
     @Override
     public void iopq(long iopq) {
         delegate.iopq(iopq);
@@ -48,6 +48,15 @@ public class DummyPageSwapper implements PageSwapper {
         return bufferLength;
     }
 
+    @Override
+    public long read(long startFilePageId, long[] bufferAddresses, int[] bufferLengths, int length) {
+        long bytes = 0;
+        for (int i = 0; i < length; i++) {
+            bytes += bufferLengths[i];
+        }
+        return bytes;
+    }
+
     @Override
     public long write(long filePageId, long bufferAddress) throws IOException {
         return filePageSize;
@@ -73,6 +73,11 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer {
         return tracer.add(new EvictionRunHEvent(tracer, pageCountToEvict));
     }
 
+    @Override
+    public EvictionRunEvent beginPageEvictions(int partition, int pageCountToEvict) {
+        return beginPageEvictions(pageCountToEvict);
+    }
+
     @Override
     public EvictionRunEvent beginEviction() {
         return tracer.add(new EvictionRunHEvent(tracer, 0));
@@ -193,6 +198,21 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer {
         return 0;
     }
 
+    @Override
+    public int evictionPartitions() {
+        return 0;
+    }
+
+    @Override
+    public long partitionEvictions(int partition) {
+        return 0;
+    }
+
+    @Override
+    public long partitionFreeListSize(int partition) {
+        return 0;
+    }
+
     @Override
     public long iopqPerformed() {
         return 0;
@@ -233,6 +253,46 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer {
         return 0;
     }
 
+    @Override
+    public long prefetchedPages() {
+        return 0;
+    }
+
+    @Override
+    public long prefetchHits() {
+        return 0;
+    }
+
+    @Override
+    public long prefetchWaste() {
+        return 0;
+    }
+
+    @Override
+    public long prefetchFailures() {
+        return 0;
+    }
+
+    @Override
+    public long dirtyEvictions() {
+        return 0;
+    }
+
+    @Override
+    public double dirtyEvictionRatio() {
+        return 0d;
+    }
+
+    @Override
+    public long writeBehindFlushes() {
+        return 0;
+    }
+
+    @Override
+    public long writeBehindBytesWritten() {
+        return 0;
+    }
+
     @Override
     public void pins(long pins) {}
 
@@ -275,9 +335,33 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer {
     @Override
     public void snapshotsLoaded(long snapshotsLoaded) {}
 
+    @Override
+    public void pagesPrefetched(long pagesPrefetched) {}
+
+    @Override
+    public void prefetchHits(long prefetchHits) {}
+
+    @Override
+    public void prefetchWaste(long prefetchWaste) {}
+
+    @Override
+    public void prefetchFailed() {}
+
+    @Override
+    public void dirtyEvictions(long dirtyEvictions) {}
+
+    @Override
+    public void writeBehindFlushes(long writeBehindFlushes) {}
+
+    @Override
+    public void writeBehindBytesWritten(long bytesWritten) {}
+
     @Override
     public void maxPages(long maxPages, long pageSize) {}
 
+    @Override
+    public void evictionPartitions(int partitions) {}
+
     @Override
     public void iopq(long iopq) {}
 
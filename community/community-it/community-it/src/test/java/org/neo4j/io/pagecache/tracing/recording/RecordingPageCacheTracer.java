@@ -67,6 +67,11 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
         return getEvictionRunEvent();
     }
 
+    @Override
+    public EvictionRunEvent beginPageEvictions(int partition, int pageCountToEvict) {
+        return getEvictionRunEvent();
+    }
+
     @Override
     public EvictionRunEvent beginEviction() {
         return getEvictionRunEvent();
@@ -204,6 +209,21 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
         return 0;
     }
 
+    @Override
+    public int evictionPartitions() {
+        return 0;
+    }
+
+    @Override
+    public long partitionEvictions(int partition) {
+        return 0;
+    }
+
+    @Override
+    public long partitionFreeListSize(int partition) {
+        return 0;
+    }
+
     @Override
     public long iopqPerformed() {
         return 0;
@@ -244,6 +264,46 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
         return 0;
     }
 
+    @Override
+    public long prefetchedPages() {
+        return 0;
+    }
+
+    @Override
+    public long prefetchHits() {
+        return 0;
+    }
+
+    @Override
+    public long prefetchWaste() {
+        return 0;
+    }
+
+    @Override
+    public long prefetchFailures() {
+        return 0;
+    }
+
+    @Override
+    public long dirtyEvictions() {
+        return 0;
+    }
+
+    @Override
+    public double dirtyEvictionRatio() {
+        return 0d;
+    }
+
+    @Override
+    public long writeBehindFlushes() {
+        return 0;
+    }
+
+    @Override
+    public long writeBehindBytesWritten() {
+        return 0;
+    }
+
     @Override
     public void pins(long pins) {
         this.pins.getAndAdd(pins);
@@ -289,12 +349,36 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
     @Override
     public void snapshotsLoaded(long snapshotsLoaded) {}
 
+    @Override
+    public void pagesPrefetched(long pagesPrefetched) {}
+
+    @Override
+    public void prefetchHits(long prefetchHits) {}
+
+    @Override
+    public void prefetchWaste(long prefetchWaste) {}
+
+    @Override
+    public void prefetchFailed() {}
+
+    @Override
+    public void dirtyEvictions(long dirtyEvictions) {}
+
+    @Override
+    public void writeBehindFlushes(long writeBehindFlushes) {}
+
+    @Override
+    public void writeBehindBytesWritten(long bytesWritten) {}
+
     @Override
     public void merges(long merges) {}
 
     @Override
     public void maxPages(long maxPages, long pageSize) {}
 
+    @Override
+    public void evictionPartitions(int partitions) {}
+
     @Override
     public void iopq(long iopq) {}
 
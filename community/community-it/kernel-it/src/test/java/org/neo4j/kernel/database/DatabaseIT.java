@@ -63,6 +63,8 @@ import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.impl.muninn.VersionStorage;
 import org.neo4j.io.pagecache.tracing.DatabaseFlushEvent;
 import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.kernel.impl.pagecache.IOClass;
+import org.neo4j.kernel.impl.pagecache.IOControllerCounters;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointerImpl;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.SimpleTriggerInfo;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
@@ -133,6 +135,15 @@ class DatabaseIT {
         assertThat(pageCacheWrapper.ioControllerChecks.get()).isPositive();
     }
 
+    @Test
+    void databaseWithoutPriorityIOControllerMustExposeEmptyIOControllerCounters() {
+        var counters = database.getDependencyResolver().resolveDependency(IOControllerCounters.class);
+
+        assertThat(counters).isSameAs(IOControllerCounters.NULL);
+        assertThat(counters.completedIOs(IOClass.CHECKPOINT)).isZero();
+        assertThat(counters.iopsLimit(IOClass.CHECKPOINT)).isEqualTo(-1);
+    }
+
     @Test
     void dropDataOfNotStartedDatabase() {
         database.stop();
@@ -232,6 +232,7 @@ class TransactionLogChannelAllocatorIT {
                 DEFAULT_DATABASE_NAME,
                 config,
                 null,
+                null,
                 null);
     }
 
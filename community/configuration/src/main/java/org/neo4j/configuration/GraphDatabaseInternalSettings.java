@@ -94,6 +94,13 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
             .dynamic()
             .build();
 
+    @Internal
+    @Description("Keep the locks of the lock manager in striped hash tables of primitive resource ids, instead of in "
+            + "concurrent hash maps. This avoids allocating a boxed key and a map entry for every lock that is taken.")
+    public static final Setting<Boolean> lock_manager_striped_lock_table = newBuilder(
+                    "internal.dbms.lock_manager.striped_lock_table", BOOL, false)
+            .build();
+
     @Internal
     @Description("Name of the tracer factory to be used. Current implementations are: null, default & verbose.")
     public static final Setting<String> tracer =
@@ -737,6 +744,21 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
             .addConstraint(range(2, 100))
             .build();
 
+    @Internal
+    @Description("Time interval between the checkpoints of the 'incremental' check-point policy. Dirty pages are "
+            + "written back continuously in between, so each of these checkpoints only has to write and force what "
+            + "remains.")
+    public static final Setting<Duration> checkpoint_incremental_interval =
+            newBuilder("internal.db.checkpoint.incremental.interval", DURATION, ofMinutes(1)).build();
+
+    @Internal
+    @Description("The number of dirty pages per second that the 'incremental' check-point policy writes back in "
+            + "between checkpoints, oldest modifications first.")
+    public static final Setting<Integer> checkpoint_incremental_flush_rate = newBuilder(
+                    "internal.db.checkpoint.incremental.flush_rate", INT, 2000)
+            .addConstraint(min(1))
+            .build();
+
     @Internal
     @Description(
             "Whether or not to dump system and database diagnostics. This takes a non-negligible amount of time to do and therefore "
@@ -817,6 +839,19 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
                     "internal.dbms.strictly_prioritize_id_freelist", BOOL, true)
             .build();
 
+    @Internal
+    @Description("Maximum number of node and relationship ids that a transaction reserves at a time. "
+            + "A reserved range never crosses a store page, whether its ids are reused or new, "
+            + "and ids are handed out from it without contending with "
+            + "other transactions, which also places records created by the same transaction on the same pages. "
+            + "Ranges start with a single id and double in size each time a transaction uses up its range, up to this "
+            + "maximum. Ids that are left when the transaction closes are given back to the id generator. "
+            + "A value of 1 allocates every id from the id generator directly.")
+    public static final Setting<Integer> transaction_id_range_size = newBuilder(
+                    "internal.dbms.idgenerator.transaction_range_size", INT, 1)
+            .addConstraint(min(1))
+            .build();
+
     @Internal
     @Description("Block/buffer size for index population")
     public static final Setting<Long> index_populator_block_size = newBuilder(
@@ -903,6 +938,14 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
     public static final Setting<Boolean> do_parallel_recovery =
             newBuilder("internal.dbms.recovery.enable_parallelism", BOOL, false).build();
 
+    @Internal
+    @Description("Amount of transaction log that recovery reads and decodes ahead of applying it to the store, on a "
+            + "separate thread. Zero, the default, disables reading ahead.")
+    public static final Setting<Long> recovery_read_ahead_memory = newBuilder(
+                    "internal.dbms.recovery.read_ahead_memory", BYTES, 0L)
+            .addConstraint(min(0L))
+            .build();
+
     @Internal
     @Description("Whether or not to log contents of data that is inconsistent when deleting it.")
     public static final Setting<Boolean> log_inconsistent_data_deletion = newBuilder(
@@ -957,8 +1000,46 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
                     "internal.dbms.tx.logs.dedicated.appender", BOOL, Boolean.FALSE)
             .build();
 
+    @Description("Let the dedicated transaction appender size its group commits from the observed log force latency "
+            + "and transaction arrival rate, and briefly wait for more transactions before forcing the log when that "
+            + "is expected to fit within the commit latency target.")
+    @Internal
+    public static final Setting<Boolean> dedicated_transaction_appender_adaptive_group_commit = newBuilder(
+                    "internal.dbms.tx.logs.dedicated.appender.adaptive_group_commit", BOOL, false)
+            .build();
+
+    @Description("The commit latency that the adaptive group commit of the dedicated transaction appender aims for. "
+            + "Transactions are only held back to grow a group commit for as long as the observed log force latency "
+            + "leaves room within this target.")
     @Internal
-    @Description("Enable per page file metrics collection in a default page cache and cursor tracer.")
+    public static final Setting<Duration> dedicated_transaction_appender_commit_latency_target = newBuilder(
+                    "internal.dbms.tx.logs.dedicated.appender.commit_latency_target", DURATION, ofMillis(5))
+            .build();
+
+    @Description("Apply transactions to the store in a pipeline stage of its own. The dedicated transaction appender "
+            + "hands every group of transactions that it has appended and forced to a store apply thread, which "
+            + "applies the whole group in transaction id order while the appender appends and forces the next group. "
+            + "Committing threads wait for their transactions to be applied before closing them. Only has an effect "
+            + "together with the dedicated transaction appender.")
+    @Internal
+    public static final Setting<Boolean> pipelined_commit =
+            newBuilder("internal.dbms.tx.pipelined_commit", BOOL, false).build();
+
+    @Description("The number of transactions that the store apply stage of the pipelined commit applies concurrently. "
+            + "With 1 every group of transactions is applied with a single call. With more, the transactions lock the "
+            + "records they touch in transaction id order and are then applied by a pool of this many appliers, so "
+            + "that only transactions touching the same records are applied one after the other.")
+    @Internal
+    public static final Setting<Integer> pipelined_commit_appliers = newBuilder(
+                    "internal.dbms.tx.pipelined_commit.appliers", INT, 1)
+            .addConstraint(min(1))
+            .build();
+
+    @Internal
+    @Description("Enable per page file metrics collection in a default page cache and cursor tracer. "
+            + "The page cache file statistics procedure and JMX bean always report the pins, hits and faults of the "
+            + "individual files, but only report their evictions, flushes and bytes read and written when this is "
+            + "enabled.")
     public static final Setting<Boolean> per_file_metrics_counters =
             newBuilder("internal.dbms.page.file.tracer", BOOL, false).build();
 
@@ -967,6 +1048,32 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
     public static final Setting<Boolean> pre_sketch_transaction_logs =
             newBuilder("internal.dbms.tx_log.presketch", BOOL, false).build();
 
+    @Internal
+    @Description("Write the commands of each appended command batch as one LZ4 compressed block in the transaction "
+            + "log. Batches that are too small to benefit from compression are still written uncompressed.")
+    public static final Setting<Boolean> compress_transaction_log_commands =
+            newBuilder("internal.dbms.tx_log.compress_commands", BOOL, false).build();
+
+    @Internal
+    @Description("Approximate distance in bytes between the transactions that are recorded in the sparse transaction "
+            + "id to log position index, that is written next to each rotated transaction log file. Smaller values "
+            + "make lookups of old transactions scan less of the log file, at the expense of larger index files. "
+            + "Zero disables the index.")
+    public static final Setting<Long> transaction_log_position_index_interval = newBuilder(
+                    "internal.dbms.tx_log.position_index.interval", BYTES, kibiBytes(64))
+            .addConstraint(min(0L))
+            .build();
+
+    @Internal
+    @Description("Maximum number of spare transaction log files to keep for reuse. Above zero, log files that are "
+            + "pruned are zeroed and kept as spares instead of being deleted, and a new spare is created in the "
+            + "background whenever rotation takes the last one, so that rotation only has to rename a file whose "
+            + "space is already allocated. Zero disables spare files.")
+    public static final Setting<Integer> transaction_log_spare_files = newBuilder(
+                    "internal.dbms.tx_log.spare_files", INT, 0)
+            .addConstraint(min(0))
+            .build();
+
     @Internal
     @Description(
             "Enables using format versions that are still under development, which will trigger migration to them on start up. "
@@ -1047,6 +1154,98 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
                     "internal.db.multiversion.transaction.chunk.size", BYTES, mebiBytes(10))
             .build();
 
+    @Internal
+    @Description("Number of eviction partitions the page cache is split into. Every partition is swept by its own "
+            + "eviction thread with its own clock arm and freelist. Page faulting threads prefer the freelist of "
+            + "their own partition, and only steal free pages from other partitions when their own is empty.")
+    public static final Setting<Integer> pagecache_eviction_partitions = newBuilder(
+                    "internal.dbms.memory.pagecache.eviction_partitions", INT, 1)
+            .addConstraint(range(1, 256))
+            .build();
+
+    @Internal
+    @Description("Detect sequential and strided page access streams in every mapped file, across all of its cursors, "
+            + "and prefetch pages ahead of those streams with batched reads. Prefetching backs off when the page "
+            + "cache is under eviction pressure. When enabled, this replaces the per-cursor pre-fetching of scans.")
+    public static final Setting<Boolean> pagecache_stream_prefetching = newBuilder(
+                    "internal.dbms.memory.pagecache.stream_prefetching", BOOL, false)
+            .build();
+
+    @Internal
+    @Description("When buffered flush is enabled, gather the flushed pages straight from page cache memory into "
+            + "vectored writes, instead of copying them into the flush buffer first. The flush buffer size still "
+            + "limits the size of each write.")
+    public static final Setting<Boolean> pagecache_vectored_flush = newBuilder(
+                    "internal.dbms.memory.pagecache.vectored_flush", BOOL, false)
+            .build();
+
+    @Internal
+    @Description("Advise the operating system to back the page cache memory with transparent huge pages, which "
+            + "reduces TLB misses for large page caches. Requires transparent huge pages to be set to `madvise` or "
+            + "`always` on Linux, and has no effect on other platforms.")
+    public static final Setting<Boolean> pagecache_huge_pages = newBuilder(
+                    "internal.dbms.memory.pagecache.huge_pages", BOOL, false)
+            .build();
+
+    @Internal
+    @Description("When the page cache memory is bound to NUMA nodes, round the number of eviction partitions up to a "
+            + "multiple of the number of nodes, and align the partitions with the nodes, so that every node is "
+            + "swept by its own eviction threads.")
+    public static final Setting<Boolean> pagecache_numa_aligned_partitions = newBuilder(
+                    "internal.dbms.memory.pagecache.numa_aligned_partitions", BOOL, false)
+            .build();
+
+    @Internal
+    @Description("Flush dirty pages in the background, ahead of the clock arms of the page cache eviction, so that "
+            + "eviction mostly finds clean pages, and neither the eviction threads nor page faults have to write "
+            + "pages back before they can reuse them. Only partitions of the page cache that are running low on free "
+            + "pages are visited.")
+    public static final Setting<Boolean> pagecache_write_behind = newBuilder(
+                    "internal.dbms.memory.pagecache.write_behind", BOOL, false)
+            .build();
+
+    @Internal
+    @Description("Use the priority aware IO controller, that gives checkpointing, the file IO helper jobs, page cache "
+            + "eviction and index population their own IO budgets, and lowers those budgets when the latency of page "
+            + "faults goes above the target. The checkpoint budget is configured by `db.checkpoint.iops.limit`.")
+    public static final Setting<Boolean> io_controller_priority_enabled = newBuilder(
+                    "internal.db.io.controller.priority.enabled", BOOL, false)
+            .build();
+
+    @Internal
+    @Description("The IOPS budget of the file IO helper jobs, when the priority aware IO controller is used. "
+            + "Set this to -1 to not limit these jobs.")
+    public static final Setting<Integer> io_controller_file_io_helper_iops_limit = newBuilder(
+                    "internal.db.io.controller.file_io_helper.iops.limit", INT, 600)
+            .dynamic()
+            .build();
+
+    @Internal
+    @Description("The IOPS budget of page cache eviction, when the priority aware IO controller is used. "
+            + "Eviction is never delayed, since page faults wait for it, but IO in excess of the budget is reported "
+            + "in the IO controller statistics. Set this to -1 to not track a budget for eviction.")
+    public static final Setting<Integer> io_controller_eviction_iops_limit = newBuilder(
+                    "internal.db.io.controller.eviction.iops.limit", INT, -1)
+            .dynamic()
+            .build();
+
+    @Internal
+    @Description("The IOPS budget of index population, when the priority aware IO controller is used. "
+            + "Set this to -1 to not limit index population.")
+    public static final Setting<Integer> io_controller_index_population_iops_limit = newBuilder(
+                    "internal.db.io.controller.index_population.iops.limit", INT, 1000)
+            .dynamic()
+            .build();
+
+    @Internal
+    @Description("The page fault read latency that the priority aware IO controller aims for. When the average "
+            + "latency of page fault reads goes above this target, the budgets of the background IO are lowered, and "
+            + "they are raised again once the latency drops below half of the target.")
+    public static final Setting<Duration> io_controller_target_read_latency = newBuilder(
+                    "internal.db.io.controller.target_read_latency", DURATION, ofMillis(2))
+            .dynamic()
+            .build();
+
     @Internal
     @Description("Page Cache Warmer blocks database start until it's completed")
     public static final Setting<Boolean> pagecache_warmup_blocking = newBuilder(
@@ -412,7 +412,8 @@ public class GraphDatabaseSettings implements SettingsDeclaration {
         PERIODIC,
         CONTINUOUS,
         VOLUME,
-        VOLUMETRIC
+        VOLUMETRIC,
+        INCREMENTAL
     }
 
     @Description("Configures the general policy for when check-points should occur. The default policy is the "
@@ -423,7 +424,9 @@ public class GraphDatabaseSettings implements SettingsDeclaration {
             + "check-point process all the time. "
             + "The second is the 'volumetric' check-point policy, which makes a best-effort at check-pointing "
             + "often enough so that the database doesn't get too far behind on deleting old transaction logs in "
-            + "accordance with the 'db.tx_log.rotation.retention_policy' setting.")
+            + "accordance with the 'db.tx_log.rotation.retention_policy' setting. "
+            + "The 'incremental' check-point policy continuously writes back the oldest dirty pages at a paced rate, "
+            + "and check-points frequently, so that each check-point only has little left to write.")
     public static final Setting<CheckpointPolicy> check_point_policy = newBuilder(
                     "db.checkpoint", ofEnum(CheckpointPolicy.class), CheckpointPolicy.PERIODIC)
             .build();
@@ -593,8 +596,7 @@ public class GraphDatabaseSettings implements SettingsDeclaration {
             .build();
 
     @Description("The profiling frequency for the page cache. "
-            + "Accurate profiles allow the page cache to do active warmup after a restart, reducing the mean time to performance.\n"
-            + "This feature is available in Neo4j Enterprise Edition.")
+            + "Accurate profiles allow the page cache to do active warmup after a restart, reducing the mean time to performance.")
     public static final Setting<Duration> pagecache_warmup_profiling_interval = newBuilder(
                     "db.memory.pagecache.warmup.profile.interval", DURATION, ofMinutes(1))
             .build();
@@ -602,8 +604,7 @@ public class GraphDatabaseSettings implements SettingsDeclaration {
     @Description(
             "Page cache can be configured to perform usage sampling of loaded pages that can be used to construct active load profile. "
                     + "According to that profile pages can be reloaded on the restart, replication, etc. "
-                    + "This setting allows disabling that behavior.\n"
-                    + "This feature is available in Neo4j Enterprise Edition.")
+                    + "This setting allows disabling that behavior.")
     public static final Setting<Boolean> pagecache_warmup_enabled =
             newBuilder("db.memory.pagecache.warmup.enable", BOOL, true).build();
 
@@ -55,6 +55,36 @@ public interface IdGenerator extends IdSequence, Closeable, ConsistencyCheckable
      */
     long nextConsecutiveIdRange(int numberOfIds, boolean favorSamePage, CursorContext cursorContext);
 
+    /**
+     * Reserves a range of IDs for a single caller, e.g. a transaction, to allocate from without contending with other
+     * callers. All IDs in the range are on the same page of the store and the range never holds more than
+     * {@code maxIds} IDs, but it may hold fewer, down to a single ID. IDs allocated from high ID are consecutive,
+     * reused IDs are the free IDs of that page. IDs that are left in the range when the caller is done with it must be
+     * given back with {@link #releasePageRange(PageIdRange, CursorContext)}.
+     *
+     * @param maxIds the maximum number of IDs in the range.
+     * @param idsPerPage the number of IDs that fit on one page of the store.
+     * @param cursorContext for tracing page accesses.
+     * @return the reserved range.
+     */
+    default PageIdRange nextPageRange(int maxIds, int idsPerPage, CursorContext cursorContext) {
+        return new PageIdRange(nextId(cursorContext), 1, false);
+    }
+
+    /**
+     * Gives back the IDs of a range from {@link #nextPageRange(int, int, CursorContext)} that were never handed out.
+     *
+     * @param range the range to release, which must not be used after this call.
+     * @param cursorContext for tracing page accesses.
+     */
+    default void releasePageRange(PageIdRange range, CursorContext cursorContext) {
+        if (range.hasNext()) {
+            try (Marker marker = marker(cursorContext)) {
+                range.visitUnusedIds(marker::markUnallocated);
+            }
+        }
+    }
+
     /**
      * @param id the highest in use + 1
      */
@@ -231,6 +261,16 @@ public interface IdGenerator extends IdSequence, Closeable, ConsistencyCheckable
             return delegate.nextConsecutiveIdRange(numberOfIds, favorSamePage, cursorContext);
         }
 
+        @Override
+        public PageIdRange nextPageRange(int maxIds, int idsPerPage, CursorContext cursorContext) {
+            return delegate.nextPageRange(maxIds, idsPerPage, cursorContext);
+        }
+
+        @Override
+        public void releasePageRange(PageIdRange range, CursorContext cursorContext) {
+            delegate.releasePageRange(range, cursorContext);
+        }
+
         @Override
         public void setHighId(long id) {
             delegate.setHighId(id);
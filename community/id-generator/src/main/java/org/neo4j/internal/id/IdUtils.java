@@ -28,7 +28,7 @@ public class IdUtils {
     private static final long MASK_ID = ~(MASK_USED | MASK_NUMBER_OF_IDS);
 
     static final long MAX_ID = MASK_ID;
-    static final int MAX_NUMBER_OF_IDS = 1 << NUM_BITS_NUMBER_OF_IDS;
+    public static final int MAX_NUMBER_OF_IDS = 1 << NUM_BITS_NUMBER_OF_IDS;
 
     /**
      * Combines an starting ID, the number of IDs available and whether or not the IDs are used into a single {@code long} for convenience.
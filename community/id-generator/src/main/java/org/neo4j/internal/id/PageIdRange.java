@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.id;
+
+import org.neo4j.io.pagecache.context.CursorContext;
+
+/**
+ * A range of ids, all on the same page of the store, that was reserved from an {@link IdGenerator} by
+ * {@link IdGenerator#nextPageRange(int, int, CursorContext)}. Ids allocated from high id are consecutive, whereas
+ * reused ids are whichever ids on the page that were free, in ascending order. The ids in the range are handed out by
+ * {@link #nextId()} without touching the id generator, which is why a range must only be used by one thread at a time.
+ * Ids that were never handed out are given back with {@link IdGenerator#releasePageRange(PageIdRange, CursorContext)}.
+ */
+public final class PageIdRange {
+    /**
+     * A range without any ids, used as the initial range before anything has been reserved.
+     */
+    public static final PageIdRange EMPTY = new PageIdRange(0, 0, false);
+
+    private final long startId;
+    private final int size;
+    private final boolean reused;
+    // The ids of this range if they aren't consecutive, otherwise null.
+    private final long[] ids;
+    private int cursor;
+
+    /**
+     * @param startId first id in the range.
+     * @param size number of ids in the range.
+     * @param reused {@code true} if the ids were taken from the freelist, {@code false} if they were allocated from
+     * high id.
+     */
+    public PageIdRange(long startId, int size, boolean reused) {
+        this.startId = startId;
+        this.size = size;
+        this.reused = reused;
+        this.ids = null;
+    }
+
+    /**
+     * @param reusedIds ids that were taken from the freelist, in ascending order.
+     */
+    public PageIdRange(long[] reusedIds) {
+        this.startId = reusedIds[0];
+        this.size = reusedIds.length;
+        this.reused = true;
+        this.ids = reusedIds;
+    }
+
+    public boolean hasNext() {
+        return cursor < size;
+    }
+
+    /**
+     * @return the next id in this range.
+     * @throws IllegalStateException if all ids in this range have been handed out.
+     */
+    public long nextId() {
+        if (!hasNext()) {
+            throw new IllegalStateException("All ids in " + this + " have been handed out");
+        }
+        return ids != null ? ids[cursor++] : startId + cursor++;
+    }
+
+    /**
+     * Visits the ids that haven't been handed out yet, in runs of consecutive ids.
+     */
+    public void visitUnusedIds(UnusedIdVisitor visitor) {
+        if (ids == null) {
+            if (hasNext()) {
+                visitor.visit(startId + cursor, size - cursor);
+            }
+            return;
+        }
+        int runStart = cursor;
+        for (int i = cursor + 1; i <= size; i++) {
+            if (i == size || ids[i] != ids[i - 1] + 1) {
+                visitor.visit(ids[runStart], i - runStart);
+                runStart = i;
+            }
+        }
+    }
+
+    /**
+     * @return number of ids that haven't been handed out yet.
+     */
+    public int numberOfUnusedIds() {
+        return size - cursor;
+    }
+
+    /**
+     * @return the lowest id in this range.
+     */
+    public long startId() {
+        return startId;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean reused() {
+        return reused;
+    }
+
+    @Override
+    public String toString() {
+        return "PageIdRange[startId:" + startId + ", size:" + size + ", reused:" + reused + ", used:" + cursor + "]";
+    }
+
+    @FunctionalInterface
+    public interface UnusedIdVisitor {
+        void visit(long id, int numberOfIds);
+    }
+}
@@ -39,6 +39,18 @@ interface ConcurrentLongQueue {
      */
     long takeOrDefault(long defaultValue);
 
+    /**
+     * Takes the value at the head of this queue, but only if it's within the given range.
+     *
+     * @param minBoundary lowest value, inclusive, that may be taken.
+     * @param maxBoundary highest value, exclusive, that may be taken.
+     * @param defaultValue value to return if there was no value available, or if the value at the head of this queue
+     * is outside of the given range.
+     * @return next value from this queue, or the {@code defaultValue} if there was no value available to take within
+     * the given range.
+     */
+    long takeInRangeOrDefault(long minBoundary, long maxBoundary, long defaultValue);
+
     /**
      * @return size of this queue, i.e. how many values are queued right now.
      */
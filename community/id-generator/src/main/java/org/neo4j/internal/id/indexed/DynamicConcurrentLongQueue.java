@@ -78,6 +78,26 @@ class DynamicConcurrentLongQueue implements ConcurrentLongQueue {
         return defaultValue;
     }
 
+    @Override
+    public long takeInRangeOrDefault(long minBoundary, long maxBoundary, long defaultValue) {
+        Chunk chunk;
+        Chunk next;
+        do {
+            chunk = first.get();
+            next = chunk.next.get();
+            if (chunk.size() > 0) {
+                // The head of the queue is in this chunk, so this is the only value that may be taken
+                return chunk.takeInRangeOrDefault(minBoundary, maxBoundary, defaultValue);
+            }
+            if (next != null) {
+                if (first.compareAndSet(chunk, next)) {
+                    numChunks.decrementAndGet();
+                }
+            }
+        } while (next != null);
+        return defaultValue;
+    }
+
     private int capacity() {
         return chunkSize * maxNumChunks;
     }
@@ -150,6 +170,24 @@ class DynamicConcurrentLongQueue implements ConcurrentLongQueue {
             return value;
         }
 
+        long takeInRangeOrDefault(long minBoundary, long maxBoundary, long defaultValue) {
+            int currentReadSeq;
+            int currentWriteSeq;
+            long value;
+            do {
+                currentReadSeq = readSeq.get();
+                currentWriteSeq = writeSeq.get();
+                if (currentReadSeq == currentWriteSeq) {
+                    return defaultValue;
+                }
+                value = array.get(currentReadSeq);
+                if (value < minBoundary || value >= maxBoundary) {
+                    return defaultValue;
+                }
+            } while (!readSeq.compareAndSet(currentReadSeq, currentReadSeq + 1));
+            return value;
+        }
+
         int size() {
             return max(0, writeSeq.intValue() - readSeq.intValue());
         }
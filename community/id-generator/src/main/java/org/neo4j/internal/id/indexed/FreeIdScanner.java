@@ -19,6 +19,7 @@
  */
 package org.neo4j.internal.id.indexed;
 
+import static org.neo4j.internal.id.IdUtils.MAX_NUMBER_OF_IDS;
 import static org.neo4j.internal.id.IdUtils.combinedIdAndNumberOfIds;
 import static org.neo4j.internal.id.IdUtils.idFromCombinedId;
 import static org.neo4j.internal.id.IdUtils.numberOfIdsFromCombinedId;
@@ -242,13 +243,23 @@ class FreeIdScanner implements Closeable {
     }
 
     void queueSkippedHighId(long id, int numberOfIds) {
-        queuedSkippedHighIds.offer(combinedIdAndNumberOfIds(id, numberOfIds, false));
-        numBufferedIds.incrementAndGet();
+        queueIds(queuedSkippedHighIds, id, numberOfIds);
     }
 
     void queueWastedCachedId(long id, int numberOfIds) {
-        queuedWastedCachedIds.offer(combinedIdAndNumberOfIds(id, numberOfIds, false));
-        numBufferedIds.incrementAndGet();
+        queueIds(queuedWastedCachedIds, id, numberOfIds);
+    }
+
+    private void queueIds(ConcurrentLinkedQueue<Long> queue, long id, int numberOfIds) {
+        // A queued entry can hold at most MAX_NUMBER_OF_IDS ids and is marked in one tree entry when consumed,
+        // so runs that are longer or cross an entry boundary, e.g. from released page ranges, are split up
+        while (numberOfIds > 0) {
+            int chunk = (int) Math.min(Math.min(numberOfIds, MAX_NUMBER_OF_IDS), idsPerEntry - id % idsPerEntry);
+            queue.offer(combinedIdAndNumberOfIds(id, chunk, false));
+            numBufferedIds.incrementAndGet();
+            id += chunk;
+            numberOfIds -= chunk;
+        }
     }
 
     private void markIdsAsReserved(PendingIdQueue pendingIdQueue, CursorContext cursorContext) {
@@ -96,6 +96,19 @@ class IdCache {
         return id;
     }
 
+    /**
+     * Takes the next single id, but only if it's within the given range. Since ids are cached in the order that they
+     * are found when scanning the freelist, i.e. in ascending order, this can be used to take several ids from the
+     * same area of the store.
+     */
+    long takeInRangeOrDefault(long minBoundary, long maxBoundary, long defaultValue) {
+        long id = queues[singleIdSlotIndex].takeInRangeOrDefault(minBoundary, maxBoundary, defaultValue);
+        if (id != defaultValue) {
+            size.decrementAndGet();
+        }
+        return id;
+    }
+
     long takeOrDefault(long defaultValue, int numberOfIds, IdRangeConsumer wasteNotifier) {
         long id = defaultValue;
         for (int slotIndex = lowestSlotIndexCapableOf(numberOfIds);
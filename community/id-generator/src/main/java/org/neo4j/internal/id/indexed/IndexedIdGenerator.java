@@ -57,6 +57,7 @@ import org.neo4j.internal.id.IdGenerator;
 import org.neo4j.internal.id.IdSlotDistribution;
 import org.neo4j.internal.id.IdType;
 import org.neo4j.internal.id.IdValidator;
+import org.neo4j.internal.id.PageIdRange;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.PageCacheOpenOptions;
@@ -423,19 +424,10 @@ public class IndexedIdGenerator implements IdGenerator {
 
     @Override
     public long nextId(CursorContext cursorContext) {
-        do {
-            // If strictly prioritizing the freelist then the method below will block on the current scan,
-            // if there's any ongoing, otherwise it will not block.
-            checkRefillCache(cursorContext);
-            long id = cache.takeOrDefault(NO_ID);
-            if (id != NO_ID) {
-                monitor.allocatedFromReused(id, 1);
-                return id;
-            }
-            // If strictly prioritizing the freelist then stay in this loop until either there's an available
-            // free ID or there are no more to be found. The loop will not be busy-wait given the blocking
-            // nature of the scan in this scenario.
-        } while (strictlyPrioritizeFreelist && scanner.hasMoreFreeIds(true));
+        long reusedId = takeReusedId(cursorContext);
+        if (reusedId != NO_ID) {
+            return reusedId;
+        }
 
         // There was no ID in the cache. This could be that either there are no free IDs in here (the typical case),
         // or a benign race where the cache ran out of IDs and it's very soon filled with more IDs from an ongoing
@@ -452,6 +444,23 @@ public class IndexedIdGenerator implements IdGenerator {
         return id;
     }
 
+    private long takeReusedId(CursorContext cursorContext) {
+        do {
+            // If strictly prioritizing the freelist then the method below will block on the current scan,
+            // if there's any ongoing, otherwise it will not block.
+            checkRefillCache(cursorContext);
+            long id = cache.takeOrDefault(NO_ID);
+            if (id != NO_ID) {
+                monitor.allocatedFromReused(id, 1);
+                return id;
+            }
+            // If strictly prioritizing the freelist then stay in this loop until either there's an available
+            // free ID or there are no more to be found. The loop will not be busy-wait given the blocking
+            // nature of the scan in this scenario.
+        } while (strictlyPrioritizeFreelist && scanner.hasMoreFreeIds(true));
+        return NO_ID;
+    }
+
     @Override
     public long nextConsecutiveIdRange(int numberOfIds, boolean favorSamePage, CursorContext cursorContext) {
         if (numberOfIds <= biggestSlotSize) {
@@ -506,6 +515,78 @@ public class IndexedIdGenerator implements IdGenerator {
         return id;
     }
 
+    @Override
+    public PageIdRange nextPageRange(int maxIds, int idsPerPage, CursorContext cursorContext) {
+        // The freelist still has priority over high id
+        long reusedId = takeReusedId(cursorContext);
+        if (reusedId != NO_ID) {
+            return reusedPageRange(reusedId, maxIds, idsPerPage);
+        }
+
+        long readHighId;
+        int numberOfIds;
+        do {
+            readHighId = highId.get();
+            // Only reserve up to the end of the page that high id is on, so that all ids in the range share a page
+            numberOfIds = (int) Math.min(Math.max(maxIds, 1), idsPerPage - readHighId % idsPerPage);
+            IdValidator.assertIdWithinMaxCapacity(idType, readHighId + numberOfIds - 1, maxId);
+        } while (!highId.compareAndSet(readHighId, readHighId + numberOfIds)
+                || IdValidator.hasReservedIdInRange(readHighId, readHighId + numberOfIds));
+        monitor.allocatedFromHigh(readHighId, numberOfIds);
+        return new PageIdRange(readHighId, numberOfIds, false);
+    }
+
+    /**
+     * Free ids are cached in the order that the scanner finds them, i.e. in ascending order. Take the ids following the
+     * first one for as long as they are on the same page, so that the records the caller writes dirty as few pages as
+     * possible. This also means that pages with many free ids are filled up by a single caller.
+     */
+    private PageIdRange reusedPageRange(long firstId, int maxIds, int idsPerPage) {
+        if (maxIds <= 1 || idsPerPage <= 1) {
+            return new PageIdRange(firstId, 1, true);
+        }
+        long pageEndId = firstId - firstId % idsPerPage + idsPerPage;
+        long[] ids = null;
+        int count = 1;
+        long lastId = firstId;
+        long id;
+        // Only take ids above the last taken one, to keep them in ascending order even if the cache isn't, e.g. after
+        // wasted ids from a previous scan were cached ahead of lower ids found by this one
+        while (count < maxIds && (id = cache.takeInRangeOrDefault(lastId + 1, pageEndId, NO_ID)) != NO_ID) {
+            if (ids == null) {
+                ids = new long[Math.min(maxIds, idsPerPage)];
+                ids[0] = firstId;
+            }
+            monitor.allocatedFromReused(id, 1);
+            ids[count++] = lastId = id;
+        }
+        return ids == null ? new PageIdRange(firstId, 1, true) : new PageIdRange(Arrays.copyOf(ids, count));
+    }
+
+    @Override
+    public void releasePageRange(PageIdRange range, CursorContext cursorContext) {
+        if (range.hasNext()) {
+            // Hand the ids over to the scanner instead of writing them to the tree right here. Unused reused ids are
+            // still marked as reserved, just like cached ids that were wasted, and unused ids from high id were never
+            // written anywhere, just like skipped high ids.
+            if (range.reused()) {
+                range.visitUnusedIds(scanner::queueWastedCachedId);
+            } else if (!rollBackHighId(range)) {
+                range.visitUnusedIds(scanner::queueSkippedHighId);
+            }
+        }
+    }
+
+    /**
+     * Unused ids from high id are only freed once the "ID gap bridging" has marked them as deleted, which needs a
+     * higher id to be written. If no other ids have been allocated from high id since the range was reserved, then
+     * the unused ids are still at the top and can be given back right away by lowering high id instead.
+     */
+    private boolean rollBackHighId(PageIdRange range) {
+        long endId = range.startId() + range.size();
+        return highId.compareAndSet(endId, endId - range.numberOfUnusedIds());
+    }
+
     @Override
     public Marker marker(CursorContext cursorContext) {
         if (!started && needsRebuild) {
@@ -71,6 +71,25 @@ class SpmcLongQueue implements ConcurrentLongQueue {
         return value;
     }
 
+    @Override
+    public long takeInRangeOrDefault(long minBoundary, long maxBoundary, long defaultValue) {
+        long currentReadSeq;
+        long currentWriteSeq;
+        long value;
+        do {
+            currentReadSeq = readSeq.get();
+            currentWriteSeq = writeSeq.get();
+            if (currentReadSeq == currentWriteSeq) {
+                return defaultValue;
+            }
+            value = array.get(idx(currentReadSeq));
+            if (value < minBoundary || value >= maxBoundary) {
+                return defaultValue;
+            }
+        } while (!readSeq.compareAndSet(currentReadSeq, currentReadSeq + 1));
+        return value;
+    }
+
     @Override
     public int size() {
         // Why do we need max on this value? Well the size being returned is a rough estimate since we're reading two
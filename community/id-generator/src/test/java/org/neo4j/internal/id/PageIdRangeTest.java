@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PageIdRangeTest {
+    @Test
+    void shouldVisitUnusedConsecutiveIdsAsOneRun() {
+        PageIdRange range = new PageIdRange(10, 5, false);
+        range.nextId();
+        range.nextId();
+
+        assertThat(unusedRuns(range)).containsExactly(new Run(12, 3));
+        assertThat(range.numberOfUnusedIds()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldVisitUnusedReusedIdsInRunsOfConsecutiveIds() {
+        PageIdRange range = new PageIdRange(new long[] {2, 3, 4, 7, 8, 11});
+        assertThat(range.nextId()).isEqualTo(2);
+
+        assertThat(unusedRuns(range)).containsExactly(new Run(3, 2), new Run(7, 2), new Run(11, 1));
+        assertThat(range.startId()).isEqualTo(2);
+        assertThat(range.reused()).isTrue();
+    }
+
+    @Test
+    void shouldNotVisitAnythingWhenAllIdsAreUsed() {
+        PageIdRange consecutive = new PageIdRange(10, 1, false);
+        PageIdRange reused = new PageIdRange(new long[] {5});
+        consecutive.nextId();
+        reused.nextId();
+
+        assertThat(unusedRuns(consecutive)).isEmpty();
+        assertThat(unusedRuns(reused)).isEmpty();
+        assertThat(unusedRuns(PageIdRange.EMPTY)).isEmpty();
+    }
+
+    private static List<Run> unusedRuns(PageIdRange range) {
+        List<Run> runs = new ArrayList<>();
+        range.visitUnusedIds((id, numberOfIds) -> runs.add(new Run(id, numberOfIds)));
+        return runs;
+    }
+
+    private record Run(long id, int numberOfIds) {}
+}
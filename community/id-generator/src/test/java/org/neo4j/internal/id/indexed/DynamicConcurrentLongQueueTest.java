@@ -73,6 +73,28 @@ class DynamicConcurrentLongQueueTest {
         assertThat(queue.takeOrDefault(-1)).isEqualTo(-1L);
     }
 
+    @Test
+    void shouldTakeInRangeAcrossChunks() {
+        // given
+        var queue = new DynamicConcurrentLongQueue(4, 5);
+        for (int i = 0; i < 8; i++) {
+            queue.offer(i);
+        }
+
+        // when
+        var taken = LongLists.mutable.empty();
+        long id;
+        while ((id = queue.takeInRangeOrDefault(0, 6, -1)) != -1) {
+            taken.add(id);
+        }
+
+        // then
+        assertThat(taken).isEqualTo(LongLists.immutable.of(0, 1, 2, 3, 4, 5));
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.takeInRangeOrDefault(7, 8, -1)).isEqualTo(-1L);
+        assertThat(queue.takeOrDefault(-1)).isEqualTo(6L);
+    }
+
     @Test
     void shouldTakeParallel() {
         // given
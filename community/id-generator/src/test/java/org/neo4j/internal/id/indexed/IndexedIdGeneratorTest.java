@@ -58,8 +58,10 @@ import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
@@ -92,6 +94,7 @@ import org.neo4j.internal.id.IdCapacityExceededException;
 import org.neo4j.internal.id.IdGenerator.Marker;
 import org.neo4j.internal.id.IdSlotDistribution;
 import org.neo4j.internal.id.IdValidator;
+import org.neo4j.internal.id.PageIdRange;
 import org.neo4j.internal.id.TestIdType;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.PageCache;
@@ -240,6 +243,207 @@ class IndexedIdGeneratorTest {
         assertThat(idGenerator.nextConsecutiveIdRange(2, true, NULL_CONTEXT)).isEqualTo(4);
     }
 
+    @Test
+    void shouldReservePageRangesFromHighIdWithinOnePage() throws IOException {
+        // given
+        open();
+        idGenerator.start(NO_FREE_IDS, NULL_CONTEXT);
+        int idsPerPage = 10;
+
+        // when
+        PageIdRange first = idGenerator.nextPageRange(4, idsPerPage, NULL_CONTEXT);
+        PageIdRange second = idGenerator.nextPageRange(8, idsPerPage, NULL_CONTEXT);
+        PageIdRange third = idGenerator.nextPageRange(8, idsPerPage, NULL_CONTEXT);
+
+        // then
+        assertThat(first.startId()).isEqualTo(0);
+        assertThat(first.size()).isEqualTo(4);
+        assertThat(second.startId()).isEqualTo(4);
+        assertThat(second.size()).isEqualTo(6);
+        assertThat(third.startId()).isEqualTo(10);
+        assertThat(third.size()).isEqualTo(8);
+        assertThat(first.reused()).isFalse();
+        assertThat(idGenerator.getHighId()).isEqualTo(18);
+        for (long expectedId = 0; expectedId < 4; expectedId++) {
+            assertThat(first.nextId()).isEqualTo(expectedId);
+        }
+        assertThat(first.hasNext()).isFalse();
+        assertThrows(IllegalStateException.class, first::nextId);
+    }
+
+    @Test
+    void shouldPrioritizeFreelistOverHighIdForPageRanges() throws IOException {
+        // given
+        open();
+        idGenerator.start(NO_FREE_IDS, NULL_CONTEXT);
+        long id = idGenerator.nextId(NULL_CONTEXT);
+        markUsed(id);
+        markDeleted(id);
+        markFree(id);
+        idGenerator.maintenance(NULL_CONTEXT);
+
+        // when
+        PageIdRange range = idGenerator.nextPageRange(8, 10, NULL_CONTEXT);
+
+        // then
+        assertThat(range.reused()).isTrue();
+        assertThat(range.size()).isEqualTo(1);
+        assertThat(range.nextId()).isEqualTo(id);
+    }
+
+    @Test
+    void shouldGroupReusedIdsOnTheSamePageIntoOnePageRange() throws IOException {
+        // given
+        open();
+        idGenerator.start(NO_FREE_IDS, NULL_CONTEXT);
+        freeIdsAfterAllocating(13, 2, 3, 5, 12);
+
+        // when
+        PageIdRange firstPage = idGenerator.nextPageRange(8, 10, NULL_CONTEXT);
+        PageIdRange secondPage = idGenerator.nextPageRange(8, 10, NULL_CONTEXT);
+
+        // then
+        assertThat(firstPage.reused()).isTrue();
+        assertThat(firstPage.size()).isEqualTo(3);
+        assertThat(firstPage.nextId()).isEqualTo(2);
+        assertThat(firstPage.nextId()).isEqualTo(3);
+        assertThat(firstPage.nextId()).isEqualTo(5);
+        assertThat(secondPage.reused()).isTrue();
+        assertThat(secondPage.size()).isEqualTo(1);
+        assertThat(secondPage.nextId()).isEqualTo(12);
+    }
+
+    @Test
+    void shouldMakeUnusedReusedIdsOfReleasedPageRangeAvailableAgain() throws IOException {
+        // given
+        open();
+        idGenerator.start(NO_FREE_IDS, NULL_CONTEXT);
+        freeIdsAfterAllocating(13, 2, 3, 5, 12);
+        PageIdRange range = idGenerator.nextPageRange(8, 10, NULL_CONTEXT);
+        assertThat(range.nextId()).isEqualTo(2);
+
+        // when
+        idGenerator.releasePageRange(range, NULL_CONTEXT);
+
+        // then
+        assertThat(idGenerator.nextId(NULL_CONTEXT)).isEqualTo(12);
+        assertThat(idGenerator.nextId(NULL_CONTEXT)).isEqualTo(3);
+        assertThat(idGenerator.nextId(NULL_CONTEXT)).isEqualTo(5);
+    }
+
+    @Test
+    void shouldMakeUnusedReusedIdOfReleasedPageRangeAvailableAgain() throws IOException {
+        // given
+        open();
+        idGenerator.start(NO_FREE_IDS, NULL_CONTEXT);
+        long id = idGenerator.nextId(NULL_CONTEXT);
+        markUsed(id);
+        markDeleted(id);
+        markFree(id);
+        idGenerator.maintenance(NULL_CONTEXT);
+        PageIdRange range = idGenerator.nextPageRange(8, 10, NULL_CONTEXT);
+
+        // when
+        idGenerator.releasePageRange(range, NULL_CONTEXT);
+
+        // then
+        assertThat(idGenerator.nextId(NULL_CONTEXT)).isEqualTo(id);
+    }
+
+    @Test
+    void shouldMakeUnusedReusedIdsOfReleasedPageRangeAcrossEntriesAvailableAgain() throws IOException {
+        // given
+        open();
+        idGenerator.start(NO_FREE_IDS, NULL_CONTEXT);
+        // One run of consecutive free ids on a page that spans multiple entries of the tree
+        int idsPerPage = 600;
+        long[] freeIds = new long[200];
+        for (int i = 0; i < freeIds.length; i++) {
+            freeIds[i] = IDS_PER_ENTRY - 100 + i;
+        }
+        freeIdsAfterAllocating(idsPerPage, freeIds);
+        PageIdRange range = idGenerator.nextPageRange(idsPerPage, idsPerPage, NULL_CONTEXT);
+        assertThat(range.reused()).isTrue();
+        assertThat(range.size()).isEqualTo(freeIds.length);
+        assertThat(range.nextId()).isEqualTo(freeIds[0]);
+
+        // when
+        idGenerator.releasePageRange(range, NULL_CONTEXT);
+
+        // then
+        Set<Long> reusedIds = new HashSet<>();
+        for (int i = 1; i < freeIds.length; i++) {
+            idGenerator.maintenance(NULL_CONTEXT);
+            reusedIds.add(idGenerator.nextId(NULL_CONTEXT));
+        }
+        assertThat(reusedIds).hasSize(freeIds.length - 1).allMatch(id -> id > freeIds[0] && id < idsPerPage);
+    }
+
+    @Test
+    void shouldGiveUnusedHighIdsOfLastReleasedPageRangeBackToHighId() throws IOException {
+        // given
+        open();
+        idGenerator.start(NO_FREE_IDS, NULL_CONTEXT);
+        PageIdRange range = idGenerator.nextPageRange(4, 10, NULL_CONTEXT);
+        markUsed(range.nextId());
+        markUsed(range.nextId());
+
+        // when
+        idGenerator.releasePageRange(range, NULL_CONTEXT);
+
+        // then
+        assertThat(idGenerator.getHighId()).isEqualTo(2);
+        assertThat(idGenerator.nextId(NULL_CONTEXT)).isEqualTo(2);
+        assertThat(idGenerator.nextId(NULL_CONTEXT)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldMakeUnusedHighIdsOfReleasedPageRangeAvailableAgain() throws IOException {
+        // given
+        open();
+        idGenerator.start(NO_FREE_IDS, NULL_CONTEXT);
+        PageIdRange range = idGenerator.nextPageRange(4, 10, NULL_CONTEXT);
+        PageIdRange laterRange = idGenerator.nextPageRange(4, 10, NULL_CONTEXT);
+        markUsed(range.nextId());
+        markUsed(range.nextId());
+        // Marking a higher id as used bridges the gap, i.e. marks the unused ids of the first range as deleted
+        markUsed(laterRange.nextId());
+
+        // when
+        idGenerator.releasePageRange(range, NULL_CONTEXT);
+        idGenerator.maintenance(NULL_CONTEXT);
+
+        // then
+        assertThat(idGenerator.getHighId()).isEqualTo(8);
+        assertThat(idGenerator.nextId(NULL_CONTEXT)).isEqualTo(2);
+        assertThat(idGenerator.nextId(NULL_CONTEXT)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldMakeUnusedHighIdsOfReleasedPageRangeLargerThanOneEntryAvailableAgain() throws IOException {
+        // given
+        open();
+        idGenerator.start(NO_FREE_IDS, NULL_CONTEXT);
+        // More ids than fit in one queued run of ids, spanning multiple entries of the tree
+        int idsPerPage = 600;
+        PageIdRange range = idGenerator.nextPageRange(idsPerPage, idsPerPage, NULL_CONTEXT);
+        PageIdRange laterRange = idGenerator.nextPageRange(1, idsPerPage, NULL_CONTEXT);
+        markUsed(range.nextId());
+        markUsed(laterRange.nextId());
+
+        // when
+        idGenerator.releasePageRange(range, NULL_CONTEXT);
+
+        // then
+        Set<Long> reusedIds = new HashSet<>();
+        for (int i = 1; i < idsPerPage; i++) {
+            idGenerator.maintenance(NULL_CONTEXT);
+            reusedIds.add(idGenerator.nextId(NULL_CONTEXT));
+        }
+        assertThat(reusedIds).hasSize(idsPerPage - 1).allMatch(id -> id >= 1 && id < idsPerPage);
+        assertThat(idGenerator.getHighId()).isEqualTo(idsPerPage + 1);
+    }
+
     @Test
     void shouldStayConsistentAndNotLoseIdsInConcurrent_Allocate_Delete_Free() throws Throwable {
         // given
@@ -1542,6 +1746,17 @@ class IndexedIdGeneratorTest {
         }
     }
 
+    private void freeIdsAfterAllocating(int numberOfIds, long... freeIds) {
+        for (int i = 0; i < numberOfIds; i++) {
+            markUsed(idGenerator.nextId(NULL_CONTEXT));
+        }
+        for (long id : freeIds) {
+            markDeleted(id);
+            markFree(id);
+        }
+        idGenerator.maintenance(NULL_CONTEXT);
+    }
+
     private void markUsed(long id) {
         markUsed(id, 1);
     }
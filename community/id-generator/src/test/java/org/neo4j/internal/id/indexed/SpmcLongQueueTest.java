@@ -66,6 +66,22 @@ class SpmcLongQueueTest {
         assertEquals(NO_ID, queue.takeOrDefault(NO_ID));
     }
 
+    @Test
+    void takeInRangeShouldOnlyTakeHeadWithinRange() {
+        final SpmcLongQueue queue = new SpmcLongQueue(4);
+        assertEquals(NO_ID, queue.takeInRangeOrDefault(0, 10, NO_ID));
+        assertTrue(queue.offer(3));
+        assertTrue(queue.offer(5));
+        assertTrue(queue.offer(12));
+
+        assertEquals(NO_ID, queue.takeInRangeOrDefault(4, 10, NO_ID));
+        assertEquals(3, queue.takeInRangeOrDefault(0, 10, NO_ID));
+        assertEquals(5, queue.takeInRangeOrDefault(0, 10, NO_ID));
+        assertEquals(NO_ID, queue.takeInRangeOrDefault(0, 10, NO_ID));
+        assertEquals(1, queue.size());
+        assertEquals(12, queue.takeInRangeOrDefault(10, 20, NO_ID));
+    }
+
     @Test
     void wrapAround() {
         final SpmcLongQueue queue = new SpmcLongQueue(16);
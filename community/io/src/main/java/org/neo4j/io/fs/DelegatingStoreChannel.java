@@ -21,6 +21,7 @@ package org.neo4j.io.fs;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileLock;
 
 public class DelegatingStoreChannel<T extends StoreChannel> implements StoreChannel {
@@ -142,6 +143,16 @@ public class DelegatingStoreChannel<T extends StoreChannel> implements StoreChan
         return delegate.getPositionLock();
     }
 
+    @Override
+    public boolean canMapForReading() {
+        return delegate.canMapForReading();
+    }
+
+    @Override
+    public MappedByteBuffer mapForReading(long position, long size) throws IOException {
+        return delegate.mapForReading(position, size);
+    }
+
     @Override
     public void tryMakeUninterruptible() {
         delegate.tryMakeUninterruptible();
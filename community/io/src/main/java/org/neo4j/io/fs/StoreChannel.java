@@ -22,6 +22,7 @@ package org.neo4j.io.fs;
 import java.io.Flushable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileLock;
 import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.InterruptibleChannel;
@@ -96,6 +97,26 @@ public interface StoreChannel
      */
     Object getPositionLock();
 
+    /**
+     * Returns {@code true} if this channel can be memory mapped with {@link #mapForReading(long, long)}.
+     * @return {@code true} if this channel supports memory mapping.
+     */
+    default boolean canMapForReading() {
+        return false;
+    }
+
+    /**
+     * Maps a region of the file of this channel into memory, for reading only. The mapping is not accounted for by any
+     * memory tracker, and should be released with {@code UnsafeUtil#invokeCleaner} as soon as it is no longer used.
+     * Only supported if {@link #canMapForReading()} returns {@code true}.
+     *
+     * @throws UnsupportedOperationException if this channel can not be memory mapped.
+     * @see java.nio.channels.FileChannel#map(java.nio.channels.FileChannel.MapMode, long, long)
+     */
+    default MappedByteBuffer mapForReading(long position, long size) throws IOException {
+        throw new UnsupportedOperationException("Memory mapping is not supported by " + getClass().getSimpleName());
+    }
+
     /**
      * Make this channel uninterruptible, if possible.
      * An uninterruptible channel will not automatically close itself if a calling thread is interrupted before or during an IO operation.
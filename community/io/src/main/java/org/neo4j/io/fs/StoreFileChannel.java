@@ -30,6 +30,7 @@ import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import org.neo4j.function.ThrowingFunction;
@@ -182,6 +183,16 @@ public class StoreFileChannel implements StoreChannel {
         }
     }
 
+    @Override
+    public boolean canMapForReading() {
+        return true;
+    }
+
+    @Override
+    public MappedByteBuffer mapForReading(long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+
     @Override
     public void tryMakeUninterruptible() {
         if (MAKE_CHANNEL_UNINTERRUPTIBLE != null && channel.getClass() == CLS_FILE_CHANNEL_IMPL) {
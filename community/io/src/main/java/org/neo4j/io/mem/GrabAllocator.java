@@ -19,21 +19,40 @@
  */
 package org.neo4j.io.mem;
 
+import static org.neo4j.io.ByteUnit.bytesToString;
 import static org.neo4j.io.ByteUnit.kibiBytes;
+import static org.neo4j.io.ByteUnit.mebiBytes;
 import static org.neo4j.util.FeatureToggles.getInteger;
 
+import java.io.IOException;
 import java.lang.ref.Cleaner;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.neo4j.internal.nativeimpl.AbsentNativeAccess;
+import org.neo4j.internal.nativeimpl.NativeAccess;
+import org.neo4j.internal.nativeimpl.NativeCallResult;
 import org.neo4j.internal.unsafe.UnsafeUtil;
+import org.neo4j.io.mem.MemoryPlacement.NumaPolicy;
 import org.neo4j.memory.MemoryTracker;
 
 /**
  * This memory allocator is allocating memory in large segments, called "grabs", and the memory returned by the memory
  * manager is page aligned, and plays well with transparent huge pages and other operating system optimisations.
+ * <p>
+ * Every grab is placed according to the {@link MemoryPlacement} of the allocator, before the memory is touched for the
+ * first time: the huge page aligned interior of the grab is advised to be backed by transparent huge pages, and the
+ * grab is interleaved over all NUMA nodes or bound to a single node. With the {@link NumaPolicy#BIND} policy, the
+ * allocator keeps separate grabs for every node, and allocations that are not requested for a particular node are
+ * served from grabs that are interleaved over all nodes.
  */
 public final class GrabAllocator implements MemoryAllocator {
     private static final Cleaner globalCleaner = globalCleaner();
+    private static final long HUGE_PAGE_SIZE = mebiBytes(2);
+    private static final Path TRANSPARENT_HUGE_PAGES = Path.of("/sys/kernel/mm/transparent_hugepage/enabled");
 
-    private final Grabs grabs;
+    private final Grabs sharedGrabs;
+    private final Grabs[] nodeGrabs;
+    private final Placer placer;
     private final Cleaner.Cleanable cleanable;
 
     /**
@@ -45,23 +64,80 @@ public final class GrabAllocator implements MemoryAllocator {
      * @param memoryTracker memory usage tracker
      */
     GrabAllocator(long expectedMaxMemory, MemoryTracker memoryTracker) {
-        this.grabs = new Grabs(expectedMaxMemory, memoryTracker);
-        this.cleanable = globalCleaner.register(this, new GrabsDeallocator(grabs));
+        this(
+                expectedMaxMemory,
+                memoryTracker,
+                MemoryPlacement.DEFAULT,
+                NumaTopology.SINGLE_NODE,
+                new AbsentNativeAccess());
+    }
+
+    /**
+     * Create a new GrabAllocator that places its memory according to the given placement.
+     *
+     * @param expectedMaxMemory The maximum amount of memory that this memory manager is expected to allocate.
+     * @param memoryTracker memory usage tracker
+     * @param placement how the allocated memory should be placed by the operating system
+     * @param topology the NUMA nodes of the machine
+     * @param nativeAccess native access used to advise the operating system about the placement
+     */
+    GrabAllocator(
+            long expectedMaxMemory,
+            MemoryTracker memoryTracker,
+            MemoryPlacement placement,
+            NumaTopology topology,
+            NativeAccess nativeAccess) {
+        this.placer = new Placer(placement, topology, nativeAccess);
+        long grabSize = placement.hugePages() ? Math.max(Grabs.GRAB_SIZE, Grabs.HUGE_PAGE_GRAB_SIZE) : Grabs.GRAB_SIZE;
+        int nodes = placer.bindsToNodes() ? topology.nodeCount() : 0;
+        this.nodeGrabs = new Grabs[nodes];
+        for (int node = 0; node < nodes; node++) {
+            long nodeMemory = expectedMaxMemory / nodes + (node < expectedMaxMemory % nodes ? 1 : 0);
+            nodeGrabs[node] = new Grabs(nodeMemory, grabSize, memoryTracker, placer, node);
+        }
+        this.sharedGrabs = new Grabs(nodes == 0 ? expectedMaxMemory : 0, grabSize, memoryTracker, placer, -1);
+        this.cleanable = globalCleaner.register(this, new GrabsDeallocator(sharedGrabs, nodeGrabs));
     }
 
     @Override
     public synchronized long usedMemory() {
-        return grabs.usedMemory();
+        long sum = sharedGrabs.usedMemory();
+        for (Grabs grabs : nodeGrabs) {
+            sum += grabs.usedMemory();
+        }
+        return sum;
     }
 
     @Override
     public synchronized long availableMemory() {
-        return grabs.availableMemory();
+        long sum = sharedGrabs.availableMemory();
+        for (Grabs grabs : nodeGrabs) {
+            sum += grabs.availableMemory();
+        }
+        return sum;
     }
 
     @Override
     public synchronized long allocateAligned(long bytes, long alignment) {
-        return grabs.allocateAligned(bytes, alignment);
+        return sharedGrabs.allocateAligned(bytes, alignment);
+    }
+
+    @Override
+    public synchronized long allocateAligned(long bytes, long alignment, int numaNode) {
+        if (numaNode < 0 || numaNode >= nodeGrabs.length) {
+            return sharedGrabs.allocateAligned(bytes, alignment);
+        }
+        return nodeGrabs[numaNode].allocateAligned(bytes, alignment);
+    }
+
+    @Override
+    public int numaNodes() {
+        return Math.max(1, nodeGrabs.length);
+    }
+
+    @Override
+    public synchronized String describePlacement() {
+        return placer.describe();
     }
 
     @Override
@@ -76,12 +152,13 @@ public final class GrabAllocator implements MemoryAllocator {
         private final MemoryTracker memoryTracker;
         private long nextPointer;
 
-        Grab(Grab next, long size, MemoryTracker memoryTracker) {
+        Grab(Grab next, long size, MemoryTracker memoryTracker, Placer placer, int node) {
             this.next = next;
             this.address = UnsafeUtil.allocateMemory(size, memoryTracker);
             this.limit = address + size;
             this.memoryTracker = memoryTracker;
             nextPointer = address;
+            placer.place(address, size, node);
         }
 
         Grab(Grab next, long address, long limit, long nextPointer, MemoryTracker memoryTracker) {
@@ -136,13 +213,26 @@ public final class GrabAllocator implements MemoryAllocator {
          */
         private static final long GRAB_SIZE = getInteger(GrabAllocator.class, "GRAB_SIZE", (int) kibiBytes(512));
 
+        /**
+         * The amount of memory, in bytes, to grab in each Grab when huge pages are requested. Grabs need to span a
+         * good number of huge pages, since only their huge page aligned interior can be backed by huge pages.
+         */
+        private static final long HUGE_PAGE_GRAB_SIZE =
+                getInteger(GrabAllocator.class, "HUGE_PAGE_GRAB_SIZE", (int) mebiBytes(32));
+
+        private final long grabSize;
         private final MemoryTracker memoryTracker;
+        private final Placer placer;
+        private final int node;
         private long expectedMaxMemory;
         private Grab head;
 
-        Grabs(long expectedMaxMemory, MemoryTracker memoryTracker) {
+        Grabs(long expectedMaxMemory, long grabSize, MemoryTracker memoryTracker, Placer placer, int node) {
             this.expectedMaxMemory = expectedMaxMemory;
+            this.grabSize = grabSize;
             this.memoryTracker = memoryTracker;
+            this.placer = placer;
+            this.node = node;
         }
 
         long usedMemory() {
@@ -178,17 +268,17 @@ public final class GrabAllocator implements MemoryAllocator {
             if (alignment <= 0) {
                 throw new IllegalArgumentException("Invalid alignment: " + alignment + ". Alignment must be positive.");
             }
-            long grabSize = Math.min(GRAB_SIZE, expectedMaxMemory);
+            long grabSize = Math.min(this.grabSize, expectedMaxMemory);
             long maxAllocationSize = bytes + alignment - 1;
-            if (maxAllocationSize > GRAB_SIZE) {
+            if (maxAllocationSize > this.grabSize) {
                 // This is a huge allocation. Put it in its own grab and keep any existing grab at the head.
                 grabSize = bytes;
                 Grab nextGrab = head == null ? null : head.next;
-                Grab allocationGrab = new Grab(nextGrab, grabSize, memoryTracker);
+                Grab allocationGrab = new Grab(nextGrab, grabSize, memoryTracker, placer, node);
                 if (!allocationGrab.canAllocate(bytes, alignment)) {
                     allocationGrab.free();
                     grabSize = maxAllocationSize;
-                    allocationGrab = new Grab(nextGrab, grabSize, memoryTracker);
+                    allocationGrab = new Grab(nextGrab, grabSize, memoryTracker, placer, node);
                 }
                 long allocation = allocationGrab.allocate(bytes, alignment);
                 head = head == null ? allocationGrab : head.setNext(allocationGrab);
@@ -199,7 +289,7 @@ public final class GrabAllocator implements MemoryAllocator {
             if (head == null || !head.canAllocate(bytes, alignment)) {
                 if (grabSize < maxAllocationSize) {
                     grabSize = bytes;
-                    Grab grab = new Grab(head, grabSize, memoryTracker);
+                    Grab grab = new Grab(head, grabSize, memoryTracker, placer, node);
                     if (grab.canAllocate(bytes, alignment)) {
                         expectedMaxMemory -= grabSize;
                         head = grab;
@@ -208,7 +298,7 @@ public final class GrabAllocator implements MemoryAllocator {
                     grab.free();
                     grabSize = maxAllocationSize;
                 }
-                head = new Grab(head, grabSize, memoryTracker);
+                head = new Grab(head, grabSize, memoryTracker, placer, node);
                 expectedMaxMemory -= grabSize;
             }
             return head.allocate(bytes, alignment);
@@ -220,15 +310,139 @@ public final class GrabAllocator implements MemoryAllocator {
     }
 
     private static final class GrabsDeallocator implements Runnable {
-        private final Grabs grabs;
+        private final Grabs sharedGrabs;
+        private final Grabs[] nodeGrabs;
 
-        GrabsDeallocator(Grabs grabs) {
-            this.grabs = grabs;
+        GrabsDeallocator(Grabs sharedGrabs, Grabs[] nodeGrabs) {
+            this.sharedGrabs = sharedGrabs;
+            this.nodeGrabs = nodeGrabs;
         }
 
         @Override
         public void run() {
-            grabs.close();
+            sharedGrabs.close();
+            for (Grabs grabs : nodeGrabs) {
+                grabs.close();
+            }
+        }
+    }
+
+    /**
+     * Applies the memory placement to new grabs, and keeps track of how much memory was effectively placed.
+     * Only accessed while holding the allocator monitor, or by the cleaner once the allocator is unreachable.
+     */
+    private static final class Placer {
+        private final MemoryPlacement placement;
+        private final NumaTopology topology;
+        private final NativeAccess nativeAccess;
+        private long hugePageBytes;
+        private long numaBytes;
+        private long failures;
+        private NativeCallResult lastFailure;
+
+        Placer(MemoryPlacement placement, NumaTopology topology, NativeAccess nativeAccess) {
+            this.placement = placement;
+            this.topology = topology;
+            this.nativeAccess = nativeAccess;
+        }
+
+        boolean bindsToNodes() {
+            return placement.numaPolicy() == NumaPolicy.BIND && topology.nodeCount() > 1;
+        }
+
+        private boolean placesOnNodes() {
+            return placement.numaPolicy() != NumaPolicy.NONE && topology.nodeCount() > 1;
+        }
+
+        void place(long address, long size, int node) {
+            if (!nativeAccess.isAvailable()) {
+                return;
+            }
+            if (placesOnNodes()) {
+                long start = alignUp(address, UnsafeUtil.pageSize());
+                long end = alignDown(address + size, UnsafeUtil.pageSize());
+                if (end > start) {
+                    boolean interleave = node < 0;
+                    long nodeMask = interleave ? topology.nodeMask() : topology.nodeMask(node);
+                    if (record(nativeAccess.tryBindMemory(start, end - start, nodeMask, interleave))) {
+                        numaBytes += end - start;
+                    }
+                }
+            }
+            if (placement.hugePages()) {
+                long start = alignUp(address, HUGE_PAGE_SIZE);
+                long end = alignDown(address + size, HUGE_PAGE_SIZE);
+                if (end > start && record(nativeAccess.tryAdviseHugePages(start, end - start))) {
+                    hugePageBytes += end - start;
+                }
+            }
+        }
+
+        private boolean record(NativeCallResult result) {
+            if (result.isError()) {
+                failures++;
+                lastFailure = result;
+                return false;
+            }
+            return true;
+        }
+
+        String describe() {
+            StringBuilder description = new StringBuilder();
+            description.append("Huge pages: ");
+            if (placement.hugePages()) {
+                description
+                        .append("requested (transparent huge pages: ")
+                        .append(transparentHugePagesMode())
+                        .append("), ")
+                        .append(bytesToString(hugePageBytes))
+                        .append(" advised");
+            } else {
+                description.append("not requested");
+            }
+            description
+                    .append(". NUMA policy: ")
+                    .append(placement.numaPolicy())
+                    .append(" over ")
+                    .append(topology);
+            if (placesOnNodes()) {
+                description.append(", ").append(bytesToString(numaBytes)).append(" placed");
+            } else if (placement.numaPolicy() != NumaPolicy.NONE) {
+                description.append(", not applied to a single node");
+            }
+            description.append('.');
+            if ((placement.hugePages() || placesOnNodes()) && !nativeAccess.isAvailable()) {
+                description.append(" Not applied since native access is not available.");
+            }
+            if (failures > 0) {
+                description
+                        .append(" Placement failed ")
+                        .append(failures)
+                        .append(" times, last failure: ")
+                        .append(lastFailure)
+                        .append('.');
+            }
+            return description.toString();
+        }
+
+        private static String transparentHugePagesMode() {
+            try {
+                // The active mode is the bracketed one, for instance "always [madvise] never".
+                String modes = Files.readString(TRANSPARENT_HUGE_PAGES);
+                int start = modes.indexOf('[');
+                int end = modes.indexOf(']');
+                return start >= 0 && end > start ? modes.substring(start + 1, end) : "unknown";
+            } catch (IOException | RuntimeException e) {
+                return "unknown";
+            }
+        }
+
+        private static long alignUp(long pointer, long alignment) {
+            return alignDown(pointer + alignment - 1, alignment);
+        }
+
+        private static long alignDown(long pointer, long alignment) {
+            return pointer - (pointer % alignment);
         }
     }
 }
@@ -19,6 +19,7 @@
  */
 package org.neo4j.io.mem;
 
+import org.neo4j.internal.nativeimpl.NativeAccessProvider;
 import org.neo4j.memory.MemoryTracker;
 
 /**
@@ -29,6 +30,19 @@ public interface MemoryAllocator {
         return new GrabAllocator(expectedMemory, memoryTracker);
     }
 
+    static MemoryAllocator createAllocator(
+            long expectedMemory, MemoryTracker memoryTracker, MemoryPlacement placement) {
+        if (placement.equals(MemoryPlacement.DEFAULT)) {
+            return createAllocator(expectedMemory, memoryTracker);
+        }
+        return new GrabAllocator(
+                expectedMemory,
+                memoryTracker,
+                placement,
+                NumaTopology.detect(),
+                NativeAccessProvider.getNativeAccess());
+    }
+
     /**
      * @return The sum, in bytes, of all the memory currently allocating through this allocator.
      */
@@ -48,6 +62,33 @@ public interface MemoryAllocator {
      */
     long allocateAligned(long bytes, long alignment);
 
+    /**
+     * Allocate a contiguous, aligned region of memory of the given size in bytes, on the given NUMA node if this
+     * allocator binds its memory to nodes. Allocators that don't, ignore the node.
+     * @param bytes the number of bytes to allocate.
+     * @param alignment The byte multiple that the allocated pointers have to be aligned at.
+     * @param numaNode index of the node to allocate on, between zero and {@link #numaNodes()}.
+     * @return A pointer to the allocated memory.
+     * @throws OutOfMemoryError if the requested memory could not be allocated.
+     */
+    default long allocateAligned(long bytes, long alignment, int numaNode) {
+        return allocateAligned(bytes, alignment);
+    }
+
+    /**
+     * @return the number of NUMA nodes that this allocator binds memory to, or 1 if it does not bind memory to nodes.
+     */
+    default int numaNodes() {
+        return 1;
+    }
+
+    /**
+     * @return a human readable description of how the memory of this allocator is placed.
+     */
+    default String describePlacement() {
+        return "Default memory placement.";
+    }
+
     /**
      * Close all allocated resources and free all allocated memory.
      * Closing can happen by calling close explicitly or by GC as soon as allocator will become phantom reachable.
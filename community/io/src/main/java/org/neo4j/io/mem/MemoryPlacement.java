@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.mem;
+
+/**
+ * Describes how the operating system should place the memory that a {@link MemoryAllocator} hands out.
+ * <p>
+ * The placement is advisory: if the platform does not support it, memory is allocated as usual.
+ *
+ * @param hugePages advise the operating system to back the memory with transparent huge pages.
+ * @param numaPolicy how the memory is spread over the NUMA nodes of the machine.
+ */
+public record MemoryPlacement(boolean hugePages, NumaPolicy numaPolicy) {
+    public static final MemoryPlacement DEFAULT = new MemoryPlacement(false, NumaPolicy.NONE);
+
+    public enum NumaPolicy {
+        /**
+         * Leave the placement to the operating system, which usually places memory on the node that first touches it.
+         */
+        NONE,
+        /**
+         * Interleave the pages of all allocations over all nodes.
+         */
+        INTERLEAVE,
+        /**
+         * Place allocations on the node they are requested for, see
+         * {@link MemoryAllocator#allocateAligned(long, long, int)}. Allocations that are not requested for a particular
+         * node are interleaved over all nodes.
+         */
+        BIND
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.mem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The NUMA nodes of the machine, as reported by the operating system.
+ * <p>
+ * Machines without NUMA support, or machines where the topology cannot be determined, are reported as having a single
+ * node. Only the first {@link Long#SIZE} nodes are considered, so that any set of nodes can be described by a single
+ * node mask.
+ */
+public final class NumaTopology {
+    public static final NumaTopology SINGLE_NODE = new NumaTopology(new int[] {0});
+
+    private static final Path ONLINE_NODES = Path.of("/sys/devices/system/node/online");
+
+    private final int[] nodes;
+
+    private NumaTopology(int[] nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * @return the NUMA nodes that are currently online, or {@link #SINGLE_NODE} if they cannot be determined.
+     */
+    public static NumaTopology detect() {
+        if (!Files.isReadable(ONLINE_NODES)) {
+            return SINGLE_NODE;
+        }
+        try {
+            return parse(Files.readString(ONLINE_NODES));
+        } catch (IOException | RuntimeException e) {
+            return SINGLE_NODE;
+        }
+    }
+
+    /**
+     * Parse a node list in the format used by the kernel, for instance {@code 0-1,4}.
+     */
+    static NumaTopology parse(String nodeList) {
+        IntStream nodeIds = IntStream.empty();
+        for (String range : nodeList.trim().split(",")) {
+            if (range.isEmpty()) {
+                continue;
+            }
+            int separator = range.indexOf('-');
+            int first = Integer.parseInt(separator == -1 ? range : range.substring(0, separator));
+            int last = separator == -1 ? first : Integer.parseInt(range.substring(separator + 1));
+            nodeIds = IntStream.concat(nodeIds, IntStream.rangeClosed(first, last));
+        }
+        int[] nodes = nodeIds.filter(node -> node >= 0 && node < Long.SIZE)
+                .distinct()
+                .sorted()
+                .toArray();
+        return nodes.length == 0 ? SINGLE_NODE : new NumaTopology(nodes);
+    }
+
+    public int nodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * @param index index of the node, between zero and {@link #nodeCount()}.
+     * @return the operating system id of the node with the given index.
+     */
+    public int node(int index) {
+        return nodes[index];
+    }
+
+    /**
+     * @return the node mask of all nodes.
+     */
+    public long nodeMask() {
+        long mask = 0;
+        for (int node : nodes) {
+            mask |= 1L << node;
+        }
+        return mask;
+    }
+
+    /**
+     * @param index index of the node, between zero and {@link #nodeCount()}.
+     * @return the node mask of only the node with the given index.
+     */
+    public long nodeMask(int index) {
+        return 1L << nodes[index];
+    }
+
+    @Override
+    public String toString() {
+        return nodeCount() + " NUMA node" + (nodeCount() == 1 ? "" : "s") + " " + Arrays.toString(nodes);
+    }
+}
@@ -61,6 +61,26 @@ public interface IOController {
      */
     void reportIO(int completedIOs);
 
+    /**
+     * Report the latency of a completed read from a paged file, for example the read of a page fault. Only invoked
+     * when the controller {@link #isEnabled() is enabled}.
+     * <p/>
+     * This allows the controller to adapt its limits to the read latency that other parts of the system observe.
+     *
+     * @param latencyNanos the time it took to complete the read, in nanoseconds.
+     */
+    default void reportReadLatency(long latencyNanos) {}
+
+    /**
+     * Invoked by page cursors before they start a page fault, at a point where they do not hold any page fault latch
+     * that other threads could be waiting for.
+     * <p/>
+     * The implementation is allowed to delay the current thread if it is doing background work that has exceeded its
+     * IO budget. The same rules about {@link InterruptedException} apply as for
+     * {@link #maybeLimitIO(int, FileFlushEvent)}.
+     */
+    default void maybeLimitPageFault() {}
+
     /**
      * In case if IO controller is configured return its configured limit. -1 in case if controller is disabled.
      * @return - configured limit, -1 otherwise.
@@ -89,6 +89,21 @@ public interface PageSwapper extends Closeable {
      */
     long write(long filePageId, long bufferAddress, int bufferLength) throws IOException;
 
+    /**
+     * Read pages from the file into the given sequence of memory locations (scatter), starting at the location of the
+     * given startFilePageId. Each buffer holds one or more whole pages, and the buffers are filled in order from
+     * consecutive pages in the file.
+     * <p>
+     * Returns the number of bytes read in from the file. May be zero if the requested pages all fall outside of the
+     * file. Any part of the buffers that falls beyond the end of the file is zero-filled.
+     * <p>
+     * Note: It is possible for the channel to be asynchronously closed while
+     * this operation is taking place. For instance, if the current thread is
+     * interrupted. If this happens, then the implementation must reopen the
+     * channel and the operation must be retried.
+     */
+    long read(long startFilePageId, long[] bufferAddresses, int[] bufferLengths, int length) throws IOException;
+
     /**
      * Write the contents of the given pages, to the concrete file on the file system,
      * starting at the location of the given startFilePageId.
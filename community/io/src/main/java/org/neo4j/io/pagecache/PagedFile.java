@@ -22,7 +22,9 @@ package org.neo4j.io.pagecache;
 import java.io.IOException;
 import java.nio.file.Path;
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.monitoring.PageFileAccesses;
 import org.neo4j.io.pagecache.monitoring.PageFileCounters;
+import org.neo4j.io.pagecache.monitoring.PageFileResidency;
 import org.neo4j.io.pagecache.tracing.FileFlushEvent;
 import org.neo4j.io.pagecache.tracing.version.FileTruncateEvent;
 
@@ -220,6 +222,37 @@ public interface PagedFile extends AutoCloseable {
      */
     PageFileCounters pageFileCounters();
 
+    /**
+     * The pins of this file that were hits and page faults. Unlike the {@link #pageFileCounters() page file counters},
+     * these are counted regardless of the page cache tracer in use.
+     */
+    default PageFileAccesses accesses() {
+        return PageFileAccesses.EMPTY;
+    }
+
+    /**
+     * Count the pages of this file that are currently resident in the page cache, and how many of them are dirty.
+     * This inspects every page of the file that is mapped, so it is meant for monitoring, not for hot paths.
+     */
+    default PageFileResidency residency() {
+        return PageFileResidency.EMPTY;
+    }
+
+    /**
+     * Write back up to the given number of dirty pages of this file that were last modified by transactions no newer
+     * than the given transaction id, without forcing the file. A call only looks at a number of pages proportional to
+     * the given max, and subsequent calls continue where the previous call stopped, so that repeated calls sweep over
+     * the whole file. This is meant for spreading the writes of a checkpoint out over time, leaving less for the
+     * {@link #flushAndForce(FileFlushEvent) flush} of the checkpoint to do.
+     *
+     * @param lastModifiedTransactionId pages last modified by newer transactions are left dirty.
+     * @param maxPages the max number of pages to write.
+     * @return the number of pages that were written.
+     */
+    default long flushOldDirtyPages(long lastModifiedTransactionId, long maxPages) throws IOException {
+        return 0;
+    }
+
     /**
      * True if mapped in multi versioned mode.
      */
@@ -32,4 +32,21 @@ sealed interface BlockSwapper permits UnsafeBlockSwapper, FallbackBlockSwapper {
      * Writes to channel from specified location in memory
      */
     void swapOut(StoreChannel channel, long bufferAddress, long fileOffset, int bufferLength) throws IOException;
+
+    /**
+     * Reads from channel, starting at the given file offset, into the given sequence of memory locations, filling each
+     * of them in turn (scatter). Whatever lies beyond the end of the file is zero-filled.
+     * The channel must have a {@link StoreChannel#hasPositionLock() position lock}.
+     * @return the number of bytes read from the channel
+     */
+    long swapIn(StoreChannel channel, long[] bufferAddresses, int[] bufferLengths, int length, long fileOffset)
+            throws IOException;
+
+    /**
+     * Writes to channel, starting at the given file offset, from the given sequence of memory locations (gather).
+     * The channel must have a {@link StoreChannel#hasPositionLock() position lock}.
+     * @return the number of bytes written to the channel
+     */
+    long swapOut(StoreChannel channel, long[] bufferAddresses, int[] bufferLengths, int length, long fileOffset)
+            throws IOException;
 }
@@ -89,4 +89,27 @@ final class FallbackBlockSwapper implements BlockSwapper {
             throw new IOException(e);
         }
     }
+
+    @Override
+    public long swapIn(StoreChannel channel, long[] bufferAddresses, int[] bufferLengths, int length, long fileOffset)
+            throws IOException {
+        long readTotal = 0;
+        for (int i = 0; i < length; i++) {
+            readTotal += swapIn(channel, bufferAddresses[i], fileOffset, bufferLengths[i]);
+            fileOffset += bufferLengths[i];
+        }
+        return readTotal;
+    }
+
+    @Override
+    public long swapOut(StoreChannel channel, long[] bufferAddresses, int[] bufferLengths, int length, long fileOffset)
+            throws IOException {
+        long bytesWritten = 0;
+        for (int i = 0; i < length; i++) {
+            swapOut(channel, bufferAddresses[i], fileOffset, bufferLengths[i]);
+            fileOffset += bufferLengths[i];
+            bytesWritten += bufferLengths[i];
+        }
+        return bytesWritten;
+    }
 }
@@ -199,8 +199,13 @@ public class SingleFilePageSwapper implements PageSwapper {
     }
 
     private int swapIn(long bufferAddress, long fileOffset, int bufferSize) throws IOException {
+        boolean timed = ioController.isEnabled();
+        long startNanos = timed ? System.nanoTime() : 0;
         var readTotal = blockSwapper.swapIn(channel, bufferAddress, fileOffset, bufferSize);
         ioController.reportIO(1);
+        if (timed) {
+            ioController.reportReadLatency(System.nanoTime() - startNanos);
+        }
         if (checksumPages) {
             verifyChecksum(bufferAddress, bufferSize);
         }
@@ -247,6 +252,66 @@ public class SingleFilePageSwapper implements PageSwapper {
         return -1;
     }
 
+    @Override
+    public long read(long startFilePageId, long[] bufferAddresses, int[] bufferLengths, int length)
+            throws IOException {
+        try (Retry retry = new Retry()) {
+            do {
+                try {
+                    if (canDoVectorizedIO) {
+                        return readPositionedVectoredFromFileChannel(
+                                startFilePageId, bufferAddresses, bufferLengths, length);
+                    }
+                    return readPositionVectoredFallback(startFilePageId, bufferAddresses, bufferLengths, length);
+                } catch (ClosedChannelException e) {
+                    retry.caught(e);
+                }
+            } while (retry.shouldRetry());
+        }
+        return -1;
+    }
+
+    private long readPositionedVectoredFromFileChannel(
+            long startFilePageId, long[] bufferAddresses, int[] bufferLengths, int length) throws IOException {
+        long fileOffset = pageIdToPosition(startFilePageId);
+        if (fileOffset >= getCurrentFileSize()) {
+            for (int i = 0; i < length; i++) {
+                clear(bufferAddresses[i], bufferLengths[i]);
+            }
+            return 0;
+        }
+        boolean timed = ioController.isEnabled();
+        long startNanos = timed ? System.nanoTime() : 0;
+        long readTotal = blockSwapper.swapIn(channel, bufferAddresses, bufferLengths, length, fileOffset);
+        ioController.reportIO(1);
+        if (timed) {
+            ioController.reportReadLatency(System.nanoTime() - startNanos);
+        }
+        if (checksumPages) {
+            for (int i = 0; i < length; i++) {
+                verifyChecksum(bufferAddresses[i], bufferLengths[i]);
+            }
+        }
+        return readTotal;
+    }
+
+    private long readPositionVectoredFallback(
+            long startFilePageId, long[] bufferAddresses, int[] bufferLengths, int length) throws IOException {
+        long readTotal = 0;
+        long filePageId = startFilePageId;
+        for (int i = 0; i < length; i++) {
+            int bufferLength = bufferLengths[i];
+            long fileOffset = pageIdToPosition(filePageId);
+            if (fileOffset < getCurrentFileSize()) {
+                readTotal += swapIn(bufferAddresses[i], fileOffset, bufferLength);
+            } else {
+                clear(bufferAddresses[i], bufferLength);
+            }
+            filePageId += bufferLength / filePageSize;
+        }
+        return readTotal;
+    }
+
     private static long countBuffersLengths(int[] bufferLengths, int length) {
         long bytesToRead = 0;
         for (int i = 0; i < length; i++) {
@@ -308,58 +373,22 @@ public class SingleFilePageSwapper implements PageSwapper {
     private long writePositionedVectoredToFileChannel(
             long startFilePageId, long[] bufferAddresses, int[] bufferLengths, int length) throws IOException {
         long fileOffset = pageIdToPosition(startFilePageId);
-        long bytesToWrite = countBuffersLengths(bufferLengths, length);
-        increaseFileSizeTo(fileOffset + bytesToWrite);
-        ByteBuffer[] srcs = convertToByteBuffers(bufferAddresses, bufferLengths, length);
+        increaseFileSizeTo(fileOffset + countBuffersLengths(bufferLengths, length));
         if (checksumPages) {
-            for (int i = 0; i < srcs.length; i++) {
-                writeChecksum(srcs[i], bufferAddresses[i], bufferLengths[i]);
+            for (int i = 0; i < length; i++) {
+                writeChecksum(bufferAddresses[i], bufferLengths[i]);
             }
         }
-        return lockPositionWriteVector(fileOffset, srcs, bytesToWrite);
-    }
-
-    private static ByteBuffer[] convertToByteBuffers(long[] bufferAddresses, int[] bufferLengths, int length) {
-        ByteBuffer[] buffers = new ByteBuffer[length];
-        for (int i = 0; i < length; i++) {
-            try {
-                buffers[i] = UnsafeUtil.newDirectByteBuffer(bufferAddresses[i], bufferLengths[i]);
-            } catch (Throwable e) {
-                throw new RuntimeException("Failed to wrap pointer in ByteBuffer.", e);
-            }
-        }
-        return buffers;
-    }
-
-    private long lockPositionWriteVector(long fileOffset, ByteBuffer[] srcs, long bytesToWrite) throws IOException {
         try {
-            long bytesWritten = 0;
-            synchronized (channel.getPositionLock()) {
-                // we do not report external io to ioController here since its only checkpoint that is calling this
-                // method and
-                // io is counted as related to checkpoint
-                setPositionUnderLock(fileOffset);
-                do {
-                    bytesWritten += channel.write(srcs);
-                } while (bytesWritten < bytesToWrite);
-                return bytesWritten;
-            }
+            // we do not report external io to ioController here since its only checkpoint that is calling this
+            // method and io is counted as related to checkpoint
+            return blockSwapper.swapOut(channel, bufferAddresses, bufferLengths, length, fileOffset);
         } catch (ClosedChannelException e) {
             tryReopen(e);
             throw new IOException("IO failed due to interruption", e);
         }
     }
 
-    private void setPositionUnderLock(long fileOffset) throws IOException {
-        try {
-            channel.position(fileOffset);
-        } catch (IllegalArgumentException e) {
-            // This is thrown if the position is negative. Turn it into an IOException,
-            // which is the same exception that would be thrown in the non-vectored code path.
-            throw new IOException(e);
-        }
-    }
-
     private int writePositionVectoredFallback(
             long startFilePageId, long[] bufferAddresses, int[] bufferLengths, int length) throws IOException {
         int bytes = 0;
@@ -573,12 +602,19 @@ public class SingleFilePageSwapper implements PageSwapper {
     }
 
     private void verifyChecksum(ByteBuffer byteBuffer, long bufferAddress, int capacity) {
-        long checksum = xxHash64.hash(byteBuffer, reservedPageBytes, capacity - reservedPageBytes, CHECKSUM_SEED);
-        long storedChecksum = UnsafeUtil.getLong(bufferAddress + CHECKSUM_OFFSET);
-        if (storedChecksum != 0 && storedChecksum != checksum) {
-            // tree have huge problems with checksums atm
-            throw new ChecksumMismatchException(
-                    "Page checksum mismatch. Stored page checksum: '%d', evaluated: '%d'.", storedChecksum, checksum);
+        // Multi-page reads, like the ones issued by the prefetcher, carry one checksum per file page.
+        int pageOffset = 0;
+        int payload = Math.min(capacity, filePageSize) - reservedPageBytes;
+        while (pageOffset < capacity) {
+            long checksum = xxHash64.hash(byteBuffer, pageOffset + reservedPageBytes, payload, CHECKSUM_SEED);
+            long storedChecksum = UnsafeUtil.getLong(bufferAddress + pageOffset + CHECKSUM_OFFSET);
+            if (storedChecksum != 0 && storedChecksum != checksum) {
+                // tree have huge problems with checksums atm
+                throw new ChecksumMismatchException(
+                        "Page checksum mismatch. Stored page checksum: '%d', evaluated: '%d'.",
+                        storedChecksum, checksum);
+            }
+            pageOffset += filePageSize;
         }
     }
 
@@ -92,4 +92,76 @@ final class UnsafeBlockSwapper implements BlockSwapper {
             throw new IOException(e);
         }
     }
+
+    @Override
+    public long swapIn(StoreChannel channel, long[] bufferAddresses, int[] bufferLengths, int length, long fileOffset)
+            throws IOException {
+        ByteBuffer[] dsts = wrap(bufferAddresses, bufferLengths, length);
+        long bytesToRead = countBuffersLengths(bufferLengths, length);
+        long readTotal = 0;
+        synchronized (channel.getPositionLock()) {
+            setPositionUnderLock(channel, fileOffset);
+            long read;
+            do {
+                read = channel.read(dsts);
+            } while (read != -1 && (readTotal += read) < bytesToRead);
+        }
+
+        // Zero-fill the rest, buffer by buffer.
+        long remaining = readTotal;
+        for (int i = 0; i < length; i++) {
+            int bufferLength = bufferLengths[i];
+            if (remaining < bufferLength) {
+                int filled = (int) Math.max(remaining, 0);
+                UnsafeUtil.setMemory(bufferAddresses[i] + filled, bufferLength - filled, MuninnPageCache.ZERO_BYTE);
+            }
+            remaining -= bufferLength;
+        }
+        return readTotal;
+    }
+
+    @Override
+    public long swapOut(StoreChannel channel, long[] bufferAddresses, int[] bufferLengths, int length, long fileOffset)
+            throws IOException {
+        ByteBuffer[] srcs = wrap(bufferAddresses, bufferLengths, length);
+        long bytesToWrite = countBuffersLengths(bufferLengths, length);
+        long bytesWritten = 0;
+        synchronized (channel.getPositionLock()) {
+            setPositionUnderLock(channel, fileOffset);
+            do {
+                bytesWritten += channel.write(srcs);
+            } while (bytesWritten < bytesToWrite);
+        }
+        return bytesWritten;
+    }
+
+    private static ByteBuffer[] wrap(long[] bufferAddresses, int[] bufferLengths, int length) {
+        ByteBuffer[] buffers = new ByteBuffer[length];
+        for (int i = 0; i < length; i++) {
+            try {
+                buffers[i] = UnsafeUtil.newDirectByteBuffer(bufferAddresses[i], bufferLengths[i]);
+            } catch (Throwable e) {
+                throw new RuntimeException("Failed to wrap pointer in ByteBuffer.", e);
+            }
+        }
+        return buffers;
+    }
+
+    private static long countBuffersLengths(int[] bufferLengths, int length) {
+        long bytes = 0;
+        for (int i = 0; i < length; i++) {
+            bytes += bufferLengths[i];
+        }
+        return bytes;
+    }
+
+    private static void setPositionUnderLock(StoreChannel channel, long fileOffset) throws IOException {
+        try {
+            channel.position(fileOffset);
+        } catch (IllegalArgumentException e) {
+            // This is thrown if the position is negative. Turn it into an IOException,
+            // which is the same exception that would be thrown in the non-vectored code path.
+            throw new IOException(e);
+        }
+    }
 }
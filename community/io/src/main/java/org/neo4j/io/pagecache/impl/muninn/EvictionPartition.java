@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A contiguous region of the {@link PageList} that is swept by its own clock arm and eviction thread, and that owns
+ * its own freelist.
+ * <p>
+ * The freelist follows the same protocol as the one described on {@link MuninnPageCache}: it starts out as an
+ * {@link AtomicInteger} that counts from zero to the number of pages in the partition, after which it is set to
+ * {@code null} and from then on operates as a concurrent stack of single-use {@link FreePage} objects.
+ * <p>
+ * A page cache with a single partition behaves exactly like the classic single evictor page cache.
+ */
+final class EvictionPartition {
+    // Used when trying to figure out number of available pages in a partition.
+    static final int UNKNOWN_PAGES_TO_EVICT = -1;
+
+    private static final VarHandle FREE_LIST;
+
+    final int index;
+    final int firstPageId;
+    final int pageCount;
+    final int keepFree;
+
+    @SuppressWarnings("unused") // accessed via VarHandle.
+    private volatile Object freelist;
+
+    // The thread that runs the eviction algorithm for this partition.
+    volatile Thread evictionThread;
+    // See MuninnPageCache#unparkEvictor for why this is a weak guard for unparking.
+    private volatile boolean evictorParked;
+
+    // Only written by the eviction thread of this partition. The write-behind flusher reads it as a hint of where the
+    // eviction is heading next.
+    int clockArm;
+
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            FREE_LIST = l.findVarHandle(EvictionPartition.class, "freelist", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    EvictionPartition(int index, int firstPageId, int pageCount, int keepFree) {
+        this.index = index;
+        this.firstPageId = firstPageId;
+        this.pageCount = pageCount;
+        this.keepFree = keepFree;
+        setFreelistHead(new AtomicInteger());
+    }
+
+    /**
+     * Split the given number of pages into the given number of partitions of (almost) equal size.
+     * Any remainder is spread over the first partitions, one page each.
+     */
+    static EvictionPartition[] split(int totalPageCount, int partitionCount, int totalKeepFree) {
+        partitionCount = Math.max(1, Math.min(partitionCount, totalPageCount / 2));
+        EvictionPartition[] partitions = new EvictionPartition[partitionCount];
+        int basePageCount = totalPageCount / partitionCount;
+        int remainder = totalPageCount % partitionCount;
+        int keepFree = Math.max(1, (totalKeepFree + partitionCount - 1) / partitionCount);
+        int firstPageId = 0;
+        for (int i = 0; i < partitionCount; i++) {
+            int pageCount = basePageCount + (i < remainder ? 1 : 0);
+            partitions[i] = new EvictionPartition(i, firstPageId, pageCount, Math.min(keepFree, pageCount / 2));
+            firstPageId += pageCount;
+        }
+        return partitions;
+    }
+
+    boolean contains(int pageId) {
+        return pageId >= firstPageId && pageId < firstPageId + pageCount;
+    }
+
+    Object getFreelistHead() {
+        return FREE_LIST.getVolatile(this);
+    }
+
+    boolean compareAndSetFreelistHead(Object expected, Object update) {
+        return FREE_LIST.compareAndSet(this, expected, update);
+    }
+
+    void setFreelistHead(Object newFreelistHead) {
+        FREE_LIST.setVolatile(this, newFreelistHead);
+    }
+
+    /**
+     * @return the number of pages that are currently available on the freelist of this partition.
+     */
+    int freeListSize() {
+        return freeListSize(getFreelistHead());
+    }
+
+    int freeListSize(Object head) {
+        if (head instanceof FreePage freePage) {
+            return freePage.count;
+        } else if (head instanceof AtomicInteger counter) {
+            return Math.max(0, pageCount - counter.get());
+        }
+        return 0;
+    }
+
+    int tryGetNumberOfPagesToEvict(int keepFree) {
+        Object freelistHead = getFreelistHead();
+
+        if (freelistHead == null) {
+            return keepFree;
+        } else if (freelistHead.getClass() == FreePage.class) {
+            int availablePages = ((FreePage) freelistHead).count;
+            if (availablePages < keepFree) {
+                return keepFree - availablePages;
+            }
+        } else if (freelistHead.getClass() == AtomicInteger.class) {
+            AtomicInteger counter = (AtomicInteger) freelistHead;
+            long count = pageCount - counter.get();
+            if (count < keepFree) {
+                return count < 0 ? keepFree : (int) (keepFree - count);
+            }
+        }
+        return UNKNOWN_PAGES_TO_EVICT;
+    }
+
+    FreePage addFreePage(long pageRef) {
+        Object current;
+        FreePage freePage = new FreePage(pageRef);
+        do {
+            current = getFreelistHead();
+            if (current instanceof AtomicInteger && ((AtomicInteger) current).get() > pageCount) {
+                current = null;
+            }
+            freePage.setNext(pageCount, current);
+        } while (!compareAndSetFreelistHead(current, freePage));
+        return freePage;
+    }
+
+    void unparkEvictor() {
+        if (evictorParked) {
+            evictorParked = false;
+            LockSupport.unpark(evictionThread);
+        }
+    }
+
+    void parkEvictor(Object blocker, long parkNanos) {
+        // Only called from the background eviction thread of this partition!
+        evictorParked = true;
+        LockSupport.parkNanos(blocker, parkNanos);
+        evictorParked = false;
+    }
+
+    void interruptEvictor() {
+        Thread thread = evictionThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        evictionThread = null;
+    }
+
+    @Override
+    public String toString() {
+        return "EvictionPartition[index:" + index + ", firstPageId:" + firstPageId + ", pageCount:" + pageCount
+                + ", keepFree:" + keepFree + "]";
+    }
+}
@@ -98,6 +98,25 @@ final class LatchMap {
         return null;
     }
 
+    /**
+     * Take the latch for the given identifier, but only if no latch is currently installed for it. Unlike
+     * {@link #takeOrAwaitLatch(long)}, this method never waits, which makes it suitable for speculative page faults
+     * like prefetching, that would rather skip a page than wait for it.
+     *
+     * @return the installed latch, which must be released once the page fault has completed, or {@code null} if a
+     * latch is already installed for the given identifier.
+     */
+    Latch tryTakeLatch(long identifier) {
+        int index = index(identifier);
+        if (getLatch(index) == null) {
+            Latch latch = new Latch(this, index);
+            if (tryInsertLatch(index, latch)) {
+                return latch;
+            }
+        }
+        return null;
+    }
+
     private int index(long identifier) {
         return (int) (identifier & faultLockMask);
     }
@@ -23,6 +23,7 @@ import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static org.neo4j.internal.helpers.Numbers.isPowerOfTwo;
 import static org.neo4j.io.pagecache.buffer.IOBufferFactory.DISABLED_BUFFER_FACTORY;
+import static org.neo4j.io.pagecache.impl.muninn.EvictionPartition.UNKNOWN_PAGES_TO_EVICT;
 import static org.neo4j.scheduler.Group.FILE_IO_HELPER;
 import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
 import static org.neo4j.util.FeatureToggles.flag;
@@ -31,8 +32,6 @@ import static org.neo4j.util.Preconditions.requireNonNegative;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.lang.invoke.MethodHandles;
-import java.lang.invoke.VarHandle;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -128,6 +127,33 @@ public class MuninnPageCache implements PageCache {
     // in the cache.
     private static final int percentPagesToKeepFree = getInteger(MuninnPageCache.class, "percentPagesToKeepFree", 5);
 
+    // The number of eviction partitions to split the page list into, unless explicitly configured. Each partition has
+    // its own clock arm, eviction thread and freelist.
+    private static final int defaultEvictionPartitions = getInteger(MuninnPageCache.class, "evictionPartitions", 1);
+
+    // The page replacement policy to use, unless explicitly configured.
+    private static final PageReplacementPolicy defaultReplacementPolicy =
+            flag(MuninnPageCache.class, "replacementPolicy", PageReplacementPolicy.CLOCK);
+
+    // Whether to prefetch pages ahead of the access streams detected per file, unless explicitly configured.
+    private static final boolean defaultStreamPrefetching = flag(MuninnPageCache.class, "streamPrefetching", false);
+
+    // Whether flushes through an IO buffer gather pages into vectored writes instead of copying them, unless
+    // explicitly configured.
+    private static final boolean defaultVectoredFlush = flag(MuninnPageCache.class, "vectoredFlush", false);
+
+    // Whether eviction partitions are aligned with the NUMA nodes of the memory allocator, unless explicitly
+    // configured.
+    private static final boolean defaultNumaAlignedPartitions =
+            flag(MuninnPageCache.class, "numaAlignedPartitions", false);
+
+    // Whether dirty pages are flushed in the background ahead of the eviction clock arms, unless explicitly configured.
+    private static final boolean defaultWriteBehind = flag(MuninnPageCache.class, "writeBehind", false);
+
+    // How many pages ahead of the clock arm of a partition the write-behind flusher looks for dirty pages, at least.
+    private static final int writeBehindMinimumWindow =
+            getInteger(MuninnPageCache.class, "writeBehindMinimumWindow", 64);
+
     // This is how many times that, during cooperative eviction, we'll iterate through the entire set of pages looking
     // for a page to evict, before we give up and throw CacheLiveLockException. This MUST be greater than 1.
     private static final int cooperativeEvictionLiveLockThreshold =
@@ -154,10 +180,6 @@ public class MuninnPageCache implements PageCache {
     private static final List<OpenOption> ignoredOpenOptions = Arrays.asList(
             StandardOpenOption.APPEND, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.SPARSE);
 
-    // Used when trying to figure out number of available pages in a page cache. Could be returned from
-    // tryGetNumberOfAvailablePages.
-    private static final int UNKNOWN_PAGES_TO_EVICT = -1;
-
     private final int pageCacheId;
     private final PageSwapperFactory swapperFactory;
     private final int cachePageSize;
@@ -168,55 +190,50 @@ public class MuninnPageCache implements PageCache {
     private final int faultLockStriping;
     private final boolean preallocateStoreFiles;
     private final boolean enableEvictionThread;
+    // Whether cursors that scan sequentially should leave the pages they touch in the probationary state.
+    final boolean scanResistant;
+    // Whether every mapped file detects access streams across its cursors and prefetches pages ahead of them.
+    final boolean streamPrefetching;
+    // Whether flushes through an IO buffer gather pages into vectored writes, rather than copying them into the buffer.
+    final boolean vectoredFlush;
+    // Whether dirty pages are flushed in the background, ahead of the clock arms of the eviction partitions.
+    private final boolean writeBehind;
+    private final MemoryAllocator memoryAllocator;
     final PageList pages;
     // All PageCursors are initialised with their pointers pointing to the victim page. This way, we don't have to throw
     // exceptions on bounds checking failures; we can instead return the victim page pointer, and permit the page
     // accesses to take place without fear of segfaulting newly allocated cursors.
     final long victimPage;
 
-    // The freelist is a thread-safe linked-list of FreePage objects, or an AtomicInteger, or null.
-    // Initially, the field is an AtomicInteger that counts from zero to the max page count, at which point all of the
-    // pages have been put in use. Once this happens, the field is set to null to allow the background eviction thread
-    // to start its work. From that point on, the field will operate as a concurrent stack of FreePage objects. The
-    // eviction thread pushes newly freed FreePage objects onto the stack, and page faulting threads pops FreePage
-    // objects from the stack. The FreePage objects are single-use, to avoid running into the ABA-problem.
-    @SuppressWarnings("unused") // accessed via VarHandle.
-    private volatile Object freelist;
-
-    private static final VarHandle FREE_LIST;
+    // The page list is split into one or more eviction partitions, each owning a contiguous range of pages.
+    // Every partition has its own freelist, which is a thread-safe linked-list of FreePage objects, or an
+    // AtomicInteger, or null. Initially, the freelist is an AtomicInteger that counts from zero to the page count of
+    // the partition, at which point all of its pages have been put in use. Once this happens, the freelist is set to
+    // null to allow the eviction thread of the partition to start its work. From that point on, the freelist will
+    // operate as a concurrent stack of FreePage objects. The eviction thread pushes newly freed FreePage objects onto
+    // the stack, and page faulting threads pops FreePage objects from the stack. The FreePage objects are single-use,
+    // to avoid running into the ABA-problem.
+    // Page faulting threads prefer the freelist of their home partition, and only steal from the freelists of other
+    // partitions when their own is empty.
+    final EvictionPartition[] partitions;
 
     // Linked list of mappings - guarded by synchronized(this)
     private volatile FileMapping mappedFiles;
 
-    // The thread that runs the eviction algorithm. We unpark this when we've run out of
-    // free pages to grab.
-    private volatile Thread evictionThread;
-    // True if the eviction thread is currently parked, without someone having
-    // signalled it to wake up. This is used as a weak guard for unparking the
-    // eviction thread, because calling unpark too much (from many page
-    // faulting threads) can cause contention on the locks protecting that
-    // threads scheduling meta-data in the OS kernel.
-    private volatile boolean evictorParked;
     private volatile IOException evictorException;
 
     // Flag for when page cache is closed - writes guarded by synchronized(this), reads can be unsynchronized
     private volatile boolean closed;
 
+    // The thread that flushes dirty pages ahead of the eviction clock arms, if write-behind is enabled.
+    private volatile Thread writeBehindThread;
+
     // Only used by ensureThreadsInitialised while holding the monitor lock on this MuninnPageCache instance.
     private boolean threadsInitialised;
 
     // 'true' (the default) if we should print any exceptions we get when unmapping a file.
     private boolean printExceptionsOnClose;
 
-    static {
-        try {
-            MethodHandles.Lookup l = MethodHandles.lookup();
-            FREE_LIST = l.findVarHandle(MuninnPageCache.class, "freelist", Object.class);
-        } catch (ReflectiveOperationException e) {
-            throw new ExceptionInInitializerError(e);
-        }
-    }
-
     /**
      * Compute the amount of memory needed for a page cache with the given number of 8 KiB pages.
      * @param pageCount The number of pages
@@ -237,6 +254,12 @@ public class MuninnPageCache implements PageCache {
         private final boolean enableEvictionThread;
         private final boolean preallocateStoreFiles;
         private final int reservedPageSize;
+        private final int evictionPartitions;
+        private final PageReplacementPolicy replacementPolicy;
+        private final boolean streamPrefetching;
+        private final boolean vectoredFlush;
+        private final boolean numaAlignedPartitions;
+        private final boolean writeBehind;
 
         private Configuration(
                 MemoryAllocator memoryAllocator,
@@ -248,7 +271,13 @@ public class MuninnPageCache implements PageCache {
                 int faultLockStriping,
                 boolean enableEvictionThread,
                 boolean preallocateStoreFiles,
-                int reservedPageSize) {
+                int reservedPageSize,
+                int evictionPartitions,
+                PageReplacementPolicy replacementPolicy,
+                boolean streamPrefetching,
+                boolean vectoredFlush,
+                boolean numaAlignedPartitions,
+                boolean writeBehind) {
             this.memoryAllocator = memoryAllocator;
             this.clock = clock;
             this.memoryTracker = memoryTracker;
@@ -259,6 +288,12 @@ public class MuninnPageCache implements PageCache {
             this.faultLockStriping = faultLockStriping;
             this.enableEvictionThread = enableEvictionThread;
             this.preallocateStoreFiles = preallocateStoreFiles;
+            this.evictionPartitions = evictionPartitions;
+            this.replacementPolicy = replacementPolicy;
+            this.streamPrefetching = streamPrefetching;
+            this.vectoredFlush = vectoredFlush;
+            this.numaAlignedPartitions = numaAlignedPartitions;
+            this.writeBehind = writeBehind;
         }
 
         /**
@@ -275,7 +310,13 @@ public class MuninnPageCache implements PageCache {
                     faultLockStriping,
                     enableEvictionThread,
                     preallocateStoreFiles,
-                    reservedPageSize);
+                    reservedPageSize,
+                    evictionPartitions,
+                    replacementPolicy,
+                    streamPrefetching,
+                    vectoredFlush,
+                    numaAlignedPartitions,
+                    writeBehind);
         }
 
         /**
@@ -292,7 +333,13 @@ public class MuninnPageCache implements PageCache {
                     faultLockStriping,
                     enableEvictionThread,
                     preallocateStoreFiles,
-                    reservedPageSize);
+                    reservedPageSize,
+                    evictionPartitions,
+                    replacementPolicy,
+                    streamPrefetching,
+                    vectoredFlush,
+                    numaAlignedPartitions,
+                    writeBehind);
         }
 
         /**
@@ -309,7 +356,13 @@ public class MuninnPageCache implements PageCache {
                     faultLockStriping,
                     enableEvictionThread,
                     preallocateStoreFiles,
-                    reservedPageSize);
+                    reservedPageSize,
+                    evictionPartitions,
+                    replacementPolicy,
+                    streamPrefetching,
+                    vectoredFlush,
+                    numaAlignedPartitions,
+                    writeBehind);
         }
 
         /**
@@ -326,7 +379,13 @@ public class MuninnPageCache implements PageCache {
                     faultLockStriping,
                     enableEvictionThread,
                     preallocateStoreFiles,
-                    reservedPageSize);
+                    reservedPageSize,
+                    evictionPartitions,
+                    replacementPolicy,
+                    streamPrefetching,
+                    vectoredFlush,
+                    numaAlignedPartitions,
+                    writeBehind);
         }
 
         /**
@@ -343,7 +402,13 @@ public class MuninnPageCache implements PageCache {
                     faultLockStriping,
                     enableEvictionThread,
                     preallocateStoreFiles,
-                    reservedPageSize);
+                    reservedPageSize,
+                    evictionPartitions,
+                    replacementPolicy,
+                    streamPrefetching,
+                    vectoredFlush,
+                    numaAlignedPartitions,
+                    writeBehind);
         }
 
         /**
@@ -360,7 +425,13 @@ public class MuninnPageCache implements PageCache {
                     faultLockStriping,
                     enableEvictionThread,
                     preallocateStoreFiles,
-                    reservedPageSize);
+                    reservedPageSize,
+                    evictionPartitions,
+                    replacementPolicy,
+                    streamPrefetching,
+                    vectoredFlush,
+                    numaAlignedPartitions,
+                    writeBehind);
         }
 
         /**
@@ -377,7 +448,13 @@ public class MuninnPageCache implements PageCache {
                     faultLockStriping,
                     enableEvictionThread,
                     preallocateStoreFiles,
-                    reservedPageBytes);
+                    reservedPageBytes,
+                    evictionPartitions,
+                    replacementPolicy,
+                    streamPrefetching,
+                    vectoredFlush,
+                    numaAlignedPartitions,
+                    writeBehind);
         }
 
         /**
@@ -394,7 +471,13 @@ public class MuninnPageCache implements PageCache {
                     faultLockStriping,
                     enableEvictionThread,
                     preallocateStoreFiles,
-                    reservedPageSize);
+                    reservedPageSize,
+                    evictionPartitions,
+                    replacementPolicy,
+                    streamPrefetching,
+                    vectoredFlush,
+                    numaAlignedPartitions,
+                    writeBehind);
         }
 
         /**
@@ -411,7 +494,13 @@ public class MuninnPageCache implements PageCache {
                     faultLockStriping,
                     false,
                     preallocateStoreFiles,
-                    reservedPageSize);
+                    reservedPageSize,
+                    evictionPartitions,
+                    replacementPolicy,
+                    streamPrefetching,
+                    vectoredFlush,
+                    numaAlignedPartitions,
+                    writeBehind);
         }
 
         /**
@@ -428,7 +517,156 @@ public class MuninnPageCache implements PageCache {
                     faultLockStriping,
                     enableEvictionThread,
                     preallocateStoreFiles,
-                    reservedPageSize);
+                    reservedPageSize,
+                    evictionPartitions,
+                    replacementPolicy,
+                    streamPrefetching,
+                    vectoredFlush,
+                    numaAlignedPartitions,
+                    writeBehind);
+        }
+
+        /**
+         * @param evictionPartitions number of eviction partitions, each with its own clock arm, eviction thread and freelist.
+         */
+        public Configuration evictionPartitions(int evictionPartitions) {
+            return new Configuration(
+                    memoryAllocator,
+                    clock,
+                    memoryTracker,
+                    pageCacheTracer,
+                    pageSize,
+                    bufferFactory,
+                    faultLockStriping,
+                    enableEvictionThread,
+                    preallocateStoreFiles,
+                    reservedPageSize,
+                    evictionPartitions,
+                    replacementPolicy,
+                    streamPrefetching,
+                    vectoredFlush,
+                    numaAlignedPartitions,
+                    writeBehind);
+        }
+
+        /**
+         * Set the policy used to decide which pages to evict from the page cache.
+         */
+        public Configuration replacementPolicy(PageReplacementPolicy replacementPolicy) {
+            return new Configuration(
+                    memoryAllocator,
+                    clock,
+                    memoryTracker,
+                    pageCacheTracer,
+                    pageSize,
+                    bufferFactory,
+                    faultLockStriping,
+                    enableEvictionThread,
+                    preallocateStoreFiles,
+                    reservedPageSize,
+                    evictionPartitions,
+                    replacementPolicy,
+                    streamPrefetching,
+                    vectoredFlush,
+                    numaAlignedPartitions,
+                    writeBehind);
+        }
+
+        /**
+         * Enable or disable the prefetching of pages ahead of the sequential and strided access streams that are
+         * detected per file. When enabled, this replaces the per-cursor pre-fetcher of {@code PF_READ_AHEAD} scans.
+         */
+        public Configuration streamPrefetching(boolean streamPrefetching) {
+            return new Configuration(
+                    memoryAllocator,
+                    clock,
+                    memoryTracker,
+                    pageCacheTracer,
+                    pageSize,
+                    bufferFactory,
+                    faultLockStriping,
+                    enableEvictionThread,
+                    preallocateStoreFiles,
+                    reservedPageSize,
+                    evictionPartitions,
+                    replacementPolicy,
+                    streamPrefetching,
+                    vectoredFlush,
+                    numaAlignedPartitions,
+                    writeBehind);
+        }
+
+        /**
+         * Enable or disable gathering dirty pages straight from page cache memory into vectored writes, instead of
+         * copying them into the flush IO buffer first, when flushing with an enabled IO buffer.
+         */
+        public Configuration vectoredFlush(boolean vectoredFlush) {
+            return new Configuration(
+                    memoryAllocator,
+                    clock,
+                    memoryTracker,
+                    pageCacheTracer,
+                    pageSize,
+                    bufferFactory,
+                    faultLockStriping,
+                    enableEvictionThread,
+                    preallocateStoreFiles,
+                    reservedPageSize,
+                    evictionPartitions,
+                    replacementPolicy,
+                    streamPrefetching,
+                    vectoredFlush,
+                    numaAlignedPartitions,
+                    writeBehind);
+        }
+
+        /**
+         * Round the number of eviction partitions up to a multiple of the number of NUMA nodes that the memory
+         * allocator binds memory to, and place the pages of every partition on a single node, so that every node is
+         * swept by its own evictors.
+         */
+        public Configuration numaAlignedPartitions(boolean numaAlignedPartitions) {
+            return new Configuration(
+                    memoryAllocator,
+                    clock,
+                    memoryTracker,
+                    pageCacheTracer,
+                    pageSize,
+                    bufferFactory,
+                    faultLockStriping,
+                    enableEvictionThread,
+                    preallocateStoreFiles,
+                    reservedPageSize,
+                    evictionPartitions,
+                    replacementPolicy,
+                    streamPrefetching,
+                    vectoredFlush,
+                    numaAlignedPartitions,
+                    writeBehind);
+        }
+
+        /**
+         * Flush dirty pages in the background, ahead of the clock arms of the eviction partitions, so that eviction
+         * mostly finds clean pages and does not have to write them back itself.
+         */
+        public Configuration writeBehind(boolean writeBehind) {
+            return new Configuration(
+                    memoryAllocator,
+                    clock,
+                    memoryTracker,
+                    pageCacheTracer,
+                    pageSize,
+                    bufferFactory,
+                    faultLockStriping,
+                    enableEvictionThread,
+                    preallocateStoreFiles,
+                    reservedPageSize,
+                    evictionPartitions,
+                    replacementPolicy,
+                    streamPrefetching,
+                    vectoredFlush,
+                    numaAlignedPartitions,
+                    writeBehind);
         }
     }
 
@@ -455,7 +693,13 @@ public class MuninnPageCache implements PageCache {
                 LatchMap.faultLockStriping,
                 true,
                 true,
-                RESERVED_BYTES);
+                RESERVED_BYTES,
+                defaultEvictionPartitions,
+                defaultReplacementPolicy,
+                defaultStreamPrefetching,
+                defaultVectoredFlush,
+                defaultNumaAlignedPartitions,
+                defaultWriteBehind);
     }
 
     /**
@@ -479,22 +723,53 @@ public class MuninnPageCache implements PageCache {
         this.printExceptionsOnClose = true;
         this.bufferFactory = configuration.bufferFactory;
         this.victimPage = VictimPageReference.getVictimPage(cachePageSize, configuration.memoryTracker);
+        this.memoryAllocator = configuration.memoryAllocator;
+        int numaNodes = memoryAllocator.numaNodes();
+        int evictionPartitions = configuration.numaAlignedPartitions
+                ? alignPartitionsToNumaNodes(configuration.evictionPartitions, numaNodes)
+                : configuration.evictionPartitions;
+        this.partitions = EvictionPartition.split(maxPages, evictionPartitions, keepFree);
         this.pages = new PageList(
                 maxPages,
                 cachePageSize,
-                configuration.memoryAllocator,
+                memoryAllocator,
                 new SwapperSet(),
                 victimPage,
-                UnsafeUtil.pageSize());
+                UnsafeUtil.pageSize(),
+                numaNodeFirstPageIds(partitions, maxPages, numaNodes));
         this.scheduler = jobScheduler;
         this.clock = configuration.clock;
         this.faultLockStriping = configuration.faultLockStriping;
         this.enableEvictionThread = configuration.enableEvictionThread;
         this.preallocateStoreFiles = configuration.preallocateStoreFiles;
-        setFreelistHead(new AtomicInteger());
+        this.scanResistant = configuration.replacementPolicy == PageReplacementPolicy.SCAN_RESISTANT;
+        this.streamPrefetching = configuration.streamPrefetching;
+        this.vectoredFlush = configuration.vectoredFlush;
+        this.writeBehind = configuration.writeBehind;
 
         // Expose the total number of pages
         pageCacheTracer.maxPages(maxPages, cachePageSize);
+        pageCacheTracer.evictionPartitions(partitions.length);
+    }
+
+    private static int alignPartitionsToNumaNodes(int evictionPartitions, int numaNodes) {
+        return ((evictionPartitions + numaNodes - 1) / numaNodes) * numaNodes;
+    }
+
+    /**
+     * Split the page list into contiguous ranges of pages, one for every NUMA node. When the number of partitions is a
+     * multiple of the number of nodes, the ranges follow the partition boundaries, so that every partition lives on a
+     * single node. Otherwise, the pages are split evenly over the nodes.
+     */
+    private static int[] numaNodeFirstPageIds(EvictionPartition[] partitions, int maxPages, int numaNodes) {
+        int[] firstPageIds = new int[numaNodes];
+        boolean partitionAligned = partitions.length % numaNodes == 0;
+        for (int node = 0; node < numaNodes; node++) {
+            firstPageIds[node] = partitionAligned
+                    ? partitions[node * (partitions.length / numaNodes)].firstPageId
+                    : (int) ((long) maxPages * node / numaNodes);
+        }
+        return firstPageIds;
     }
 
     private static int calculatePagesToKeepFree(int maxPages) {
@@ -698,8 +973,20 @@ public class MuninnPageCache implements PageCache {
 
         try {
             if (enableEvictionThread) {
-                var monitoringParams = systemJob("Eviction of pages from the page cache");
-                scheduler.schedule(Group.PAGE_CACHE_EVICTION, monitoringParams, new EvictionTask(this));
+                for (EvictionPartition partition : partitions) {
+                    var monitoringParams = systemJob(
+                            partitions.length == 1
+                                    ? "Eviction of pages from the page cache"
+                                    : "Eviction of pages from page cache partition " + partition.index);
+                    scheduler.schedule(
+                            Group.PAGE_CACHE_EVICTION, monitoringParams, new EvictionTask(this, partition));
+                }
+                if (writeBehind) {
+                    scheduler.schedule(
+                            Group.PAGE_CACHE_EVICTION,
+                            systemJob("Write-behind of dirty pages ahead of page cache eviction"),
+                            new WriteBehindTask(this));
+                }
             }
         } catch (Exception e) {
             IOException exception = new IOException(e);
@@ -830,14 +1117,14 @@ public class MuninnPageCache implements PageCache {
 
         closed = true;
 
-        interrupt(evictionThread);
-        evictionThread = null;
-    }
-
-    private static void interrupt(Thread thread) {
-        if (thread != null) {
-            thread.interrupt();
+        for (EvictionPartition partition : partitions) {
+            partition.interruptEvictor();
+        }
+        Thread flusher = writeBehindThread;
+        if (flusher != null) {
+            flusher.interrupt();
         }
+        writeBehindThread = null;
     }
 
     private void assertHealthy() throws IOException {
@@ -879,13 +1166,13 @@ public class MuninnPageCache implements PageCache {
     }
 
     long grabFreeAndExclusivelyLockedPage(PageFaultEvent faultEvent) throws IOException {
-        // Review the comment on the freelist field before making changes to
+        // Review the comment on the partitions field before making changes to
         // this part of the code.
-        // Whatever the case, we're going to the head-pointer of the freelist,
-        // and in doing so, we can discover a number of things.
-        // We can discover a MuninnPage object, in which case we can try to
-        // CAS the freelist pointer to the value of the MuninnPage.nextFree
-        // pointer, and if this succeeds then we've grabbed that page.
+        // Whatever the case, we're going to the head-pointer of the freelist
+        // of our home partition, and in doing so, we can discover a number of things.
+        // We can discover an AtomicInteger, in which case we can try to
+        // CAS it to the next page id of the partition that has never been
+        // used, and if this succeeds then we've grabbed that page.
         // We can discover a FreePage object, in which case we'll do a similar
         // dance by attempting to CAS the freelist to the FreePage objects next
         // pointer, and again, if we succeed then we've grabbed the MuninnPage
@@ -894,30 +1181,102 @@ public class MuninnPageCache implements PageCache {
         // been emptied for whatever it contained before. New FreePage objects
         // are eventually going to be added to the freelist, but we are not
         // going to wait around for that to happen. If the freelist is empty,
-        // then we do our own eviction to get a free page.
+        // then we try to steal a page from the freelists of the other
+        // partitions, and if they are all empty as well, we do our own
+        // eviction in our home partition to get a free page.
         // If we find a FreePage object on the freelist, then it is important
         // to check and see if it is the shutdownSignal instance. If that's the
         // case, then the page cache has been shut down, and we should throw an
         // exception from our page fault routine.
-        Object current;
+        EvictionPartition home = homePartition();
         for (; ; ) {
             assertHealthy();
-            current = getFreelistHead();
+            long pageRef = tryGrabFreePage(home, faultEvent);
+            if (pageRef != 0) {
+                return pageRef;
+            }
+            home.unparkEvictor();
+            pageRef = tryStealFreePage(home, faultEvent);
+            if (pageRef != 0) {
+                return pageRef;
+            }
+            pageRef = cooperativelyEvict(home, faultEvent);
+            if (pageRef != 0) {
+                return pageRef;
+            }
+        }
+    }
+
+    /**
+     * Grab a free and exclusively locked page for the purpose of prefetching, but only if one is immediately available
+     * on the freelists. Prefetching must never evict pages itself, so this method never evicts cooperatively.
+     * @return the page reference of the grabbed page, or 0 if all freelists are empty.
+     */
+    long tryGrabFreeAndExclusivelyLockedPage() {
+        assertHealthy();
+        EvictionPartition home = homePartition();
+        long pageRef = tryGrabFreePage(home, PageFaultEvent.NULL);
+        if (pageRef == 0) {
+            home.unparkEvictor();
+            pageRef = tryStealFreePage(home, PageFaultEvent.NULL);
+        }
+        return pageRef;
+    }
+
+    /**
+     * The number of pages that prefetching may take from the freelists. This is the number of free pages in excess of
+     * half of what the eviction threads try to keep free, so prefetching backs off before page faults have to evict
+     * cooperatively.
+     */
+    int prefetchBudget() {
+        int freePages = 0;
+        int keepFree = 0;
+        for (EvictionPartition partition : partitions) {
+            freePages += partition.freeListSize();
+            keepFree += partition.keepFree;
+        }
+        return Math.max(0, freePages - keepFree / 2);
+    }
+
+    /**
+     * @return {@code true} if the freelists hold fewer pages than the eviction threads try to keep free.
+     */
+    boolean isUnderEvictionPressure() {
+        for (EvictionPartition partition : partitions) {
+            if (partition.freeListSize() < partition.keepFree) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private EvictionPartition homePartition() {
+        EvictionPartition[] partitions = this.partitions;
+        if (partitions.length == 1) {
+            return partitions[0];
+        }
+        return partitions[(int) (Thread.currentThread().getId() % partitions.length)];
+    }
+
+    /**
+     * Try to pop a free page of the given partition.
+     * @return the page reference of the grabbed page, or 0 if the freelist of the partition is empty.
+     */
+    private long tryGrabFreePage(EvictionPartition partition, PageFaultEvent faultEvent) {
+        Object current;
+        for (; ; ) {
+            current = partition.getFreelistHead();
             if (current == null) {
-                unparkEvictor();
-                long pageRef = cooperativelyEvict(faultEvent);
-                if (pageRef != 0) {
-                    return pageRef;
-                }
+                return 0;
             } else if (current instanceof AtomicInteger counter) {
-                int pageCount = pages.getPageCount();
+                int pageCount = partition.pageCount;
                 int pageId = counter.get();
                 if (pageId < pageCount && counter.compareAndSet(pageId, pageId + 1)) {
                     faultEvent.freeListSize(pageCount - counter.get());
-                    return pages.deref(pageId);
+                    return pages.deref(partition.firstPageId + pageId);
                 }
                 if (pageId >= pageCount) {
-                    compareAndSetFreelistHead(current, null);
+                    partition.compareAndSetFreelistHead(current, null);
                 }
             } else if (current instanceof FreePage freePage) {
                 if (freePage == shutdownSignal) {
@@ -925,33 +1284,35 @@ public class MuninnPageCache implements PageCache {
                 }
 
                 Object nextPage = freePage.next;
-                if (compareAndSetFreelistHead(freePage, nextPage)) {
-                    faultEvent.freeListSize(getFreeListSize(pages, nextPage));
+                if (partition.compareAndSetFreelistHead(freePage, nextPage)) {
+                    faultEvent.freeListSize(partition.freeListSize(nextPage));
                     return freePage.pageRef;
                 }
             }
         }
     }
 
-    private static int getFreeListSize(PageList pageList, Object next) {
-        if (next instanceof FreePage) {
-            return ((FreePage) next).count;
-        } else if (next instanceof AtomicInteger) {
-            return pageList.getPageCount() - ((AtomicInteger) next).get();
-        } else {
-            return 0;
+    private long tryStealFreePage(EvictionPartition home, PageFaultEvent faultEvent) {
+        EvictionPartition[] partitions = this.partitions;
+        int partitionCount = partitions.length;
+        for (int i = 1; i < partitionCount; i++) {
+            long pageRef = tryGrabFreePage(partitions[(home.index + i) % partitionCount], faultEvent);
+            if (pageRef != 0) {
+                return pageRef;
+            }
         }
+        return 0;
     }
 
-    private long cooperativelyEvict(PageFaultEvent faultEvent) throws IOException {
+    private long cooperativelyEvict(EvictionPartition partition, PageFaultEvent faultEvent) throws IOException {
         int iterations = 0;
-        int pageCount = pages.getPageCount();
+        int pageCount = partition.pageCount;
         int clockArm = ThreadLocalRandom.current().nextInt(pageCount);
         boolean evicted = false;
         long pageRef;
         do {
             assertHealthy();
-            if (getFreelistHead() != null) {
+            if (partition.getFreelistHead() != null) {
                 return 0;
             }
 
@@ -963,7 +1324,7 @@ public class MuninnPageCache implements PageCache {
                 clockArm = 0;
             }
 
-            pageRef = pages.deref(clockArm);
+            pageRef = pages.deref(partition.firstPageId + clockArm);
             if (PageList.isLoaded(pageRef) && PageList.decrementUsage(pageRef)) {
                 evicted = pages.tryEvict(pageRef, faultEvent);
             }
@@ -986,66 +1347,57 @@ public class MuninnPageCache implements PageCache {
                         + "your database.");
     }
 
-    private void unparkEvictor() {
-        if (evictorParked) {
-            evictorParked = false;
-            LockSupport.unpark(evictionThread);
+    private EvictionPartition partitionOf(long pageRef) {
+        EvictionPartition[] partitions = this.partitions;
+        if (partitions.length == 1) {
+            return partitions[0];
         }
-    }
-
-    private void parkEvictor(long parkNanos) {
-        // Only called from the background eviction thread!
-        evictorParked = true;
-        LockSupport.parkNanos(this, parkNanos);
-        evictorParked = false;
-    }
-
-    private Object getFreelistHead() {
-        return FREE_LIST.getVolatile(this);
-    }
-
-    private boolean compareAndSetFreelistHead(Object expected, Object update) {
-        return FREE_LIST.compareAndSet(this, expected, update);
-    }
-
-    private void setFreelistHead(Object newFreelistHead) {
-        FREE_LIST.setVolatile(this, newFreelistHead);
+        int pageId = pages.toId(pageRef);
+        // Partitions differ in size by at most one page, so the estimate is off by at most one partition.
+        int index = Math.min((int) ((long) pageId * partitions.length / pages.getPageCount()), partitions.length - 1);
+        while (pageId < partitions[index].firstPageId) {
+            index--;
+        }
+        while (!partitions[index].contains(pageId)) {
+            index++;
+        }
+        return partitions[index];
     }
 
     /**
-     * Scan through all the pages, one by one, and decrement their usage stamps.
+     * Scan through all the pages of the given partition, one by one, and decrement their usage stamps.
      * If a usage reaches zero, we try-write-locking it, and if we get that lock,
      * we evict the page. If we don't, we move on to the next page.
-     * Once we have enough free pages, we park our thread. Page-faulting will
+     * Once we have enough free pages in the partition, we park our thread. Page-faulting will
      * unpark our thread as needed.
      */
-    void continuouslySweepPages() {
-        evictionThread = Thread.currentThread();
-        int clockArm = 0;
+    void continuouslySweepPages(EvictionPartition partition) {
+        partition.evictionThread = Thread.currentThread();
 
         while (!closed) {
-            int pageCountToEvict = parkUntilEvictionRequired(keepFree);
-            try (EvictionRunEvent evictionRunEvent = pageCacheTracer.beginPageEvictions(pageCountToEvict)) {
-                clockArm = evictPages(pageCountToEvict, clockArm, evictionRunEvent);
+            int pageCountToEvict = parkUntilEvictionRequired(partition);
+            try (EvictionRunEvent evictionRunEvent =
+                    pageCacheTracer.beginPageEvictions(partition.index, pageCountToEvict)) {
+                partition.clockArm = evictPages(partition, pageCountToEvict, partition.clockArm, evictionRunEvent);
             }
         }
 
         // The last thing we do, is signalling the shutdown of the cache via
         // the freelist. This signal is looked out for in grabFreePage.
-        setFreelistHead(shutdownSignal);
+        partition.setFreelistHead(shutdownSignal);
     }
 
-    private int parkUntilEvictionRequired(int keepFree) {
+    private int parkUntilEvictionRequired(EvictionPartition partition) {
         // Park until we're either interrupted, or the number of free pages drops
         // bellow keepFree.
         long parkNanos = TimeUnit.MILLISECONDS.toNanos(10);
         for (; ; ) {
-            parkEvictor(parkNanos);
+            partition.parkEvictor(this, parkNanos);
             if (Thread.interrupted() || closed) {
                 return 0;
             }
 
-            int namberOfPagesToEvict = tryGetNumberOfPagesToEvict(keepFree);
+            int namberOfPagesToEvict = partition.tryGetNumberOfPagesToEvict(partition.keepFree);
             if (namberOfPagesToEvict != UNKNOWN_PAGES_TO_EVICT) {
                 return namberOfPagesToEvict;
             }
@@ -1054,28 +1406,18 @@ public class MuninnPageCache implements PageCache {
 
     @VisibleForTesting
     int tryGetNumberOfPagesToEvict(int keepFree) {
-        Object freelistHead = getFreelistHead();
-
-        if (freelistHead == null) {
-            return keepFree;
-        } else if (freelistHead.getClass() == FreePage.class) {
-            int availablePages = ((FreePage) freelistHead).count;
-            if (availablePages < keepFree) {
-                return keepFree - availablePages;
-            }
-        } else if (freelistHead.getClass() == AtomicInteger.class) {
-            AtomicInteger counter = (AtomicInteger) freelistHead;
-            long count = pages.getPageCount() - counter.get();
-            if (count < keepFree) {
-                return count < 0 ? keepFree : (int) (keepFree - count);
-            }
-        }
-        return UNKNOWN_PAGES_TO_EVICT;
+        return partitions[0].tryGetNumberOfPagesToEvict(keepFree);
     }
 
+    @VisibleForTesting
     int evictPages(int pageCountToEvict, int clockArm, EvictionRunEvent evictionRunEvent) {
+        return evictPages(partitions[0], pageCountToEvict, clockArm, evictionRunEvent);
+    }
+
+    int evictPages(
+            EvictionPartition partition, int pageCountToEvict, int clockArm, EvictionRunEvent evictionRunEvent) {
         while (pageCountToEvict > 0 && !closed) {
-            if (clockArm == pages.getPageCount()) {
+            if (clockArm == partition.pageCount) {
                 clockArm = 0;
             }
 
@@ -1084,13 +1426,13 @@ public class MuninnPageCache implements PageCache {
                 return 0;
             }
 
-            long pageRef = pages.deref(clockArm);
+            long pageRef = pages.deref(partition.firstPageId + clockArm);
             if (PageList.isLoaded(pageRef) && PageList.decrementUsage(pageRef)) {
                 try {
                     pageCountToEvict--;
                     if (pages.tryEvict(pageRef, evictionRunEvent)) {
                         clearEvictorException();
-                        addFreePageToFreelist(pageRef, evictionRunEvent);
+                        addFreePageToFreelist(partition, pageRef, evictionRunEvent);
                     }
                 } catch (IOException e) {
                     evictorException = e;
@@ -1107,17 +1449,68 @@ public class MuninnPageCache implements PageCache {
         return clockArm;
     }
 
-    void addFreePageToFreelist(long pageRef, EvictionRunEvent evictions) {
-        Object current;
-        FreePage freePage = new FreePage(pageRef);
-        int pageCount = pages.getPageCount();
-        do {
-            current = getFreelistHead();
-            if (current instanceof AtomicInteger && ((AtomicInteger) current).get() > pageCount) {
-                current = null;
+    /**
+     * Continuously flush the dirty pages that the clock arms of the eviction partitions are about to reach, so that
+     * eviction mostly finds clean pages, and neither the eviction threads nor cooperatively evicting page faults have
+     * to write pages back before they can free them. Partitions are only visited when they are close to running out
+     * of free pages, and only pages whose usage stamps are about to run out are flushed, so pages that are still hot
+     * are not written over and over. When there is nothing to flush, the thread parks for a little while.
+     */
+    void continuouslyWriteBehind() {
+        writeBehindThread = Thread.currentThread();
+        long parkNanos = TimeUnit.MILLISECONDS.toNanos(10);
+
+        while (!closed) {
+            int flushedPages = 0;
+            for (EvictionPartition partition : partitions) {
+                flushedPages += writeBehind(partition);
             }
-            freePage.setNext(pageCount, current);
-        } while (!compareAndSetFreelistHead(current, freePage));
+            if (flushedPages == 0) {
+                LockSupport.parkNanos(this, parkNanos);
+                Thread.interrupted();
+            }
+        }
+    }
+
+    @VisibleForTesting
+    int writeBehind(EvictionPartition partition) {
+        if (partition.freeListSize() >= partition.keepFree * 2) {
+            // There is no eviction pressure on this partition, so dirty pages are left for the checkpoint to flush.
+            return 0;
+        }
+        int window = Math.min(partition.pageCount, Math.max(writeBehindMinimumWindow, partition.keepFree * 2));
+        // The clock arm belongs to the eviction thread of the partition. A stale value only moves the window a bit.
+        int clockArm = partition.clockArm;
+        int flushedPages = 0;
+        long bytesWritten = 0;
+        for (int i = 0; i < window && !closed; i++) {
+            int index = (clockArm + i) % partition.pageCount;
+            long pageRef = pages.deref(partition.firstPageId + index);
+            if (PageList.isModified(pageRef) && PageList.getUsage(pageRef) <= 1) {
+                try {
+                    long written = pages.tryWriteBehind(pageRef);
+                    if (written > 0) {
+                        flushedPages++;
+                        bytesWritten += written;
+                    }
+                } catch (IOException e) {
+                    // The page stays dirty, and the eviction will write it, and report any problem with doing so.
+                }
+            }
+        }
+        if (flushedPages > 0) {
+            pageCacheTracer.writeBehindFlushes(flushedPages);
+            pageCacheTracer.writeBehindBytesWritten(bytesWritten);
+        }
+        return flushedPages;
+    }
+
+    void addFreePageToFreelist(long pageRef, EvictionRunEvent evictions) {
+        addFreePageToFreelist(partitionOf(pageRef), pageRef, evictions);
+    }
+
+    private static void addFreePageToFreelist(EvictionPartition partition, long pageRef, EvictionRunEvent evictions) {
+        FreePage freePage = partition.addFreePage(pageRef);
         evictions.freeListSize(freePage.count);
     }
 
@@ -1127,15 +1520,55 @@ public class MuninnPageCache implements PageCache {
         }
     }
 
+    /**
+     * Describe how the memory of this page cache is laid out: how it is placed by the memory allocator, and how the
+     * eviction partitions map onto the NUMA nodes that the memory is bound to.
+     *
+     * @return human readable lines describing the memory layout.
+     */
+    public List<String> describeMemoryLayout() {
+        List<String> layout = new ArrayList<>();
+        int pageCount = pages.getPageCount();
+        int numaNodes = memoryAllocator.numaNodes();
+        layout.add(format(
+                "%d pages of %d bytes, in %d eviction partitions.", pageCount, cachePageSize, partitions.length));
+        layout.add(memoryAllocator.describePlacement());
+        if (numaNodes > 1) {
+            int[] firstPageIds = numaNodeFirstPageIds(partitions, pageCount, numaNodes);
+            for (int node = 0; node < numaNodes; node++) {
+                int firstPageId = firstPageIds[node];
+                int endPageId = node + 1 < numaNodes ? firstPageIds[node + 1] : pageCount;
+                long nodePartitions = Arrays.stream(partitions)
+                        .filter(partition -> partition.firstPageId >= firstPageId && partition.firstPageId < endPageId)
+                        .count();
+                layout.add(format(
+                        "NUMA node %d: pages %d to %d, %d eviction partitions%s.",
+                        node,
+                        firstPageId,
+                        endPageId - 1,
+                        nodePartitions,
+                        partitions.length % numaNodes == 0 ? "" : " (not aligned with the node)"));
+            }
+        }
+        return layout;
+    }
+
     @Override
     public String toString() {
-        int pagesToEvict = tryGetNumberOfPagesToEvict(keepFree);
+        int pagesToEvict = UNKNOWN_PAGES_TO_EVICT;
+        for (EvictionPartition partition : partitions) {
+            int partitionPagesToEvict = partition.tryGetNumberOfPagesToEvict(partition.keepFree);
+            if (partitionPagesToEvict != UNKNOWN_PAGES_TO_EVICT) {
+                pagesToEvict = Math.max(pagesToEvict, 0) + partitionPagesToEvict;
+            }
+        }
         return format(
-                "%s[pageCacheId:%d, pageSize:%d, pages:%d, pagesToEvict:%s]",
+                "%s[pageCacheId:%d, pageSize:%d, pages:%d, partitions:%d, pagesToEvict:%s]",
                 getClass().getSimpleName(),
                 pageCacheId,
                 cachePageSize,
                 pages.getPageCount(),
+                partitions.length,
                 pagesToEvict != UNKNOWN_PAGES_TO_EVICT ? String.valueOf(pagesToEvict) : "N/A");
     }
 
@@ -1166,6 +1599,12 @@ public class MuninnPageCache implements PageCache {
         cursor.preFetcher = scheduler.schedule(Group.PAGE_CACHE_PRE_FETCHER, monitoringParams, preFetcher);
     }
 
+    void startStreamPrefetching(MuninnPagedFile pagedFile, Runnable prefetch) {
+        var fileName = pagedFile.swapper.path().getFileName();
+        var monitoringParams = systemJob(pagedFile.databaseName, "Stream prefetching of file '" + fileName + "'");
+        scheduler.schedule(Group.PAGE_CACHE_PRE_FETCHER, monitoringParams, prefetch);
+    }
+
     @VisibleForTesting
     int getKeepFree() {
         return keepFree;
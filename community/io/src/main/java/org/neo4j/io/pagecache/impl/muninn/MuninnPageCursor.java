@@ -21,6 +21,7 @@ package org.neo4j.io.pagecache.impl.muninn;
 
 import static org.neo4j.io.pagecache.PagedFile.PF_EAGER_FLUSH;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
 import static org.neo4j.io.pagecache.PagedFile.PF_TRANSIENT;
 import static org.neo4j.io.pagecache.impl.muninn.MuninnPagedFile.UNMAPPED_TTE;
@@ -82,7 +83,9 @@ public abstract class MuninnPageCursor extends PageCursor {
     protected final boolean eagerFlush;
     private final boolean noFault;
     protected final boolean noGrow;
-    protected final boolean updateUsage;
+    private final boolean updateUsage;
+    private final boolean probationaryUsage;
+    private final StreamPrefetcher streamPrefetcher;
     protected final boolean multiVersioned;
     protected final boolean littleEndian;
 
@@ -135,8 +138,11 @@ public abstract class MuninnPageCursor extends PageCursor {
         this.pf_flags = pf_flags;
         this.eagerFlush = isFlagRaised(pf_flags, PF_EAGER_FLUSH);
         this.updateUsage = !isFlagRaised(pf_flags, PF_TRANSIENT);
+        this.probationaryUsage = pagedFile.pageCache.scanResistant && isFlagRaised(pf_flags, PF_READ_AHEAD);
         this.noFault = isFlagRaised(pf_flags, PF_NO_FAULT);
         this.noGrow = noFault || isFlagRaised(pf_flags, PagedFile.PF_NO_GROW);
+        // No-fault cursors only probe what is already in memory, and are not part of any access stream.
+        this.streamPrefetcher = noFault ? null : pagedFile.streamPrefetcher;
         this.victimPage = victimPage;
         this.tracer = cursorContext.getCursorTracer();
         this.versionContext = cursorContext.getVersionContext();
@@ -352,6 +358,10 @@ public abstract class MuninnPageCursor extends PageCursor {
                 if (locked && PageList.isBoundTo(pageRef, swapperId, filePageId)) {
                     pinCursorToPage(pinEvent, pageRef, filePageId, swapper);
                     pinEvent.hit();
+                    pagedFile.hits.increment();
+                    if (streamPrefetcher != null) {
+                        streamPrefetcher.pageHit(filePageId);
+                    }
                     return;
                 }
                 if (locked) {
@@ -373,6 +383,8 @@ public abstract class MuninnPageCursor extends PageCursor {
             return true;
         }
         // Looks like there's no mapping, so we'd like to do a page fault.
+        // Background work that has exceeded its IO budget pays for it here, before it holds any fault latch.
+        pagedFile.maybeLimitPageFault();
         LatchMap.Latch latch = pagedFile.pageFaultLatches.takeOrAwaitLatch(filePageId);
         if (latch != null) {
             // We managed to inject our latch, so we now own the right to perform the page fault. We also
@@ -382,7 +394,11 @@ public abstract class MuninnPageCursor extends PageCursor {
             if ((int) MuninnPagedFile.TRANSLATION_TABLE_ARRAY.getVolatile(chunk, chunkIndex) == UNMAPPED_TTE) {
                 // Sweet, we didn't race with any other fault on this translation table entry.
                 long pageRef = pageFault(pinEvent, filePageId, swapper, chunkIndex, chunk, latch);
+                pagedFile.faults.increment();
                 pinCursorToPage(pinEvent, pageRef, filePageId, swapper);
+                if (streamPrefetcher != null) {
+                    streamPrefetcher.pageFaulted(filePageId);
+                }
                 return true;
             }
             // Oops, looks like we raced with another page fault on this file page.
@@ -469,6 +485,20 @@ public abstract class MuninnPageCursor extends PageCursor {
     protected abstract void pinCursorToPage(PinEvent pinEvent, long pageRef, long filePageId, PageSwapper swapper)
             throws FileIsNotMappedException;
 
+    /**
+     * Record that the given page has been used by this cursor, according to the replacement policy of the page cache.
+     * Transient cursors leave the usage alone, and scanning cursors only move the page into the probationary state.
+     */
+    protected final void updateUsage(long pageRef) {
+        if (updateUsage) {
+            if (probationaryUsage) {
+                PageList.incrementProbationaryUsage(pageRef);
+            } else {
+                PageList.incrementUsage(pageRef);
+            }
+        }
+    }
+
     protected abstract boolean tryLockPage(long pageRef);
 
     protected abstract void unlockPage(long pageRef);
@@ -30,6 +30,7 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.nio.channels.ClosedChannelException;
 import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
 import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.io.pagecache.IOController;
 import org.neo4j.io.pagecache.PageCursor;
@@ -41,7 +42,9 @@ import org.neo4j.io.pagecache.buffer.IOBufferFactory;
 import org.neo4j.io.pagecache.buffer.NativeIOBuffer;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.impl.FileIsNotMappedException;
+import org.neo4j.io.pagecache.monitoring.PageFileAccesses;
 import org.neo4j.io.pagecache.monitoring.PageFileCounters;
+import org.neo4j.io.pagecache.monitoring.PageFileResidency;
 import org.neo4j.io.pagecache.tracing.EvictionRunEvent;
 import org.neo4j.io.pagecache.tracing.FileFlushEvent;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
@@ -57,6 +60,8 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
             getInteger(MuninnPagedFile.class, "translationTableChunkSizePower", 12);
     private static final int translationTableChunkSize = 1 << translationTableChunkSizePower;
     private static final long translationTableChunkSizeMask = translationTableChunkSize - 1;
+    // How many translation table entries flushOldDirtyPages may look at for every page it is allowed to write.
+    private static final int oldDirtyPagesScanFactor = getInteger(MuninnPagedFile.class, "oldDirtyPagesScanFactor", 64);
 
     private static final int HEADER_STATE_REF_COUNT_SHIFT = 48;
     private static final int HEADER_STATE_REF_COUNT_MAX = 0x7FFF;
@@ -82,12 +87,20 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
 
     final PageSwapper swapper;
     final int swapperId;
-    private final CursorFactory cursorFactory;
+    final CursorFactory cursorFactory;
+    // Detects access streams across the cursors of this file and prefetches ahead of them, or null if disabled.
+    final StreamPrefetcher streamPrefetcher;
     final String databaseName;
     private final IOController ioController;
+    // Always counted, unlike the file counters of the tracer, so the statistics of the file are never all zero.
+    final LongAdder hits = new LongAdder();
+    final LongAdder faults = new LongAdder();
 
     private volatile boolean deleteOnClose;
 
+    // Where the next call to flushOldDirtyPages continues its sweep over the file.
+    private volatile long oldDirtyPagesFlushPosition;
+
     // Used to trace the causes of any exceptions from getLastPageId.
     private volatile Exception closeStackTrace;
 
@@ -178,6 +191,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
         this.bufferFactory = pageCache.getBufferFactory();
         this.databaseName = requireNonNull(databaseName);
         this.ioController = requireNonNull(ioController);
+        this.streamPrefetcher = pageCache.streamPrefetching ? new StreamPrefetcher(this, pageCacheTracer) : null;
 
         // The translation table is an array of arrays of integers that are either UNMAPPED_TTE, or the id of a page in
         // the page list. The table only grows the outer array, and all the inner "chunks" all stay the same size. This
@@ -241,7 +255,9 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
             throw wrongLocksArgument(lockFlags);
         }
 
-        if ((pf_flags & PF_READ_AHEAD) == PF_READ_AHEAD && (pf_flags & PF_NO_FAULT) != PF_NO_FAULT) {
+        if ((pf_flags & PF_READ_AHEAD) == PF_READ_AHEAD
+                && (pf_flags & PF_NO_FAULT) != PF_NO_FAULT
+                && streamPrefetcher == null) {
             pageCache.startPreFetching(cursor, cursorFactory);
         }
         return cursor;
@@ -495,6 +511,9 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
         long filePageId = -1; // Start at -1 because we increment at the *start* of the chunk-loop iteration.
         int[][] tt = this.translationTable;
         boolean useTemporaryBuffer = ioBuffer.isEnabled();
+        // With vectored flushes the IO buffer only bounds the size of each write, and the pages are gathered straight
+        // from page cache memory instead of being copied into the buffer.
+        boolean copyToTemporaryBuffer = useTemporaryBuffer && !pageCache.vectoredFlush;
 
         flushes.startFlush(tt);
 
@@ -512,9 +531,10 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
             int numberOfBuffers = 0;
             int lastBufferIndex = -1;
             int mergedPages = 0;
+            int bytesGathered = 0;
 
             boolean fillingDirtyBuffer = false;
-            if (useTemporaryBuffer) {
+            if (copyToTemporaryBuffer) {
                 // in case when we use temp intermediate buffer we have only buffer and its address and length are
                 // always stored in arrays with index 0
                 bufferAddresses[0] = ioBuffer.getAddress();
@@ -556,7 +576,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
                             }
                             pagesGrabbed++;
                             long address = getAddress(pageRef);
-                            if (useTemporaryBuffer) {
+                            if (copyToTemporaryBuffer) {
                                 // in case we use temp buffer to combine pages address and buffer lengths are located in
                                 // corresponding arrays and have
                                 // index 0.
@@ -585,6 +605,12 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
                                     buffersPerChunk++;
                                 }
                                 nextSequentialAddress = address + filePageSize;
+                                if (useTemporaryBuffer) {
+                                    bytesGathered += filePageSize;
+                                    if (!ioBuffer.hasMoreCapacity(bytesGathered, filePageSize)) {
+                                        break; // continue to flush
+                                    }
+                                }
                                 continue chunkLoop; // go to next page
                             }
                         } else {
@@ -622,6 +648,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
                     fillingDirtyBuffer = false;
                     flushPerChunk++;
                     bufferLengths[0] = 0;
+                    bytesGathered = 0;
                 }
             }
             if (pagesGrabbed > 0) {
@@ -812,6 +839,13 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
         return count == 0;
     }
 
+    /**
+     * Give the {@link IOController} a chance to delay the current thread before it starts a page fault.
+     */
+    void maybeLimitPageFault() {
+        ioController.maybeLimitPageFault();
+    }
+
     /**
      * Get the current ref-count. Useful for checking if this PagedFile should
      * be considered unmapped.
@@ -840,6 +874,70 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
         return swapper.fileSwapperTracer();
     }
 
+    @Override
+    public PageFileAccesses accesses() {
+        return new PageFileAccesses(hits.sum(), faults.sum());
+    }
+
+    @Override
+    public PageFileResidency residency() {
+        long residentPages = 0;
+        long dirtyPages = 0;
+        long filePageId = -1; // Start at -1 because we increment at the *start* of the chunk-loop iteration.
+        int[][] tt = this.translationTable;
+        for (int[] chunk : tt) {
+            for (int i = 0; i < chunk.length; i++) {
+                filePageId++;
+                int pageId = (int) TRANSLATION_TABLE_ARRAY.getVolatile(chunk, computeChunkIndex(filePageId));
+                if (pageId != UNMAPPED_TTE) {
+                    // Racy, but good enough for monitoring: the page may be evicted or flushed as we look at it.
+                    long pageRef = deref(pageId);
+                    if (isBoundTo(pageRef, swapperId, filePageId)) {
+                        residentPages++;
+                        if (isModified(pageRef)) {
+                            dirtyPages++;
+                        }
+                    }
+                }
+            }
+        }
+        return new PageFileResidency(residentPages, dirtyPages);
+    }
+
+    @Override
+    public long flushOldDirtyPages(long lastModifiedTransactionId, long maxPages) throws IOException {
+        PageList pages = pageCache.pages;
+        int[][] tt = this.translationTable;
+        long capacity = (long) tt.length << translationTableChunkSizePower;
+        // Bound the work of a single call, so that a large file with only a few dirty pages doesn't have its whole
+        // translation table scanned every time. The sweep continues from where this call stops.
+        long scanBudget = maxPages >= capacity / oldDirtyPagesScanFactor
+                ? capacity
+                : maxPages * oldDirtyPagesScanFactor;
+        long filePageId = oldDirtyPagesFlushPosition;
+        long flushedPages = 0;
+        for (long visited = 0; visited < scanBudget && flushedPages < maxPages; visited++, filePageId++) {
+            if (filePageId >= capacity) {
+                // The translation table may have shrunk since the previous call, or we've reached the end of it.
+                filePageId = 0;
+            }
+            int[] chunk = tt[computeChunkId(filePageId)];
+            int pageId = (int) TRANSLATION_TABLE_ARRAY.getVolatile(chunk, computeChunkIndex(filePageId));
+            if (pageId != UNMAPPED_TTE) {
+                long pageRef = deref(pageId);
+                // Racy, but the flush lock taken when writing makes sure we only ever write what is in the page.
+                if (isModified(pageRef)
+                        && getLastModifiedTxId(pageRef) <= lastModifiedTransactionId
+                        && isBoundTo(pageRef, swapperId, filePageId)
+                        && pages.tryWriteBehind(pageRef) > 0) {
+                    flushedPages++;
+                }
+            }
+        }
+        oldDirtyPagesFlushPosition = filePageId;
+        return flushedPages;
+    }
+
     /**
      * Grab a free page for the purpose of page faulting. Possibly blocking if
      * none are immediately available.
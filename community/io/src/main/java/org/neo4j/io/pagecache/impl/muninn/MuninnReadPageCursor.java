@@ -78,9 +78,7 @@ final class MuninnReadPageCursor extends MuninnPageCursor {
         if (multiVersioned && shouldLoadSnapshot()) {
             versionStorage.loadReadSnapshot(this, versionContext, pinEvent);
         }
-        if (updateUsage) {
-            PageList.incrementUsage(pageRef);
-        }
+        updateUsage(pageRef);
     }
 
     @Override
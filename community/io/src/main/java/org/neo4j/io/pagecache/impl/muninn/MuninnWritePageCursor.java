@@ -202,9 +202,7 @@ final class MuninnWritePageCursor extends MuninnPageCursor {
         if (multiVersioned && olderVersionRequired(pointer)) {
             versionStorage.loadWriteSnapshot(this, versionContext, pinEvent);
         }
-        if (updateUsage) {
-            PageList.incrementUsage(pageRef);
-        }
+        updateUsage(pageRef);
         if (!multiVersioned) {
             PageList.setLastModifiedTxId(pageRef, versionContext.committingTransactionId());
         }
@@ -84,6 +84,8 @@ class PageList implements PageReferenceTranslator {
     private final long victimPageAddress;
     private final long baseAddress;
     private final long bufferAlignment;
+    // The first page id of every NUMA node of the memory allocator, in ascending order.
+    private final int[] numaNodeFirstPageIds;
 
     PageList(
             int pageCount,
@@ -92,6 +94,21 @@ class PageList implements PageReferenceTranslator {
             SwapperSet swappers,
             long victimPageAddress,
             long bufferAlignment) {
+        this(pageCount, cachePageSize, memoryAllocator, swappers, victimPageAddress, bufferAlignment, new int[] {0});
+    }
+
+    /**
+     * @param numaNodeFirstPageIds the first page id of every NUMA node of the memory allocator, in ascending order.
+     * The buffers of all pages from one first page id up to the next are allocated on the corresponding node.
+     */
+    PageList(
+            int pageCount,
+            int cachePageSize,
+            MemoryAllocator memoryAllocator,
+            SwapperSet swappers,
+            long victimPageAddress,
+            long bufferAlignment,
+            int[] numaNodeFirstPageIds) {
         this.pageCount = pageCount;
         this.cachePageSize = cachePageSize;
         this.memoryAllocator = memoryAllocator;
@@ -100,6 +117,7 @@ class PageList implements PageReferenceTranslator {
         long bytes = ((long) pageCount) * META_DATA_BYTES_PER_PAGE;
         this.baseAddress = memoryAllocator.allocateAligned(bytes, Long.BYTES);
         this.bufferAlignment = bufferAlignment;
+        this.numaNodeFirstPageIds = numaNodeFirstPageIds;
         clearMemory(baseAddress, pageCount);
     }
 
@@ -119,6 +137,7 @@ class PageList implements PageReferenceTranslator {
         this.victimPageAddress = pageList.victimPageAddress;
         this.baseAddress = pageList.baseAddress;
         this.bufferAlignment = pageList.bufferAlignment;
+        this.numaNodeFirstPageIds = pageList.numaNodeFirstPageIds;
     }
 
     private static void clearMemory(long baseAddress, long pageCount) {
@@ -273,11 +292,20 @@ class PageList implements PageReferenceTranslator {
 
     void initBuffer(long pageRef) {
         if (getAddress(pageRef) == 0L) {
-            long addr = memoryAllocator.allocateAligned(getCachePageSize(), bufferAlignment);
+            long addr =
+                    memoryAllocator.allocateAligned(getCachePageSize(), bufferAlignment, numaNode(toId(pageRef)));
             UnsafeUtil.putLong(offAddress(pageRef), addr);
         }
     }
 
+    private int numaNode(int pageId) {
+        int node = 0;
+        while (node + 1 < numaNodeFirstPageIds.length && numaNodeFirstPageIds[node + 1] <= pageId) {
+            node++;
+        }
+        return node;
+    }
+
     /**
      * Increment the usage stamp to at most 4.
      **/
@@ -298,6 +326,21 @@ class PageList implements PageReferenceTranslator {
         }
     }
 
+    /**
+     * Increment the usage stamp to at most 1. This marks the page as recently used, but keeps it in the probationary
+     * state where the next eviction sweep will evict it, unless it is pinned by something other than a scan before
+     * then.
+     **/
+    static void incrementProbationaryUsage(long pageRef) {
+        // This is intentionally left benignly racy for performance.
+        long address = offPageBinding(pageRef);
+        long value = UnsafeUtil.getLongVolatile(address);
+        if ((value & MASK_USAGE_COUNT) == 0) {
+            // See `incrementUsage` about why we use `compareAndSwapLong`.
+            UnsafeUtil.compareAndSwapLong(null, address, value, value + 1);
+        }
+    }
+
     /**
      * Decrement the usage stamp. Returns true if it reaches 0.
      **/
@@ -398,6 +441,66 @@ class PageList implements PageReferenceTranslator {
         setSwapperId(pageRef, swapperId); // Page now considered isBoundTo( swapper, filePageId )
     }
 
+    /**
+     * Fault a run of pages, bound to consecutive file pages starting at the given file page id, with a single
+     * scattering read from the given swapper. The buffers of the pages can be anywhere in memory; buffers that happen
+     * to be adjacent are merged into one entry of the IO vector. Only {@code filePageSize} bytes are read into each
+     * page.
+     * <p>
+     * Like {@link #fault(long, PageSwapper, int, long, PageFaultEvent)}, the pages must be exclusively locked and
+     * unbound, and they are only bound to the swapper once the read has succeeded.
+     *
+     * @return the number of bytes read.
+     */
+    static long faultVectored(
+            long[] pageRefs,
+            int offset,
+            int length,
+            int filePageSize,
+            PageSwapper swapper,
+            int swapperId,
+            long firstFilePageId)
+            throws IOException {
+        if (swapper == null) {
+            throw swapperCannotBeNull();
+        }
+        for (int i = 0; i < length; i++) {
+            long pageRef = pageRefs[offset + i];
+            long filePageId = firstFilePageId + i;
+            int currentSwapper = getSwapperId(pageRef);
+            long currentFilePageId = getFilePageId(pageRef);
+            if (!isExclusivelyLocked(pageRef)
+                    || currentSwapper != 0
+                    || currentFilePageId != PageCursor.UNBOUND_PAGE_ID) {
+                throw cannotFaultException(pageRef, swapper, swapperId, filePageId, currentSwapper, currentFilePageId);
+            }
+        }
+        long[] bufferAddresses = new long[length];
+        int[] bufferLengths = new int[length];
+        int buffers = 0;
+        for (int i = 0; i < length; i++) {
+            long address = getAddress(pageRefs[offset + i]);
+            if (buffers > 0 && bufferAddresses[buffers - 1] + bufferLengths[buffers - 1] == address) {
+                bufferLengths[buffers - 1] += filePageSize;
+            } else {
+                bufferAddresses[buffers] = address;
+                bufferLengths[buffers] = filePageSize;
+                buffers++;
+            }
+        }
+        // See the comment in fault() on why the file page ids are assigned before the swapping in.
+        for (int i = 0; i < length; i++) {
+            setFilePageId(pageRefs[offset + i], firstFilePageId + i);
+        }
+        long bytesRead = buffers == 1
+                ? swapper.read(firstFilePageId, bufferAddresses[0], bufferLengths[0])
+                : swapper.read(firstFilePageId, bufferAddresses, bufferLengths, buffers);
+        for (int i = 0; i < length; i++) {
+            setSwapperId(pageRefs[offset + i], swapperId);
+        }
+        return bytesRead;
+    }
+
     private static IllegalArgumentException swapperCannotBeNull() {
         return new IllegalArgumentException("swapper cannot be null");
     }
@@ -430,6 +533,39 @@ class PageList implements PageReferenceTranslator {
         return false;
     }
 
+    /**
+     * Write the given page back to its file if it is modified, without evicting it, so that a later eviction of the
+     * page finds it clean. The page is only flush locked, just like when a checkpoint flushes it, so readers and
+     * writers are not blocked, and a page that is written to while it is being flushed stays modified. The last
+     * modifier transaction id of the page is left alone, since the page, and its place in any version chain, stays in
+     * memory.
+     *
+     * @return the number of bytes written, or zero if the page was not written.
+     */
+    long tryWriteBehind(long pageRef) throws IOException {
+        long stamp = tryFlushLock(pageRef);
+        if (stamp == 0) {
+            return 0;
+        }
+        boolean success = false;
+        try {
+            int swapperId = getSwapperId(pageRef);
+            if (swapperId == 0 || !isModified(pageRef)) {
+                return 0;
+            }
+            SwapperSet.SwapperMapping swapperMapping = swappers.getAllocation(swapperId);
+            if (swapperMapping == null) {
+                // The file has been unmapped, and the page is only lingering in the cache.
+                return 0;
+            }
+            long bytesWritten = swapperMapping.swapper.write(getFilePageId(pageRef), getAddress(pageRef));
+            success = true;
+            return bytesWritten;
+        } finally {
+            unlockFlush(pageRef, stamp, success);
+        }
+    }
+
     private void evict(long pageRef, EvictionEvent evictionEvent) throws IOException {
         long filePageId = getFilePageId(pageRef);
         evictionEvent.setFilePageId(filePageId);
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import org.neo4j.io.pagecache.PagedFile;
+
+/**
+ * The policy the page cache uses to decide which pages to keep in memory, and which ones to evict.
+ */
+public enum PageReplacementPolicy {
+    /**
+     * The classic CLOCK policy. Every pin of a page increments its usage counter, up to a maximum, and the eviction
+     * sweep decrements it again. Pages whose usage counter is exhausted are evicted.
+     */
+    CLOCK,
+    /**
+     * A 2Q style refinement of {@link #CLOCK}. Pages that are only touched by sequential scans, that is by cursors
+     * opened with {@link PagedFile#PF_READ_AHEAD} and by the pre-fetcher that follows them, are kept in a
+     * probationary state with a usage counter of at most one, so that they are the first to be evicted. Only
+     * pins from non-scanning cursors promote a page into the protected state, where it can survive multiple
+     * eviction sweeps. This prevents large scans from flushing the hot working set out of the page cache.
+     */
+    SCAN_RESISTANT
+}
@@ -20,6 +20,7 @@
 package org.neo4j.io.pagecache.impl.muninn;
 
 import static org.neo4j.io.pagecache.PageCursor.UNBOUND_PAGE_ID;
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
 
 import java.io.IOException;
@@ -110,8 +111,12 @@ class PreFetcher implements Runnable, CancelListener {
         // The initial value don't matter so much. Just same as offset, so we initially fetch one page.
         long jump = offset;
 
+        // The pre-fetch cursor is part of the scan, so it carries the read-ahead flag in order to leave the pages it
+        // touches in the probationary state under the scan resistant replacement policy. Taking cursors directly from
+        // the cursor factory does not start another pre-fetcher.
         try (var context = observedCursor.cursorContext.createRelatedContext(TRACER_PRE_FETCHER_TAG);
-                PageCursor prefetchCursor = cursorFactory.takeReadCursor(0, PF_SHARED_READ_LOCK, context)) {
+                PageCursor prefetchCursor =
+                        cursorFactory.takeReadCursor(0, PF_SHARED_READ_LOCK | PF_READ_AHEAD, context)) {
             currentPageId = getCurrentObservedPageId();
             while (currentPageId != UNBOUND_PAGE_ID) {
                 cp = currentPageId + offset;
@@ -0,0 +1,413 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import static org.neo4j.io.pagecache.PageCursor.UNBOUND_PAGE_ID;
+import static org.neo4j.io.pagecache.impl.muninn.MuninnPagedFile.UNMAPPED_TTE;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import org.neo4j.io.pagecache.PageSwapper;
+import org.neo4j.io.pagecache.tracing.EvictionRunEvent;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+
+/**
+ * Detects sequential and strided access streams in a {@link MuninnPagedFile}, across all of the cursors that access
+ * the file, and prefetches pages ahead of those streams in the background.
+ * <p>
+ * Streams are detected from page faults: every fault is compared against a small history of recent faults, and a
+ * fault that is a short distance away from a recent one starts a new stream with that distance as its stride.
+ * Sequential streams are confirmed by a single matching step, while strided streams must repeat their stride before
+ * anything is prefetched for them. Once confirmed, a window of pages ahead of the stream is loaded by a job on the
+ * pre-fetcher thread pool. Runs of pages that are consecutive in the file are read with a single scattering call to
+ * {@link PageSwapper#read(long, long[], int[], int)}, wherever their buffers are in memory.
+ * <p>
+ * Prefetched pages do not fault when the stream reaches them, so the page in the middle of every window is used as a
+ * trigger: pinning it advances the stream and issues the next window, much like asynchronous read-ahead in operating
+ * system page caches. Windows start small, double as the stream keeps using them, and shrink again when the page
+ * cache is under eviction pressure. Prefetching only ever takes pages from the freelists, and never evicts pages.
+ * <p>
+ * Prefetched pages are left with a usage stamp of zero, so pages that are never used are the first to be evicted.
+ * The hit and waste counters reported to the {@link PageCacheTracer} are accounted per stream: prefetched pages that
+ * the stream moves past count as hits, while prefetched pages that the stream faults on anyway, or that are still
+ * outstanding when the stream is abandoned, count as waste.
+ * <p>
+ * Page faults never wait for the stream state. Its lock is only tried on the fault path, and a fault that finds it
+ * taken by another thread is not considered for stream detection. Streams tolerate such gaps, because the next page
+ * fault or trigger pin of a stream catches up with all the pages the stream moved past in the meantime.
+ */
+final class StreamPrefetcher {
+    static final int MAX_STREAMS = 8;
+    static final int MAX_STRIDE = 64;
+    static final int MIN_WINDOW = 4;
+    static final int MAX_WINDOW = 64;
+    private static final int HISTORY_SIZE = 16;
+    private static final int SEQUENTIAL_CONFIRMATIONS = 1;
+    private static final int STRIDED_CONFIRMATIONS = 2;
+
+    private final MuninnPagedFile pagedFile;
+    private final MuninnPageCache pageCache;
+    private final PageCacheTracer tracer;
+    // Guards the stream state and the history. Only ever tried by page faulting threads, so they never block on it.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Stream[] streams;
+    // The trigger page of every stream, indexed like the streams array. Written while holding the lock, but
+    // read without it from the pin hit path. The race is benign: a missed trigger is caught by the next page fault.
+    private final long[] triggers;
+    // Recent page faults that did not belong to any stream, as a ring buffer.
+    private final long[] history;
+    private int historyHead;
+    private long accessCount;
+
+    StreamPrefetcher(MuninnPagedFile pagedFile, PageCacheTracer tracer) {
+        this.pagedFile = pagedFile;
+        this.pageCache = pagedFile.pageCache;
+        this.tracer = tracer;
+        this.streams = new Stream[MAX_STREAMS];
+        this.triggers = new long[MAX_STREAMS];
+        this.history = new long[HISTORY_SIZE];
+        for (int i = 0; i < MAX_STREAMS; i++) {
+            streams[i] = new Stream(i);
+        }
+        Arrays.fill(triggers, UNBOUND_PAGE_ID);
+        Arrays.fill(history, UNBOUND_PAGE_ID);
+    }
+
+    /**
+     * Called by cursors that found the given file page in memory. Only trigger pages are of interest, so this is cheap
+     * for all other pages.
+     */
+    void pageHit(long filePageId) {
+        long[] triggers = this.triggers;
+        for (int i = 0; i < MAX_STREAMS; i++) {
+            if (triggers[i] == filePageId) {
+                access(filePageId, false);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Called by cursors that had to fault the given file page into memory.
+     */
+    void pageFaulted(long filePageId) {
+        access(filePageId, true);
+    }
+
+    private void access(long filePageId, boolean fault) {
+        if (!lock.tryLock()) {
+            return; // Another thread is updating the streams, and prefetching is only advisory.
+        }
+        Window window = null;
+        try {
+            accessCount++;
+            Stream stream = findStream(filePageId);
+            if (stream != null) {
+                advance(stream, filePageId, fault);
+            } else if (fault) {
+                stream = detectStream(filePageId);
+                history[historyHead] = filePageId;
+                historyHead = (historyHead + 1) % HISTORY_SIZE;
+            }
+            if (stream != null) {
+                window = nextWindow(stream, filePageId);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (window != null) {
+            Window prefetchWindow = window;
+            pageCache.startStreamPrefetching(pagedFile, () -> prefetch(prefetchWindow));
+        }
+    }
+
+    private Stream findStream(long filePageId) {
+        for (Stream stream : streams) {
+            if (stream.isActive() && stream.isAhead(filePageId)) {
+                return stream;
+            }
+        }
+        return null;
+    }
+
+    private void advance(Stream stream, long filePageId, boolean fault) {
+        long passed = Math.min((filePageId - stream.lastPageId) / stream.stride, stream.outstanding);
+        long hits = passed;
+        if (fault && passed > 0) {
+            // The stream faulted on a page we prefetched for it, so that page was evicted before it got used.
+            hits--;
+            tracer.prefetchWaste(1);
+        }
+        if (hits > 0) {
+            tracer.prefetchHits(hits);
+        }
+        stream.outstanding -= passed;
+        stream.lastPageId = filePageId;
+        stream.confirmations++;
+        stream.lastAccess = accessCount;
+    }
+
+    private Stream detectStream(long filePageId) {
+        for (int i = 1; i <= HISTORY_SIZE; i++) {
+            long previous = history[(historyHead - i + HISTORY_SIZE) % HISTORY_SIZE];
+            long stride = filePageId - previous;
+            if (previous != UNBOUND_PAGE_ID && stride != 0 && Math.abs(stride) <= MAX_STRIDE) {
+                Stream stream = leastRecentlyUsedStream();
+                abandon(stream);
+                stream.start(filePageId, stride, accessCount);
+                return stream;
+            }
+        }
+        return null;
+    }
+
+    private Stream leastRecentlyUsedStream() {
+        Stream victim = streams[0];
+        for (Stream stream : streams) {
+            if (!stream.isActive()) {
+                return stream;
+            }
+            if (stream.lastAccess < victim.lastAccess) {
+                victim = stream;
+            }
+        }
+        return victim;
+    }
+
+    private void abandon(Stream stream) {
+        if (stream.outstanding > 0) {
+            tracer.prefetchWaste(stream.outstanding);
+        }
+        stream.reset();
+        triggers[stream.index] = UNBOUND_PAGE_ID;
+    }
+
+    private Window nextWindow(Stream stream, long filePageId) {
+        long stride = stream.stride;
+        int required = Math.abs(stride) == 1 ? SEQUENTIAL_CONFIRMATIONS : STRIDED_CONFIRMATIONS;
+        if (stream.confirmations < required) {
+            return null;
+        }
+        long ahead = (stream.nextPageId - filePageId) / stride - 1;
+        if (ahead >= stream.window / 2) {
+            return null; // Still far enough ahead of the stream.
+        }
+        if (pageCache.isUnderEvictionPressure()) {
+            stream.window = Math.max(MIN_WINDOW, stream.window / 2);
+        } else if (stream.issued) {
+            stream.window = Math.min(MAX_WINDOW, stream.window * 2);
+        }
+        long firstPageId;
+        long count = Math.min(stream.window, pageCache.prefetchBudget());
+        if (stride > 0) {
+            firstPageId = Math.max(stream.nextPageId, filePageId + stride);
+        } else {
+            firstPageId = Math.min(stream.nextPageId, filePageId + stride);
+            count = firstPageId < 0 ? 0 : Math.min(count, firstPageId / -stride + 1);
+        }
+        if (count == 0) {
+            return null; // Throttled by eviction pressure, or reached the start of the file.
+        }
+        stream.issued = true;
+        stream.nextPageId = firstPageId + count * stride;
+        triggers[stream.index] = firstPageId + (count / 2) * stride;
+        return new Window(stream, stream.generation, firstPageId, stride, (int) count);
+    }
+
+    private void windowLoaded(Window window, int loadedPages) {
+        // This runs on the pre-fetcher thread pool, so unlike page faults it can afford to wait for the lock.
+        lock.lock();
+        try {
+            if (window.stream.generation == window.generation) {
+                window.stream.outstanding += loadedPages;
+            } else if (loadedPages > 0) {
+                // The stream was abandoned while its window was being loaded.
+                tracer.prefetchWaste(loadedPages);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void prefetch(Window window) {
+        int count = window.count;
+        long[] filePageIds = new long[count];
+        long[] pageRefs = new long[count];
+        LatchMap.Latch[] latches = new LatchMap.Latch[count];
+        int pages = 0;
+        int done = 0;
+        int loaded = 0;
+        try {
+            long lastPageId = pagedFile.getLastPageId();
+            for (int i = 0; i < count; i++) {
+                long filePageId = window.firstPageId + i * window.stride;
+                int chunkId = MuninnPagedFile.computeChunkId(filePageId);
+                int[][] tt = pagedFile.translationTable;
+                if (filePageId > lastPageId || tt.length <= chunkId) {
+                    break;
+                }
+                int[] chunk = tt[chunkId];
+                int chunkIndex = MuninnPagedFile.computeChunkIndex(filePageId);
+                if (isMapped(chunk, chunkIndex)) {
+                    continue;
+                }
+                LatchMap.Latch latch = pagedFile.pageFaultLatches.tryTakeLatch(filePageId);
+                if (latch == null) {
+                    continue; // Someone else is faulting this page, so we leave it to them.
+                }
+                if (isMapped(chunk, chunkIndex)) {
+                    latch.release(); // We raced with a page fault.
+                    continue;
+                }
+                long pageRef = pageCache.tryGrabFreeAndExclusivelyLockedPage();
+                if (pageRef == 0) {
+                    latch.release(); // The freelists are empty, so we back off rather than cause evictions.
+                    break;
+                }
+                filePageIds[pages] = filePageId;
+                pageRefs[pages] = pageRef;
+                latches[pages] = latch;
+                pages++;
+                pagedFile.initBuffer(pageRef);
+            }
+
+            // Check if we're racing with unmapping, like page faults do, now that we hold the page locks.
+            pagedFile.getLastPageId();
+            while (done < pages) {
+                int run = consecutiveRun(filePageIds, done, pages);
+                long bytesRead = PageList.faultVectored(
+                        pageRefs,
+                        done,
+                        run,
+                        pagedFile.filePageSize,
+                        pagedFile.swapper,
+                        pagedFile.swapperId,
+                        filePageIds[done]);
+                tracer.bytesRead(bytesRead);
+                for (int i = done; i < done + run; i++) {
+                    publish(filePageIds[i], pageRefs[i], latches[i]);
+                }
+                done += run;
+                loaded += run;
+            }
+        } catch (IOException | RuntimeException e) {
+            // Prefetching is only advisory. Cursors that need these pages will fault them and observe the failure,
+            // so the failure is only counted here.
+            tracer.prefetchFailed();
+        } finally {
+            for (int i = done; i < pages; i++) {
+                abort(pageRefs[i], latches[i]);
+            }
+            if (loaded > 0) {
+                tracer.pagesPrefetched(loaded);
+            }
+            windowLoaded(window, loaded);
+        }
+    }
+
+    private static int consecutiveRun(long[] filePageIds, int from, int to) {
+        // Consecutive file pages are read with one scattering read, wherever their cache pages are in memory.
+        int run = 1;
+        while (from + run < to && filePageIds[from + run] == filePageIds[from + run - 1] + 1) {
+            run++;
+        }
+        return run;
+    }
+
+    private void publish(long filePageId, long pageRef, LatchMap.Latch latch) {
+        // Put the page in the translation table before we release the exclusive lock, just like page faults do.
+        int[] chunk = pagedFile.translationTable[MuninnPagedFile.computeChunkId(filePageId)];
+        int chunkIndex = MuninnPagedFile.computeChunkIndex(filePageId);
+        MuninnPagedFile.TRANSLATION_TABLE_ARRAY.setVolatile(chunk, chunkIndex, pagedFile.toId(pageRef));
+        PageList.unlockExclusive(pageRef);
+        latch.release();
+    }
+
+    private void abort(long pageRef, LatchMap.Latch latch) {
+        try {
+            if (PageList.isLoaded(pageRef)) {
+                // The read failed after the page was considered loaded, so the eviction threads will pick it up.
+                PageList.unlockExclusive(pageRef);
+            } else {
+                // The page is still unbound and exclusively locked, so it can go straight back on a freelist.
+                pageCache.addFreePageToFreelist(pageRef, EvictionRunEvent.NULL);
+            }
+        } finally {
+            latch.release();
+        }
+    }
+
+    private static boolean isMapped(int[] chunk, int chunkIndex) {
+        return (int) MuninnPagedFile.TRANSLATION_TABLE_ARRAY.getVolatile(chunk, chunkIndex) != UNMAPPED_TTE;
+    }
+
+    private record Window(Stream stream, long generation, long firstPageId, long stride, int count) {}
+
+    private static final class Stream {
+        final int index;
+        // Incremented every time the stream is abandoned, so windows that are loaded late can be told apart.
+        long generation;
+        long stride;
+        long lastPageId;
+        // The next page, in the direction of the stream, that has not been issued for prefetching yet.
+        long nextPageId;
+        int confirmations;
+        int window;
+        boolean issued;
+        // The number of prefetched pages ahead of the stream that it has not reached yet.
+        long outstanding;
+        long lastAccess;
+
+        Stream(int index) {
+            this.index = index;
+        }
+
+        boolean isActive() {
+            return stride != 0;
+        }
+
+        boolean isAhead(long filePageId) {
+            long distance = filePageId - lastPageId;
+            if (distance % stride != 0) {
+                return false;
+            }
+            long steps = distance / stride;
+            return steps >= 1 && steps <= Math.max(1, (nextPageId - lastPageId) / stride);
+        }
+
+        void start(long filePageId, long stride, long accessCount) {
+            this.stride = stride;
+            this.lastPageId = filePageId;
+            this.nextPageId = filePageId + stride;
+            this.confirmations = 1;
+            this.window = MIN_WINDOW;
+            this.lastAccess = accessCount;
+        }
+
+        void reset() {
+            generation++;
+            stride = 0;
+            confirmations = 0;
+            issued = false;
+            outstanding = 0;
+        }
+    }
+}
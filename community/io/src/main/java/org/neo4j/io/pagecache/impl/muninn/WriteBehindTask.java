@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+/**
+ * This Runnable flushes dirty pages ahead of the clock arms of all eviction partitions of a page cache, so that the
+ * eviction mostly finds clean pages. At most one is expected for each page cache.
+ *
+ * Interrupting the thread running this runnable, while the page cache is closed, will be interpreted as a shutdown
+ * signal.
+ *
+ * @see MuninnPageCache#continuouslyWriteBehind()
+ */
+final class WriteBehindTask extends BackgroundTask {
+    WriteBehindTask(MuninnPageCache pageCache) {
+        super(pageCache);
+    }
+
+    @Override
+    protected void run(MuninnPageCache pageCache) {
+        pageCache.continuouslyWriteBehind();
+    }
+}
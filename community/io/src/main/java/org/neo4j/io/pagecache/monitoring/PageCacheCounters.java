@@ -125,6 +125,21 @@ public interface PageCacheCounters {
      */
     long maxPages();
 
+    /**
+     * @return The number of eviction partitions the page cache is split into. 0 if number is not available.
+     */
+    int evictionPartitions();
+
+    /**
+     * @return The number of page evictions observed thus far by the eviction thread of the given partition.
+     */
+    long partitionEvictions(int partition);
+
+    /**
+     * @return The most recently observed number of free pages in the freelist of the given eviction partition.
+     */
+    long partitionFreeListSize(int partition);
+
     /**
      * @return The number of IOPQ performed thus far.
      */
@@ -156,4 +171,44 @@ public interface PageCacheCounters {
     long chainsPatched();
 
     long snapshotsLoaded();
+
+    /**
+     * @return The number of pages loaded ahead of use by the stream prefetcher thus far.
+     */
+    long prefetchedPages();
+
+    /**
+     * @return The number of prefetched pages that were subsequently accessed by the stream they were prefetched for.
+     */
+    long prefetchHits();
+
+    /**
+     * @return The number of prefetched pages that were evicted, faulted in again, or abandoned before use.
+     */
+    long prefetchWaste();
+
+    /**
+     * @return The number of windows of pages that the stream prefetcher failed to load, because of an I/O error.
+     */
+    long prefetchFailures();
+
+    /**
+     * @return The number of evicted pages that were dirty, and had to be flushed by the eviction, thus far.
+     */
+    long dirtyEvictions();
+
+    /**
+     * @return The ratio of evicted pages that were dirty, and had to be flushed by the eviction, observed thus far.
+     */
+    double dirtyEvictionRatio();
+
+    /**
+     * @return The number of dirty pages that were flushed ahead of eviction by the write-behind flusher thus far.
+     */
+    long writeBehindFlushes();
+
+    /**
+     * @return The number of bytes written by the write-behind flusher thus far.
+     */
+    long writeBehindBytesWritten();
 }
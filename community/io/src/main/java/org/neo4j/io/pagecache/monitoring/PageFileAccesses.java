@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.monitoring;
+
+/**
+ * A snapshot of how the pins of a mapped file have been served by the page cache, counted by the file itself, so
+ * regardless of the page cache tracer in use.
+ *
+ * @param hits the number of pins that found the page already loaded into the page cache.
+ * @param faults the number of pins that had to page fault the page into the page cache.
+ */
+public record PageFileAccesses(long hits, long faults) {
+    public static final PageFileAccesses EMPTY = new PageFileAccesses(0, 0);
+
+    /**
+     * @return the number of pins that have been served, either by a hit or by a page fault.
+     */
+    public long pins() {
+        return hits + faults;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.monitoring;
+
+import java.nio.file.Path;
+import org.neo4j.io.pagecache.PagedFile;
+
+/**
+ * A point in time view of the page cache statistics of a single mapped file, combining the accesses and the counters
+ * of the file with its current residency in the page cache. Pins, hits and faults come from the
+ * {@link PageFileAccesses} that the file always counts, the other counters from the tracer of the file.
+ */
+public record PagedFileStatistics(
+        String databaseName,
+        Path path,
+        long pageSize,
+        long pins,
+        long hits,
+        long faults,
+        long evictions,
+        long flushes,
+        long bytesRead,
+        long bytesWritten,
+        long residentPages,
+        long dirtyPages) {
+    public static PagedFileStatistics of(PagedFile pagedFile) {
+        PageFileAccesses accesses = pagedFile.accesses();
+        PageFileCounters counters = pagedFile.pageFileCounters();
+        PageFileResidency residency = pagedFile.residency();
+        return new PagedFileStatistics(
+                pagedFile.getDatabaseName(),
+                pagedFile.path(),
+                pagedFile.pageSize(),
+                accesses.pins(),
+                accesses.hits(),
+                accesses.faults(),
+                counters.evictions(),
+                counters.flushes(),
+                counters.bytesRead(),
+                counters.bytesWritten(),
+                residency.residentPages(),
+                residency.dirtyPages());
+    }
+
+    /**
+     * @return the ratio of pins that were served without a page fault, or {@code 0} if the file has not been pinned.
+     */
+    public double hitRatio() {
+        return pins == 0 ? 0 : Math.min(1.0, (double) hits / pins);
+    }
+}
@@ -20,6 +20,7 @@
 package org.neo4j.io.pagecache.tracing;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 import org.neo4j.internal.helpers.MathUtil;
@@ -59,12 +60,19 @@ public class DefaultPageCacheTracer implements PageCacheTracer {
     protected final LongAdder copiedPages = new LongAdder();
     protected final LongAdder chainsPatched = new LongAdder();
     protected final LongAdder snapshotsLoaded = new LongAdder();
+    protected final LongAdder prefetchedPages = new LongAdder();
+    protected final LongAdder prefetchHits = new LongAdder();
+    protected final LongAdder prefetchWaste = new LongAdder();
+    protected final LongAdder prefetchFailures = new LongAdder();
+    protected final LongAdder dirtyEvictions = new LongAdder();
+    protected final LongAdder writeBehindFlushes = new LongAdder();
+    protected final LongAdder writeBehindBytesWritten = new LongAdder();
     protected final AtomicLong maxPages = new AtomicLong();
 
     private final boolean tracePageFileIndividually;
 
-    private final EvictionEvent evictionEvent = new PageCacheEvictionEvent();
     private final EvictionRunEvent evictionRunEvent = new DefaultEvictionRunEvent();
+    private volatile DefaultEvictionRunEvent[] partitionEvictionRunEvents = {new DefaultEvictionRunEvent()};
     private final DatabaseFlushEvent databaseFlushEvent = new DatabaseFlushEvent(new DefaultPageCacheFileFlushEvent());
 
     public DefaultPageCacheTracer() {
@@ -100,6 +108,11 @@ public class DefaultPageCacheTracer implements PageCacheTracer {
         return evictionRunEvent;
     }
 
+    @Override
+    public EvictionRunEvent beginPageEvictions(int partition, int pageCountToEvict) {
+        return partitionEvictionRunEvents[partition];
+    }
+
     @Override
     public EvictionRunEvent beginEviction() {
         return evictionRunEvent;
@@ -224,6 +237,21 @@ public class DefaultPageCacheTracer implements PageCacheTracer {
         return maxPages.get();
     }
 
+    @Override
+    public int evictionPartitions() {
+        return partitionEvictionRunEvents.length;
+    }
+
+    @Override
+    public long partitionEvictions(int partition) {
+        return partitionEvictionRunEvents[partition].partitionEvictions.sum();
+    }
+
+    @Override
+    public long partitionFreeListSize(int partition) {
+        return partitionEvictionRunEvents[partition].freeListSize;
+    }
+
     @Override
     public long iopqPerformed() {
         return iopqPerformed.sum();
@@ -264,6 +292,47 @@ public class DefaultPageCacheTracer implements PageCacheTracer {
         return snapshotsLoaded.sum();
     }
 
+    @Override
+    public long prefetchedPages() {
+        return prefetchedPages.sum();
+    }
+
+    @Override
+    public long prefetchHits() {
+        return prefetchHits.sum();
+    }
+
+    @Override
+    public long prefetchWaste() {
+        return prefetchWaste.sum();
+    }
+
+    @Override
+    public long prefetchFailures() {
+        return prefetchFailures.sum();
+    }
+
+    @Override
+    public long dirtyEvictions() {
+        return dirtyEvictions.sum();
+    }
+
+    @Override
+    public double dirtyEvictionRatio() {
+        long dirtyEvictions = dirtyEvictions();
+        return MathUtil.portion(dirtyEvictions, Math.max(0, evictions() - dirtyEvictions));
+    }
+
+    @Override
+    public long writeBehindFlushes() {
+        return writeBehindFlushes.sum();
+    }
+
+    @Override
+    public long writeBehindBytesWritten() {
+        return writeBehindBytesWritten.sum();
+    }
+
     @Override
     public void iopq(long iopq) {
         iopqPerformed.add(iopq);
@@ -330,6 +399,41 @@ public class DefaultPageCacheTracer implements PageCacheTracer {
         this.snapshotsLoaded.add(snapshotsLoaded);
     }
 
+    @Override
+    public void pagesPrefetched(long pagesPrefetched) {
+        this.prefetchedPages.add(pagesPrefetched);
+    }
+
+    @Override
+    public void prefetchHits(long prefetchHits) {
+        this.prefetchHits.add(prefetchHits);
+    }
+
+    @Override
+    public void prefetchWaste(long prefetchWaste) {
+        this.prefetchWaste.add(prefetchWaste);
+    }
+
+    @Override
+    public void prefetchFailed() {
+        this.prefetchFailures.increment();
+    }
+
+    @Override
+    public void dirtyEvictions(long dirtyEvictions) {
+        this.dirtyEvictions.add(dirtyEvictions);
+    }
+
+    @Override
+    public void writeBehindFlushes(long writeBehindFlushes) {
+        this.writeBehindFlushes.add(writeBehindFlushes);
+    }
+
+    @Override
+    public void writeBehindBytesWritten(long bytesWritten) {
+        this.writeBehindBytesWritten.add(bytesWritten);
+    }
+
     @Override
     public void noFaults(long noFaults) {
         this.noFaults.add(noFaults);
@@ -380,6 +484,19 @@ public class DefaultPageCacheTracer implements PageCacheTracer {
         this.maxPages.set(maxPages);
     }
 
+    @Override
+    public synchronized void evictionPartitions(int partitions) {
+        // The tracer can be shared between page caches, so we only ever grow the set of partition events.
+        DefaultEvictionRunEvent[] current = partitionEvictionRunEvents;
+        if (partitions > current.length) {
+            DefaultEvictionRunEvent[] events = Arrays.copyOf(current, partitions);
+            for (int i = current.length; i < partitions; i++) {
+                events[i] = new DefaultEvictionRunEvent();
+            }
+            partitionEvictionRunEvents = events;
+        }
+    }
+
     private class PageCacheFlushEvent implements FlushEvent {
         private PageFileSwapperTracer swapperTracer;
         private long pagesFlushed;
@@ -419,9 +536,14 @@ public class DefaultPageCacheTracer implements PageCacheTracer {
     }
 
     private class DefaultEvictionRunEvent implements EvictionRunEvent {
+        private final LongAdder partitionEvictions = new LongAdder();
+        private final EvictionEvent evictionEvent = new PageCacheEvictionEvent(partitionEvictions);
+        private volatile int freeListSize;
 
         @Override
-        public void freeListSize(int size) {}
+        public void freeListSize(int size) {
+            freeListSize = size;
+        }
 
         @Override
         public EvictionEvent beginEviction(long cachePageId) {
@@ -513,9 +635,14 @@ public class DefaultPageCacheTracer implements PageCacheTracer {
 
     private class PageCacheEvictionEvent implements EvictionEvent {
 
+        private final LongAdder runEvictions;
         private PageFileSwapperTracer swapperTracer;
         private final PageCacheFlushEvent flushEvent = new PageCacheFlushEvent();
 
+        PageCacheEvictionEvent(LongAdder runEvictions) {
+            this.runEvictions = runEvictions;
+        }
+
         @Override
         public void setFilePageId(long filePageId) {}
 
@@ -527,6 +654,7 @@ public class DefaultPageCacheTracer implements PageCacheTracer {
         @Override
         public FlushEvent beginFlush(
                 long pageRef, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator) {
+            dirtyEvictions.increment();
             flushEvent.swapperTracer = swapper.fileSwapperTracer();
             return flushEvent;
         }
@@ -540,6 +668,7 @@ public class DefaultPageCacheTracer implements PageCacheTracer {
         @Override
         public void close() {
             evictions.increment();
+            runEvictions.increment();
             if (swapperTracer != null) {
                 swapperTracer.evictions(1);
             }
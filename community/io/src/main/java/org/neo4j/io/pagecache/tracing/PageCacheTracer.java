@@ -55,6 +55,11 @@ public interface PageCacheTracer extends PageCacheCounters {
             return EvictionRunEvent.NULL;
         }
 
+        @Override
+        public EvictionRunEvent beginPageEvictions(int partition, int pageCountToEvict) {
+            return EvictionRunEvent.NULL;
+        }
+
         @Override
         public EvictionRunEvent beginEviction() {
             return EvictionRunEvent.NULL;
@@ -175,6 +180,21 @@ public interface PageCacheTracer extends PageCacheCounters {
             return 0;
         }
 
+        @Override
+        public int evictionPartitions() {
+            return 0;
+        }
+
+        @Override
+        public long partitionEvictions(int partition) {
+            return 0;
+        }
+
+        @Override
+        public long partitionFreeListSize(int partition) {
+            return 0;
+        }
+
         @Override
         public long iopqPerformed() {
             return 0;
@@ -215,6 +235,46 @@ public interface PageCacheTracer extends PageCacheCounters {
             return 0;
         }
 
+        @Override
+        public long prefetchedPages() {
+            return 0;
+        }
+
+        @Override
+        public long prefetchHits() {
+            return 0;
+        }
+
+        @Override
+        public long prefetchWaste() {
+            return 0;
+        }
+
+        @Override
+        public long prefetchFailures() {
+            return 0;
+        }
+
+        @Override
+        public long dirtyEvictions() {
+            return 0;
+        }
+
+        @Override
+        public double dirtyEvictionRatio() {
+            return 0d;
+        }
+
+        @Override
+        public long writeBehindFlushes() {
+            return 0;
+        }
+
+        @Override
+        public long writeBehindBytesWritten() {
+            return 0;
+        }
+
         @Override
         public void pins(long pins) {}
 
@@ -257,9 +317,33 @@ public interface PageCacheTracer extends PageCacheCounters {
         @Override
         public void snapshotsLoaded(long snapshotsLoaded) {}
 
+        @Override
+        public void pagesPrefetched(long pagesPrefetched) {}
+
+        @Override
+        public void prefetchHits(long prefetchHits) {}
+
+        @Override
+        public void prefetchWaste(long prefetchWaste) {}
+
+        @Override
+        public void prefetchFailed() {}
+
+        @Override
+        public void dirtyEvictions(long dirtyEvictions) {}
+
+        @Override
+        public void writeBehindFlushes(long writeBehindFlushes) {}
+
+        @Override
+        public void writeBehindBytesWritten(long bytesWritten) {}
+
         @Override
         public void maxPages(long maxPages, long pageSize) {}
 
+        @Override
+        public void evictionPartitions(int partitions) {}
+
         @Override
         public void iopq(long iopq) {}
 
@@ -322,6 +406,14 @@ public interface PageCacheTracer extends PageCacheCounters {
      **/
     EvictionRunEvent beginPageEvictions(int pageCountToEvict);
 
+    /**
+     * A background eviction has begun in the given eviction partition. Called from the eviction thread of that
+     * partition.
+     *
+     * The method returns an EvictionRunEvent to represent the event of this eviction run.
+     **/
+    EvictionRunEvent beginPageEvictions(int partition, int pageCountToEvict);
+
     /**
      * Start of vacuum eviction event to cleanup unknown number of pages for obsolete swappers
      * @return an EvictionRunEvent to represent the event of this eviction run.
@@ -428,6 +520,12 @@ public interface PageCacheTracer extends PageCacheCounters {
      */
     void maxPages(long maxPages, long pageSize);
 
+    /**
+     * Sets the number of eviction partitions, each with its own clock arm, eviction thread and freelist.
+     * @param partitions the number of eviction partitions.
+     */
+    void evictionPartitions(int partitions);
+
     /**
      * Report number of performed iopq.
      * @param iopq number of performed io operations per quantum of time.
@@ -455,6 +553,47 @@ public interface PageCacheTracer extends PageCacheCounters {
      */
     void snapshotsLoaded(long snapshotsLoaded);
 
+    /**
+     * Report number of pages loaded by the stream prefetcher
+     * @param pagesPrefetched number of prefetched pages
+     */
+    void pagesPrefetched(long pagesPrefetched);
+
+    /**
+     * Report number of prefetched pages that were used by the stream they were prefetched for
+     * @param prefetchHits number of prefetch hits
+     */
+    void prefetchHits(long prefetchHits);
+
+    /**
+     * Report number of prefetched pages that were not used before being evicted or abandoned
+     * @param prefetchWaste number of wasted prefetched pages
+     */
+    void prefetchWaste(long prefetchWaste);
+
+    /**
+     * Report that the stream prefetcher failed to load a window of pages
+     */
+    void prefetchFailed();
+
+    /**
+     * Report number of evicted pages that were dirty, and had to be flushed by the eviction
+     * @param dirtyEvictions number of dirty evictions
+     */
+    void dirtyEvictions(long dirtyEvictions);
+
+    /**
+     * Report number of dirty pages flushed ahead of eviction by the write-behind flusher
+     * @param writeBehindFlushes number of pages flushed
+     */
+    void writeBehindFlushes(long writeBehindFlushes);
+
+    /**
+     * Report number of bytes written by the write-behind flusher
+     * @param bytesWritten number of bytes written
+     */
+    void writeBehindBytesWritten(long bytesWritten);
+
     /**
      * report number of copied pages
      */
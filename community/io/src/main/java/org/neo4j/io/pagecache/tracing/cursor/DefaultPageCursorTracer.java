@@ -443,6 +443,8 @@ public class DefaultPageCursorTracer implements PageCursorTracer {
         @Override
         public FlushEvent beginFlush(
                 long pageRef, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator) {
+            // Dirty evictions are rare, and already pay for a write, so they are reported right away.
+            pageCacheTracer.dirtyEvictions(1);
             flushEvent.swapperTracer = swapper.fileSwapperTracer();
             return flushEvent;
         }
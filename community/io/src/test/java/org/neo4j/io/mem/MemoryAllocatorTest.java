@@ -24,10 +24,15 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.neo4j.io.ByteUnit.MebiByte;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.neo4j.internal.nativeimpl.AbsentNativeAccess;
+import org.neo4j.internal.nativeimpl.NativeCallResult;
 import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.io.ByteUnit;
+import org.neo4j.io.mem.MemoryPlacement.NumaPolicy;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.memory.LocalMemoryTracker;
 
@@ -200,6 +205,67 @@ class MemoryAllocatorTest {
         UnsafeUtil.getLong(address + ONE_PAGE - Long.BYTES); // End of allocation.
     }
 
+    @Test
+    void hugePageAdviceMustCoverHugePageAlignedInteriorOfGrabs() {
+        RecordingNativeAccess nativeAccess = new RecordingNativeAccess();
+        allocator = new GrabAllocator(
+                MebiByte.toBytes(64),
+                new LocalMemoryTracker(),
+                new MemoryPlacement(true, NumaPolicy.NONE),
+                NumaTopology.SINGLE_NODE,
+                nativeAccess);
+
+        allocator.allocateAligned(PageCache.PAGE_SIZE, UnsafeUtil.pageSize());
+
+        assertThat(nativeAccess.hugePageAdvice).hasSize(1);
+        long[] advice = nativeAccess.hugePageAdvice.get(0);
+        assertThat(advice[0] % MebiByte.toBytes(2)).isEqualTo(0L);
+        assertThat(advice[1] % MebiByte.toBytes(2)).isEqualTo(0L);
+        assertThat(advice[1]).isGreaterThanOrEqualTo(MebiByte.toBytes(30));
+        assertThat(nativeAccess.bindings).isEmpty();
+        assertThat(allocator.describePlacement()).contains("Huge pages: requested");
+    }
+
+    @Test
+    void bindPolicyMustPlaceGrabsOnRequestedNode() {
+        RecordingNativeAccess nativeAccess = new RecordingNativeAccess();
+        allocator = new GrabAllocator(
+                MebiByte.toBytes(4),
+                new LocalMemoryTracker(),
+                new MemoryPlacement(false, NumaPolicy.BIND),
+                NumaTopology.parse("0-1"),
+                nativeAccess);
+        assertThat(allocator.numaNodes()).isEqualTo(2);
+        assertThat(allocator.availableMemory()).isEqualTo(MebiByte.toBytes(4));
+
+        allocator.allocateAligned(PageCache.PAGE_SIZE, UnsafeUtil.pageSize(), 1);
+        assertThat(nativeAccess.bindings).hasSize(1);
+        assertThat(nativeAccess.bindings.get(0)[2]).isEqualTo(0b10L);
+        assertThat(nativeAccess.bindings.get(0)[3]).isEqualTo(0L);
+
+        // Allocations that are not requested for a node are interleaved over all nodes.
+        allocator.allocateAligned(PageCache.PAGE_SIZE, UnsafeUtil.pageSize());
+        assertThat(nativeAccess.bindings).hasSize(2);
+        assertThat(nativeAccess.bindings.get(1)[2]).isEqualTo(0b11L);
+        assertThat(nativeAccess.bindings.get(1)[3]).isEqualTo(1L);
+        assertThat(allocator.describePlacement()).contains("NUMA policy: BIND");
+    }
+
+    @Test
+    void singleNodeMustNotBindMemory() {
+        RecordingNativeAccess nativeAccess = new RecordingNativeAccess();
+        allocator = new GrabAllocator(
+                MebiByte.toBytes(4),
+                new LocalMemoryTracker(),
+                new MemoryPlacement(false, NumaPolicy.BIND),
+                NumaTopology.SINGLE_NODE,
+                nativeAccess);
+        assertThat(allocator.numaNodes()).isEqualTo(1);
+
+        allocator.allocateAligned(PageCache.PAGE_SIZE, UnsafeUtil.pageSize(), 0);
+        assertThat(nativeAccess.bindings).isEmpty();
+    }
+
     private void closeAllocator() {
         if (allocator != null) {
             allocator.close();
@@ -212,4 +278,26 @@ class MemoryAllocatorTest {
         allocator = MemoryAllocator.createAllocator(expectedMaxMemory, new LocalMemoryTracker());
         return allocator;
     }
+
+    private static class RecordingNativeAccess extends AbsentNativeAccess {
+        private final List<long[]> hugePageAdvice = new ArrayList<>();
+        private final List<long[]> bindings = new ArrayList<>();
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public NativeCallResult tryAdviseHugePages(long address, long length) {
+            hugePageAdvice.add(new long[] {address, length});
+            return NativeCallResult.SUCCESS;
+        }
+
+        @Override
+        public NativeCallResult tryBindMemory(long address, long length, long nodeMask, boolean interleave) {
+            bindings.add(new long[] {address, length, nodeMask, interleave ? 1 : 0});
+            return NativeCallResult.SUCCESS;
+        }
+    }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.mem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class NumaTopologyTest {
+    @Test
+    void parseNodeRangesAndSingleNodes() {
+        NumaTopology topology = NumaTopology.parse("0-1,3\n");
+        assertThat(topology.nodeCount()).isEqualTo(3);
+        assertThat(topology.node(0)).isEqualTo(0);
+        assertThat(topology.node(1)).isEqualTo(1);
+        assertThat(topology.node(2)).isEqualTo(3);
+        assertThat(topology.nodeMask()).isEqualTo(0b1011L);
+        assertThat(topology.nodeMask(2)).isEqualTo(0b1000L);
+    }
+
+    @Test
+    void nodesThatDoNotFitInNodeMaskAreIgnored() {
+        NumaTopology topology = NumaTopology.parse("62-65");
+        assertThat(topology.nodeCount()).isEqualTo(2);
+        assertThat(topology.nodeMask()).isEqualTo(0b11L << 62);
+    }
+
+    @Test
+    void emptyNodeListIsSingleNode() {
+        assertThat(NumaTopology.parse("")).isSameAs(NumaTopology.SINGLE_NODE);
+        assertThat(NumaTopology.parse("64")).isSameAs(NumaTopology.SINGLE_NODE);
+    }
+
+    @Test
+    void detectedTopologyHasAtLeastOneNode() {
+        assertThat(NumaTopology.detect().nodeCount()).isGreaterThanOrEqualTo(1);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.storageengine.api;
+
+import org.neo4j.values.storable.Value;
+
+/**
+ * Receives the logical changes that a {@link CommandBatch} makes to the graph, as decoded by
+ * {@link StorageEngine#decodeChanges(CommandBatch, StorageChangeVisitor)}. This is the storage independent view of a
+ * committed transaction that change data capture consumers work with.
+ * <p>
+ * Changes to an entity are visited together, with the creation of the entity before, and the deletion of the entity
+ * after, its label and property changes. Property values that are neither available in the commands themselves nor
+ * anymore in the store, e.g. the previous value of a long string that was stored out-of-line and has been removed,
+ * are reported as {@link org.neo4j.values.storable.Values#NO_VALUE}.
+ */
+public interface StorageChangeVisitor {
+    void nodeCreated(long nodeId);
+
+    void nodeDeleted(long nodeId);
+
+    void nodeLabelAdded(long nodeId, int labelId);
+
+    void nodeLabelRemoved(long nodeId, int labelId);
+
+    void relationshipCreated(long relationshipId, int type, long startNodeId, long endNodeId);
+
+    void relationshipDeleted(long relationshipId, int type, long startNodeId, long endNodeId);
+
+    /**
+     * A property on a node was added, changed or removed.
+     * @param before the value before the change, or {@code null} if the property was added.
+     * @param after the value after the change, or {@code null} if the property was removed.
+     */
+    void nodePropertyChanged(long nodeId, int propertyKeyId, Value before, Value after);
+
+    /**
+     * A property on a relationship was added, changed or removed.
+     * @param before the value before the change, or {@code null} if the property was added.
+     * @param after the value after the change, or {@code null} if the property was removed.
+     */
+    void relationshipPropertyChanged(long relationshipId, int propertyKeyId, Value before, Value after);
+
+    class Adapter implements StorageChangeVisitor {
+        @Override
+        public void nodeCreated(long nodeId) {}
+
+        @Override
+        public void nodeDeleted(long nodeId) {}
+
+        @Override
+        public void nodeLabelAdded(long nodeId, int labelId) {}
+
+        @Override
+        public void nodeLabelRemoved(long nodeId, int labelId) {}
+
+        @Override
+        public void relationshipCreated(long relationshipId, int type, long startNodeId, long endNodeId) {}
+
+        @Override
+        public void relationshipDeleted(long relationshipId, int type, long startNodeId, long endNodeId) {}
+
+        @Override
+        public void nodePropertyChanged(long nodeId, int propertyKeyId, Value before, Value after) {}
+
+        @Override
+        public void relationshipPropertyChanged(long relationshipId, int propertyKeyId, Value before, Value after) {}
+    }
+}
@@ -182,4 +182,15 @@ public interface StorageEngine extends ReadableStorageEngine, Lifecycle {
     default TransactionStateBehaviour transactionStateBehaviour() {
         return TransactionStateBehaviour.DEFAULT_BEHAVIOUR;
     }
+
+    /**
+     * Decodes the commands in a committed {@link CommandBatch} into the logical changes they make to the graph,
+     * without applying them. Used for change data capture, where the transaction log is tailed outside of the
+     * commit path.
+     *
+     * @param batch the committed commands to decode.
+     * @param visitor {@link StorageChangeVisitor} receiving the decoded changes.
+     * @throws IOException if there was a problem reading the commands.
+     */
+    void decodeChanges(CommandBatch batch, StorageChangeVisitor visitor) throws IOException;
 }
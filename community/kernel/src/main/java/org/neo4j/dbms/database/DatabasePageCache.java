@@ -43,7 +43,9 @@ import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.io.pagecache.buffer.IOBufferFactory;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.impl.muninn.VersionStorage;
+import org.neo4j.io.pagecache.monitoring.PageFileAccesses;
 import org.neo4j.io.pagecache.monitoring.PageFileCounters;
+import org.neo4j.io.pagecache.monitoring.PageFileResidency;
 import org.neo4j.io.pagecache.tracing.DatabaseFlushEvent;
 import org.neo4j.io.pagecache.tracing.FileFlushEvent;
 import org.neo4j.io.pagecache.tracing.FileMappedListener;
@@ -289,6 +291,21 @@ public class DatabasePageCache implements PageCache {
             return delegate.pageFileCounters();
         }
 
+        @Override
+        public PageFileAccesses accesses() {
+            return delegate.accesses();
+        }
+
+        @Override
+        public PageFileResidency residency() {
+            return delegate.residency();
+        }
+
+        @Override
+        public long flushOldDirtyPages(long lastModifiedTransactionId, long maxPages) throws IOException {
+            return delegate.flushOldDirtyPages(lastModifiedTransactionId, maxPages);
+        }
+
         @Override
         public boolean isMultiVersioned() {
             return delegate.isMultiVersioned();
@@ -52,6 +52,7 @@ import org.neo4j.configuration.Config;
 import org.neo4j.configuration.DatabaseConfig;
 import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.configuration.GraphDatabaseSettings;
+import org.neo4j.configuration.GraphDatabaseSettings.CheckpointPolicy;
 import org.neo4j.configuration.SettingChangeListener;
 import org.neo4j.dbms.database.DatabasePageCache;
 import org.neo4j.dbms.database.DbmsRuntimeRepository;
@@ -118,9 +119,12 @@ import org.neo4j.kernel.impl.factory.DbmsInfo;
 import org.neo4j.kernel.impl.factory.FacadeKernelTransactionFactory;
 import org.neo4j.kernel.impl.factory.GraphDatabaseFacade;
 import org.neo4j.kernel.impl.factory.KernelTransactionFactory;
+import org.neo4j.kernel.impl.locking.LockContentionMonitor;
 import org.neo4j.kernel.impl.locking.Locks;
+import org.neo4j.kernel.impl.pagecache.IOControllerCounters;
 import org.neo4j.kernel.impl.pagecache.IOControllerService;
 import org.neo4j.kernel.impl.pagecache.PageCacheLifecycle;
+import org.neo4j.kernel.impl.pagecache.PageCacheWarmer;
 import org.neo4j.kernel.impl.pagecache.VersionStorageFactory;
 import org.neo4j.kernel.impl.query.QueryEngineProvider;
 import org.neo4j.kernel.impl.query.QueryExecutionEngine;
@@ -128,6 +132,7 @@ import org.neo4j.kernel.impl.query.TransactionExecutionMonitor;
 import org.neo4j.kernel.impl.store.StoreFileListing;
 import org.neo4j.kernel.impl.storemigration.StoreMigrator;
 import org.neo4j.kernel.impl.storemigration.UnableToMigrateException;
+import org.neo4j.kernel.impl.transaction.cdc.TransactionLogChangeStreams;
 import org.neo4j.kernel.impl.transaction.log.CompleteTransaction;
 import org.neo4j.kernel.impl.transaction.log.LogTailMetadata;
 import org.neo4j.kernel.impl.transaction.log.LoggingLogFileMonitor;
@@ -139,6 +144,7 @@ import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointScheduler;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointThreshold;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointerImpl;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckpointerLifecycle;
+import org.neo4j.kernel.impl.transaction.log.checkpoint.IncrementalCheckpointFlusher;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.StoreCopyCheckPointMutex;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
 import org.neo4j.kernel.impl.transaction.log.files.LogFilesBuilder;
@@ -327,6 +333,9 @@ public class Database extends AbstractDatabase {
                 databaseAvailabilityGuard, transactionStats, clock, getAwaitActiveTransactionDeadlineMillis());
 
         databaseDependencies.satisfyDependency(ioController);
+        if (!(ioController instanceof IOControllerCounters)) {
+            databaseDependencies.satisfyDependency(IOControllerCounters.NULL);
+        }
         databaseDependencies.satisfyDependency(transactionIdSequence);
         databaseDependencies.satisfyDependency(readOnlyDatabaseChecker);
         databaseDependencies.satisfyDependency(databaseLayout);
@@ -339,6 +348,7 @@ public class Database extends AbstractDatabase {
         databaseDependencies.satisfyDependency(storeCopyCheckPointMutex);
         databaseDependencies.satisfyDependency(transactionStats);
         databaseDependencies.satisfyDependency(locks);
+        locks.contentionProfiler().setMonitor(databaseMonitors.newMonitor(LockContentionMonitor.class));
         databaseDependencies.satisfyDependency(databaseAvailability);
         databaseDependencies.satisfyDependency(idGeneratorFactory);
         databaseDependencies.satisfyDependency(idController);
@@ -547,6 +557,15 @@ public class Database extends AbstractDatabase {
         this.checkpointerLifecycle = new CheckpointerLifecycle(transactionLogModule.checkPointer(), databaseHealth);
 
         life.add(idController);
+        life.add(new PageCacheWarmer(
+                fs,
+                databasePageCache,
+                scheduler,
+                ioController,
+                databaseLayout,
+                databaseConfig,
+                cursorContextFactory,
+                internalLogProvider));
         life.add(onStart(this::registerUpgradeListener));
         life.add(databaseHealth);
         life.add(databaseAvailabilityGuard);
@@ -610,6 +629,7 @@ public class Database extends AbstractDatabase {
                 .withMemoryTracker(otherDatabaseMemoryTracker)
                 .withMonitors(databaseMonitors)
                 .withClock(clock)
+                .withJobScheduler(scheduler)
                 .withStorageEngineFactory(storageEngineFactory)
                 .build();
     }
@@ -866,10 +886,27 @@ public class Database extends AbstractDatabase {
         life.add(checkPointer);
         life.add(checkPointScheduler);
 
+        if (config.get(GraphDatabaseSettings.check_point_policy) == CheckpointPolicy.INCREMENTAL) {
+            var incrementalCheckpointFlusher = new IncrementalCheckpointFlusher(
+                    databasePageCache,
+                    transactionIdStore,
+                    checkPointer,
+                    logFiles.getLogFile(),
+                    fs,
+                    scheduler,
+                    config.get(GraphDatabaseInternalSettings.checkpoint_incremental_flush_rate),
+                    namedDatabaseId.name(),
+                    logProvider);
+            life.add(incrementalCheckpointFlusher);
+            databaseDependencies.satisfyDependency(incrementalCheckpointFlusher);
+        }
+
         TransactionLogServiceImpl transactionLogService = new TransactionLogServiceImpl(
                 transactionIdStore, logFiles, logicalTransactionStore, pruneLock, databaseAvailabilityGuard);
         databaseDependencies.satisfyDependencies(
                 checkPointer, logFiles, logicalTransactionStore, transactionAppender, transactionLogService);
+        databaseDependencies.satisfyDependency(
+                new TransactionLogChangeStreams(logicalTransactionStore, transactionIdStore, storageEngine));
 
         return new DatabaseTransactionLogModule(checkPointer, transactionAppender, transactionMetadataCache);
     }
@@ -891,6 +928,10 @@ public class Database extends AbstractDatabase {
 
         TransactionCommitProcess transactionCommitProcess = commitProcessFactory.create(
                 logsModule.transactionAppender(), storageEngine, namedDatabaseId, readOnlyDatabaseChecker);
+        if (transactionCommitProcess instanceof Lifecycle commitProcessLifecycle) {
+            // Added before the kernel transactions, so that it's stopped after no more transactions can be committed
+            life.add(commitProcessLifecycle);
+        }
 
         /*
          * This is used by explicit indexes and constraint indexes whenever a transaction is to be spawned
@@ -21,15 +21,32 @@ package org.neo4j.kernel.database;
 
 import org.neo4j.io.fs.WritableChecksumChannel;
 import org.neo4j.kernel.KernelVersion;
+import org.neo4j.kernel.impl.transaction.log.entry.CompressingLogEntryWriter;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryWriter;
 
 /**
  * The LogEntryWriterFactory is responsible for picking the transaction log format version to use for LogEntryWriters. The version should be the same in one
  * complete transaction in the log but should be able to be upgraded without a restart. Therefore createEntryWriter should be used to get a new LogEntryWriter
  * for each transaction.
+ * <p>
+ * With command compression enabled, command batches of versions that can read compressed command blocks are written
+ * by a {@link CompressingLogEntryWriter}.
  */
 public class LogEntryWriterFactory {
+    private final boolean compressCommands;
+
+    public LogEntryWriterFactory() {
+        this(false);
+    }
+
+    public LogEntryWriterFactory(boolean compressCommands) {
+        this.compressCommands = compressCommands;
+    }
+
     public <T extends WritableChecksumChannel> LogEntryWriter<T> createEntryWriter(T channel, KernelVersion version) {
+        if (compressCommands && version.isAtLeast(KernelVersion.V5_0)) {
+            return new CompressingLogEntryWriter<>(channel, version);
+        }
         return new LogEntryWriter<>(channel, version);
     }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.diagnostics.providers;
+
+import org.neo4j.internal.diagnostics.DiagnosticsLogger;
+import org.neo4j.internal.diagnostics.NamedDiagnosticsProvider;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+
+public class PageCacheDiagnostics extends NamedDiagnosticsProvider {
+    private final PageCache pageCache;
+
+    public PageCacheDiagnostics(PageCache pageCache) {
+        super("Page cache memory layout");
+        this.pageCache = pageCache;
+    }
+
+    @Override
+    public void dump(DiagnosticsLogger logger) {
+        if (pageCache instanceof MuninnPageCache muninnPageCache) {
+            muninnPageCache.describeMemoryLayout().forEach(logger::log);
+        } else {
+            logger.log("Memory layout is not available for " + pageCache.getClass().getSimpleName() + ".");
+        }
+    }
+}
@@ -22,10 +22,15 @@ package org.neo4j.kernel.impl.api;
 import org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker;
 import org.neo4j.internal.kernel.api.exceptions.TransactionFailureException;
 import org.neo4j.kernel.impl.transaction.tracing.CommitEvent;
+import org.neo4j.kernel.lifecycle.Lifecycle;
 import org.neo4j.storageengine.api.CommandBatchToApply;
 import org.neo4j.storageengine.api.TransactionApplicationMode;
 
-public class DatabaseTransactionCommitProcess implements TransactionCommitProcess {
+/**
+ * Checks that the database is writable before committing, and manages the lifecycle of the wrapped commit process if
+ * it has one.
+ */
+public class DatabaseTransactionCommitProcess implements TransactionCommitProcess, Lifecycle {
     private final TransactionCommitProcess commitProcess;
     private final DatabaseReadOnlyChecker readOnlyDatabaseChecker;
 
@@ -41,4 +46,32 @@ public class DatabaseTransactionCommitProcess implements TransactionCommitProces
         readOnlyDatabaseChecker.check();
         return commitProcess.commit(batch, commitEvent, mode);
     }
+
+    @Override
+    public void init() throws Exception {
+        if (commitProcess instanceof Lifecycle lifecycle) {
+            lifecycle.init();
+        }
+    }
+
+    @Override
+    public void start() throws Exception {
+        if (commitProcess instanceof Lifecycle lifecycle) {
+            lifecycle.start();
+        }
+    }
+
+    @Override
+    public void stop() throws Exception {
+        if (commitProcess instanceof Lifecycle lifecycle) {
+            lifecycle.stop();
+        }
+    }
+
+    @Override
+    public void shutdown() throws Exception {
+        if (commitProcess instanceof Lifecycle lifecycle) {
+            lifecycle.shutdown();
+        }
+    }
 }
@@ -52,7 +52,7 @@ public class InternalTransactionCommitProcess implements TransactionCommitProces
         }
     }
 
-    private long appendToLog(CommandBatchToApply batch, CommitEvent commitEvent) throws TransactionFailureException {
+    protected long appendToLog(CommandBatchToApply batch, CommitEvent commitEvent) throws TransactionFailureException {
         try (LogAppendEvent logAppendEvent = commitEvent.beginLogAppend()) {
             return appender.append(batch, logAppendEvent);
         } catch (Throwable cause) {
@@ -73,7 +73,7 @@ public class InternalTransactionCommitProcess implements TransactionCommitProces
         }
     }
 
-    private static void close(CommandBatchToApply batch) {
+    protected static void close(CommandBatchToApply batch) {
         while (batch != null) {
             batch.close();
             batch = batch.next();
@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api;
+
+import static org.neo4j.kernel.api.exceptions.Status.Transaction.TransactionCommitFailed;
+import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.neo4j.internal.kernel.api.exceptions.TransactionFailureException;
+import org.neo4j.kernel.impl.transaction.log.ForcedTransactionsHandler;
+import org.neo4j.kernel.impl.transaction.log.TransactionAppender;
+import org.neo4j.kernel.impl.transaction.tracing.CommitEvent;
+import org.neo4j.kernel.impl.transaction.tracing.StoreApplyEvent;
+import org.neo4j.kernel.lifecycle.Lifecycle;
+import org.neo4j.lock.LockGroup;
+import org.neo4j.lock.LockService;
+import org.neo4j.lock.ReentrantLockService;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.storageengine.api.CommandBatchToApply;
+import org.neo4j.storageengine.api.StorageEngine;
+import org.neo4j.storageengine.api.TransactionApplicationMode;
+import org.neo4j.storageengine.api.TransactionIdStore;
+
+/**
+ * A {@link TransactionCommitProcess} where applying transactions to the store is a stage of its own, which runs
+ * concurrently with appending and forcing the transactions that are committed after them.
+ * <p>
+ * The transaction appender hands every group of transactions that it has appended and forced together to this
+ * process, in log order, see {@link TransactionAppender#handOverForcedTransactions(ForcedTransactionsHandler)}. The
+ * apply stage, a thread in the {@link Group#STORE_APPLY} group, links the transactions of each group into one batch
+ * and applies it with a single {@link StorageEngine#apply(CommandBatchToApply, TransactionApplicationMode)} call,
+ * while the appender already appends and forces the next group. Groups, and the transactions in them, are thereby
+ * applied in transaction id order. The committing threads wait for their transactions to be applied, and then close
+ * them themselves, so durability is unchanged and the visibility ordering of closed transactions is still kept by the
+ * closed transaction tracking of the {@link TransactionIdStore}.
+ * <p>
+ * With more than one applier the apply stage instead hands the transactions to a bounded pool of appliers in the
+ * {@link Group#STORE_APPLY_WORK} group, the same way parallel recovery does. In transaction id order, each applier
+ * locks the records that the commands of its transaction touch, see
+ * {@link StorageEngine#lockRecoveryCommands(org.neo4j.storageengine.api.CommandStream, LockService, LockGroup,
+ * TransactionApplicationMode)}, and then applies the transaction while holding those locks. Transactions that touch
+ * the same records are thereby applied in transaction id order, and all others concurrently. A chain of transactions
+ * committed together stays one unit, since its transactions may share cursors.
+ */
+public class PipelinedTransactionCommitProcess extends InternalTransactionCommitProcess
+        implements ForcedTransactionsHandler, Lifecycle {
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final StorageEngine storageEngine;
+    private final JobScheduler jobScheduler;
+    private final int numAppliers;
+    private final String databaseName;
+    private final LockService lockService = new ReentrantLockService();
+    private final Semaphore applierPermits;
+    private final ReentrantLock turnLock = new ReentrantLock();
+    private final Condition turnTaken = turnLock.newCondition();
+    private final ConcurrentMap<CommandBatchToApply, StoreApplyTicket> tickets = new ConcurrentHashMap<>();
+    private final BlockingQueue<CommandBatchToApply[]> forcedGroups = new LinkedBlockingQueue<>();
+    private Thread applyStage;
+    private volatile boolean stopped;
+    // The turn to lock the records of the next transaction handed to an applier, only accessed by the apply stage
+    private long nextTurn;
+    private volatile long turnsTaken;
+
+    /**
+     * Use {@link #handOverForcedTransactionsFrom(TransactionAppender)} to make the appender hand over the
+     * transactions it has forced to the created process.
+     *
+     * @param numAppliers number of transactions that are applied concurrently, 1 to apply every forced group with a
+     * single call on the apply stage.
+     */
+    public PipelinedTransactionCommitProcess(
+            TransactionAppender appender,
+            StorageEngine storageEngine,
+            JobScheduler jobScheduler,
+            int numAppliers,
+            String databaseName) {
+        super(appender, storageEngine);
+        this.storageEngine = storageEngine;
+        this.jobScheduler = jobScheduler;
+        this.numAppliers = numAppliers;
+        this.databaseName = databaseName;
+        this.applierPermits = new Semaphore(numAppliers);
+    }
+
+    /**
+     * @return {@code true} if the given appender, which must be the one this process was created with, hands over the
+     * transactions it has forced to this process, {@code false} if it doesn't support that and this process can't
+     * be used.
+     */
+    public boolean handOverForcedTransactionsFrom(TransactionAppender appender) {
+        return appender.handOverForcedTransactions(this);
+    }
+
+    @Override
+    public long commit(CommandBatchToApply batch, CommitEvent commitEvent, TransactionApplicationMode mode)
+            throws TransactionFailureException {
+        // The apply stage can be handed the transaction as soon as it has been forced, so it must know how to apply it
+        // before it's appended
+        StoreApplyTicket ticket = new StoreApplyTicket(mode);
+        tickets.put(batch, ticket);
+        long lastTxId;
+        try {
+            lastTxId = appendToLog(batch, commitEvent);
+        } catch (TransactionFailureException e) {
+            tickets.remove(batch);
+            throw e;
+        }
+        try {
+            awaitApplied(batch, ticket, commitEvent);
+            return lastTxId;
+        } finally {
+            close(batch);
+        }
+    }
+
+    private static void awaitApplied(CommandBatchToApply batch, StoreApplyTicket ticket, CommitEvent commitEvent)
+            throws TransactionFailureException {
+        try (StoreApplyEvent storeApplyEvent = commitEvent.beginStoreApply()) {
+            ticket.awaitApplied();
+        }
+        if (ticket.failure != null) {
+            throw new TransactionFailureException(
+                    TransactionCommitFailed,
+                    ticket.failure,
+                    "Could not apply the transaction: " + batch + " to the store after written to log.");
+        }
+    }
+
+    @Override
+    public void forced(CommandBatchToApply[] batches) {
+        forcedGroups.add(batches);
+    }
+
+    @Override
+    public void init() {}
+
+    @Override
+    public synchronized void start() {
+        stopped = false;
+        applyStage = jobScheduler.threadFactory(Group.STORE_APPLY).newThread(this::applyForcedGroups);
+        applyStage.start();
+    }
+
+    /**
+     * Applies the groups that have already been forced before stopping, since their committing threads are waiting for
+     * them to be applied.
+     */
+    @Override
+    public synchronized void stop() throws InterruptedException {
+        stopped = true;
+        Thread stage = applyStage;
+        if (stage != null) {
+            stage.join();
+            applyStage = null;
+        }
+        // Wait for the appliers that are still applying transactions handed to them by the stage
+        applierPermits.acquireUninterruptibly(numAppliers);
+        applierPermits.release(numAppliers);
+    }
+
+    @Override
+    public void shutdown() {}
+
+    private void applyForcedGroups() {
+        try {
+            CommandBatchToApply[] group;
+            while ((group = forcedGroups.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) != null || !stopped) {
+                if (group != null) {
+                    applyGroup(group);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Applies the transactions of the group in as few batches as there are runs of transactions with the same
+     * application mode.
+     */
+    private void applyGroup(CommandBatchToApply[] forcedGroup) {
+        // Transactions without a ticket have already been failed by the appender, so their committers don't wait
+        CommandBatchToApply[] group = new CommandBatchToApply[forcedGroup.length];
+        StoreApplyTicket[] groupTickets = new StoreApplyTicket[forcedGroup.length];
+        int size = 0;
+        for (CommandBatchToApply batch : forcedGroup) {
+            StoreApplyTicket ticket = tickets.remove(batch);
+            if (ticket != null) {
+                group[size] = batch;
+                groupTickets[size++] = ticket;
+            }
+        }
+        if (numAppliers > 1) {
+            for (int i = 0; i < size; i++) {
+                scheduleApply(group[i], groupTickets[i]);
+            }
+            return;
+        }
+        int start = 0;
+        for (int i = 1; i <= size; i++) {
+            if (i == size || groupTickets[i].mode != groupTickets[start].mode) {
+                applyLinked(group, groupTickets, start, i);
+                start = i;
+            }
+        }
+    }
+
+    private void applyLinked(CommandBatchToApply[] group, StoreApplyTicket[] groupTickets, int from, int to) {
+        CommandBatchToApply[] lasts = new CommandBatchToApply[to - from];
+        for (int i = from; i < to; i++) {
+            CommandBatchToApply last = group[i];
+            while (last.next() != null) {
+                last = last.next();
+            }
+            lasts[i - from] = last;
+            if (i > from) {
+                lasts[i - from - 1].next(group[i]);
+            }
+        }
+        Throwable failure = null;
+        try {
+            storageEngine.apply(group[from], groupTickets[from].mode);
+        } catch (Throwable t) {
+            failure = t;
+        } finally {
+            // Unlink again, every committing thread closes its own transactions
+            for (int i = 0; i < lasts.length - 1; i++) {
+                lasts[i].next(null);
+            }
+        }
+        for (int i = from; i < to; i++) {
+            groupTickets[i].applied(failure);
+        }
+    }
+
+    private void scheduleApply(CommandBatchToApply batch, StoreApplyTicket ticket) {
+        // The number of transactions in flight is bounded by the appliers, which also makes the apply stage, and
+        // thereby the committing threads, wait when the appliers can't keep up with the log
+        long turn = nextTurn++;
+        applierPermits.acquireUninterruptibly();
+        try {
+            jobScheduler.schedule(
+                    Group.STORE_APPLY_WORK,
+                    systemJob(databaseName, "Applying a committed transaction to the store"),
+                    () -> lockAndApply(batch, ticket, turn));
+        } catch (Throwable t) {
+            applierPermits.release();
+            awaitTurn(turn);
+            signalTurnTaken(turn);
+            ticket.applied(t);
+        }
+    }
+
+    private void lockAndApply(CommandBatchToApply batch, StoreApplyTicket ticket, long turn) {
+        Throwable failure = null;
+        try (LockGroup locks = new LockGroup()) {
+            awaitTurn(turn);
+            try {
+                for (CommandBatchToApply transaction = batch; transaction != null; transaction = transaction.next()) {
+                    storageEngine.lockRecoveryCommands(transaction.commandBatch(), lockService, locks, ticket.mode);
+                }
+            } finally {
+                signalTurnTaken(turn);
+            }
+            storageEngine.apply(batch, ticket.mode);
+        } catch (Throwable t) {
+            failure = t;
+        } finally {
+            applierPermits.release();
+        }
+        ticket.applied(failure);
+    }
+
+    private void awaitTurn(long turn) {
+        if (turnsTaken == turn) {
+            return;
+        }
+        turnLock.lock();
+        try {
+            while (turnsTaken != turn) {
+                // Every turn is eventually taken, also by transactions that fail to lock, so this can't be abandoned
+                turnTaken.awaitUninterruptibly();
+            }
+        } finally {
+            turnLock.unlock();
+        }
+    }
+
+    private void signalTurnTaken(long turn) {
+        turnLock.lock();
+        try {
+            turnsTaken = turn + 1;
+            turnTaken.signalAll();
+        } finally {
+            turnLock.unlock();
+        }
+    }
+
+    private static class StoreApplyTicket {
+        private final TransactionApplicationMode mode;
+        private final CountDownLatch applied = new CountDownLatch(1);
+        private volatile Throwable failure;
+
+        StoreApplyTicket(TransactionApplicationMode mode) {
+            this.mode = mode;
+        }
+
+        void applied(Throwable failure) {
+            this.failure = failure;
+            applied.countDown();
+        }
+
+        void awaitApplied() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    applied.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
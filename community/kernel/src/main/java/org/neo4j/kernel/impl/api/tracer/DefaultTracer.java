@@ -26,6 +26,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.impl.transaction.stats.Log2Histogram;
 import org.neo4j.kernel.impl.transaction.tracing.AppendTransactionEvent;
 import org.neo4j.kernel.impl.transaction.tracing.CommitEvent;
 import org.neo4j.kernel.impl.transaction.tracing.DatabaseTracer;
@@ -46,6 +47,9 @@ public class DefaultTracer implements DatabaseTracer {
     private final AtomicLong appendedBytes = new AtomicLong();
     private final AtomicLong numberOfFlushes = new AtomicLong();
     private final AtomicLong appliedBatchSize = new AtomicLong();
+    private final Log2Histogram groupCommitBatchSizes = new Log2Histogram();
+    private final Log2Histogram groupCommitWaitTimes = new Log2Histogram();
+    private final Log2Histogram groupCommitForceTimes = new Log2Histogram();
 
     private final CountingLogRotateEvent countingLogRotateEvent = new CountingLogRotateEvent();
     private final LogFileCreateEvent logFileCreateEvent = () -> appendedBytes.addAndGet(CURRENT_FORMAT_LOG_HEADER_SIZE);
@@ -95,6 +99,21 @@ public class DefaultTracer implements DatabaseTracer {
         return appliedBatchSize.get();
     }
 
+    @Override
+    public Log2Histogram groupCommitBatchSizes() {
+        return groupCommitBatchSizes;
+    }
+
+    @Override
+    public Log2Histogram groupCommitWaitTimes() {
+        return groupCommitWaitTimes;
+    }
+
+    @Override
+    public Log2Histogram groupCommitForceTimes() {
+        return groupCommitForceTimes;
+    }
+
     @Override
     public long numberOfCheckPoints() {
         return logCheckPointEvent.numberOfCheckPoints();
@@ -229,6 +248,13 @@ public class DefaultTracer implements DatabaseTracer {
             return AppendTransactionEvent.NULL;
         }
 
+        @Override
+        public void groupCommitted(int transactions, long waitNanos, long forceNanos) {
+            groupCommitBatchSizes.record(transactions);
+            groupCommitWaitTimes.record(waitNanos);
+            groupCommitForceTimes.record(forceNanos);
+        }
+
         @Override
         public LogForceWaitEvent beginLogForceWait() {
             return LogForceWaitEvent.NULL;
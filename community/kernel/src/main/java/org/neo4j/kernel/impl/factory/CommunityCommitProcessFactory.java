@@ -19,23 +19,53 @@
  */
 package org.neo4j.kernel.impl.factory;
 
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pipelined_commit;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pipelined_commit_appliers;
+
+import org.neo4j.configuration.Config;
 import org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker;
 import org.neo4j.kernel.database.NamedDatabaseId;
 import org.neo4j.kernel.impl.api.CommitProcessFactory;
 import org.neo4j.kernel.impl.api.DatabaseTransactionCommitProcess;
 import org.neo4j.kernel.impl.api.InternalTransactionCommitProcess;
+import org.neo4j.kernel.impl.api.PipelinedTransactionCommitProcess;
 import org.neo4j.kernel.impl.api.TransactionCommitProcess;
 import org.neo4j.kernel.impl.transaction.log.TransactionAppender;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.StorageEngine;
 
 public class CommunityCommitProcessFactory implements CommitProcessFactory {
+    private final boolean pipelinedCommit;
+    private final int pipelinedCommitAppliers;
+    private final JobScheduler jobScheduler;
+
+    public CommunityCommitProcessFactory() {
+        this(Config.defaults(), null);
+    }
+
+    /**
+     * @param jobScheduler scheduler for the store apply stage of the pipelined commit, only used if it's enabled.
+     */
+    public CommunityCommitProcessFactory(Config config, JobScheduler jobScheduler) {
+        this.pipelinedCommit = config.get(pipelined_commit);
+        this.pipelinedCommitAppliers = config.get(pipelined_commit_appliers);
+        this.jobScheduler = jobScheduler;
+    }
+
     @Override
     public TransactionCommitProcess create(
             TransactionAppender appender,
             StorageEngine storageEngine,
             NamedDatabaseId databaseId,
             DatabaseReadOnlyChecker readOnlyChecker) {
-        return new DatabaseTransactionCommitProcess(
-                new InternalTransactionCommitProcess(appender, storageEngine), readOnlyChecker);
+        if (pipelinedCommit) {
+            var pipelinedCommitProcess = new PipelinedTransactionCommitProcess(
+                    appender, storageEngine, jobScheduler, pipelinedCommitAppliers, databaseId.name());
+            if (pipelinedCommitProcess.handOverForcedTransactionsFrom(appender)) {
+                return new DatabaseTransactionCommitProcess(pipelinedCommitProcess, readOnlyChecker);
+            }
+        }
+        var commitProcess = new InternalTransactionCommitProcess(appender, storageEngine);
+        return new DatabaseTransactionCommitProcess(commitProcess, readOnlyChecker);
     }
 }
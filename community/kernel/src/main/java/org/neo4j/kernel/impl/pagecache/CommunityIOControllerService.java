@@ -19,13 +19,37 @@
  */
 package org.neo4j.kernel.impl.pagecache;
 
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.io_controller_eviction_iops_limit;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.io_controller_file_io_helper_iops_limit;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.io_controller_index_population_iops_limit;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.io_controller_priority_enabled;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.io_controller_target_read_latency;
+import static org.neo4j.configuration.GraphDatabaseSettings.check_point_iops_limit;
+
 import org.neo4j.configuration.Config;
+import org.neo4j.graphdb.config.Setting;
 import org.neo4j.io.pagecache.IOController;
 import org.neo4j.time.SystemNanoClock;
 
 public class CommunityIOControllerService implements IOControllerService {
     @Override
     public IOController createIOController(Config config, SystemNanoClock clock) {
-        return IOController.DISABLED;
+        if (!config.get(io_controller_priority_enabled)) {
+            return IOController.DISABLED;
+        }
+        var controller = new PriorityIOController(clock, config.get(io_controller_target_read_latency));
+        bindIopsLimit(config, controller, IOClass.CHECKPOINT, check_point_iops_limit);
+        bindIopsLimit(config, controller, IOClass.FILE_IO_HELPER, io_controller_file_io_helper_iops_limit);
+        bindIopsLimit(config, controller, IOClass.EVICTION, io_controller_eviction_iops_limit);
+        bindIopsLimit(config, controller, IOClass.INDEX_POPULATION, io_controller_index_population_iops_limit);
+        config.addListener(
+                io_controller_target_read_latency, (before, after) -> controller.setTargetReadLatency(after));
+        return controller;
+    }
+
+    private static void bindIopsLimit(
+            Config config, PriorityIOController controller, IOClass ioClass, Setting<Integer> setting) {
+        controller.setIopsLimit(ioClass, config.get(setting));
+        config.addListener(setting, (before, after) -> controller.setIopsLimit(ioClass, after));
     }
 }
@@ -19,10 +19,18 @@
  */
 package org.neo4j.kernel.impl.pagecache;
 
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_eviction_partitions;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_huge_pages;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_numa_aligned_partitions;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_stream_prefetching;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_vectored_flush;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_write_behind;
 import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_memory;
 import static org.neo4j.configuration.GraphDatabaseSettings.preallocate_store_files;
 import static org.neo4j.configuration.SettingValueParsers.BYTES;
 import static org.neo4j.io.mem.MemoryAllocator.createAllocator;
+import static org.neo4j.kernel.impl.pagecache.PageCacheInternalSettings.pagecache_numa_policy;
+import static org.neo4j.kernel.impl.pagecache.PageCacheInternalSettings.pagecache_replacement_policy;
 import static org.neo4j.memory.MemoryGroup.PAGE_CACHE;
 
 import java.util.function.Function;
@@ -32,6 +40,7 @@ import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.io.ByteUnit;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.io.mem.MemoryPlacement;
 import org.neo4j.io.os.OsBeanUtil;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.PageSwapperFactory;
@@ -110,21 +119,29 @@ public class ConfiguringPageCacheFactory {
         var memoryPool = memoryPools.pool(PAGE_CACHE, pageCacheMaxMemory, false, null);
         var memoryTracker = memoryPool.getPoolMemoryTracker();
         var swapperFactory = createAndConfigureSwapperFactory(fs, pageCacheTracer, memoryTracker, log);
-        MemoryAllocator memoryAllocator = buildMemoryAllocator(pageCacheMaxMemory, memoryTracker);
+        MemoryAllocator memoryAllocator = buildMemoryAllocator(config, pageCacheMaxMemory, memoryTracker);
         var bufferFactory = new ConfigurableIOBufferFactory(config, memoryTracker);
         MuninnPageCache.Configuration configuration = MuninnPageCache.config(memoryAllocator)
                 .memoryTracker(memoryTracker)
                 .bufferFactory(bufferFactory)
                 .reservedPageBytes(PageCache.RESERVED_BYTES)
                 .preallocateStoreFiles(config.get(preallocate_store_files))
+                .evictionPartitions(config.get(pagecache_eviction_partitions))
+                .replacementPolicy(config.get(pagecache_replacement_policy))
+                .streamPrefetching(config.get(pagecache_stream_prefetching))
+                .vectoredFlush(config.get(pagecache_vectored_flush))
+                .numaAlignedPartitions(config.get(pagecache_numa_aligned_partitions))
+                .writeBehind(config.get(pagecache_write_behind))
                 .clock(clock)
                 .pageCacheTracer(pageCacheTracer);
         configuration = pageCacheConfigurator.apply(configuration);
         return new MuninnPageCache(swapperFactory, scheduler, configuration);
     }
 
-    private static MemoryAllocator buildMemoryAllocator(long pageCacheMaxMemory, MemoryTracker memoryTracker) {
-        return createAllocator(pageCacheMaxMemory, memoryTracker);
+    private static MemoryAllocator buildMemoryAllocator(
+            Config config, long pageCacheMaxMemory, MemoryTracker memoryTracker) {
+        var placement = new MemoryPlacement(config.get(pagecache_huge_pages), config.get(pagecache_numa_policy));
+        return createAllocator(pageCacheMaxMemory, memoryTracker, placement);
     }
 
     private long getPageCacheMaxMemory(Config config) {
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import java.util.Map;
+import org.neo4j.scheduler.Group;
+
+/**
+ * The classes of IO that the {@link PriorityIOController} keeps separate budgets for. The class of the current thread
+ * is derived from the {@link Group job scheduler group} that the thread belongs to.
+ */
+public enum IOClass {
+    /**
+     * IO done by any thread that is not one of the background job threads below, like transactions and queries.
+     * Foreground IO is never limited.
+     */
+    FOREGROUND,
+    CHECKPOINT,
+    FILE_IO_HELPER,
+    EVICTION,
+    INDEX_POPULATION;
+
+    private static final Map<String, IOClass> GROUP_CLASSES = Map.of(
+            Group.CHECKPOINT.groupName(), CHECKPOINT,
+            Group.FILE_IO_HELPER.groupName(), FILE_IO_HELPER,
+            Group.PAGE_CACHE_EVICTION.groupName(), EVICTION,
+            Group.INDEX_POPULATION.groupName(), INDEX_POPULATION,
+            Group.INDEX_POPULATION_WORK.groupName(), INDEX_POPULATION);
+
+    // Job scheduler threads never move between thread groups, so the class of a thread can be cached.
+    private static final ThreadLocal<IOClass> CURRENT = ThreadLocal.withInitial(() -> of(Thread.currentThread()));
+
+    /**
+     * @return the IO class of the current thread.
+     */
+    public static IOClass current() {
+        return CURRENT.get();
+    }
+
+    static IOClass of(Thread thread) {
+        ThreadGroup group = thread.getThreadGroup();
+        return group == null ? FOREGROUND : GROUP_CLASSES.getOrDefault(group.getName(), FOREGROUND);
+    }
+}
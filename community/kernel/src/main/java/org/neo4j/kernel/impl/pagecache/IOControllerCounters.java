@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+/**
+ * The IOControllerCounters exposes the counters of the IO controller of a database, per {@link IOClass class of IO}.
+ * The counters are available as a database dependency, and are all zero when the database has no IO controller that
+ * keeps them.
+ */
+public interface IOControllerCounters {
+    IOControllerCounters NULL = new IOControllerCounters() {
+        @Override
+        public long completedIOs(IOClass ioClass) {
+            return 0;
+        }
+
+        @Override
+        public long overBudgetIOs(IOClass ioClass) {
+            return 0;
+        }
+
+        @Override
+        public long delays(IOClass ioClass) {
+            return 0;
+        }
+
+        @Override
+        public long delayMillis(IOClass ioClass) {
+            return 0;
+        }
+
+        @Override
+        public long iopsLimit(IOClass ioClass) {
+            return -1;
+        }
+    };
+
+    /**
+     * @return The number of IOs done by the given class of IO thus far.
+     */
+    long completedIOs(IOClass ioClass);
+
+    /**
+     * @return The number of IOs that the given class of IO did while it was over its budget thus far.
+     */
+    long overBudgetIOs(IOClass ioClass);
+
+    /**
+     * @return The number of times threads of the given class of IO were delayed to stay within its budget thus far.
+     */
+    long delays(IOClass ioClass);
+
+    /**
+     * @return The total time, in milliseconds, that threads of the given class of IO were delayed thus far.
+     */
+    long delayMillis(IOClass ioClass);
+
+    /**
+     * @return The current, possibly lowered, IOPS budget of the given class of IO, or -1 if it is not limited.
+     */
+    long iopsLimit(IOClass ioClass);
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import org.neo4j.io.pagecache.monitoring.PagedFileStatistics;
+
+/**
+ * The page cache statistics of a single mapped file, in the getter form required by {@link PageCacheFilesMXBean}.
+ */
+public final class PageCacheFileInfo {
+    private final PagedFileStatistics statistics;
+
+    PageCacheFileInfo(PagedFileStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    public String getDatabaseName() {
+        return statistics.databaseName();
+    }
+
+    public String getPath() {
+        return statistics.path().toString();
+    }
+
+    public long getPageSize() {
+        return statistics.pageSize();
+    }
+
+    public long getPins() {
+        return statistics.pins();
+    }
+
+    public long getHits() {
+        return statistics.hits();
+    }
+
+    public double getHitRatio() {
+        return statistics.hitRatio();
+    }
+
+    public long getFaults() {
+        return statistics.faults();
+    }
+
+    public long getEvictions() {
+        return statistics.evictions();
+    }
+
+    public long getFlushes() {
+        return statistics.flushes();
+    }
+
+    public long getBytesRead() {
+        return statistics.bytesRead();
+    }
+
+    public long getBytesWritten() {
+        return statistics.bytesWritten();
+    }
+
+    public long getResidentPages() {
+        return statistics.residentPages();
+    }
+
+    public long getDirtyPages() {
+        return statistics.dirtyPages();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import static java.util.Comparator.comparing;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.monitoring.PagedFileStatistics;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.InternalLog;
+import org.neo4j.logging.InternalLogProvider;
+
+/**
+ * Collects the {@link PagedFileStatistics} of every file mapped by a page cache, and publishes them on the platform
+ * MBean server for as long as this lifecycle is started.
+ * <p>
+ * Pins, hits and faults are always counted by the files themselves. The other counters of the files are only as
+ * complete as the page cache tracer in use allows: they are all zero unless the tracer keeps per file counters. The
+ * residency of the files is computed on demand, by inspecting the mapped pages of every file, so it costs nothing
+ * until somebody asks.
+ */
+public class PageCacheFiles extends LifecycleAdapter implements PageCacheFilesMXBean {
+    private static final AtomicInteger INSTANCE_COUNTER = new AtomicInteger();
+
+    private final PageCache pageCache;
+    private final InternalLog log;
+    private ObjectName objectName;
+
+    public PageCacheFiles(PageCache pageCache, InternalLogProvider logProvider) {
+        this.pageCache = pageCache;
+        this.log = logProvider.getLog(getClass());
+    }
+
+    /**
+     * @return the statistics of all currently mapped files, ordered by database name and path.
+     */
+    public List<PagedFileStatistics> statistics() {
+        List<PagedFile> pagedFiles;
+        try {
+            pagedFiles = pageCache.listExistingMappings();
+        } catch (IOException e) {
+            // The page cache has been closed, so there is nothing mapped anymore.
+            return List.of();
+        }
+        return pagedFiles.stream()
+                .map(PagedFileStatistics::of)
+                .sorted(comparing(PagedFileStatistics::databaseName).thenComparing(PagedFileStatistics::path))
+                .toList();
+    }
+
+    @Override
+    public PageCacheFileInfo[] getFiles() {
+        return statistics().stream().map(PageCacheFileInfo::new).toArray(PageCacheFileInfo[]::new);
+    }
+
+    @Override
+    public long getResidentPages() {
+        return statistics().stream().mapToLong(PagedFileStatistics::residentPages).sum();
+    }
+
+    @Override
+    public long getDirtyPages() {
+        return statistics().stream().mapToLong(PagedFileStatistics::dirtyPages).sum();
+    }
+
+    @Override
+    public void start() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            // Several database management services can live in the same JVM, so every instance gets a unique name.
+            ObjectName name = new ObjectName(OBJECT_NAME_DOMAIN + ":type=" + OBJECT_NAME_TYPE + ",instance="
+                    + INSTANCE_COUNTER.getAndIncrement());
+            server.registerMBean(this, name);
+            objectName = name;
+        } catch (JMException | SecurityException e) {
+            log.warn("Unable to register page cache files management bean.", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        ObjectName name = objectName;
+        if (name != null) {
+            objectName = null;
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            } catch (JMException | SecurityException e) {
+                log.warn("Unable to unregister page cache files management bean.", e);
+            }
+        }
+    }
+
+    ObjectName objectName() {
+        return objectName;
+    }
+}
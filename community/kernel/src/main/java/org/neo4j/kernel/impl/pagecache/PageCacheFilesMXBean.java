@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+/**
+ * Management interface exposing the page cache statistics of every file that is currently mapped by the page cache.
+ */
+public interface PageCacheFilesMXBean {
+    String OBJECT_NAME_DOMAIN = "org.neo4j";
+    String OBJECT_NAME_TYPE = "PageCacheFiles";
+
+    /**
+     * @return the statistics of all currently mapped files.
+     */
+    PageCacheFileInfo[] getFiles();
+
+    /**
+     * @return the number of pages, over all mapped files, that are currently resident in the page cache.
+     */
+    long getResidentPages();
+
+    /**
+     * @return the number of pages, over all mapped files, that are currently dirty in the page cache.
+     */
+    long getDirtyPages();
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import static org.neo4j.configuration.SettingImpl.newBuilder;
+import static org.neo4j.configuration.SettingValueParsers.ofEnum;
+
+import org.neo4j.annotations.service.ServiceProvider;
+import org.neo4j.configuration.Description;
+import org.neo4j.configuration.Internal;
+import org.neo4j.configuration.SettingsDeclaration;
+import org.neo4j.graphdb.config.Setting;
+import org.neo4j.io.mem.MemoryPlacement.NumaPolicy;
+import org.neo4j.io.pagecache.impl.muninn.PageReplacementPolicy;
+
+/**
+ * Internal page cache settings whose values are types of the page cache itself, which the configuration module
+ * can not depend on.
+ */
+@ServiceProvider
+public class PageCacheInternalSettings implements SettingsDeclaration {
+    @Internal
+    @Description("The policy the page cache uses to decide which pages to evict. `CLOCK` treats all page accesses "
+            + "alike. `SCAN_RESISTANT` keeps pages that are only touched by sequential scans in a probationary state, "
+            + "so that they are evicted before pages that are accessed by other means, which prevents large scans "
+            + "from pushing the hot working set out of the page cache.")
+    public static final Setting<PageReplacementPolicy> pagecache_replacement_policy = newBuilder(
+                    "internal.dbms.memory.pagecache.replacement_policy",
+                    ofEnum(PageReplacementPolicy.class),
+                    PageReplacementPolicy.CLOCK)
+            .build();
+
+    @Internal
+    @Description("How the page cache memory is placed on the NUMA nodes of the machine. `NONE` leaves the placement "
+            + "to the operating system. `INTERLEAVE` spreads the page cache memory evenly over all nodes. `BIND` "
+            + "splits the pages of the page cache into one contiguous range per node, and places every range on "
+            + "its own node. Only has an effect on Linux machines with more than one NUMA node.")
+    public static final Setting<NumaPolicy> pagecache_numa_policy = newBuilder(
+                    "internal.dbms.memory.pagecache.numa_policy",
+                    ofEnum(NumaPolicy.class),
+                    NumaPolicy.NONE)
+            .build();
+}
@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_warmup_blocking;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_enabled;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_prefetch;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_prefetch_allowlist;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_profiling_interval;
+import static org.neo4j.internal.helpers.Format.duration;
+import static org.neo4j.io.pagecache.PageCursor.UNBOUND_PAGE_ID;
+import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_TRANSIENT;
+import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.neo4j.configuration.Config;
+import org.neo4j.internal.helpers.Exceptions;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.pagecache.IOController;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.InternalLog;
+import org.neo4j.logging.InternalLogProvider;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.time.Stopwatch;
+
+/**
+ * Keeps the page cache of a database warm across restarts.
+ * <p>
+ * While the database is running, the warmer periodically records which pages of every mapped file are resident in the
+ * page cache. The profile of a file is a gzip compressed bitmap with one bit per file page, and it is kept in the
+ * {@value #PROFILES_DIRECTORY} directory of the database. When the database starts, the pages recorded in the
+ * profiles are read back into the page cache, with one file per thread and in file order within each file. This
+ * happens in the background while the database accepts traffic, unless
+ * {@link org.neo4j.configuration.GraphDatabaseInternalSettings#pagecache_warmup_blocking} asks for the start of the
+ * database to wait for it.
+ * <p>
+ * If {@link org.neo4j.configuration.GraphDatabaseSettings#pagecache_warmup_prefetch} is enabled, the profiles are
+ * ignored, and all pages of the files that match
+ * {@link org.neo4j.configuration.GraphDatabaseSettings#pagecache_warmup_prefetch_allowlist} are loaded instead.
+ * <p>
+ * The warmup gives the {@link IOController} of the database a chance to limit it at regular intervals.
+ */
+public class PageCacheWarmer extends LifecycleAdapter {
+    public static final String PROFILES_DIRECTORY = "profiles";
+    public static final String SUFFIX_CACHEPROF = ".cacheprof";
+    private static final String SUFFIX_TMP = ".tmp";
+    private static final String TAG = "pageCacheWarmer";
+    // The number of pages to load between each time the IOController gets a chance to limit the warmup.
+    private static final int IO_LIMIT_CHECK_INTERVAL = 128;
+
+    private final FileSystemAbstraction fs;
+    private final PageCache pageCache;
+    private final JobScheduler scheduler;
+    private final IOController ioController;
+    private final Path databaseDirectory;
+    private final Path profilesDirectory;
+    private final Config config;
+    private final CursorContextFactory contextFactory;
+    private final String databaseName;
+    private final InternalLog log;
+    private final Lock warmupLock = new ReentrantLock();
+    private final Lock profileLock = new ReentrantLock();
+
+    private volatile boolean stopped;
+    private volatile boolean warmupCompleted;
+    private JobHandle<?> warmupHandle;
+    private JobHandle<?> profileHandle;
+
+    public PageCacheWarmer(
+            FileSystemAbstraction fs,
+            PageCache pageCache,
+            JobScheduler scheduler,
+            IOController ioController,
+            DatabaseLayout databaseLayout,
+            Config config,
+            CursorContextFactory contextFactory,
+            InternalLogProvider logProvider) {
+        this.fs = fs;
+        this.pageCache = pageCache;
+        this.scheduler = scheduler;
+        this.ioController = ioController;
+        this.databaseDirectory = databaseLayout.databaseDirectory();
+        this.profilesDirectory = databaseDirectory.resolve(PROFILES_DIRECTORY);
+        this.config = config;
+        this.contextFactory = contextFactory;
+        this.databaseName = databaseLayout.getDatabaseName();
+        this.log = logProvider.getLog(getClass());
+    }
+
+    @Override
+    public void start() {
+        if (!config.get(pagecache_warmup_enabled)) {
+            return;
+        }
+        stopped = false;
+        warmupCompleted = false;
+        if (config.get(pagecache_warmup_blocking)) {
+            tryWarmUp();
+        } else {
+            warmupHandle = scheduler.schedule(
+                    Group.PAGE_CACHE_WARMER, systemJob(databaseName, "Page cache warmup"), this::tryWarmUp);
+        }
+        long interval = config.get(pagecache_warmup_profiling_interval).toMillis();
+        profileHandle = scheduler.scheduleRecurring(
+                Group.PAGE_CACHE_WARMER,
+                systemJob(databaseName, "Page cache profiling"),
+                this::tryProfile,
+                interval,
+                interval,
+                MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+        if (profileHandle != null) {
+            profileHandle.cancel();
+            profileHandle = null;
+        }
+        if (warmupHandle != null) {
+            warmupHandle.cancel();
+            warmupHandle = null;
+        }
+        // Wait for any ongoing warmup or profiling to notice that we are stopping.
+        warmupLock.lock();
+        warmupLock.unlock();
+        profileLock.lock();
+        profileLock.unlock();
+    }
+
+    private void tryWarmUp() {
+        try {
+            warmUp();
+        } catch (Exception e) {
+            log.warn("Page cache warmup failed.", e);
+        }
+    }
+
+    /**
+     * Load the pages recorded in the profiles of the currently mapped files into the page cache.
+     *
+     * @return the number of pages that were loaded, or -1 if the warmup was interrupted by the warmer being stopped.
+     */
+    long warmUp() throws IOException, InterruptedException, ExecutionException {
+        warmupLock.lock();
+        try {
+            if (stopped) {
+                return -1;
+            }
+            Stopwatch startTime = Stopwatch.start();
+            boolean prefetch = config.get(pagecache_warmup_prefetch);
+            Pattern allowlist = Pattern.compile(config.get(pagecache_warmup_prefetch_allowlist));
+            List<PagedFile> files = new ArrayList<>();
+            for (PagedFile file : pageCache.listExistingMappings()) {
+                if (prefetch
+                        ? allowlist.matcher(file.path().getFileName().toString()).matches()
+                        : hasProfile(file)) {
+                    files.add(file);
+                }
+            }
+            if (files.isEmpty()) {
+                warmupCompleted = true;
+                return 0;
+            }
+            log.info(
+                    "Page cache warmup started. Loading pages of %d files %s.",
+                    files.size(), prefetch ? "in full" : "according to their profiles");
+
+            AtomicInteger filesDone = new AtomicInteger();
+            List<JobHandle<Long>> handles = new ArrayList<>(files.size());
+            for (PagedFile file : files) {
+                handles.add(scheduler.schedule(
+                        Group.FILE_IO_HELPER,
+                        systemJob(databaseName, "Page cache warmup of '" + file.path().getFileName() + "'"),
+                        () -> warmUpFile(file, prefetch, filesDone, files.size())));
+            }
+            long pagesLoaded = 0;
+            ExecutionException failure = null;
+            for (JobHandle<Long> handle : handles) {
+                try {
+                    pagesLoaded += handle.get();
+                } catch (ExecutionException e) {
+                    // Keep waiting for the other files, so none of them are still being loaded once we return.
+                    failure = Exceptions.chain(failure, e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            if (stopped) {
+                log.info("Page cache warmup stopped after loading %d pages.", pagesLoaded);
+                return -1;
+            }
+            warmupCompleted = true;
+            log.info(
+                    "Page cache warmup completed. %d pages loaded in %s.",
+                    pagesLoaded, duration(startTime.elapsed(MILLISECONDS)));
+            return pagesLoaded;
+        } finally {
+            warmupLock.unlock();
+        }
+    }
+
+    private long warmUpFile(PagedFile file, boolean prefetch, AtomicInteger filesDone, int totalFiles)
+            throws IOException {
+        long pagesLoaded;
+        try (var cursorContext = contextFactory.create(TAG);
+                PageCursor cursor = file.io(0, PF_SHARED_READ_LOCK, cursorContext)) {
+            pagesLoaded = prefetch ? loadAllPages(file, cursor) : loadProfiledPages(file, cursor);
+        }
+        log.info(
+                "Page cache warmup loaded %d pages of '%s' (%d of %d files done).",
+                pagesLoaded, file.path().getFileName(), filesDone.incrementAndGet(), totalFiles);
+        return pagesLoaded;
+    }
+
+    private long loadAllPages(PagedFile file, PageCursor cursor) throws IOException {
+        long pagesLoaded = 0;
+        long lastPageId = file.getLastPageId();
+        for (long pageId = 0; pageId <= lastPageId && !stopped; pageId++) {
+            if (!cursor.next(pageId)) {
+                break;
+            }
+            pagesLoaded++;
+            maybeLimitIO(pagesLoaded);
+        }
+        return pagesLoaded;
+    }
+
+    private long loadProfiledPages(PagedFile file, PageCursor cursor) throws IOException {
+        long pagesLoaded = 0;
+        long lastPageId = file.getLastPageId();
+        try (InputStream profile = new BufferedInputStream(
+                new GZIPInputStream(fs.openAsInputStream(profileFile(file))))) {
+            long basePageId = 0;
+            int bits;
+            while ((bits = profile.read()) != -1 && basePageId <= lastPageId && !stopped) {
+                for (int bit = 0; bit < Byte.SIZE && bits != 0; bit++, bits >>>= 1) {
+                    long pageId = basePageId + bit;
+                    if ((bits & 1) == 0) {
+                        continue;
+                    }
+                    if (pageId > lastPageId || !cursor.next(pageId)) {
+                        return pagesLoaded;
+                    }
+                    pagesLoaded++;
+                    maybeLimitIO(pagesLoaded);
+                }
+                basePageId += Byte.SIZE;
+            }
+        }
+        return pagesLoaded;
+    }
+
+    private void maybeLimitIO(long pagesLoaded) {
+        if (pagesLoaded % IO_LIMIT_CHECK_INTERVAL == 0) {
+            ioController.maybeLimitIO(IO_LIMIT_CHECK_INTERVAL, FileFlushEvent.NULL);
+        }
+    }
+
+    private void tryProfile() {
+        try {
+            profile();
+        } catch (Exception e) {
+            log.warn("Page cache profiling failed.", e);
+        }
+    }
+
+    /**
+     * Record which pages of the currently mapped files are resident in the page cache.
+     *
+     * @return the number of files that were profiled.
+     */
+    int profile() throws IOException {
+        profileLock.lock();
+        try {
+            if (stopped || !warmupCompleted) {
+                // Don't overwrite the profiles with those of a half-warm page cache, or while the files are unmapped.
+                return 0;
+            }
+            int profiledFiles = 0;
+            for (PagedFile file : pageCache.listExistingMappings()) {
+                Path profileFile = profileFile(file);
+                if (profileFile != null) {
+                    profile(file, profileFile);
+                    profiledFiles++;
+                }
+            }
+            return profiledFiles;
+        } finally {
+            profileLock.unlock();
+        }
+    }
+
+    private void profile(PagedFile file, Path profileFile) throws IOException {
+        Path tmpFile = profileFile.resolveSibling(profileFile.getFileName() + SUFFIX_TMP);
+        fs.mkdirs(profileFile.getParent());
+        // A no-fault cursor tells us which pages are resident, and being transient it leaves their usage alone.
+        try (CursorContext cursorContext = contextFactory.create(TAG);
+                PageCursor cursor = file.io(0, PF_SHARED_READ_LOCK | PF_NO_FAULT | PF_TRANSIENT, cursorContext);
+                OutputStream profile =
+                        new GZIPOutputStream(new BufferedOutputStream(fs.openAsOutputStream(tmpFile, false)))) {
+            int bits = 0;
+            long pageId = 0;
+            while (cursor.next()) {
+                if (cursor.getCurrentPageId() != UNBOUND_PAGE_ID) {
+                    bits |= 1 << (pageId % Byte.SIZE);
+                }
+                pageId++;
+                if (pageId % Byte.SIZE == 0) {
+                    profile.write(bits);
+                    bits = 0;
+                }
+            }
+            if (pageId % Byte.SIZE != 0) {
+                profile.write(bits);
+            }
+        }
+        fs.renameFile(tmpFile, profileFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private boolean hasProfile(PagedFile file) {
+        Path profileFile = profileFile(file);
+        return profileFile != null && fs.fileExists(profileFile);
+    }
+
+    /**
+     * @return the profile of the given file, or {@code null} if the file does not belong to the database directory.
+     */
+    private Path profileFile(PagedFile file) {
+        Path path = file.path().toAbsolutePath().normalize();
+        Path directory = databaseDirectory.toAbsolutePath().normalize();
+        if (!path.startsWith(directory) || path.startsWith(profilesDirectory.toAbsolutePath().normalize())) {
+            return null;
+        }
+        return profilesDirectory.resolve(directory.relativize(path) + SUFFIX_CACHEPROF);
+    }
+}
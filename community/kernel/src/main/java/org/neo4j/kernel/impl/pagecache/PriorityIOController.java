@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.neo4j.io.pagecache.IOController;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.time.SystemNanoClock;
+
+/**
+ * An {@link IOController} that gives every {@link IOClass} of background IO its own IOPS budget, so that for example
+ * checkpointing and index population do not compete blindly with each other, and with the foreground, for disk
+ * bandwidth.
+ * <p>
+ * Every budget is a {@link TokenBucket}. Flushes pay for their IO in {@link #maybeLimitIO(int, FileFlushEvent)}, like
+ * with any other IO controller. IO that is {@link #reportIO(int) reported} from within the page cache is only taken out
+ * of the budget there, since the reporting thread may be holding page locks, and is instead paid for before the next
+ * page fault of the same thread, in {@link #maybeLimitPageFault()}.
+ * <p>
+ * Foreground IO is never limited, and neither is eviction, because page faults wait for it. Eviction still has a
+ * budget, and IO in excess of it is {@link #overBudgetIOs(IOClass) counted}.
+ * <p>
+ * The budgets adapt to the latency of page cache reads: whenever the average read latency over the last adaptation
+ * interval goes above the target, all budgets are lowered, and once it drops below half of the target they are
+ * gradually raised back to their configured limits.
+ */
+public class PriorityIOController implements IOController, IOControllerCounters {
+    static final long ADAPTATION_INTERVAL_NANOS = MILLISECONDS.toNanos(100);
+    static final double MIN_PRESSURE_FACTOR = 0.1;
+    private static final double PRESSURE_DECREASE = 0.7;
+    private static final double PRESSURE_INCREASE = 0.1;
+    private static final long BURST_NANOS = MILLISECONDS.toNanos(50);
+    private static final long MAX_DELAY_NANOS = SECONDS.toNanos(1);
+
+    private final SystemNanoClock clock;
+    private final Budget[] budgets;
+    private final LongAdder readLatencyNanos = new LongAdder();
+    private final LongAdder reads = new LongAdder();
+    private final AtomicLong nextAdaptation;
+    private volatile long targetReadLatencyNanos;
+    private volatile double pressureFactor = 1.0;
+
+    public PriorityIOController(SystemNanoClock clock, Duration targetReadLatency) {
+        this.clock = clock;
+        long now = clock.nanos();
+        IOClass[] classes = IOClass.values();
+        budgets = new Budget[classes.length];
+        for (IOClass ioClass : classes) {
+            budgets[ioClass.ordinal()] = new Budget(ioClass, now);
+        }
+        nextAdaptation = new AtomicLong(now + ADAPTATION_INTERVAL_NANOS);
+        setTargetReadLatency(targetReadLatency);
+    }
+
+    /**
+     * Configure the IOPS budget of the given class of IO.
+     *
+     * @param ioClass the class of IO to configure. Foreground IO is never limited, and cannot be configured.
+     * @param iopsLimit the number of IOs per second, or -1 to not limit the class of IO.
+     */
+    public void setIopsLimit(IOClass ioClass, int iopsLimit) {
+        if (ioClass == IOClass.FOREGROUND) {
+            throw new IllegalArgumentException("Foreground IO is never limited.");
+        }
+        Budget budget = budgets[ioClass.ordinal()];
+        budget.iopsLimit = iopsLimit;
+        budget.applyPressure(pressureFactor);
+    }
+
+    public void setTargetReadLatency(Duration targetReadLatency) {
+        targetReadLatencyNanos = targetReadLatency.toNanos();
+    }
+
+    @Override
+    public void maybeLimitIO(int recentlyCompletedIOs, FileFlushEvent flushEvent) {
+        long now = clock.nanos();
+        maybeAdapt(now);
+        Budget budget = budgets[IOClass.current().ordinal()];
+        long delayNanos = budget.take(recentlyCompletedIOs, now);
+        if (delayNanos > 0 && budget.delayable) {
+            delay(budget, delayNanos);
+            flushEvent.throttle(recentlyCompletedIOs, NANOSECONDS.toMillis(delayNanos));
+        }
+    }
+
+    @Override
+    public void reportIO(int completedIOs) {
+        budgets[IOClass.current().ordinal()].take(completedIOs, clock.nanos());
+    }
+
+    @Override
+    public void reportReadLatency(long latencyNanos) {
+        readLatencyNanos.add(latencyNanos);
+        reads.increment();
+    }
+
+    @Override
+    public void maybeLimitPageFault() {
+        Budget budget = budgets[IOClass.current().ordinal()];
+        if (budget.delayable) {
+            long now = clock.nanos();
+            maybeAdapt(now);
+            long delayNanos = budget.bucket.delay(now);
+            if (delayNanos > 0) {
+                delay(budget, delayNanos);
+            }
+        }
+    }
+
+    /**
+     * @return the current, possibly lowered, checkpoint IOPS budget, or -1 if checkpointing is not limited.
+     */
+    @Override
+    public long configuredLimit() {
+        return budgets[IOClass.CHECKPOINT.ordinal()].bucket.rate();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * @return the factor, between {@link #MIN_PRESSURE_FACTOR} and 1, that the configured budgets are currently
+     * multiplied by because of the observed read latency.
+     */
+    public double pressureFactor() {
+        return pressureFactor;
+    }
+
+    @Override
+    public long completedIOs(IOClass ioClass) {
+        return budgets[ioClass.ordinal()].completedIOs.sum();
+    }
+
+    @Override
+    public long overBudgetIOs(IOClass ioClass) {
+        return budgets[ioClass.ordinal()].overBudgetIOs.sum();
+    }
+
+    @Override
+    public long delays(IOClass ioClass) {
+        return budgets[ioClass.ordinal()].delays.sum();
+    }
+
+    @Override
+    public long delayMillis(IOClass ioClass) {
+        return NANOSECONDS.toMillis(budgets[ioClass.ordinal()].delayNanos.sum());
+    }
+
+    @Override
+    public long iopsLimit(IOClass ioClass) {
+        return budgets[ioClass.ordinal()].bucket.rate();
+    }
+
+    void maybeAdapt(long now) {
+        long next = nextAdaptation.get();
+        if (now < next || !nextAdaptation.compareAndSet(next, now + ADAPTATION_INTERVAL_NANOS)) {
+            return;
+        }
+        long readCount = reads.sumThenReset();
+        long latencySum = readLatencyNanos.sumThenReset();
+        long averageLatency = readCount == 0 ? 0 : latencySum / readCount;
+        double factor = pressureFactor;
+        double newFactor = factor;
+        if (averageLatency > targetReadLatencyNanos) {
+            newFactor = Math.max(MIN_PRESSURE_FACTOR, factor * PRESSURE_DECREASE);
+        } else if (averageLatency < targetReadLatencyNanos / 2) {
+            newFactor = Math.min(1.0, factor + PRESSURE_INCREASE);
+        }
+        if (newFactor != factor) {
+            pressureFactor = newFactor;
+            for (Budget budget : budgets) {
+                budget.applyPressure(newFactor);
+            }
+        }
+    }
+
+    private static void delay(Budget budget, long delayNanos) {
+        long start = System.nanoTime();
+        LockSupport.parkNanos(budget, Math.min(delayNanos, MAX_DELAY_NANOS));
+        budget.delays.increment();
+        budget.delayNanos.add(System.nanoTime() - start);
+    }
+
+    private static final class Budget {
+        private final boolean delayable;
+        private final TokenBucket bucket;
+        private final LongAdder completedIOs = new LongAdder();
+        private final LongAdder overBudgetIOs = new LongAdder();
+        private final LongAdder delays = new LongAdder();
+        private final LongAdder delayNanos = new LongAdder();
+        private volatile int iopsLimit = -1;
+
+        Budget(IOClass ioClass, long now) {
+            this.delayable = ioClass != IOClass.FOREGROUND && ioClass != IOClass.EVICTION;
+            this.bucket = new TokenBucket(BURST_NANOS, MAX_DELAY_NANOS, now);
+        }
+
+        long take(int ios, long now) {
+            completedIOs.add(ios);
+            long delay = bucket.take(ios, now);
+            if (delay > 0) {
+                overBudgetIOs.add(ios);
+            }
+            return delay;
+        }
+
+        void applyPressure(double factor) {
+            int limit = iopsLimit;
+            bucket.setRate(limit > 0 ? Math.max(1, (long) (limit * factor)) : 0);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket, implemented as a generic cell rate algorithm: instead of counting tokens, the bucket keeps track of
+ * the theoretical time at which all IO taken so far would have completed at the configured rate. Callers that get
+ * ahead of that time, by more than the burst allowance, are asked to wait for the difference.
+ * <p>
+ * The bucket is lock free, and all methods take the current time as an argument, which keeps it deterministic under
+ * test.
+ */
+final class TokenBucket {
+    private final long burstNanos;
+    private final long maxDebtNanos;
+    private final AtomicLong theoreticalArrival;
+    // Zero means that the bucket is unlimited.
+    private volatile long nanosPerIO;
+
+    /**
+     * @param burstNanos how far ahead of the configured rate callers are allowed to get, before they must wait.
+     * @param maxDebtNanos how far ahead of the configured rate the bucket will ever track, which bounds the delays.
+     * @param nowNanos the current time.
+     */
+    TokenBucket(long burstNanos, long maxDebtNanos, long nowNanos) {
+        this.burstNanos = burstNanos;
+        this.maxDebtNanos = maxDebtNanos;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @param iops the new rate of the bucket, in IOs per second, or zero or less for an unlimited bucket.
+     */
+    void setRate(long iops) {
+        nanosPerIO = iops > 0 ? Math.max(1, SECONDS.toNanos(1) / iops) : 0;
+    }
+
+    /**
+     * @return the current rate of the bucket, in IOs per second, or -1 if the bucket is unlimited.
+     */
+    long rate() {
+        long perIO = nanosPerIO;
+        return perIO == 0 ? -1 : SECONDS.toNanos(1) / perIO;
+    }
+
+    /**
+     * Take the given number of IOs out of the bucket.
+     *
+     * @return the number of nanoseconds the caller should wait to stay within the rate, or zero if it need not wait.
+     */
+    long take(int ios, long nowNanos) {
+        long perIO = nanosPerIO;
+        if (perIO == 0) {
+            return 0;
+        }
+        long current;
+        long next;
+        do {
+            current = theoreticalArrival.get();
+            next = Math.min(Math.max(current, nowNanos) + ios * perIO, nowNanos + maxDebtNanos);
+        } while (!theoreticalArrival.compareAndSet(current, next));
+        return Math.max(0, next - nowNanos - burstNanos);
+    }
+
+    /**
+     * @return the number of nanoseconds a caller should wait for the IO already taken, without taking any new IO.
+     */
+    long delay(long nowNanos) {
+        if (nanosPerIO == 0) {
+            return 0;
+        }
+        return Math.max(0, theoreticalArrival.get() - nowNanos - burstNanos);
+    }
+}
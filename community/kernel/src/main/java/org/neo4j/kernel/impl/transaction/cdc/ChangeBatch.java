@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.cdc;
+
+import java.util.List;
+
+/**
+ * Changes of one or more whole transactions, as returned by {@link TransactionLogChangeStream#poll()}.
+ *
+ * @param events the changes, in commit order.
+ * @param position position to resume the stream from after the changes of this batch have been processed.
+ */
+public record ChangeBatch(List<ChangeEvent> events, ChangePosition position) {
+    public boolean isEmpty() {
+        return events.isEmpty();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.cdc;
+
+import org.neo4j.values.storable.Value;
+
+/**
+ * A logical change made by a committed transaction, as decoded from the transaction log.
+ *
+ * @param transactionId id of the transaction that made the change.
+ * @param type what kind of change this is.
+ * @param entityId id of the node or relationship that was changed.
+ * @param token relationship type for relationship events, label for label events, property key for property events,
+ * otherwise {@code -1}.
+ * @param startNodeId start node of a created or deleted relationship, otherwise {@code -1}.
+ * @param endNodeId end node of a created or deleted relationship, otherwise {@code -1}.
+ * @param before property value before the change, {@code null} if the property was added or for non-property events.
+ * @param after property value after the change, {@code null} if the property was removed or for non-property events.
+ */
+public record ChangeEvent(
+        long transactionId,
+        Type type,
+        long entityId,
+        int token,
+        long startNodeId,
+        long endNodeId,
+        Value before,
+        Value after) {
+    public enum Type {
+        NODE_CREATED,
+        NODE_DELETED,
+        NODE_LABEL_ADDED,
+        NODE_LABEL_REMOVED,
+        NODE_PROPERTY_CHANGED,
+        RELATIONSHIP_CREATED,
+        RELATIONSHIP_DELETED,
+        RELATIONSHIP_PROPERTY_CHANGED
+    }
+
+    static ChangeEvent node(long transactionId, Type type, long nodeId) {
+        return new ChangeEvent(transactionId, type, nodeId, -1, -1, -1, null, null);
+    }
+
+    static ChangeEvent label(long transactionId, Type type, long nodeId, int labelId) {
+        return new ChangeEvent(transactionId, type, nodeId, labelId, -1, -1, null, null);
+    }
+
+    static ChangeEvent relationship(
+            long transactionId, Type type, long relationshipId, int relationshipType, long startNode, long endNode) {
+        return new ChangeEvent(transactionId, type, relationshipId, relationshipType, startNode, endNode, null, null);
+    }
+
+    static ChangeEvent property(
+            long transactionId, Type type, long entityId, int propertyKeyId, Value before, Value after) {
+        return new ChangeEvent(transactionId, type, entityId, propertyKeyId, -1, -1, before, after);
+    }
+}
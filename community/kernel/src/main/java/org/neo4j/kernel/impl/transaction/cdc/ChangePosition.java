@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.cdc;
+
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+
+/**
+ * Resumable position of a {@link TransactionLogChangeStream}. Consumers that persist this together with the changes
+ * they have processed can resume the stream after a restart without missing or repeating any transaction.
+ *
+ * @param transactionId id of the last transaction that has been streamed.
+ * @param logPosition position in the transaction log right after that transaction, or
+ * {@link LogPosition#UNSPECIFIED} if not known, in which case the stream looks the next transaction up by id.
+ */
+public record ChangePosition(long transactionId, LogPosition logPosition) {
+    /**
+     * @return a position that streams changes from the transaction following the given one.
+     */
+    public static ChangePosition afterTransaction(long transactionId) {
+        return new ChangePosition(transactionId, LogPosition.UNSPECIFIED);
+    }
+}
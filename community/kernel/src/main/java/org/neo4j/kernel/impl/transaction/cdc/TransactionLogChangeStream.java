@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.cdc;
+
+import static org.neo4j.kernel.impl.transaction.cdc.ChangeEvent.Type.NODE_CREATED;
+import static org.neo4j.kernel.impl.transaction.cdc.ChangeEvent.Type.NODE_DELETED;
+import static org.neo4j.kernel.impl.transaction.cdc.ChangeEvent.Type.NODE_LABEL_ADDED;
+import static org.neo4j.kernel.impl.transaction.cdc.ChangeEvent.Type.NODE_LABEL_REMOVED;
+import static org.neo4j.kernel.impl.transaction.cdc.ChangeEvent.Type.NODE_PROPERTY_CHANGED;
+import static org.neo4j.kernel.impl.transaction.cdc.ChangeEvent.Type.RELATIONSHIP_CREATED;
+import static org.neo4j.kernel.impl.transaction.cdc.ChangeEvent.Type.RELATIONSHIP_DELETED;
+import static org.neo4j.kernel.impl.transaction.cdc.ChangeEvent.Type.RELATIONSHIP_PROPERTY_CHANGED;
+import static org.neo4j.util.Preconditions.requirePositive;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.impl.transaction.log.LogicalTransactionStore;
+import org.neo4j.kernel.impl.transaction.log.TransactionCursor;
+import org.neo4j.storageengine.api.StorageChangeVisitor;
+import org.neo4j.storageengine.api.StorageEngine;
+import org.neo4j.storageengine.api.TransactionIdStore;
+import org.neo4j.values.storable.Value;
+
+/**
+ * Change data capture over the transaction log. Tails committed transactions from a {@link LogicalTransactionStore}
+ * and decodes their commands, using {@link StorageEngine#decodeChanges}, into logical {@link ChangeEvent changes}.
+ * <p>
+ * Unlike transaction event listeners, which run as part of every commit, the stream is read by the consumer in its own
+ * thread and at its own pace: changes are only read from the log when the consumer {@link #poll() asks for them}, so a
+ * slow consumer falls behind in the log rather than slowing down commits. The stream only returns transactions that
+ * have been closed, i.e. whose changes are visible to readers, and always returns whole transactions so that the
+ * {@link ChangeBatch#position() position} of a batch can be used to resume the stream later, for as long as the log
+ * files containing the following transactions have not been pruned.
+ * <p>
+ * Instances are not thread safe.
+ */
+public class TransactionLogChangeStream {
+    private final LogicalTransactionStore transactionStore;
+    private final TransactionIdStore transactionIdStore;
+    private final StorageEngine storageEngine;
+    private final int maxBatchSize;
+    private ChangePosition position;
+
+    /**
+     * @param from position to start streaming from.
+     * @param maxBatchSize number of events after which no more transactions are added to a batch. A batch always
+     * contains at least one whole transaction, if there is one, so batches can be larger than this.
+     */
+    public TransactionLogChangeStream(
+            LogicalTransactionStore transactionStore,
+            TransactionIdStore transactionIdStore,
+            StorageEngine storageEngine,
+            ChangePosition from,
+            int maxBatchSize) {
+        this.transactionStore = transactionStore;
+        this.transactionIdStore = transactionIdStore;
+        this.storageEngine = storageEngine;
+        this.position = from;
+        this.maxBatchSize = requirePositive(maxBatchSize);
+    }
+
+    /**
+     * Reads the changes of the transactions that were closed since the previous call, up to the max batch size.
+     *
+     * @return the next batch of changes, which is empty if no transaction has been closed since the last call.
+     * @throws IOException if there was a problem reading the transaction log.
+     */
+    public ChangeBatch poll() throws IOException {
+        long lastClosedTransactionId = transactionIdStore.getLastClosedTransactionId();
+        if (lastClosedTransactionId <= position.transactionId()) {
+            return new ChangeBatch(List.of(), position);
+        }
+
+        List<ChangeEvent> events = new ArrayList<>();
+        ChangePosition next = position;
+        try (TransactionCursor cursor = openCursor()) {
+            while (events.size() < maxBatchSize && next.transactionId() < lastClosedTransactionId && cursor.next()) {
+                CommittedTransactionRepresentation transaction = cursor.get();
+                long transactionId = transaction.commitEntry().getTxId();
+                if (transactionId <= next.transactionId()) {
+                    continue;
+                }
+                if (transactionId != next.transactionId() + 1) {
+                    throw new IllegalStateException("Expected transaction " + (next.transactionId() + 1)
+                            + " after " + next + ", but found transaction " + transactionId);
+                }
+                storageEngine.decodeChanges(transaction.commandBatch(), new EventCollector(transactionId, events));
+                next = new ChangePosition(transactionId, cursor.position());
+            }
+        }
+        position = next;
+        return new ChangeBatch(events, next);
+    }
+
+    /**
+     * @return the position of the stream, i.e. right after the last transaction that was returned.
+     */
+    public ChangePosition position() {
+        return position;
+    }
+
+    private TransactionCursor openCursor() throws IOException {
+        LogPosition logPosition = position.logPosition();
+        return LogPosition.UNSPECIFIED.equals(logPosition)
+                ? transactionStore.getTransactions(position.transactionId() + 1)
+                : transactionStore.getTransactions(logPosition);
+    }
+
+    private record EventCollector(long transactionId, List<ChangeEvent> events) implements StorageChangeVisitor {
+        @Override
+        public void nodeCreated(long nodeId) {
+            events.add(ChangeEvent.node(transactionId, NODE_CREATED, nodeId));
+        }
+
+        @Override
+        public void nodeDeleted(long nodeId) {
+            events.add(ChangeEvent.node(transactionId, NODE_DELETED, nodeId));
+        }
+
+        @Override
+        public void nodeLabelAdded(long nodeId, int labelId) {
+            events.add(ChangeEvent.label(transactionId, NODE_LABEL_ADDED, nodeId, labelId));
+        }
+
+        @Override
+        public void nodeLabelRemoved(long nodeId, int labelId) {
+            events.add(ChangeEvent.label(transactionId, NODE_LABEL_REMOVED, nodeId, labelId));
+        }
+
+        @Override
+        public void relationshipCreated(long relationshipId, int type, long startNodeId, long endNodeId) {
+            events.add(ChangeEvent.relationship(
+                    transactionId, RELATIONSHIP_CREATED, relationshipId, type, startNodeId, endNodeId));
+        }
+
+        @Override
+        public void relationshipDeleted(long relationshipId, int type, long startNodeId, long endNodeId) {
+            events.add(ChangeEvent.relationship(
+                    transactionId, RELATIONSHIP_DELETED, relationshipId, type, startNodeId, endNodeId));
+        }
+
+        @Override
+        public void nodePropertyChanged(long nodeId, int propertyKeyId, Value before, Value after) {
+            events.add(
+                    ChangeEvent.property(transactionId, NODE_PROPERTY_CHANGED, nodeId, propertyKeyId, before, after));
+        }
+
+        @Override
+        public void relationshipPropertyChanged(long relationshipId, int propertyKeyId, Value before, Value after) {
+            events.add(ChangeEvent.property(
+                    transactionId, RELATIONSHIP_PROPERTY_CHANGED, relationshipId, propertyKeyId, before, after));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.cdc;
+
+import org.neo4j.kernel.impl.transaction.log.LogicalTransactionStore;
+import org.neo4j.storageengine.api.StorageEngine;
+import org.neo4j.storageengine.api.TransactionIdStore;
+
+/**
+ * Opens {@link TransactionLogChangeStream change streams} over the transaction log of a database. An instance is
+ * available as a dependency of every database, for change data capture consumers to look up.
+ */
+public class TransactionLogChangeStreams {
+    private final LogicalTransactionStore transactionStore;
+    private final TransactionIdStore transactionIdStore;
+    private final StorageEngine storageEngine;
+
+    public TransactionLogChangeStreams(
+            LogicalTransactionStore transactionStore,
+            TransactionIdStore transactionIdStore,
+            StorageEngine storageEngine) {
+        this.transactionStore = transactionStore;
+        this.transactionIdStore = transactionIdStore;
+        this.storageEngine = storageEngine;
+    }
+
+    /**
+     * @param from position to start streaming from, e.g. the {@link ChangeBatch#position() position} of the last
+     * batch that a consumer processed.
+     * @param maxBatchSize see {@link TransactionLogChangeStream}.
+     * @return a new stream, positioned at {@code from}.
+     */
+    public TransactionLogChangeStream open(ChangePosition from, int maxBatchSize) {
+        return new TransactionLogChangeStream(transactionStore, transactionIdStore, storageEngine, from, maxBatchSize);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+/**
+ * Decides how long the transaction log writer may hold back a group commit, to let more transactions join it before
+ * the log is forced.
+ * <p>
+ * Keeps moving averages of how long a force of the log takes, and of the rate at which transactions arrive. Every
+ * transaction that arrives while the log is being forced has to wait for the next force, so a commit can take up to
+ * two forces. Whatever is left of the commit latency target after that may be spent waiting for more transactions, but
+ * never more than the duration of a force, since the transactions arriving after that would be picked up by the next
+ * force anyway. Waiting is only worth it when at least one more transaction is expected within the window, and it ends
+ * as soon as the batch has grown to the number of transactions expected to arrive over the window and a force.
+ * <p>
+ * Only ever used by the single transaction log writer thread, so it is not thread safe.
+ */
+class AdaptiveGroupCommit {
+    private static final double SMOOTHING = 0.2;
+
+    private final long latencyTargetNanos;
+    private final int maxBatchSize;
+    private double forceNanos = -1;
+    private double arrivalsPerNano;
+    private long lastDrainNanos = -1;
+
+    AdaptiveGroupCommit(long latencyTargetNanos, int maxBatchSize) {
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Record that a batch of transactions has been collected for a group commit.
+     * @param transactions the number of transactions in the batch.
+     * @param nowNanos the time the batch was complete.
+     */
+    void drained(int transactions, long nowNanos) {
+        if (lastDrainNanos >= 0) {
+            long interval = Math.max(1, nowNanos - lastDrainNanos);
+            arrivalsPerNano += SMOOTHING * ((double) transactions / interval - arrivalsPerNano);
+        }
+        lastDrainNanos = nowNanos;
+    }
+
+    /**
+     * Record how long a force of the transaction log took.
+     */
+    void forced(long nanos) {
+        forceNanos = forceNanos < 0 ? nanos : forceNanos + SMOOTHING * (nanos - forceNanos);
+    }
+
+    /**
+     * @return how long to wait for more transactions before forcing the log, or {@code 0} to force right away.
+     */
+    long waitWindowNanos() {
+        if (forceNanos < 0) {
+            return 0;
+        }
+        double window = Math.min(latencyTargetNanos - 2 * forceNanos, forceNanos);
+        if (window <= 0 || arrivalsPerNano * window < 1) {
+            return 0;
+        }
+        return (long) window;
+    }
+
+    /**
+     * @return the number of transactions a group commit is expected to gather, at which point there is no reason to
+     * wait any longer.
+     */
+    int targetBatchSize() {
+        double expected = arrivalsPerNano * (Math.max(0, forceNanos) + waitWindowNanos());
+        return (int) Math.max(1, Math.min(maxBatchSize, Math.ceil(expected)));
+    }
+}
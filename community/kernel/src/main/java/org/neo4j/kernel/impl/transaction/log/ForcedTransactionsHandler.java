@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import org.neo4j.storageengine.api.CommandBatchToApply;
+
+/**
+ * Takes over the transactions that a {@link TransactionAppender} has appended and forced, see
+ * {@link TransactionAppender#handOverForcedTransactions(ForcedTransactionsHandler)}.
+ */
+@FunctionalInterface
+public interface ForcedTransactionsHandler {
+    /**
+     * Called by the appender for every group of transactions that it has appended and forced together, in log order,
+     * before the threads that committed them are released. The appender can't append the next group until this
+     * returns, so this should only hand the transactions over and not do any work on them.
+     *
+     * @param batches the batches of the group, as they were passed to {@link TransactionAppender#append}, in the
+     * order they were appended to the log.
+     */
+    void forced(CommandBatchToApply[] batches);
+}
@@ -22,6 +22,7 @@ package org.neo4j.kernel.impl.transaction.log;
 import static java.lang.String.format;
 import static org.neo4j.internal.helpers.Format.date;
 import static org.neo4j.internal.helpers.Format.duration;
+import static org.neo4j.io.ByteUnit.bytesToString;
 
 import java.nio.file.Path;
 import java.time.Instant;
@@ -62,6 +63,20 @@ public class LoggingLogFileMonitor
         }
     }
 
+    @Override
+    public void recoveryThroughput(long recoveredTransactions, long recoveredBytes, long recoveryTimeInMilliseconds) {
+        if (recoveredTransactions != 0) {
+            double seconds = Math.max(recoveryTimeInMilliseconds, 1) / 1000D;
+            log.info(format(
+                    "Recovery replayed %d transactions, %s of transaction log, in %s (%.1f transactions/s, %.2f MB/s)",
+                    recoveredTransactions,
+                    bytesToString(recoveredBytes),
+                    duration(recoveryTimeInMilliseconds),
+                    recoveredTransactions / seconds,
+                    recoveredBytes / seconds / (1024 * 1024)));
+        }
+    }
+
     @Override
     public void failToRecoverTransactionsAfterCommit(
             Throwable t, LogEntryCommit commitEntry, LogPosition recoveryToPosition) {
@@ -97,9 +97,13 @@ public class PhysicalLogicalTransactionStore implements LogicalTransactionStore
             var headerVisitor = new LogVersionLocator(transactionIdToStartFrom);
             logFile.accept(headerVisitor);
 
-            // ask LogFile
-            var transactionPositionLocator = new TransactionPositionLocator(transactionIdToStartFrom, logEntryReader);
-            logFile.accept(transactionPositionLocator, headerVisitor.getLogPosition());
+            // ask LogFile, starting from the closest position the position index knows of, if any
+            var transactionPositionLocator =
+                    locateFromIndexedPosition(transactionIdToStartFrom, logEntryReader, headerVisitor.getLogHeader());
+            if (transactionPositionLocator == null || !transactionPositionLocator.isFound()) {
+                transactionPositionLocator = new TransactionPositionLocator(transactionIdToStartFrom, logEntryReader);
+                logFile.accept(transactionPositionLocator, headerVisitor.getLogPosition());
+            }
             var position = transactionPositionLocator.getLogPosition();
             transactionMetadataCache.cacheTransactionMetadata(transactionIdToStartFrom, position);
             return new PhysicalTransactionCursor(logFile.getReader(position), logEntryReader);
@@ -112,6 +116,24 @@ public class PhysicalLogicalTransactionStore implements LogicalTransactionStore
         }
     }
 
+    private TransactionPositionLocator locateFromIndexedPosition(
+            long transactionId, LogEntryReader logEntryReader, LogHeader logHeader) throws IOException {
+        var indexedPosition = logFile.getPositionIndex().startPositionAtOrBefore(transactionId, logHeader);
+        if (indexedPosition == null) {
+            return null;
+        }
+        var transactionPositionLocator = new TransactionPositionLocator(transactionId, logEntryReader);
+        try {
+            logFile.accept(transactionPositionLocator, indexedPosition);
+            return transactionPositionLocator;
+        } catch (NoSuchFileException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            // The index is only a hint, and a position that does not parse means that it is stale
+            return null;
+        }
+    }
+
     public static class TransactionPositionLocator implements LogFile.LogFileVisitor {
         private final long startTransactionId;
         private final LogEntryReader logEntryReader;
@@ -145,6 +167,10 @@ public class PhysicalLogicalTransactionStore implements LogicalTransactionStore
             return true;
         }
 
+        boolean isFound() {
+            return transactionStartEntry != null;
+        }
+
         LogPosition getLogPosition() throws NoSuchTransactionException {
             if (transactionStartEntry == null) {
                 throw new NoSuchTransactionException(startTransactionId);
@@ -155,6 +181,7 @@ public class PhysicalLogicalTransactionStore implements LogicalTransactionStore
 
     public static final class LogVersionLocator implements LogHeaderVisitor {
         private final long transactionId;
+        private LogHeader foundHeader;
         private LogPosition foundPosition;
 
         public LogVersionLocator(long transactionId) {
@@ -166,6 +193,7 @@ public class PhysicalLogicalTransactionStore implements LogicalTransactionStore
                 LogHeader logHeader, LogPosition position, long firstTransactionIdInLog, long lastTransactionIdInLog) {
             boolean foundIt = transactionId >= firstTransactionIdInLog && transactionId <= lastTransactionIdInLog;
             if (foundIt) {
+                foundHeader = logHeader;
                 foundPosition = position;
             }
             return !foundIt; // continue as long we don't find it
@@ -178,5 +206,10 @@ public class PhysicalLogicalTransactionStore implements LogicalTransactionStore
             }
             return foundPosition;
         }
+
+        public LogHeader getLogHeader() throws NoSuchTransactionException {
+            getLogPosition();
+            return foundHeader;
+        }
     }
 }
@@ -42,6 +42,12 @@ class QueueTransactionAppender extends LifecycleAdapter implements TransactionAp
         transactionLogQueue.shutdown();
     }
 
+    @Override
+    public boolean handOverForcedTransactions(ForcedTransactionsHandler handler) {
+        transactionLogQueue.handOverForcedTransactions(handler);
+        return true;
+    }
+
     @Override
     public long append(CommandBatchToApply batch, LogAppendEvent logAppendEvent)
             throws IOException, ExecutionException, InterruptedException {
@@ -49,4 +49,17 @@ public interface TransactionAppender extends Lifecycle {
      */
     long append(CommandBatchToApply batch, LogAppendEvent logAppendEvent)
             throws IOException, ExecutionException, InterruptedException;
+
+    /**
+     * Makes this appender hand every group of transactions that it has appended and forced together to the given
+     * handler, in log order, before it releases the threads that committed them. This lets the transactions of one
+     * group be processed further while the appender appends and forces the next group. Must be called before this
+     * appender is started.
+     *
+     * @param handler the handler to hand forced transactions to.
+     * @return {@code true} if this appender hands over forced transactions, {@code false} if it doesn't support it.
+     */
+    default boolean handOverForcedTransactions(ForcedTransactionsHandler handler) {
+        return false;
+    }
 }
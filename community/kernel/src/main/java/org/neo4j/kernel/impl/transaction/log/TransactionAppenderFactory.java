@@ -37,7 +37,8 @@ public class TransactionAppenderFactory {
             JobScheduler scheduler,
             InternalLogProvider logProvider) {
         if (config.get(dedicated_transaction_appender)) {
-            var queue = new TransactionLogQueue(logFiles, transactionIdStore, databaseHealth, scheduler, logProvider);
+            var queue = new TransactionLogQueue(
+                    logFiles, transactionIdStore, databaseHealth, config, scheduler, logProvider);
             return new QueueTransactionAppender(queue);
         }
 
@@ -21,7 +21,10 @@ package org.neo4j.kernel.impl.transaction.log;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.dedicated_transaction_appender_adaptive_group_commit;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.dedicated_transaction_appender_commit_latency_target;
 import static org.neo4j.internal.helpers.Exceptions.throwIfUnchecked;
+import static org.neo4j.util.Preconditions.checkState;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -29,6 +32,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.locks.LockSupport;
 import org.jctools.queues.MessagePassingQueue;
 import org.jctools.queues.MpscUnboundedXaddArrayQueue;
+import org.neo4j.configuration.Config;
 import org.neo4j.graphdb.DatabaseShutdownException;
 import org.neo4j.kernel.impl.transaction.log.files.LogFile;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
@@ -53,9 +57,11 @@ public class TransactionLogQueue extends LifecycleAdapter {
     private final LogRotation logRotation;
     private final TransactionIdStore transactionIdStore;
     private final Health databaseHealth;
+    private final Config config;
     private final MpscUnboundedXaddArrayQueue<TxQueueElement> txAppendQueue;
     private final JobScheduler jobScheduler;
     private final InternalLog log;
+    private ForcedTransactionsHandler forcedTransactionsHandler;
     private TransactionWriter transactionWriter;
     private Thread logAppender;
     private volatile boolean stopped;
@@ -64,12 +70,14 @@ public class TransactionLogQueue extends LifecycleAdapter {
             LogFiles logFiles,
             TransactionIdStore transactionIdStore,
             Health databaseHealth,
+            Config config,
             JobScheduler jobScheduler,
             InternalLogProvider logProvider) {
         this.logFiles = logFiles;
         this.logRotation = logFiles.getLogFile().getLogRotation();
         this.transactionIdStore = transactionIdStore;
         this.databaseHealth = databaseHealth;
+        this.config = config;
         this.txAppendQueue = new MpscUnboundedXaddArrayQueue<>(INITIAL_CAPACITY);
         this.jobScheduler = jobScheduler;
         this.stopped = true;
@@ -90,10 +98,32 @@ public class TransactionLogQueue extends LifecycleAdapter {
         return txQueueElement;
     }
 
+    /**
+     * Hands every group of transactions that has been appended and forced to the given handler, in log order, before
+     * the threads that submitted them are released.
+     */
+    public synchronized void handOverForcedTransactions(ForcedTransactionsHandler handler) {
+        checkState(stopped, "Forced transactions can only be handed over from a queue that hasn't been started");
+        this.forcedTransactionsHandler = handler;
+    }
+
     @Override
     public synchronized void start() {
+        AdaptiveGroupCommit groupCommit = null;
+        if (config.get(dedicated_transaction_appender_adaptive_group_commit)) {
+            groupCommit = new AdaptiveGroupCommit(
+                    config.get(dedicated_transaction_appender_commit_latency_target).toNanos(),
+                    CONSUMER_MAX_BATCH);
+        }
         transactionWriter = new TransactionWriter(
-                txAppendQueue, logFiles.getLogFile(), transactionIdStore, databaseHealth, logRotation, log);
+                txAppendQueue,
+                logFiles.getLogFile(),
+                transactionIdStore,
+                databaseHealth,
+                logRotation,
+                groupCommit,
+                forcedTransactionsHandler,
+                log);
         logAppender = jobScheduler.threadFactory(Group.LOG_WRITER).newThread(transactionWriter);
         logAppender.start();
         stopped = false;
@@ -164,6 +194,8 @@ public class TransactionLogQueue extends LifecycleAdapter {
         private final LogFile logFile;
         private final Health databaseHealth;
         private final LogRotation logRotation;
+        private final AdaptiveGroupCommit groupCommit;
+        private final ForcedTransactionsHandler forcedTransactionsHandler;
         private final InternalLog log;
         private final int checksum;
         private volatile boolean stopped;
@@ -175,6 +207,8 @@ public class TransactionLogQueue extends LifecycleAdapter {
                 TransactionIdStore transactionIdStore,
                 Health databaseHealth,
                 LogRotation logRotation,
+                AdaptiveGroupCommit groupCommit,
+                ForcedTransactionsHandler forcedTransactionsHandler,
                 InternalLog log) {
             this.txQueue = txQueue;
             this.transactionLogWriter = logFile.getTransactionLogWriter();
@@ -182,13 +216,16 @@ public class TransactionLogQueue extends LifecycleAdapter {
             this.checksum = transactionIdStore.getLastCommittedTransaction().checksum();
             this.databaseHealth = databaseHealth;
             this.logRotation = logRotation;
+            this.groupCommit = groupCommit;
+            this.forcedTransactionsHandler = forcedTransactionsHandler;
             this.log = log;
             this.waitStrategy = new SpinParkCombineWaitingStrategy();
         }
 
         @Override
         public void run() {
-            TxConsumer txConsumer = new TxConsumer(databaseHealth, transactionLogWriter, checksum);
+            TxConsumer txConsumer =
+                    new TxConsumer(databaseHealth, transactionLogWriter, forcedTransactionsHandler, checksum);
 
             int idleCounter = 0;
             while (!stopped) {
@@ -196,14 +233,32 @@ public class TransactionLogQueue extends LifecycleAdapter {
                     int drainedElements = txQueue.drain(txConsumer, CONSUMER_MAX_BATCH);
                     if (drainedElements > 0) {
                         idleCounter = 0;
+                        long waitNanos = 0;
+                        if (groupCommit != null) {
+                            long waitWindow = groupCommit.waitWindowNanos();
+                            int targetBatchSize = groupCommit.targetBatchSize();
+                            if (waitWindow > 0 && drainedElements < targetBatchSize) {
+                                long waitStart = System.nanoTime();
+                                drainedElements = awaitMoreTransactions(
+                                        txConsumer, drainedElements, targetBatchSize, waitStart + waitWindow);
+                                waitNanos = System.nanoTime() - waitStart;
+                            }
+                            groupCommit.drained(drainedElements, System.nanoTime());
+                        }
                         txConsumer.processBatch();
 
                         LogAppendEvent logAppendEvent = txConsumer.txElements[drainedElements - 1].logAppendEvent;
+                        long forceStart = System.nanoTime();
                         boolean logRotated = logRotation.locklessRotateLogIfNeeded(logAppendEvent);
                         logAppendEvent.setLogRotated(logRotated);
                         if (!logRotated) {
                             logFile.locklessForce(logAppendEvent);
                         }
+                        long forceNanos = System.nanoTime() - forceStart;
+                        if (groupCommit != null && !logRotated) {
+                            groupCommit.forced(forceNanos);
+                        }
+                        logAppendEvent.groupCommitted(drainedElements, waitNanos, forceNanos);
                         txConsumer.complete();
                     } else {
                         idleCounter = waitStrategy.idle(idleCounter);
@@ -222,9 +277,29 @@ public class TransactionLogQueue extends LifecycleAdapter {
             }
         }
 
+        /**
+         * Keep draining transactions into the current batch until it reaches the target size, or the deadline passes.
+         * Submitted transactions unpark the writer, so parking until the deadline does not delay picking them up.
+         * @return the number of transactions in the batch.
+         */
+        private int awaitMoreTransactions(
+                TxConsumer txConsumer, int drainedElements, int targetBatchSize, long deadline) {
+            long now;
+            while (drainedElements < targetBatchSize && !stopped && (now = System.nanoTime()) < deadline) {
+                int drained = txQueue.drain(txConsumer, targetBatchSize - drainedElements);
+                if (drained > 0) {
+                    drainedElements += drained;
+                } else {
+                    parkNanos(deadline - now);
+                }
+            }
+            return drainedElements;
+        }
+
         private static class TxConsumer implements MessagePassingQueue.Consumer<TxQueueElement> {
             private final Health databaseHealth;
             private final TransactionLogWriter transactionLogWriter;
+            private final ForcedTransactionsHandler forcedTransactionsHandler;
 
             private int checksum;
             private final TxQueueElement[] txElements = new TransactionLogQueue.TxQueueElement[CONSUMER_MAX_BATCH];
@@ -232,9 +307,14 @@ public class TransactionLogQueue extends LifecycleAdapter {
             private TxQueueElement[] elements;
             private long[] txIds;
 
-            TxConsumer(Health databaseHealth, TransactionLogWriter transactionLogWriter, int checksum) {
+            TxConsumer(
+                    Health databaseHealth,
+                    TransactionLogWriter transactionLogWriter,
+                    ForcedTransactionsHandler forcedTransactionsHandler,
+                    int checksum) {
                 this.databaseHealth = databaseHealth;
                 this.transactionLogWriter = transactionLogWriter;
+                this.forcedTransactionsHandler = forcedTransactionsHandler;
                 this.checksum = checksum;
             }
 
@@ -283,6 +363,13 @@ public class TransactionLogQueue extends LifecycleAdapter {
             }
 
             public void complete() {
+                if (forcedTransactionsHandler != null) {
+                    CommandBatchToApply[] batches = new CommandBatchToApply[index];
+                    for (int i = 0; i < index; i++) {
+                        batches[i] = txElements[i].batch;
+                    }
+                    forcedTransactionsHandler.forced(batches);
+                }
                 TxQueueElement first = txElements[0];
                 first.elementsToNotify = elements;
                 first.txIds = txIds;
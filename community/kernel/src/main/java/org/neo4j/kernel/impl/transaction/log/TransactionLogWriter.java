@@ -26,19 +26,30 @@ import java.nio.ByteBuffer;
 import org.neo4j.kernel.KernelVersion;
 import org.neo4j.kernel.database.LogEntryWriterFactory;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryWriter;
+import org.neo4j.kernel.impl.transaction.log.files.TransactionLogPositionIndex;
 import org.neo4j.storageengine.api.CommandBatch;
 import org.neo4j.util.VisibleForTesting;
 
 public class TransactionLogWriter {
     private final FlushablePositionAwareChecksumChannel channel;
     private final LogEntryWriterFactory logEntryWriterFactory;
+    private final TransactionLogPositionIndex positionIndex;
+    private final LogPositionMarker positionMarker = new LogPositionMarker();
     private KernelVersion writerVersion;
     private LogEntryWriter<FlushablePositionAwareChecksumChannel> cachedWriter;
 
     public TransactionLogWriter(
             FlushablePositionAwareChecksumChannel channel, LogEntryWriterFactory logEntryWriterFactory) {
+        this(channel, logEntryWriterFactory, null);
+    }
+
+    public TransactionLogWriter(
+            FlushablePositionAwareChecksumChannel channel,
+            LogEntryWriterFactory logEntryWriterFactory,
+            TransactionLogPositionIndex positionIndex) {
         this.channel = channel;
         this.logEntryWriterFactory = logEntryWriterFactory;
+        this.positionIndex = positionIndex;
     }
 
     /**
@@ -47,6 +58,11 @@ public class TransactionLogWriter {
      */
     public int append(CommandBatch batch, long transactionId, long chunkId, int previousChecksum) throws IOException {
         var writer = getWriter(batch);
+        if (positionIndex != null && batch.isFirst() && batch.isLast()) {
+            channel.getCurrentPosition(positionMarker);
+            positionIndex.transactionAppended(
+                    transactionId, positionMarker.getLogVersion(), positionMarker.getByteOffset());
+        }
         if (batch.isFirst()) {
             writer.writeStartEntry(
                     batch.getTimeStarted(),
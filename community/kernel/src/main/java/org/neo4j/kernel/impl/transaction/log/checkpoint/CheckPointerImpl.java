@@ -64,6 +64,7 @@ public class CheckPointerImpl extends LifecycleAdapter implements CheckPointer {
 
     private volatile boolean shutdown;
     private volatile long lastCheckPointedTx;
+    private volatile LogPosition lastCheckPointedPosition;
 
     public CheckPointerImpl(
             TransactionIdStore transactionIdStore,
@@ -96,6 +97,7 @@ public class CheckPointerImpl extends LifecycleAdapter implements CheckPointer {
     public void start() {
         var lastClosedTransaction = transactionIdStore.getLastClosedTransaction();
         threshold.initialize(lastClosedTransaction.transactionId(), lastClosedTransaction.logPosition());
+        lastCheckPointedPosition = lastClosedTransaction.logPosition();
     }
 
     @Override
@@ -204,6 +206,7 @@ public class CheckPointerImpl extends LifecycleAdapter implements CheckPointer {
              */
             logPruning.pruneLogs(logPosition.getLogVersion());
             lastCheckPointedTx = lastClosedTransactionId;
+            lastCheckPointedPosition = logPosition;
             return lastClosedTransactionId;
         } catch (Throwable t) {
             // Why only log failure here? It's because check point can potentially be made from various
@@ -237,6 +240,14 @@ public class CheckPointerImpl extends LifecycleAdapter implements CheckPointer {
         return lastCheckPointedTx;
     }
 
+    /**
+     * @return the log position of the last check point, i.e. where recovery would start from, or {@code null} if the
+     * check pointer has not been started.
+     */
+    public LogPosition lastCheckPointedPosition() {
+        return lastCheckPointedPosition;
+    }
+
     @FunctionalInterface
     public interface ForceOperation {
         void flushAndForce(DatabaseFlushEvent flushEvent, CursorContext cursorContext) throws IOException;
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.checkpoint;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.impl.transaction.log.files.LogFile;
+import org.neo4j.kernel.impl.transaction.stats.IncrementalCheckpointCounters;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.InternalLog;
+import org.neo4j.logging.InternalLogProvider;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.storageengine.api.TransactionIdStore;
+
+/**
+ * Writes back dirty pages of the database at a paced rate in between the check points of the
+ * {@link IncrementalThresholdPolicy incremental} check point policy, so that the check points themselves only have
+ * little left to write, rather than producing a burst of IO every time.
+ * <p>
+ * Every {@link #FLUSH_INTERVAL_MILLIS} the flusher writes back its share of the configured rate, sweeping over the
+ * mapped files in turn. Only pages that have not been modified for at least {@link #HORIZON_INTERVALS} intervals are
+ * written, so that pages that are still being modified are left for the check point, rather than being written over
+ * and over.
+ */
+public class IncrementalCheckpointFlusher extends LifecycleAdapter implements IncrementalCheckpointCounters {
+    static final long FLUSH_INTERVAL_MILLIS = 100;
+    static final int HORIZON_INTERVALS = 10;
+
+    private final PageCache pageCache;
+    private final TransactionIdStore transactionIdStore;
+    private final CheckPointerImpl checkPointer;
+    private final LogFile logFile;
+    private final FileSystemAbstraction fs;
+    private final JobScheduler scheduler;
+    private final String databaseName;
+    private final InternalLog log;
+    private final long flushRate;
+    private final long pagesPerInterval;
+    // The last closed transaction id at each of the most recent intervals, oldest first from horizonCursor.
+    private final long[] closedTransactionIds = new long[HORIZON_INTERVALS];
+    private final long[] flushedPagesPerInterval = new long[(int) (1000 / FLUSH_INTERVAL_MILLIS)];
+    private final AtomicLong flushedPages = new AtomicLong();
+    private int horizonCursor;
+    private int rateCursor;
+    private int nextFile;
+    private volatile long recentlyFlushedPages;
+    private JobHandle<?> handle;
+
+    public IncrementalCheckpointFlusher(
+            PageCache pageCache,
+            TransactionIdStore transactionIdStore,
+            CheckPointerImpl checkPointer,
+            LogFile logFile,
+            FileSystemAbstraction fs,
+            JobScheduler scheduler,
+            int flushRate,
+            String databaseName,
+            InternalLogProvider logProvider) {
+        this.pageCache = pageCache;
+        this.transactionIdStore = transactionIdStore;
+        this.checkPointer = checkPointer;
+        this.logFile = logFile;
+        this.fs = fs;
+        this.scheduler = scheduler;
+        this.flushRate = flushRate;
+        this.pagesPerInterval = Math.max(1, flushRate * FLUSH_INTERVAL_MILLIS / 1000);
+        this.databaseName = databaseName;
+        this.log = logProvider.getLog(IncrementalCheckpointFlusher.class);
+    }
+
+    @Override
+    public void start() {
+        // Pages modified before the flusher was started are old enough to be written back right away.
+        Arrays.fill(closedTransactionIds, transactionIdStore.getLastClosedTransactionId());
+        handle = scheduler.scheduleRecurring(
+                Group.CHECKPOINT,
+                systemJob(databaseName, "Incremental checkpoint flushing"),
+                this::flushOldDirtyPages,
+                FLUSH_INTERVAL_MILLIS,
+                MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (handle != null) {
+            handle.cancel();
+        }
+    }
+
+    /**
+     * Write back this interval's share of dirty pages, that were last modified at least {@link #HORIZON_INTERVALS}
+     * intervals ago.
+     */
+    void flushOldDirtyPages() {
+        long horizon = closedTransactionIds[horizonCursor];
+        closedTransactionIds[horizonCursor] = transactionIdStore.getLastClosedTransactionId();
+        horizonCursor = (horizonCursor + 1) % HORIZON_INTERVALS;
+
+        long flushed = 0;
+        try {
+            List<PagedFile> files = pageCache.listExistingMappings();
+            for (int i = 0; i < files.size() && flushed < pagesPerInterval; i++) {
+                PagedFile file = files.get((nextFile + i) % files.size());
+                try {
+                    flushed += file.flushOldDirtyPages(horizon, pagesPerInterval - flushed);
+                } catch (IOException e) {
+                    // The file may have been unmapped concurrently. What is left dirty is written by the check point.
+                    log.debug("Failed to write back dirty pages of " + file.path(), e);
+                }
+            }
+            if (!files.isEmpty()) {
+                nextFile = (nextFile + 1) % files.size();
+            }
+        } catch (IOException e) {
+            log.debug("Failed to list the mapped files to write back dirty pages from", e);
+        }
+
+        flushedPages.addAndGet(flushed);
+        recentlyFlushedPages += flushed - flushedPagesPerInterval[rateCursor];
+        flushedPagesPerInterval[rateCursor] = flushed;
+        rateCursor = (rateCursor + 1) % flushedPagesPerInterval.length;
+    }
+
+    @Override
+    public long recoveryWindowBytes() {
+        LogPosition checkpointPosition = checkPointer.lastCheckPointedPosition();
+        LogPosition position = transactionIdStore.getLastClosedTransaction().logPosition();
+        if (checkpointPosition == null || position.compareTo(checkpointPosition) <= 0) {
+            return 0;
+        }
+        if (position.getLogVersion() == checkpointPosition.getLogVersion()) {
+            return position.getByteOffset() - checkpointPosition.getByteOffset();
+        }
+        long bytes = logFileSize(checkpointPosition.getLogVersion()) - checkpointPosition.getByteOffset();
+        for (long version = checkpointPosition.getLogVersion() + 1; version < position.getLogVersion(); version++) {
+            bytes += logFileSize(version);
+        }
+        return Math.max(0, bytes + position.getByteOffset());
+    }
+
+    @Override
+    public long pacedFlushedPages() {
+        return flushedPages.get();
+    }
+
+    @Override
+    public long pacedFlushRate() {
+        return recentlyFlushedPages;
+    }
+
+    @Override
+    public long pacedFlushTargetRate() {
+        return flushRate;
+    }
+
+    private long logFileSize(long version) {
+        try {
+            return fs.getFileSize(logFile.getLogFileForVersion(version));
+        } catch (IOException e) {
+            // The file has been pruned, so it doesn't count towards what recovery would have to replay anyway.
+            return 0;
+        }
+    }
+}
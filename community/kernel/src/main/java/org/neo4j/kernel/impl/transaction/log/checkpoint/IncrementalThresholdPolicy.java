@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.checkpoint;
+
+import static org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointThreshold.or;
+
+import org.neo4j.annotations.service.ServiceProvider;
+import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.configuration.GraphDatabaseSettings;
+import org.neo4j.kernel.impl.transaction.log.pruning.LogPruning;
+import org.neo4j.logging.InternalLogProvider;
+import org.neo4j.time.SystemNanoClock;
+
+/**
+ * The {@code incremental} check point threshold policy check points every
+ * {@link GraphDatabaseInternalSettings#checkpoint_incremental_interval}, or every
+ * {@link GraphDatabaseSettings#check_point_interval_tx} transactions, whichever comes first. In between check points
+ * an {@link IncrementalCheckpointFlusher} writes back dirty pages at a paced rate, so these frequent check points only
+ * have little left to write.
+ */
+@ServiceProvider
+public class IncrementalThresholdPolicy implements CheckPointThresholdPolicy {
+    @Override
+    public String getName() {
+        return "incremental";
+    }
+
+    @Override
+    public CheckPointThreshold createThreshold(
+            Config config, SystemNanoClock clock, LogPruning logPruning, InternalLogProvider logProvider) {
+        int txThreshold = config.get(GraphDatabaseSettings.check_point_interval_tx);
+        long timeMillisThreshold =
+                config.get(GraphDatabaseInternalSettings.checkpoint_incremental_interval).toMillis();
+        return or(
+                new CountCommittedTransactionThreshold(txThreshold),
+                new TimeCheckPointThreshold(timeMillisThreshold, clock));
+    }
+}
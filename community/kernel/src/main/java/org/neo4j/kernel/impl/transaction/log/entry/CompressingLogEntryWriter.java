@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.entry;
+
+import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryTypeCodes.COMPRESSED_COMMANDS;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import org.neo4j.io.ByteUnit;
+import org.neo4j.io.fs.OutputStreamWritableChannel;
+import org.neo4j.io.fs.WritableChannel;
+import org.neo4j.io.fs.WritableChecksumChannel;
+import org.neo4j.kernel.KernelVersion;
+import org.neo4j.kernel.impl.transaction.log.entry.v50.CompressedCommandsLogEntryParserV5_0;
+import org.neo4j.storageengine.api.CommandBatch;
+import org.neo4j.storageengine.api.StorageCommand;
+
+/**
+ * A {@link LogEntryWriter} that writes all commands of a {@link CommandBatch} as one LZ4 compressed
+ * {@link LogEntryTypeCodes#COMPRESSED_COMMANDS} entry, see {@link CompressedCommandsLogEntryParserV5_0} for the
+ * layout. Batches that are too small to gain anything from compression, or that don't compress, are written as plain
+ * command entries instead.
+ */
+public class CompressingLogEntryWriter<T extends WritableChecksumChannel> extends LogEntryWriter<T> {
+    static final int MIN_COMPRESSIBLE_SIZE = 256;
+    // Buffers grown beyond this by a single huge batch are dropped afterwards rather than kept around
+    private static final int MAX_RETAINED_BUFFER_SIZE = (int) ByteUnit.mebiBytes(1);
+    private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+
+    private CommandBlock block;
+    private WritableChannel blockChannel;
+    private byte[] compressed;
+
+    public CompressingLogEntryWriter(T channel, KernelVersion version) {
+        super(channel, version);
+        releaseBuffers();
+    }
+
+    @Override
+    public void serialize(CommandBatch batch) throws IOException {
+        block.reset();
+        int commandCount = 0;
+        for (StorageCommand command : batch) {
+            command.serialize(blockChannel);
+            commandCount++;
+        }
+
+        int uncompressedLength = block.size();
+        int compressedLength = uncompressedLength >= MIN_COMPRESSIBLE_SIZE ? compress(uncompressedLength) : -1;
+        if (compressedLength < 0 || compressedLength >= uncompressedLength) {
+            super.serialize(batch);
+        } else {
+            writeLogEntryHeader(COMPRESSED_COMMANDS, channel);
+            channel.putInt(commandCount)
+                    .putInt(uncompressedLength)
+                    .putInt(compressedLength)
+                    .put(compressed, compressedLength);
+        }
+
+        if (uncompressedLength > MAX_RETAINED_BUFFER_SIZE) {
+            releaseBuffers();
+        }
+    }
+
+    private int compress(int uncompressedLength) {
+        int maxCompressedLength = COMPRESSOR.maxCompressedLength(uncompressedLength);
+        if (compressed.length < maxCompressedLength) {
+            compressed = new byte[maxCompressedLength];
+        }
+        return COMPRESSOR.compress(block.array(), 0, uncompressedLength, compressed, 0, maxCompressedLength);
+    }
+
+    private void releaseBuffers() {
+        block = new CommandBlock();
+        blockChannel = new OutputStreamWritableChannel(block);
+        compressed = new byte[COMPRESSOR.maxCompressedLength(MIN_COMPRESSIBLE_SIZE)];
+    }
+
+    private static class CommandBlock extends ByteArrayOutputStream {
+        CommandBlock() {
+            super(MIN_COMPRESSIBLE_SIZE * 4);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
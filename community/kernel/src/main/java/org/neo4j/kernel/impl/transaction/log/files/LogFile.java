@@ -56,6 +56,18 @@ public interface LogFile extends RotatableFile {
      */
     LogRotation getLogRotation();
 
+    /**
+     * @return the sparse index of where transactions start in the log files, used to speed up lookups of old
+     * transactions.
+     */
+    TransactionLogPositionIndex getPositionIndex();
+
+    /**
+     * @return the spare files that pruned log files can be recycled into, and that rotation takes the next log file
+     * from.
+     */
+    TransactionLogSpareFiles getSpareFiles();
+
     /**
      * Opens a {@link ReadableLogChannel reader} at the desired {@link LogPosition}, capable of reading log entries
      * from that position and onwards, through physical log versions.
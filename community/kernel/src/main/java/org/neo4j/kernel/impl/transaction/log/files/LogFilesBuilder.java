@@ -53,6 +53,7 @@ import org.neo4j.memory.MemoryTracker;
 import org.neo4j.monitoring.DatabaseHealth;
 import org.neo4j.monitoring.Monitors;
 import org.neo4j.monitoring.PanicEventGenerator;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.CommandReaderFactory;
 import org.neo4j.storageengine.api.LogVersionRepository;
 import org.neo4j.storageengine.api.StorageEngineFactory;
@@ -98,6 +99,7 @@ public class LogFilesBuilder {
     private NativeAccess nativeAccess;
     private KernelVersionProvider kernelVersionProvider;
     private LogTailMetadata externalLogTail;
+    private JobScheduler jobScheduler;
 
     private LogFilesBuilder() {}
 
@@ -232,6 +234,11 @@ public class LogFilesBuilder {
         return this;
     }
 
+    public LogFilesBuilder withJobScheduler(JobScheduler jobScheduler) {
+        this.jobScheduler = jobScheduler;
+        return this;
+    }
+
     public LogFilesBuilder withStorageEngineFactory(StorageEngineFactory storageEngineFactory) {
         this.storageEngineFactory = storageEngineFactory;
         return this;
@@ -276,6 +283,7 @@ public class LogFilesBuilder {
         var monitors = getMonitors();
         var health = getDatabaseHealth();
         var clock = getClock();
+        var jobScheduler = getJobScheduler();
 
         // If no transaction log version provider has been supplied explicitly, we try to use the version from the
         // system database.
@@ -321,7 +329,8 @@ public class LogFilesBuilder {
                 databaseLayout.getDatabaseName(),
                 config,
                 externalLogTail,
-                dbmsRuntimeRepository);
+                dbmsRuntimeRepository,
+                jobScheduler);
     }
 
     private CommandReaderFactory commandReaderFactory() {
@@ -366,6 +375,16 @@ public class LogFilesBuilder {
         return monitors;
     }
 
+    private JobScheduler getJobScheduler() {
+        if (jobScheduler != null) {
+            return jobScheduler;
+        }
+        if (dependencies != null && dependencies.containsDependency(JobScheduler.class)) {
+            return dependencies.resolveDependency(JobScheduler.class);
+        }
+        return null;
+    }
+
     private NativeAccess getNativeAccess() {
         if (nativeAccess != null) {
             return nativeAccess;
@@ -43,18 +43,29 @@ public class TransactionLogChannelAllocator {
     private final LogHeaderCache logHeaderCache;
     private final ChannelNativeAccessor nativeChannelAccessor;
     private final DatabaseTracer databaseTracer;
+    private final TransactionLogSpareFiles spareFiles;
 
     public TransactionLogChannelAllocator(
             TransactionLogFilesContext logFilesContext,
             TransactionLogFilesHelper fileHelper,
             LogHeaderCache logHeaderCache,
             ChannelNativeAccessor nativeChannelAccessor) {
+        this(logFilesContext, fileHelper, logHeaderCache, nativeChannelAccessor, TransactionLogSpareFiles.NONE);
+    }
+
+    public TransactionLogChannelAllocator(
+            TransactionLogFilesContext logFilesContext,
+            TransactionLogFilesHelper fileHelper,
+            LogHeaderCache logHeaderCache,
+            ChannelNativeAccessor nativeChannelAccessor,
+            TransactionLogSpareFiles spareFiles) {
         this.logFilesContext = logFilesContext;
         this.fileSystem = logFilesContext.getFileSystem();
         this.databaseTracer = logFilesContext.getDatabaseTracers().getDatabaseTracer();
         this.fileHelper = fileHelper;
         this.logHeaderCache = logHeaderCache;
         this.nativeChannelAccessor = nativeChannelAccessor;
+        this.spareFiles = spareFiles;
     }
 
     public PhysicalLogVersionedStoreChannel createLogChannel(long version, LongSupplier lastCommittedTransactionId)
@@ -129,7 +140,8 @@ public class TransactionLogChannelAllocator {
 
     private AllocatedFile allocateFile(long version) throws IOException {
         Path file = fileHelper.getLogFileForVersion(version);
-        boolean fileExist = fileSystem.fileExists(file);
+        // A spare file is already allocated and zeroed, its header is written just like for a preallocated file
+        boolean fileExist = fileSystem.fileExists(file) || spareFiles.takeAs(file);
         StoreChannel storeChannel = fileSystem.write(file);
         if (fileExist) {
             nativeChannelAccessor.adviseSequentialAccessAndKeepInCache(storeChannel, version);
@@ -19,6 +19,9 @@
  */
 package org.neo4j.kernel.impl.transaction.log.files;
 
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.compress_transaction_log_commands;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.transaction_log_position_index_interval;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.transaction_log_spare_files;
 import static org.neo4j.configuration.GraphDatabaseSettings.transaction_log_buffer_size;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogHeaderReader.readLogHeader;
 import static org.neo4j.kernel.impl.transaction.log.rotation.FileLogRotation.transactionLogRotation;
@@ -96,6 +99,8 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile {
     private final LogFiles logFiles;
     private final String baseName;
     private final LogRotation logRotation;
+    private final TransactionLogPositionIndex positionIndex;
+    private final TransactionLogSpareFiles spareFiles;
 
     private volatile PhysicalLogVersionedStoreChannel channel;
     private PositionAwarePhysicalFlushableChecksumChannel writer;
@@ -115,12 +120,31 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile {
         this.fileHelper = new TransactionLogFilesHelper(fileSystem, logFiles.logFilesDirectory(), baseName);
         this.logHeaderCache = new LogHeaderCache(1000);
         this.logFileInformation = new TransactionLogFileInformation(logFiles, logHeaderCache, context);
+        this.spareFiles = new TransactionLogSpareFiles(
+                fileSystem,
+                logFiles.logFilesDirectory(),
+                baseName,
+                rotateAtSize,
+                context.getConfig().get(transaction_log_spare_files),
+                context.getMemoryTracker(),
+                context.getLogProvider(),
+                context.getJobScheduler(),
+                context.getDatabaseName());
         this.channelAllocator = new TransactionLogChannelAllocator(
-                context, fileHelper, logHeaderCache, new LogFileChannelNativeAccessor(fileSystem, context));
+                context,
+                fileHelper,
+                logHeaderCache,
+                new LogFileChannelNativeAccessor(fileSystem, context),
+                spareFiles);
         this.readerLogVersionBridge = new ReaderLogVersionBridge(this);
         this.logRotation = transactionLogRotation(
                 this, context.getClock(), databaseHealth, context.getMonitors().newMonitor(LogRotationMonitor.class));
         this.memoryTracker = context.getMemoryTracker();
+        this.positionIndex = new TransactionLogPositionIndex(
+                fileSystem,
+                fileHelper,
+                context.getConfig().get(transaction_log_position_index_interval),
+                context.getLogProvider());
     }
 
     @Override
@@ -130,6 +154,7 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile {
 
     @Override
     public void start() throws IOException {
+        spareFiles.start();
         long currentLogVersion = logVersionRepository.getCurrentLogVersion();
         channel = createLogChannelForVersion(currentLogVersion, () -> context.getLastCommittedTransactionIdProvider()
                 .getLastCommittedTransactionId(logFiles));
@@ -142,7 +167,10 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile {
                 channel,
                 new NativeScopedBuffer(
                         context.getConfig().get(transaction_log_buffer_size), ByteOrder.LITTLE_ENDIAN, memoryTracker));
-        transactionLogWriter = new TransactionLogWriter(writer, new LogEntryWriterFactory());
+        transactionLogWriter = new TransactionLogWriter(
+                writer,
+                new LogEntryWriterFactory(context.getConfig().get(compress_transaction_log_commands)),
+                positionIndex);
     }
 
     // In order to be able to write into a logfile after life.stop during shutdown sequence
@@ -150,7 +178,7 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile {
     // checkpoint) are already in
     @Override
     public void shutdown() throws IOException {
-        IOUtils.closeAll(writer);
+        IOUtils.closeAll(writer, spareFiles);
     }
 
     @Override
@@ -224,6 +252,7 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile {
                 fileSystem.deleteFile(fileHelper.getLogFileForVersion(i));
             }
         }
+        positionIndex.truncated(targetPosition, currentVersion);
 
         // truncate current file
         channel.truncate(targetPosition.getByteOffset());
@@ -261,6 +290,16 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile {
         return logRotation;
     }
 
+    @Override
+    public TransactionLogSpareFiles getSpareFiles() {
+        return spareFiles;
+    }
+
+    @Override
+    public TransactionLogPositionIndex getPositionIndex() {
+        return positionIndex;
+    }
+
     @Override
     public TransactionLogWriter getTransactionLogWriter() {
         return transactionLogWriter;
@@ -521,8 +560,10 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile {
     }
 
     private synchronized Path rotate(LongSupplier committedTransactIdSupplier) throws IOException {
+        LogHeader rotatedLogHeader = extractHeader(channel.getVersion());
         channel = rotate(channel, committedTransactIdSupplier);
         writer.setChannel(channel);
+        positionIndex.logRotated(rotatedLogHeader);
         return channel.getPath();
     }
 
@@ -35,6 +35,7 @@ import org.neo4j.logging.InternalLogProvider;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.monitoring.DatabaseHealth;
 import org.neo4j.monitoring.Monitors;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.CommandReaderFactory;
 import org.neo4j.storageengine.api.StoreId;
 
@@ -61,6 +62,7 @@ public class TransactionLogFilesContext {
     private final Config config;
     private final LogTailMetadata externalTailInfo;
     private final DbmsRuntimeRepository dbmsRuntimeRepository;
+    private final JobScheduler jobScheduler;
 
     public TransactionLogFilesContext(
             AtomicLong rotationThreshold,
@@ -84,7 +86,8 @@ public class TransactionLogFilesContext {
             String databaseName,
             Config config,
             LogTailMetadata externalTailInfo,
-            DbmsRuntimeRepository dbmsRuntimeRepository) {
+            DbmsRuntimeRepository dbmsRuntimeRepository,
+            JobScheduler jobScheduler) {
         this.rotationThreshold = rotationThreshold;
         this.tryPreallocateTransactionLogs = tryPreallocateTransactionLogs;
         this.commandReaderFactory = commandReaderFactory;
@@ -107,6 +110,7 @@ public class TransactionLogFilesContext {
         this.config = config;
         this.externalTailInfo = externalTailInfo;
         this.dbmsRuntimeRepository = dbmsRuntimeRepository;
+        this.jobScheduler = jobScheduler;
     }
 
     AtomicLong getRotationThreshold() {
@@ -196,4 +200,12 @@ public class TransactionLogFilesContext {
     public DbmsRuntimeRepository getDbmsRuntimeRepository() {
         return dbmsRuntimeRepository;
     }
+
+    /**
+     * @return scheduler for background work on the log files, or {@code null} if there is none, e.g. when the log
+     * files are opened by a tool.
+     */
+    JobScheduler getJobScheduler() {
+        return jobScheduler;
+    }
 }
@@ -105,6 +105,7 @@ public class TransactionLogInitializer {
             LogFile logFile = logFiles.getLogFile();
             for (long version = logFile.getLowestLogVersion(); version <= logFile.getHighestLogVersion(); version++) {
                 fs.deleteFile(logFile.getLogFileForVersion(version));
+                logFile.getPositionIndex().delete(version);
             }
             CheckpointFile checkpointFile = logFiles.getCheckpointFile();
             for (long version = checkpointFile.getLowestLogVersion();
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.impl.transaction.log.entry.LogHeader;
+import org.neo4j.logging.InternalLog;
+import org.neo4j.logging.InternalLogProvider;
+
+/**
+ * A sparse index from transaction ids to the log positions of their start entries, kept in a small file next to each
+ * rotated transaction log file, see {@link TransactionLogFilesHelper#getPositionIndexFileForVersion(long)}.
+ * <p>
+ * While a log file is appended to, every transaction that starts at least {@code interval} bytes after the previously
+ * recorded one is recorded in memory. When the log file is rotated away, the recorded transactions are written to its
+ * index file. Looking up an old transaction is then a binary search in the index file, followed by a scan of roughly
+ * {@code interval} bytes of the log file, instead of a scan from the start of the log file.
+ * <p>
+ * The index is only ever a hint. Only transactions that are appended in one piece are recorded, a missing or damaged
+ * index file just means that the log file is scanned from its start, and an index file is ignored if it was written
+ * for a log file with another header. Index files are deleted along with their log files, and whenever their log
+ * files are truncated, and readers fall back to scanning the log file if an indexed position turns out to be stale.
+ */
+public class TransactionLogPositionIndex {
+    private static final byte FORMAT_VERSION = 1;
+    // Format version, the last committed transaction id of the log file header, and the number of entries
+    private static final int HEADER_SIZE = Byte.BYTES + Long.BYTES + Integer.BYTES;
+    // Transaction id and byte offset of its start entry
+    private static final int ENTRY_SIZE = Long.BYTES + Long.BYTES;
+
+    private final FileSystemAbstraction fileSystem;
+    private final TransactionLogFilesHelper fileHelper;
+    private final long interval;
+    private final InternalLog log;
+    private final MutableLongList transactionIds = new LongArrayList();
+    private final MutableLongList offsets = new LongArrayList();
+    private long logVersion = -1;
+
+    TransactionLogPositionIndex(
+            FileSystemAbstraction fileSystem,
+            TransactionLogFilesHelper fileHelper,
+            long interval,
+            InternalLogProvider logProvider) {
+        this.fileSystem = fileSystem;
+        this.fileHelper = fileHelper;
+        this.interval = interval;
+        this.log = logProvider.getLog(getClass());
+    }
+
+    /**
+     * Called by the log writer for every transaction that is appended in one piece, before its start entry is written.
+     */
+    public synchronized void transactionAppended(long transactionId, long logVersion, long byteOffset) {
+        if (interval == 0) {
+            return;
+        }
+        if (this.logVersion != logVersion) {
+            clear();
+            this.logVersion = logVersion;
+        }
+        if (offsets.isEmpty() || byteOffset - offsets.getLast() >= interval) {
+            transactionIds.add(transactionId);
+            offsets.add(byteOffset);
+        }
+    }
+
+    /**
+     * Writes the index file for the log file that was just rotated away.
+     */
+    synchronized void logRotated(LogHeader rotatedLogHeader) {
+        long version = rotatedLogHeader.getLogVersion();
+        if (logVersion == version && !transactionIds.isEmpty()) {
+            Path indexFile = fileHelper.getPositionIndexFileForVersion(version);
+            try {
+                write(indexFile, rotatedLogHeader.getLastCommittedTxId());
+            } catch (IOException e) {
+                // Without an index file, lookups of these transactions fall back to scanning the log file
+                log.warn("Failed to write transaction position index " + indexFile, e);
+                deleteQuietly(indexFile);
+            }
+        }
+        clear();
+    }
+
+    /**
+     * Forgets about all transactions at or after the given position, and deletes index files that may cover them.
+     */
+    public synchronized void truncated(LogPosition position, long highestLogVersion) throws IOException {
+        if (logVersion > position.getLogVersion()) {
+            clear();
+        } else if (logVersion == position.getLogVersion()) {
+            while (!offsets.isEmpty() && offsets.getLast() >= position.getByteOffset()) {
+                transactionIds.removeAtIndex(transactionIds.size() - 1);
+                offsets.removeAtIndex(offsets.size() - 1);
+            }
+        }
+        for (long version = position.getLogVersion(); version <= highestLogVersion; version++) {
+            delete(version);
+        }
+    }
+
+    /**
+     * Deletes the index file of the given log version, if there is one.
+     */
+    public void delete(long version) throws IOException {
+        fileSystem.deleteFile(fileHelper.getPositionIndexFileForVersion(version));
+    }
+
+    /**
+     * @param transactionId the transaction to look up.
+     * @param logHeader the header of the log file that contains the transaction.
+     * @return the position of a transaction start entry that is at or before the start of the given transaction in the
+     * given log file, or {@code null} if the index doesn't know of any position closer than the start of the log file.
+     */
+    public LogPosition startPositionAtOrBefore(long transactionId, LogHeader logHeader) throws IOException {
+        long version = logHeader.getLogVersion();
+        synchronized (this) {
+            if (logVersion == version && !transactionIds.isEmpty()) {
+                int index = transactionIds.binarySearch(transactionId);
+                index = index >= 0 ? index : -index - 2;
+                return index >= 0 ? new LogPosition(version, offsets.get(index)) : null;
+            }
+        }
+
+        Path indexFile = fileHelper.getPositionIndexFileForVersion(version);
+        if (!fileSystem.fileExists(indexFile)) {
+            return null;
+        }
+        try (StoreChannel channel = fileSystem.read(indexFile)) {
+            return search(channel, transactionId, logHeader);
+        }
+    }
+
+    private LogPosition search(StoreChannel channel, long transactionId, LogHeader logHeader) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.max(HEADER_SIZE, ENTRY_SIZE));
+        if (!read(channel, buffer, 0, HEADER_SIZE)
+                || buffer.get() != FORMAT_VERSION
+                || buffer.getLong() != logHeader.getLastCommittedTxId()) {
+            return null;
+        }
+        int entries = buffer.getInt();
+        if (entries <= 0 || channel.size() != HEADER_SIZE + (long) entries * ENTRY_SIZE) {
+            return null;
+        }
+
+        // Find the last entry with a transaction id that is not greater than the one we look for
+        long offset = -1;
+        int low = 0;
+        int high = entries - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (!read(channel, buffer, HEADER_SIZE + (long) middle * ENTRY_SIZE, ENTRY_SIZE)) {
+                return null;
+            }
+            if (buffer.getLong() <= transactionId) {
+                offset = buffer.getLong();
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return offset >= 0 ? new LogPosition(logHeader.getLogVersion(), offset) : null;
+    }
+
+    private void write(Path indexFile, long lastCommittedTxId) throws IOException {
+        int entries = transactionIds.size();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + entries * ENTRY_SIZE);
+        buffer.put(FORMAT_VERSION).putLong(lastCommittedTxId).putInt(entries);
+        for (int i = 0; i < entries; i++) {
+            buffer.putLong(transactionIds.get(i)).putLong(offsets.get(i));
+        }
+        buffer.flip();
+        try (StoreChannel channel = fileSystem.write(indexFile)) {
+            channel.truncate(0);
+            channel.writeAll(buffer);
+        }
+    }
+
+    private static boolean read(StoreChannel channel, ByteBuffer buffer, long position, int length) throws IOException {
+        buffer.clear().limit(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) == -1) {
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+
+    private void deleteQuietly(Path indexFile) {
+        try {
+            fileSystem.deleteFile(indexFile);
+        } catch (IOException ignored) {
+            // A damaged index file is ignored when it is read
+        }
+    }
+
+    private void clear() {
+        transactionIds.clear();
+        offsets.clear();
+        logVersion = -1;
+    }
+}
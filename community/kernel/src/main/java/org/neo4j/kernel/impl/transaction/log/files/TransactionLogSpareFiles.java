@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.neo4j.io.ByteUnit;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.memory.HeapScopedBuffer;
+import org.neo4j.logging.InternalLog;
+import org.neo4j.logging.InternalLogProvider;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobMonitoringParams;
+import org.neo4j.scheduler.JobScheduler;
+
+/**
+ * A small pool of spare transaction log files, that rotation takes over as the file of the next log version instead
+ * of creating and allocating a new file.
+ * <p>
+ * Spares are made from log files that pruning would otherwise delete, see {@link #recycle(Path)}, and from new files
+ * that are created in the background whenever rotation leaves the pool empty. Before a file becomes a spare it is
+ * overwritten with zeros, up to at least the rotation threshold, as a {@link Group#TRANSACTION_LOG_SPARE_FILES} job.
+ * All blocks of a spare are therefore already allocated and written by the file system, so appending to it is a
+ * plain overwrite that needs no block allocation or unwritten extent conversion when the log is forced. Nothing of the
+ * old log content survives either: the header is written when a spare is taken into use, see
+ * {@link TransactionLogChannelAllocator}, and readers see the zeros after the last appended entry as the end of the
+ * log, exactly as in a preallocated file.
+ * <p>
+ * Files that are being zeroed have a {@link #RECYCLING_PREFIX} name and are deleted on start up, since they may not
+ * have been completely zeroed. Spares have a {@link #SPARE_PREFIX} name. Neither matches the log file name filter of
+ * {@link TransactionLogFilesHelper}, so they are never mistaken for log files.
+ */
+public class TransactionLogSpareFiles implements AutoCloseable {
+    public static final TransactionLogSpareFiles NONE =
+            new TransactionLogSpareFiles(null, null, null, null, 0, null, NullLogProvider.getInstance(), null, null);
+
+    static final String SPARE_PREFIX = "spare.";
+    static final String RECYCLING_PREFIX = "recycling.";
+    private static final int ZERO_CHUNK_SIZE = (int) ByteUnit.mebiBytes(1);
+
+    private final FileSystemAbstraction fileSystem;
+    private final Path logDirectory;
+    private final String baseName;
+    private final AtomicLong rotationThreshold;
+    private final int maxSpareFiles;
+    private final MemoryTracker memoryTracker;
+    private final InternalLog log;
+    private final JobScheduler jobScheduler;
+    private final String databaseName;
+    private final Deque<Path> spares = new ArrayDeque<>();
+    // Number of files that are being zeroed, to become spares. Close waits for this to drop to zero.
+    private int pending;
+    private long nextSlot;
+    private boolean closed;
+
+    /**
+     * @param jobScheduler scheduler to zero files on. Without one, e.g. when the log files are opened by a tool, no
+     * spares are kept.
+     */
+    public TransactionLogSpareFiles(
+            FileSystemAbstraction fileSystem,
+            Path logDirectory,
+            String baseName,
+            AtomicLong rotationThreshold,
+            int maxSpareFiles,
+            MemoryTracker memoryTracker,
+            InternalLogProvider logProvider,
+            JobScheduler jobScheduler,
+            String databaseName) {
+        this.fileSystem = fileSystem;
+        this.logDirectory = logDirectory;
+        this.baseName = baseName;
+        this.rotationThreshold = rotationThreshold;
+        this.maxSpareFiles = jobScheduler != null ? maxSpareFiles : 0;
+        this.memoryTracker = memoryTracker;
+        this.log = logProvider.getLog(getClass());
+        this.jobScheduler = jobScheduler;
+        this.databaseName = databaseName;
+    }
+
+    /**
+     * Picks up the spares that were left by a previous run, deletes files that may not have been completely zeroed,
+     * and makes sure that a spare is being prepared.
+     */
+    public void start() throws IOException {
+        if (maxSpareFiles == 0) {
+            return;
+        }
+        Path[] files = fileSystem.listFiles(
+                logDirectory, file -> slotOf(SPARE_PREFIX, file) >= 0 || slotOf(RECYCLING_PREFIX, file) >= 0);
+        synchronized (this) {
+            for (Path file : files) {
+                long slot = Math.max(slotOf(SPARE_PREFIX, file), slotOf(RECYCLING_PREFIX, file));
+                nextSlot = Math.max(nextSlot, slot + 1);
+                if (slotOf(SPARE_PREFIX, file) >= 0 && spares.size() < maxSpareFiles) {
+                    spares.addLast(file);
+                } else {
+                    fileSystem.deleteFile(file);
+                }
+            }
+        }
+        prepareIfEmpty();
+    }
+
+    /**
+     * Renames a spare to the given log file, which must not exist.
+     *
+     * @return {@code true} if a spare was renamed to the given log file, otherwise {@code false} and the caller has
+     * to create the log file itself.
+     */
+    boolean takeAs(Path logFile) {
+        if (maxSpareFiles == 0) {
+            return false;
+        }
+        Path spare;
+        synchronized (this) {
+            spare = spares.pollFirst();
+        }
+        try {
+            if (spare != null) {
+                fileSystem.renameFile(spare, logFile, ATOMIC_MOVE);
+                return true;
+            }
+        } catch (IOException e) {
+            log.warn("Failed to take spare transaction log file " + spare + " into use as " + logFile, e);
+            deleteQuietly(spare);
+        } finally {
+            prepareIfEmpty();
+        }
+        return false;
+    }
+
+    /**
+     * Keeps a log file that is about to be pruned as a spare, unless there are enough spares already. The log file
+     * is renamed right away, and zeroed in the background.
+     *
+     * @return {@code true} if the log file was kept, otherwise {@code false} and the caller should delete it.
+     */
+    public boolean recycle(Path logFile) throws IOException {
+        if (maxSpareFiles == 0) {
+            return false;
+        }
+        long slot;
+        synchronized (this) {
+            if (closed || spares.size() + pending >= maxSpareFiles) {
+                return false;
+            }
+            pending++;
+            slot = nextSlot++;
+        }
+        try {
+            fileSystem.renameFile(logFile, fileForSlot(RECYCLING_PREFIX, slot), ATOMIC_MOVE);
+        } catch (IOException e) {
+            synchronized (this) {
+                pending--;
+            }
+            throw e;
+        }
+        prepareInBackground(slot);
+        return true;
+    }
+
+    synchronized int numberOfSpares() {
+        return spares.size();
+    }
+
+    /**
+     * Stops preparing spares and waits for the files that are being zeroed. Zeroing is abandoned part way, leaving
+     * the files to be deleted on next start.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        try {
+            while (pending > 0) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void prepareIfEmpty() {
+        long slot;
+        synchronized (this) {
+            if (closed || !spares.isEmpty() || pending > 0) {
+                return;
+            }
+            pending++;
+            slot = nextSlot++;
+        }
+        prepareInBackground(slot);
+    }
+
+    private void prepareInBackground(long slot) {
+        try {
+            jobScheduler.schedule(
+                    Group.TRANSACTION_LOG_SPARE_FILES,
+                    JobMonitoringParams.systemJob(databaseName, "Preparation of a spare transaction log file"),
+                    () -> prepare(slot));
+        } catch (RejectedExecutionException e) {
+            // Scheduler shut down concurrently, whatever has been renamed already is cleaned up on next start
+            done();
+        }
+    }
+
+    private void prepare(long slot) {
+        Path recycling = fileForSlot(RECYCLING_PREFIX, slot);
+        Path spare = fileForSlot(SPARE_PREFIX, slot);
+        try {
+            if (!zero(recycling)) {
+                return;
+            }
+            fileSystem.renameFile(recycling, spare, ATOMIC_MOVE);
+            synchronized (this) {
+                spares.addLast(spare);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to prepare spare transaction log file " + spare, e);
+            deleteQuietly(recycling);
+        } finally {
+            done();
+        }
+    }
+
+    private synchronized void done() {
+        pending--;
+        notifyAll();
+    }
+
+    private synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return {@code true} if the file was zeroed, or {@code false} if zeroing was abandoned because of close.
+     */
+    private boolean zero(Path file) throws IOException {
+        try (StoreChannel channel = fileSystem.write(file);
+                var scopedBuffer = new HeapScopedBuffer(ZERO_CHUNK_SIZE, ByteOrder.LITTLE_ENDIAN, memoryTracker)) {
+            ByteBuffer zeros = scopedBuffer.getBuffer();
+            long size = Math.max(channel.size(), rotationThreshold.get());
+            for (long position = 0; position < size; position += ZERO_CHUNK_SIZE) {
+                if (isClosed()) {
+                    return false;
+                }
+                zeros.clear().limit((int) Math.min(ZERO_CHUNK_SIZE, size - position));
+                channel.writeAll(zeros, position);
+            }
+            channel.force(false);
+        }
+        return true;
+    }
+
+    private Path fileForSlot(String prefix, long slot) {
+        return logDirectory.resolve(prefix + baseName + "." + slot);
+    }
+
+    private long slotOf(String prefix, Path file) {
+        String name = file.getFileName().toString();
+        String slotPrefix = prefix + baseName + ".";
+        if (name.startsWith(slotPrefix)) {
+            try {
+                return Long.parseLong(name.substring(slotPrefix.length()));
+            } catch (NumberFormatException e) {
+                // Not one of ours
+            }
+        }
+        return -1;
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            fileSystem.deleteFile(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete " + file, e);
+        }
+    }
+}
@@ -151,7 +151,10 @@ public class LogPruningImpl implements LogPruning {
             toVersion = toVersion == NO_VERSION ? version : Math.max(toVersion, version);
             Path logFilePath = logFile.getLogFileForVersion(version);
             try {
-                fs.deleteFile(logFilePath);
+                if (!logFile.getSpareFiles().recycle(logFilePath)) {
+                    fs.deleteFile(logFilePath);
+                }
+                logFile.getPositionIndex().delete(version);
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
             }
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.stats;
+
+public interface IncrementalCheckpointCounters {
+    /**
+     * Estimate of how much recovery would have to replay if the database crashed now
+     * @return number of bytes of transaction log written since the last checkpoint
+     */
+    long recoveryWindowBytes();
+
+    /**
+     * Total number of dirty pages written back in between checkpoints
+     * @return number of pages written back in between checkpoints
+     */
+    long pacedFlushedPages();
+
+    /**
+     * Number of dirty pages written back in between checkpoints during the last second
+     * @return number of pages written back during the last second
+     */
+    long pacedFlushRate();
+
+    /**
+     * The number of pages per second that is aimed for when writing back dirty pages in between checkpoints
+     * @return target number of pages written back per second
+     */
+    long pacedFlushTargetRate();
+}
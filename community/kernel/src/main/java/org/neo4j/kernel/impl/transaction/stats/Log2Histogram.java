@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A concurrent histogram of non-negative values, with one bucket per power of two.
+ * <p>
+ * Bucket {@code 0} counts the value {@code 0}, and bucket {@code i} counts the values in {@code [2^(i-1), 2^i)}.
+ * This is coarse, but cheap enough to record into on every group commit, and precise enough to tell batch sizes and
+ * latencies apart by order of magnitude.
+ */
+public class Log2Histogram {
+    public static final int BUCKETS = Long.SIZE + 1;
+
+    /**
+     * A histogram that is never recorded into.
+     */
+    public static final Log2Histogram EMPTY = new Log2Histogram();
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    public void record(long value) {
+        buckets.incrementAndGet(bucket(Math.max(0, value)));
+    }
+
+    /**
+     * @return the number of values recorded.
+     */
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of values recorded in each bucket.
+     */
+    public long[] bucketCounts() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * @param percentile the percentile, between {@code 0} and {@code 100}.
+     * @return the upper bound of the bucket that holds the given percentile of the recorded values, or {@code 0} if
+     * nothing has been recorded.
+     */
+    public long percentile(double percentile) {
+        long[] counts = bucketCounts();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        long rank = (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen > 0 && seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return 0;
+    }
+
+    static int bucket(long value) {
+        return Long.SIZE - Long.numberOfLeadingZeros(value);
+    }
+
+    static long upperBound(int bucket) {
+        return bucket == 0 ? 0 : bucket >= Long.SIZE ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
@@ -55,4 +55,22 @@ public interface TransactionLogCounters {
      * @return last append batch size
      */
     long lastTransactionLogAppendBatch();
+
+    /**
+     * Number of transactions made durable by each force of the transaction log by the dedicated transaction appender
+     * @return histogram of group commit sizes
+     */
+    Log2Histogram groupCommitBatchSizes();
+
+    /**
+     * Time the dedicated transaction appender waited for more transactions before forcing the transaction log
+     * @return histogram of group commit wait times in nanoseconds
+     */
+    Log2Histogram groupCommitWaitTimes();
+
+    /**
+     * Time the dedicated transaction appender spent forcing the transaction log, rotation included
+     * @return histogram of group commit force times in nanoseconds
+     */
+    Log2Histogram groupCommitForceTimes();
 }
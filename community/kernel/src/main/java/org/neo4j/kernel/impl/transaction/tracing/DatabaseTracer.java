@@ -21,6 +21,7 @@ package org.neo4j.kernel.impl.transaction.tracing;
 
 import java.nio.file.Path;
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.impl.transaction.stats.Log2Histogram;
 
 public interface DatabaseTracer extends TransactionTracer, CheckPointTracer {
     DatabaseTracer NULL = new DatabaseTracer() {
@@ -124,6 +125,21 @@ public interface DatabaseTracer extends TransactionTracer, CheckPointTracer {
         public long lastTransactionLogAppendBatch() {
             return 0;
         }
+
+        @Override
+        public Log2Histogram groupCommitBatchSizes() {
+            return Log2Histogram.EMPTY;
+        }
+
+        @Override
+        public Log2Histogram groupCommitWaitTimes() {
+            return Log2Histogram.EMPTY;
+        }
+
+        @Override
+        public Log2Histogram groupCommitForceTimes() {
+            return Log2Histogram.EMPTY;
+        }
     };
 
     LogFileCreateEvent createLogFile();
@@ -53,6 +53,15 @@ public interface LogAppendEvent extends LogForceEvents, LogRotateEvents, AutoClo
      */
     AppendTransactionEvent beginAppendTransaction(int appendItems);
 
+    /**
+     * Notify about a completed group commit, where a batch of transactions was appended and made durable by a single
+     * force of the log.
+     * @param transactions number of transactions in the group commit
+     * @param waitNanos time spent waiting for more transactions to join the group commit
+     * @param forceNanos time spent forcing, or rotating, the log
+     */
+    void groupCommitted(int transactions, long waitNanos, long forceNanos);
+
     class Empty implements LogAppendEvent {
         @Override
         public void appendToLogFile(LogPosition logPositionBeforeAppend, LogPosition logPositionAfterAppend) {}
@@ -73,6 +82,9 @@ public interface LogAppendEvent extends LogForceEvents, LogRotateEvents, AutoClo
             return AppendTransactionEvent.NULL;
         }
 
+        @Override
+        public void groupCommitted(int transactions, long waitNanos, long forceNanos) {}
+
         @Override
         public LogForceWaitEvent beginLogForceWait() {
             return LogForceWaitEvent.NULL;
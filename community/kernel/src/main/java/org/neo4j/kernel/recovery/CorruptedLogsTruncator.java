@@ -21,9 +21,7 @@ package org.neo4j.kernel.recovery;
 
 import static java.lang.Math.toIntExact;
 import static java.lang.String.format;
-import static org.neo4j.internal.helpers.Numbers.safeCastLongToInt;
 import static org.neo4j.io.ByteUnit.MebiByte;
-import static org.neo4j.io.ByteUnit.kibiBytes;
 import static org.neo4j.io.IOUtils.uncheckedLongConsumer;
 
 import java.io.IOException;
@@ -41,7 +39,6 @@ import java.util.zip.ZipOutputStream;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.fs.StoreChannel;
 import org.neo4j.io.memory.HeapScopedBuffer;
-import org.neo4j.io.memory.NativeScopedBuffer;
 import org.neo4j.kernel.impl.transaction.log.CheckpointInfo;
 import org.neo4j.kernel.impl.transaction.log.LogPosition;
 import org.neo4j.kernel.impl.transaction.log.PhysicalLogVersionedStoreChannel;
@@ -50,6 +47,7 @@ import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
 import org.neo4j.kernel.impl.transaction.log.files.TransactionLogFilesHelper;
 import org.neo4j.kernel.impl.transaction.log.files.checkpoint.CheckpointFile;
 import org.neo4j.memory.MemoryTracker;
+import org.neo4j.scheduler.JobScheduler;
 
 /**
  * Transaction log truncator used during recovery to truncate all the logs after some specified position, that
@@ -67,13 +65,19 @@ public class CorruptedLogsTruncator {
     private final LogFiles logFiles;
     private final FileSystemAbstraction fs;
     private final MemoryTracker memoryTracker;
+    private final JobScheduler jobScheduler;
 
     public CorruptedLogsTruncator(
-            Path storeDir, LogFiles logFiles, FileSystemAbstraction fs, MemoryTracker memoryTracker) {
+            Path storeDir,
+            LogFiles logFiles,
+            FileSystemAbstraction fs,
+            MemoryTracker memoryTracker,
+            JobScheduler jobScheduler) {
         this.storeDir = storeDir;
         this.logFiles = logFiles;
         this.fs = fs;
         this.memoryTracker = memoryTracker;
+        this.jobScheduler = jobScheduler;
     }
 
     /**
@@ -102,11 +106,15 @@ public class CorruptedLogsTruncator {
             Optional<CheckpointInfo> corruptCheckpoint)
             throws IOException {
         LogFile transactionLogFile = logFiles.getLogFile();
+        long highestLogVersion = transactionLogFile.getHighestLogVersion();
         truncateFilesFromVersion(
                 recoveredTransactionLogVersion,
                 recoveredTransactionOffset,
-                transactionLogFile.getHighestLogVersion(),
+                highestLogVersion,
                 transactionLogFile::getLogFileForVersion);
+        // The position indexes of the truncated and deleted log files would point into content that is gone
+        var truncatedPosition = new LogPosition(recoveredTransactionLogVersion, recoveredTransactionOffset);
+        transactionLogFile.getPositionIndex().truncated(truncatedPosition, highestLogVersion);
 
         if (corruptCheckpoint.isPresent()) {
             LogPosition checkpointPosition = corruptCheckpoint.get().checkpointEntryPosition();
@@ -243,20 +251,10 @@ public class CorruptedLogsTruncator {
             LogFile logFile = logFiles.getLogFile();
             if (fs.getFileSize(logFile.getLogFileForVersion(recoveredTransactionLogVersion))
                     > recoveredTransactionOffset) {
-                try (PhysicalLogVersionedStoreChannel channel = logFile.openForVersion(recoveredTransactionLogVersion);
-                        var scopedBuffer = new NativeScopedBuffer(
-                                safeCastLongToInt(kibiBytes(64)), ByteOrder.LITTLE_ENDIAN, memoryTracker)) {
-                    channel.position(recoveredTransactionOffset);
-                    ByteBuffer byteBuffer = scopedBuffer.getBuffer();
-                    while (channel.read(byteBuffer) >= 0) {
-                        byteBuffer.flip();
-                        while (byteBuffer.hasRemaining()) {
-                            if (byteBuffer.get() != 0) {
-                                return true;
-                            }
-                        }
-                        byteBuffer.clear();
-                    }
+                try (PhysicalLogVersionedStoreChannel channel =
+                        logFile.openForVersion(recoveredTransactionLogVersion)) {
+                    return LogTailZeroScanner.hasNonZeroBytesAfter(
+                            channel, recoveredTransactionOffset, jobScheduler, memoryTracker);
                 }
             }
             return false;
@@ -34,6 +34,9 @@ import org.neo4j.kernel.impl.transaction.log.TransactionCursor;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryCommit;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
 import org.neo4j.logging.InternalLog;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.LogVersionRepository;
 import org.neo4j.storageengine.api.StorageEngine;
 import org.neo4j.storageengine.api.TransactionApplicationMode;
@@ -47,6 +50,9 @@ public class DefaultRecoveryService implements RecoveryService {
     private final LogVersionRepository logVersionRepository;
     private final InternalLog log;
     private final boolean doParallelRecovery;
+    private final long readAheadMemory;
+    private final JobScheduler jobScheduler;
+    private final MemoryTracker memoryTracker;
 
     DefaultRecoveryService(
             StorageEngine storageEngine,
@@ -57,12 +63,41 @@ public class DefaultRecoveryService implements RecoveryService {
             RecoveryStartInformationProvider.Monitor monitor,
             InternalLog log,
             boolean doParallelRecovery) {
+        this(
+                storageEngine,
+                transactionIdStore,
+                logicalTransactionStore,
+                logVersionRepository,
+                logFiles,
+                monitor,
+                log,
+                doParallelRecovery,
+                0,
+                null,
+                EmptyMemoryTracker.INSTANCE);
+    }
+
+    DefaultRecoveryService(
+            StorageEngine storageEngine,
+            TransactionIdStore transactionIdStore,
+            LogicalTransactionStore logicalTransactionStore,
+            LogVersionRepository logVersionRepository,
+            LogFiles logFiles,
+            RecoveryStartInformationProvider.Monitor monitor,
+            InternalLog log,
+            boolean doParallelRecovery,
+            long readAheadMemory,
+            JobScheduler jobScheduler,
+            MemoryTracker memoryTracker) {
         this.storageEngine = storageEngine;
         this.transactionIdStore = transactionIdStore;
         this.logicalTransactionStore = logicalTransactionStore;
         this.logVersionRepository = logVersionRepository;
         this.log = log;
         this.doParallelRecovery = doParallelRecovery;
+        this.readAheadMemory = readAheadMemory;
+        this.jobScheduler = jobScheduler;
+        this.memoryTracker = memoryTracker;
         this.recoveryStartInformationProvider = new RecoveryStartInformationProvider(logFiles, monitor);
     }
 
@@ -87,7 +122,11 @@ public class DefaultRecoveryService implements RecoveryService {
 
     @Override
     public TransactionCursor getTransactions(LogPosition position) throws IOException {
-        return logicalTransactionStore.getTransactions(position);
+        TransactionCursor transactions = logicalTransactionStore.getTransactions(position);
+        if (readAheadMemory > 0) {
+            return new ReadAheadTransactionCursor(transactions, position, readAheadMemory, memoryTracker, jobScheduler);
+        }
+        return transactions;
     }
 
     @Override
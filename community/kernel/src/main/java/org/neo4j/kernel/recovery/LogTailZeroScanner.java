@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.recovery;
+
+import static java.lang.Math.min;
+import static org.neo4j.internal.helpers.Numbers.safeCastLongToInt;
+import static org.neo4j.io.ByteUnit.kibiBytes;
+import static org.neo4j.io.ByteUnit.mebiBytes;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.neo4j.internal.unsafe.UnsafeUtil;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.memory.NativeScopedBuffer;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobMonitoringParams;
+import org.neo4j.scheduler.JobScheduler;
+
+/**
+ * Checks whether a log file has any non-zero byte after a given offset, which recovery treats as a corrupted log tail.
+ * <p>
+ * The region after the offset is split into chunks that are memory mapped and checked eight bytes at a time, by the
+ * calling thread together with up to one {@link Group#RECOVERY_LOG_TAIL_SCAN} job per available processor. Log entries
+ * can only be told apart by parsing them from the start, but a run of zeros can be checked from anywhere, so the
+ * chunks need no fix-up where they meet. Channels that {@link StoreChannel#canMapForReading() can not be memory
+ * mapped} are read sequentially, and so is the whole region if a mapping fails, e.g. for lack of address space.
+ * <p>
+ * Only this check is parallel. Finding the log tail, in {@code LogTailExtractor} and when a log file is opened for
+ * appending, still parses log entries sequentially through a {@code ReadAheadLogChannel}. With a single core the
+ * mapped check is about as fast as the sequential read, so any gain comes from the extra scanning jobs.
+ */
+final class LogTailZeroScanner {
+    private static final long CHUNK_SIZE = mebiBytes(64);
+    private static final int READ_BUFFER_SIZE = safeCastLongToInt(kibiBytes(64));
+
+    private LogTailZeroScanner() {}
+
+    static boolean hasNonZeroBytesAfter(
+            StoreChannel channel, long offset, JobScheduler jobScheduler, MemoryTracker memoryTracker)
+            throws IOException {
+        return hasNonZeroBytesAfter(channel, offset, CHUNK_SIZE, jobScheduler, memoryTracker);
+    }
+
+    static boolean hasNonZeroBytesAfter(
+            StoreChannel channel, long offset, long chunkSize, JobScheduler jobScheduler, MemoryTracker memoryTracker)
+            throws IOException {
+        long size = channel.size();
+        if (offset >= size) {
+            return false;
+        }
+        if (!channel.canMapForReading()) {
+            return hasNonZeroBytesSequentially(channel, offset, memoryTracker);
+        }
+
+        long chunks = (size - offset + chunkSize - 1) / chunkSize;
+        AtomicLong nextChunk = new AtomicLong();
+        AtomicBoolean found = new AtomicBoolean();
+        AtomicReference<IOException> mappingFailure = new AtomicReference<>();
+        Runnable scanner = () -> {
+            long chunk;
+            while (!found.get() && mappingFailure.get() == null && (chunk = nextChunk.getAndIncrement()) < chunks) {
+                long position = offset + chunk * chunkSize;
+                try {
+                    if (hasNonZeroBytes(channel.mapForReading(position, min(chunkSize, size - position)))) {
+                        found.set(true);
+                    }
+                } catch (IOException e) {
+                    mappingFailure.compareAndSet(null, e);
+                }
+            }
+        };
+
+        int jobs = (int) min(chunks - 1, Runtime.getRuntime().availableProcessors() - 1);
+        List<JobHandle<?>> handles = new ArrayList<>(jobs);
+        for (int i = 0; i < jobs; i++) {
+            handles.add(jobScheduler.schedule(
+                    Group.RECOVERY_LOG_TAIL_SCAN,
+                    JobMonitoringParams.systemJob("Scan of the transaction log tail for non-zero bytes"),
+                    scanner));
+        }
+        scanner.run();
+        awaitAll(handles);
+
+        if (found.get()) {
+            return true;
+        }
+        if (mappingFailure.get() != null) {
+            return hasNonZeroBytesSequentially(channel, offset, memoryTracker);
+        }
+        return false;
+    }
+
+    private static void awaitAll(List<JobHandle<?>> handles) throws IOException {
+        for (JobHandle<?> handle : handles) {
+            try {
+                handle.waitTermination();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while scanning the transaction log tail");
+            } catch (ExecutionException e) {
+                throw new IOException("Failed to scan the transaction log tail", e.getCause());
+            }
+        }
+    }
+
+    private static boolean hasNonZeroBytes(ByteBuffer mapped) {
+        try {
+            int limit = mapped.limit();
+            int index = 0;
+            for (; index + Long.BYTES <= limit; index += Long.BYTES) {
+                if (mapped.getLong(index) != 0) {
+                    return true;
+                }
+            }
+            for (; index < limit; index++) {
+                if (mapped.get(index) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            UnsafeUtil.invokeCleaner(mapped);
+        }
+    }
+
+    private static boolean hasNonZeroBytesSequentially(StoreChannel channel, long offset, MemoryTracker memoryTracker)
+            throws IOException {
+        try (var scopedBuffer = new NativeScopedBuffer(READ_BUFFER_SIZE, ByteOrder.LITTLE_ENDIAN, memoryTracker)) {
+            ByteBuffer byteBuffer = scopedBuffer.getBuffer();
+            channel.position(offset);
+            while (channel.read(byteBuffer) >= 0) {
+                byteBuffer.flip();
+                while (byteBuffer.hasRemaining()) {
+                    if (byteBuffer.get() != 0) {
+                        return true;
+                    }
+                }
+                byteBuffer.clear();
+            }
+        }
+        return false;
+    }
+}
@@ -28,6 +28,8 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import org.neo4j.internal.helpers.Exceptions;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.context.CursorContextFactory;
@@ -48,6 +50,8 @@ final class ParallelRecoveryVisitor implements RecoveryApplier {
     private final String tracerTag;
     private final ExecutorService appliers;
     private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final ReentrantLock turnLock = new ReentrantLock();
+    private final Condition turnTaken = turnLock.newCondition();
     private final int stride;
 
     ParallelRecoveryVisitor(
@@ -91,14 +95,11 @@ final class ParallelRecoveryVisitor implements RecoveryApplier {
         // before acquiring the locks
         prevLockedTxId.compareAndSet(-1, transaction.commitEntry().getTxId() - stride);
 
-        // TODO Also consider the memory usage of all active transaction instances and apply back-pressure if surpassing
-        // it
+        // The number of transactions in flight is bounded by the appliers and their queue, and the transactions that
+        // are read ahead of those are bounded by the read-ahead memory of the transaction cursor
         appliers.submit(() -> {
             long txId = transaction.commitEntry().getTxId();
-            while (prevLockedTxId.get() != txId - stride) {
-                Thread.onSpinWait();
-                checkFailure();
-            }
+            awaitTurn(txId);
             try (LockGroup locks = new LockGroup()) {
                 storageEngine.lockRecoveryCommands(transaction.commandBatch(), lockService, locks, mode);
                 boolean myTurn = prevLockedTxId.compareAndSet(txId - stride, txId);
@@ -106,15 +107,41 @@ final class ParallelRecoveryVisitor implements RecoveryApplier {
                         myTurn,
                         "Something wrong with the algorithm, I thought it was my turn, but apparently it wasn't %d",
                         txId);
+                signalTurnTaken();
                 apply(transaction);
             } catch (Throwable e) {
                 failure.compareAndSet(null, e);
+                signalTurnTaken();
             }
             return null;
         });
         return false;
     }
 
+    private void awaitTurn(long txId) throws Exception {
+        if (prevLockedTxId.get() == txId - stride) {
+            return;
+        }
+        turnLock.lock();
+        try {
+            while (prevLockedTxId.get() != txId - stride) {
+                checkFailure();
+                turnTaken.await();
+            }
+        } finally {
+            turnLock.unlock();
+        }
+    }
+
+    private void signalTurnTaken() {
+        turnLock.lock();
+        try {
+            turnTaken.signalAll();
+        } finally {
+            turnLock.unlock();
+        }
+    }
+
     private void checkFailure() throws Exception {
         Throwable failure = this.failure.get();
         if (failure != null) {
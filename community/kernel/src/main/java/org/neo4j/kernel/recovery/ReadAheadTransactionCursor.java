@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.recovery;
+
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstanceWithObjectReferences;
+import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.impl.transaction.log.TransactionCursor;
+import org.neo4j.memory.MemoryLimitExceededException;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.storageengine.api.StorageCommand;
+
+/**
+ * A {@link TransactionCursor} that reads and decodes transactions from another cursor on a {@link JobScheduler} job,
+ * ahead of the thread that consumes them.
+ * <p>
+ * The transactions that have been read ahead, but not yet consumed, are accounted for in a scope of the recovery
+ * {@link MemoryTracker} by an estimate of their decoded size, and reading ahead pauses whenever that exceeds the
+ * memory budget, or the recovery memory tracker refuses the allocation. A single transaction that is larger than the
+ * whole budget is still read, once all others have been consumed.
+ * <p>
+ * Failures to read from the source cursor are only surfaced by {@link #next()} after all transactions that were read
+ * before the failure have been consumed, so that the consumer observes the same sequence as from the source cursor.
+ */
+final class ReadAheadTransactionCursor implements TransactionCursor {
+    // A decoded command holds both the before and the after state of what it changes, which together take up at
+    // least twice its serialized size, in objects of their own
+    private static final long DECODED_COMMAND_OVERHEAD = shallowSizeOfInstanceWithObjectReferences(4);
+
+    private final TransactionCursor source;
+    private final long memoryBudget;
+    private final MemoryTracker memoryTracker;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition transactionRead = lock.newCondition();
+    private final Condition transactionConsumed = lock.newCondition();
+    private final ArrayDeque<ReadTransaction> transactions = new ArrayDeque<>();
+    private final JobHandle<?> reader;
+    private ReadTransaction current;
+    private LogPosition position;
+    private long highWaterMark;
+    private boolean exhausted;
+    private boolean closed;
+    private Throwable failure;
+
+    ReadAheadTransactionCursor(
+            TransactionCursor source,
+            LogPosition startPosition,
+            long memoryBudget,
+            MemoryTracker memoryTracker,
+            JobScheduler jobScheduler) {
+        this.source = source;
+        this.memoryBudget = memoryBudget;
+        this.memoryTracker = memoryTracker.getScopedMemoryTracker();
+        this.position = startPosition;
+        this.reader = jobScheduler.schedule(
+                Group.RECOVERY_READ_AHEAD,
+                systemJob("Reading transactions ahead of recovery"),
+                () -> readAhead(startPosition));
+    }
+
+    private void readAhead(LogPosition startPosition) {
+        LogPosition position = startPosition;
+        try {
+            while (source.next()) {
+                CommittedTransactionRepresentation transaction = source.get();
+                LogPosition nextPosition = source.position();
+                long size = decodedSize(transaction, transactionLogSize(position, nextPosition));
+                position = nextPosition;
+                if (!offer(new ReadTransaction(transaction, nextPosition, size))) {
+                    return;
+                }
+            }
+            finish(null);
+        } catch (Throwable t) {
+            finish(t);
+        }
+    }
+
+    private boolean offer(ReadTransaction transaction) throws InterruptedException {
+        lock.lock();
+        try {
+            boolean reserved = false;
+            while (!closed && !(reserved = reserve(transaction.size)) && !transactions.isEmpty()) {
+                transactionConsumed.await();
+            }
+            if (closed) {
+                return false;
+            }
+            if (!reserved) {
+                // Nothing else is waiting to be consumed, so this transaction is read regardless of the budget
+                memoryTracker.allocateHeap(transaction.size);
+            }
+            highWaterMark = Math.max(highWaterMark, memoryTracker.estimatedHeapMemory());
+            transactions.addLast(transaction);
+            transactionRead.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean reserve(long size) {
+        if (memoryTracker.estimatedHeapMemory() >= memoryBudget) {
+            return false;
+        }
+        try {
+            memoryTracker.allocateHeap(size);
+            return true;
+        } catch (MemoryLimitExceededException e) {
+            return false;
+        }
+    }
+
+    private void finish(Throwable failure) {
+        lock.lock();
+        try {
+            this.failure = failure;
+            this.exhausted = true;
+            transactionRead.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        lock.lock();
+        try {
+            while (transactions.isEmpty() && !exhausted) {
+                transactionRead.awaitUninterruptibly();
+            }
+            current = transactions.pollFirst();
+            if (current == null) {
+                throwFailure();
+                return false;
+            }
+            position = current.position;
+            memoryTracker.releaseHeap(current.size);
+            transactionConsumed.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void throwFailure() throws IOException {
+        Throwable t = failure;
+        if (t instanceof IOException e) {
+            throw e;
+        } else if (t instanceof RuntimeException e) {
+            throw e;
+        } else if (t instanceof Error e) {
+            throw e;
+        } else if (t != null) {
+            throw new IOException(t);
+        }
+    }
+
+    @Override
+    public CommittedTransactionRepresentation get() {
+        return current.transaction;
+    }
+
+    /**
+     * @return the position after the last consumed transaction, which is also the end of the read transactions once
+     * this cursor is exhausted, the same as for the source cursor.
+     */
+    @Override
+    public LogPosition position() {
+        return position;
+    }
+
+    /**
+     * @return the highest estimated size of transactions that were read ahead and waiting to be consumed at once.
+     */
+    long readAheadHighWaterMark() {
+        lock.lock();
+        try {
+            return highWaterMark;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            transactions.clear();
+            memoryTracker.close();
+            transactionConsumed.signal();
+        } finally {
+            lock.unlock();
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                reader.waitTermination();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } catch (ExecutionException e) {
+                // The reader records its own failures, which are only of interest to a consumer
+                break;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        source.close();
+    }
+
+    /**
+     * @return the number of bytes of transaction log between the two positions, where the second position may be in
+     * a later log file than the first. In that case only the part in the later log file is counted.
+     */
+    static long transactionLogSize(LogPosition from, LogPosition to) {
+        if (from.getLogVersion() == to.getLogVersion()) {
+            return Math.abs(to.getByteOffset() - from.getByteOffset());
+        }
+        return to.getByteOffset();
+    }
+
+    /**
+     * @return an estimate of the heap that the given decoded transaction takes up, based on its transaction log size.
+     */
+    static long decodedSize(CommittedTransactionRepresentation transaction, long transactionLogSize) {
+        long commands = 0;
+        for (StorageCommand ignored : transaction.commandBatch()) {
+            commands++;
+        }
+        return 2 * transactionLogSize + commands * DECODED_COMMAND_OVERHEAD;
+    }
+
+    private record ReadTransaction(CommittedTransactionRepresentation transaction, LogPosition position, long size) {}
+}
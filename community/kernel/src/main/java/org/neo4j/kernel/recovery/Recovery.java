@@ -582,6 +582,7 @@ public final class Recovery {
         schemaLife.add(indexingService);
 
         var doParallelRecovery = config.get(GraphDatabaseInternalSettings.do_parallel_recovery);
+        var readAheadMemory = config.get(GraphDatabaseInternalSettings.recovery_read_ahead_memory);
         TransactionLogsRecovery transactionLogsRecovery = transactionLogRecovery(
                 fs,
                 metadataProvider,
@@ -598,6 +599,8 @@ public final class Recovery {
                 startupChecker,
                 memoryTracker,
                 doParallelRecovery,
+                readAheadMemory,
+                scheduler,
                 recoveryPredicate,
                 cursorContextFactory);
 
@@ -710,6 +713,8 @@ public final class Recovery {
             RecoveryStartupChecker startupChecker,
             MemoryTracker memoryTracker,
             boolean doParallelRecovery,
+            long readAheadMemory,
+            JobScheduler jobScheduler,
             RecoveryPredicate recoveryPredicate,
             CursorContextFactory contextFactory) {
         RecoveryService recoveryService = new DefaultRecoveryService(
@@ -720,9 +725,12 @@ public final class Recovery {
                 logFiles,
                 positionMonitor,
                 log,
-                doParallelRecovery);
+                doParallelRecovery,
+                readAheadMemory,
+                jobScheduler,
+                memoryTracker);
         CorruptedLogsTruncator logsTruncator = new CorruptedLogsTruncator(
-                databaseLayout.databaseDirectory(), logFiles, fileSystemAbstraction, memoryTracker);
+                databaseLayout.databaseDirectory(), logFiles, fileSystemAbstraction, memoryTracker, jobScheduler);
         ProgressReporter progressReporter = new LogProgressReporter(log);
         return new TransactionLogsRecovery(
                 recoveryService,
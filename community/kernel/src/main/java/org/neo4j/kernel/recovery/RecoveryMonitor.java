@@ -36,6 +36,18 @@ public interface RecoveryMonitor {
         // noop
     }
 
+    /**
+     * Called when all transactions have been replayed onto the store, with what it took to replay them. Together with
+     * the amount of transaction log after the last checkpoint, this gives an estimate of how long recovery takes.
+     *
+     * @param recoveredTransactions number of transactions that were replayed.
+     * @param recoveredBytes number of bytes of transaction log that were replayed.
+     * @param recoveryTimeInMilliseconds time it took to read and replay the transactions.
+     */
+    default void recoveryThroughput(long recoveredTransactions, long recoveredBytes, long recoveryTimeInMilliseconds) {
+        // noop
+    }
+
     default void reverseStoreRecoveryCompleted(long lowestRecoveredTxId) {
         // noop
     }
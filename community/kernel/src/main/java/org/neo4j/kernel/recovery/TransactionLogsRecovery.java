@@ -21,6 +21,7 @@ package org.neo4j.kernel.recovery;
 
 import static java.lang.String.format;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.neo4j.kernel.recovery.ReadAheadTransactionCursor.transactionLogSize;
 import static org.neo4j.kernel.recovery.Recovery.throwUnableToCleanRecover;
 import static org.neo4j.storageengine.api.TransactionApplicationMode.RECOVERY;
 import static org.neo4j.storageengine.api.TransactionApplicationMode.REVERSE_RECOVERY;
@@ -126,6 +127,8 @@ public class TransactionLogsRecovery extends LifecycleAdapter {
                 schemaLife.init();
 
                 boolean fullRecovery = true;
+                long recoveredBytes = 0;
+                Stopwatch replayStartTime = Stopwatch.start();
                 try (var transactionsToRecover = recoveryService.getTransactions(recoveryStartPosition);
                         var recoveryVisitor =
                                 recoveryService.getRecoveryApplier(RECOVERY, contextFactory, RECOVERY_TAG)) {
@@ -188,6 +191,8 @@ public class TransactionLogsRecovery extends LifecycleAdapter {
                             lastTransaction = nextTransaction;
                             monitor.transactionRecovered(txId);
                             numberOfRecoveredTransactions++;
+                            recoveredBytes +=
+                                    transactionLogSize(lastTransactionPosition, transactionsToRecover.position());
                             lastTransactionPosition = transactionsToRecover.position();
                             recoveryToPosition = lastTransactionPosition;
                             reportProgress();
@@ -195,6 +200,8 @@ public class TransactionLogsRecovery extends LifecycleAdapter {
                     }
                     recoveryToPosition = fullRecovery ? transactionsToRecover.position() : lastTransactionPosition;
                 }
+                monitor.recoveryThroughput(
+                        numberOfRecoveredTransactions, recoveredBytes, replayStartTime.elapsed(MILLISECONDS));
             } catch (Error
                     | ClosedByInterruptException
                     | DatabaseStartAbortedException
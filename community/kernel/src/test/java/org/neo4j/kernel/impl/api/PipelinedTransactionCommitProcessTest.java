@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.lock.LockType.EXCLUSIVE;
+import static org.neo4j.storageengine.api.TransactionApplicationMode.INTERNAL;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.internal.kernel.api.exceptions.TransactionFailureException;
+import org.neo4j.kernel.impl.transaction.log.FakeCommitment;
+import org.neo4j.kernel.impl.transaction.log.ForcedTransactionsHandler;
+import org.neo4j.kernel.impl.transaction.log.TestableTransactionAppender;
+import org.neo4j.kernel.impl.transaction.tracing.CommitEvent;
+import org.neo4j.kernel.impl.transaction.tracing.LogAppendEvent;
+import org.neo4j.lock.LockGroup;
+import org.neo4j.lock.LockService;
+import org.neo4j.storageengine.api.CommandBatch;
+import org.neo4j.storageengine.api.CommandBatchToApply;
+import org.neo4j.storageengine.api.StorageEngine;
+import org.neo4j.storageengine.api.TransactionApplicationMode;
+import org.neo4j.storageengine.api.TransactionIdStore;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+import org.neo4j.test.extension.OtherThread;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+
+class PipelinedTransactionCommitProcessTest {
+    private final OtherThread t2 = new OtherThread();
+    private final OtherThread t3 = new OtherThread();
+    private final ThreadPoolJobScheduler jobScheduler = new ThreadPoolJobScheduler();
+    private final TransactionIdStore transactionIdStore = mock(TransactionIdStore.class);
+    private final StorageEngine storageEngine = mock(StorageEngine.class);
+    private final GroupingTransactionAppender appender = new GroupingTransactionAppender();
+    private final List<List<Long>> appliedBatches = new CopyOnWriteArrayList<>();
+    private PipelinedTransactionCommitProcess commitProcess;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        t2.init("T2");
+        t3.init("T3");
+        doAnswer(invocation -> {
+                    appliedBatches.add(transactionIds(invocation.getArgument(0)));
+                    return null;
+                })
+                .when(storageEngine)
+                .apply(any(CommandBatchToApply.class), any(TransactionApplicationMode.class));
+        commitProcess = startCommitProcess(1);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        commitProcess.stop();
+        t2.close();
+        t3.close();
+        jobScheduler.close();
+    }
+
+    @Test
+    void shouldNotBeUsableWithAppenderThatDoesNotHandOverForcedTransactions() {
+        var plainAppender = new TestableTransactionAppender();
+        var process = new PipelinedTransactionCommitProcess(plainAppender, storageEngine, jobScheduler, 1, "neo4j");
+
+        assertThat(process.handOverForcedTransactionsFrom(plainAppender)).isFalse();
+    }
+
+    @Test
+    void shouldApplyAndCloseSingleTransaction() throws Exception {
+        commitProcess.commit(transaction(5), CommitEvent.NULL, INTERNAL);
+
+        assertThat(appliedBatches).containsExactly(List.of(5L));
+        verify(transactionIdStore).transactionClosed(eq(5L), anyLong(), anyLong(), anyInt(), anyLong());
+    }
+
+    @Test
+    void shouldApplyForcedGroupAsOneBatchInLogOrder() throws Exception {
+        appender.groupSize = 2;
+        var first = transaction(1);
+        var second = transaction(2);
+
+        Future<Long> firstCommit = t2.execute(() -> commitProcess.commit(first, CommitEvent.NULL, INTERNAL));
+        t2.get().waitUntilWaiting(details -> details.isAt(GroupingTransactionAppender.class, "append"));
+        t3.execute(() -> commitProcess.commit(second, CommitEvent.NULL, INTERNAL)).get();
+        firstCommit.get();
+
+        assertThat(appliedBatches).containsExactly(List.of(1L, 2L));
+        // Every committing thread closes its own transactions, so they must not stay linked
+        assertThat(first.next()).isNull();
+        for (long txId = 1; txId <= 2; txId++) {
+            verify(transactionIdStore).transactionClosed(eq(txId), anyLong(), anyLong(), anyInt(), anyLong());
+        }
+    }
+
+    @Test
+    void shouldAppendNextTransactionsWhileApplyingForcedOnes() throws Exception {
+        var firstApplyStarted = new CountDownLatch(1);
+        var releaseFirstApply = new CountDownLatch(1);
+        doAnswer(invocation -> {
+                    List<Long> transactionIds = transactionIds(invocation.getArgument(0));
+                    if (transactionIds.contains(1L)) {
+                        firstApplyStarted.countDown();
+                        releaseFirstApply.await();
+                    }
+                    appliedBatches.add(transactionIds);
+                    return null;
+                })
+                .when(storageEngine)
+                .apply(any(CommandBatchToApply.class), any(TransactionApplicationMode.class));
+
+        Future<Long> first = t2.execute(() -> commitProcess.commit(transaction(1), CommitEvent.NULL, INTERNAL));
+        firstApplyStarted.await();
+        Future<Long> second = t3.execute(() -> commitProcess.commit(transaction(2), CommitEvent.NULL, INTERNAL));
+        // The second transaction gets appended and forced while the first one is still being applied
+        t3.get().waitUntilWaiting(details -> details.isAt(PipelinedTransactionCommitProcess.class, "awaitApplied"));
+        assertThat(appender.appendedTransactions).containsExactly(1L, 2L);
+        assertThat(appliedBatches).isEmpty();
+        releaseFirstApply.countDown();
+        first.get();
+        second.get();
+
+        assertThat(appliedBatches).containsExactly(List.of(1L), List.of(2L));
+    }
+
+    @Test
+    void shouldFailAndCloseTransactionThatFailedToApply() throws Exception {
+        IOException failure = new IOException("Mock exception");
+        doAnswer(invocation -> {
+                    throw failure;
+                })
+                .when(storageEngine)
+                .apply(any(CommandBatchToApply.class), any(TransactionApplicationMode.class));
+
+        var exception = assertThrows(
+                TransactionFailureException.class,
+                () -> commitProcess.commit(transaction(7), CommitEvent.NULL, INTERNAL));
+
+        assertThat(exception.getMessage()).contains("Could not apply the transaction:");
+        assertThat(exception).hasRootCause(failure);
+        verify(transactionIdStore).transactionClosed(eq(7L), anyLong(), anyLong(), anyInt(), anyLong());
+    }
+
+    @Test
+    void shouldApplyIndependentTransactionsOfAGroupConcurrently() throws Exception {
+        useAppliers(2);
+        appender.groupSize = 2;
+        var firstApplyStarted = new CountDownLatch(1);
+        var releaseFirstApply = new CountDownLatch(1);
+        doAnswer(invocation -> {
+                    List<Long> transactionIds = transactionIds(invocation.getArgument(0));
+                    if (transactionIds.contains(1L)) {
+                        firstApplyStarted.countDown();
+                        releaseFirstApply.await();
+                    }
+                    appliedBatches.add(transactionIds);
+                    return null;
+                })
+                .when(storageEngine)
+                .apply(any(CommandBatchToApply.class), any(TransactionApplicationMode.class));
+
+        Future<Long> first = t2.execute(() -> commitProcess.commit(transaction(1), CommitEvent.NULL, INTERNAL));
+        t2.get().waitUntilWaiting(details -> details.isAt(GroupingTransactionAppender.class, "append"));
+        Future<Long> second = t3.execute(() -> commitProcess.commit(transaction(2), CommitEvent.NULL, INTERNAL));
+        firstApplyStarted.await();
+        // The second transaction gets applied while the first one of the same group is still being applied
+        second.get();
+        releaseFirstApply.countDown();
+        first.get();
+
+        assertThat(appliedBatches).containsExactly(List.of(2L), List.of(1L));
+        for (long txId = 1; txId <= 2; txId++) {
+            verify(transactionIdStore).transactionClosed(eq(txId), anyLong(), anyLong(), anyInt(), anyLong());
+        }
+    }
+
+    @Test
+    void shouldApplyTransactionsThatTouchTheSameRecordsInLogOrder() throws Exception {
+        useAppliers(2);
+        appender.groupSize = 2;
+        var firstTransaction = transaction(1);
+        var secondTransaction = transaction(2);
+        var secondLockStarted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+                    if (invocation.getArgument(0) == secondTransaction.commandBatch()) {
+                        secondLockStarted.countDown();
+                    }
+                    LockService lockService = invocation.getArgument(1);
+                    LockGroup locks = invocation.getArgument(2);
+                    locks.add(lockService.acquireNodeLock(1, EXCLUSIVE));
+                    return null;
+                })
+                .when(storageEngine)
+                .lockRecoveryCommands(any(), any(), any(), any());
+        var firstApplyStarted = new CountDownLatch(1);
+        var releaseFirstApply = new CountDownLatch(1);
+        doAnswer(invocation -> {
+                    List<Long> transactionIds = transactionIds(invocation.getArgument(0));
+                    if (transactionIds.contains(1L)) {
+                        firstApplyStarted.countDown();
+                        releaseFirstApply.await();
+                    }
+                    appliedBatches.add(transactionIds);
+                    return null;
+                })
+                .when(storageEngine)
+                .apply(any(CommandBatchToApply.class), any(TransactionApplicationMode.class));
+
+        Future<Long> first = t2.execute(() -> commitProcess.commit(firstTransaction, CommitEvent.NULL, INTERNAL));
+        t2.get().waitUntilWaiting(details -> details.isAt(GroupingTransactionAppender.class, "append"));
+        Future<Long> second = t3.execute(() -> commitProcess.commit(secondTransaction, CommitEvent.NULL, INTERNAL));
+        firstApplyStarted.await();
+        secondLockStarted.await();
+        assertThat(appliedBatches).isEmpty();
+        releaseFirstApply.countDown();
+        first.get();
+        second.get();
+
+        assertThat(appliedBatches).containsExactly(List.of(1L), List.of(2L));
+    }
+
+    @Test
+    void shouldPassOnTheTurnWhenLockingFails() throws Exception {
+        useAppliers(2);
+        appender.groupSize = 2;
+        RuntimeException failure = new RuntimeException("Mock exception");
+        var failingTransaction = transaction(1);
+        doAnswer(invocation -> {
+                    throw failure;
+                })
+                .when(storageEngine)
+                .lockRecoveryCommands(eq(failingTransaction.commandBatch()), any(), any(), any());
+
+        Future<Long> first = t2.execute(() -> commitProcess.commit(failingTransaction, CommitEvent.NULL, INTERNAL));
+        t2.get().waitUntilWaiting(details -> details.isAt(GroupingTransactionAppender.class, "append"));
+        t3.execute(() -> commitProcess.commit(transaction(2), CommitEvent.NULL, INTERNAL)).get();
+
+        var exception = assertThrows(ExecutionException.class, first::get);
+        assertThat(exception).hasCauseInstanceOf(TransactionFailureException.class).hasRootCause(failure);
+        assertThat(appliedBatches).containsExactly(List.of(2L));
+        for (long txId = 1; txId <= 2; txId++) {
+            verify(transactionIdStore).transactionClosed(eq(txId), anyLong(), anyLong(), anyInt(), anyLong());
+        }
+    }
+
+    private PipelinedTransactionCommitProcess startCommitProcess(int numAppliers) throws Exception {
+        var process =
+                new PipelinedTransactionCommitProcess(appender, storageEngine, jobScheduler, numAppliers, "neo4j");
+        assertThat(process.handOverForcedTransactionsFrom(appender)).isTrue();
+        process.start();
+        return process;
+    }
+
+    private void useAppliers(int numAppliers) throws Exception {
+        commitProcess.stop();
+        commitProcess = startCommitProcess(numAppliers);
+    }
+
+    private static List<Long> transactionIds(CommandBatchToApply batch) {
+        List<Long> transactionIds = new ArrayList<>();
+        for (; batch != null; batch = batch.next()) {
+            transactionIds.add(batch.transactionId());
+        }
+        return transactionIds;
+    }
+
+    private TransactionToApply transaction(long txId) {
+        CommandBatch commandBatch = mock(CommandBatch.class);
+        return new TransactionToApply(
+                commandBatch,
+                NULL_CONTEXT,
+                StoreCursors.NULL,
+                new FakeCommitment(txId, transactionIdStore, false),
+                externalId -> txId);
+    }
+
+    /**
+     * Hands over the transactions it appends in groups of {@link #groupSize}, and keeps the committing threads waiting
+     * until their group is complete, like a group commit.
+     */
+    private static class GroupingTransactionAppender extends TestableTransactionAppender {
+        private final List<CommandBatchToApply> group = new ArrayList<>();
+        private final List<Long> appendedTransactions = new CopyOnWriteArrayList<>();
+        private ForcedTransactionsHandler handler;
+        private volatile int groupSize = 1;
+        private long groupsForced;
+
+        @Override
+        public boolean handOverForcedTransactions(ForcedTransactionsHandler handler) {
+            this.handler = handler;
+            return true;
+        }
+
+        @Override
+        public synchronized long append(CommandBatchToApply batch, LogAppendEvent logAppendEvent) {
+            long txId = super.append(batch, logAppendEvent);
+            appendedTransactions.add(batch.transactionId());
+            group.add(batch);
+            if (group.size() == groupSize) {
+                handler.forced(group.toArray(CommandBatchToApply[]::new));
+                group.clear();
+                groupsForced++;
+                notifyAll();
+            } else {
+                long forcedBefore = groupsForced;
+                while (groupsForced == forcedBefore) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }
+            return txId;
+        }
+    }
+}
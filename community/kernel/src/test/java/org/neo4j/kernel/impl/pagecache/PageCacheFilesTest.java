@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Test;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.monitoring.PageFileAccesses;
+import org.neo4j.io.pagecache.monitoring.PageFileResidency;
+import org.neo4j.io.pagecache.tracing.PageFileSwapperTracer;
+import org.neo4j.logging.NullLogProvider;
+
+class PageCacheFilesTest {
+    @Test
+    void mustReportStatisticsOfMappedFilesInOrder() throws IOException {
+        PageCache pageCache = mock(PageCache.class);
+        when(pageCache.listExistingMappings())
+                .thenReturn(List.of(
+                        pagedFile("db", "b", 3, 1), pagedFile("db", "a", 2, 2), pagedFile("aa", "c", 1, 0)));
+        PageCacheFiles files = new PageCacheFiles(pageCache, NullLogProvider.getInstance());
+
+        PageCacheFileInfo[] infos = files.getFiles();
+        assertThat(infos).extracting(PageCacheFileInfo::getPath).containsExactly("c", "a", "b");
+        assertThat(infos).extracting(PageCacheFileInfo::getDatabaseName).containsExactly("aa", "db", "db");
+        assertThat(files.getResidentPages()).isEqualTo(6);
+        assertThat(files.getDirtyPages()).isEqualTo(3);
+    }
+
+    @Test
+    void mustReportAccessesOfFilesEvenWithoutPerFileTracing() throws IOException {
+        PageCache pageCache = mock(PageCache.class);
+        when(pageCache.listExistingMappings()).thenReturn(List.of(pagedFile("db", "a", 4, 1)));
+        PageCacheFiles files = new PageCacheFiles(pageCache, NullLogProvider.getInstance());
+
+        PageCacheFileInfo[] infos = files.getFiles();
+        assertThat(infos).extracting(PageCacheFileInfo::getPins).containsExactly(12L);
+        assertThat(infos).extracting(PageCacheFileInfo::getHits).containsExactly(8L);
+        assertThat(infos).extracting(PageCacheFileInfo::getFaults).containsExactly(4L);
+        assertThat(infos[0].getHitRatio()).isEqualTo(8.0 / 12);
+    }
+
+    @Test
+    void mustReportNothingWhenPageCacheIsClosed() throws IOException {
+        PageCache pageCache = mock(PageCache.class);
+        when(pageCache.listExistingMappings()).thenThrow(new IOException("closed"));
+        PageCacheFiles files = new PageCacheFiles(pageCache, NullLogProvider.getInstance());
+
+        assertThat(files.statistics()).isEmpty();
+        assertThat(files.getFiles()).isEmpty();
+    }
+
+    @Test
+    void mustRegisterManagementBeanWhileStarted() throws Exception {
+        PageCache pageCache = mock(PageCache.class);
+        when(pageCache.listExistingMappings()).thenReturn(List.of(pagedFile("db", "a", 4, 1)));
+        PageCacheFiles files = new PageCacheFiles(pageCache, NullLogProvider.getInstance());
+        var server = ManagementFactory.getPlatformMBeanServer();
+
+        files.start();
+        ObjectName name = files.objectName();
+        try {
+            assertThat(server.isRegistered(name)).isTrue();
+            assertThat(server.getAttribute(name, "ResidentPages")).isEqualTo(4L);
+            assertThat(server.getAttribute(name, "DirtyPages")).isEqualTo(1L);
+        } finally {
+            files.stop();
+        }
+        assertThat(server.isRegistered(name)).isFalse();
+    }
+
+    private static PagedFile pagedFile(String databaseName, String path, long residentPages, long dirtyPages) {
+        PagedFile pagedFile = mock(PagedFile.class);
+        when(pagedFile.getDatabaseName()).thenReturn(databaseName);
+        when(pagedFile.path()).thenReturn(Path.of(path));
+        when(pagedFile.pageSize()).thenReturn(8192);
+        when(pagedFile.pageFileCounters()).thenReturn(PageFileSwapperTracer.NULL);
+        when(pagedFile.accesses()).thenReturn(new PageFileAccesses(residentPages * 2, residentPages));
+        when(pagedFile.residency()).thenReturn(new PageFileResidency(residentPages, dirtyPages));
+        return pagedFile;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_prefetch;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_prefetch_allowlist;
+import static org.neo4j.io.pagecache.PageCache.PAGE_SIZE;
+import static org.neo4j.io.pagecache.PageCursor.UNBOUND_PAGE_ID;
+import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.io.pagecache.context.CursorContextFactory.NULL_CONTEXT_FACTORY;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.configuration.Config;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.pagecache.IOController;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.EphemeralTestDirectoryExtension;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+import org.neo4j.test.utils.TestDirectory;
+
+@EphemeralTestDirectoryExtension
+class PageCacheWarmerTest {
+    private static final int CACHE_PAGES = 20;
+
+    @Inject
+    private FileSystemAbstraction fs;
+
+    @Inject
+    private TestDirectory testDirectory;
+
+    private JobScheduler jobScheduler;
+    private DatabaseLayout databaseLayout;
+
+    @BeforeEach
+    void setUp() {
+        jobScheduler = new ThreadPoolJobScheduler();
+        databaseLayout = DatabaseLayout.ofFlat(testDirectory.directory("neo4j"));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        jobScheduler.close();
+    }
+
+    @Test
+    void warmupMustLoadThePagesThatWereResidentWhenProfiled() throws Exception {
+        Path file = databaseLayout.file("a");
+        List<Long> profiledPages;
+        try (PageCache pageCache = createPageCache();
+                PagedFile pagedFile = pageCache.map(file, PAGE_SIZE, databaseLayout.getDatabaseName())) {
+            // Write more pages than the cache can hold, so only some of them are resident
+            writePages(pagedFile, 3 * CACHE_PAGES);
+            var warmer = createWarmer(pageCache, Config.defaults());
+            assertThat(warmer.warmUp()).isEqualTo(0);
+
+            profiledPages = residentPages(pagedFile);
+            assertThat(warmer.profile()).isEqualTo(1);
+        }
+        assertTrue(fs.fileExists(databaseLayout
+                .databaseDirectory()
+                .resolve(PageCacheWarmer.PROFILES_DIRECTORY)
+                .resolve("a" + PageCacheWarmer.SUFFIX_CACHEPROF)));
+
+        try (PageCache pageCache = createPageCache();
+                PagedFile pagedFile = pageCache.map(file, PAGE_SIZE, databaseLayout.getDatabaseName())) {
+            assertThat(residentPages(pagedFile)).isEmpty();
+
+            var warmer = createWarmer(pageCache, Config.defaults());
+            assertThat(warmer.warmUp()).isEqualTo(profiledPages.size());
+            assertThat(residentPages(pagedFile)).isEqualTo(profiledPages);
+        }
+    }
+
+    @Test
+    void prefetchMustLoadAllPagesOfAllowedFiles() throws Exception {
+        Path fileA = databaseLayout.file("a");
+        Path fileB = databaseLayout.file("b");
+        try (PageCache pageCache = createPageCache();
+                PagedFile a = pageCache.map(fileA, PAGE_SIZE, databaseLayout.getDatabaseName());
+                PagedFile b = pageCache.map(fileB, PAGE_SIZE, databaseLayout.getDatabaseName())) {
+            writePages(a, 5);
+            writePages(b, 5);
+        }
+
+        Config config = Config.newBuilder()
+                .set(pagecache_warmup_prefetch, true)
+                .set(pagecache_warmup_prefetch_allowlist, "a")
+                .build();
+        try (PageCache pageCache = createPageCache();
+                PagedFile a = pageCache.map(fileA, PAGE_SIZE, databaseLayout.getDatabaseName());
+                PagedFile b = pageCache.map(fileB, PAGE_SIZE, databaseLayout.getDatabaseName())) {
+            var warmer = createWarmer(pageCache, config);
+            assertThat(warmer.warmUp()).isEqualTo(5);
+            assertThat(residentPages(a)).containsExactly(0L, 1L, 2L, 3L, 4L);
+            assertThat(residentPages(b)).isEmpty();
+        }
+    }
+
+    @Test
+    void mustNotProfileBeforeWarmupHasCompleted() throws IOException {
+        try (PageCache pageCache = createPageCache();
+                PagedFile pagedFile =
+                        pageCache.map(databaseLayout.file("a"), PAGE_SIZE, databaseLayout.getDatabaseName())) {
+            writePages(pagedFile, 5);
+            var warmer = createWarmer(pageCache, Config.defaults());
+            assertThat(warmer.profile()).isEqualTo(0);
+        }
+    }
+
+    private PageCache createPageCache() {
+        var swapperFactory = new SingleFilePageSwapperFactory(fs, PageCacheTracer.NULL, EmptyMemoryTracker.INSTANCE);
+        // Without the background eviction thread, pages only get evicted when we fault in new ones.
+        return new MuninnPageCache(
+                swapperFactory,
+                jobScheduler,
+                MuninnPageCache.config(CACHE_PAGES).disableEvictionThread());
+    }
+
+    private PageCacheWarmer createWarmer(PageCache pageCache, Config config) {
+        return new PageCacheWarmer(
+                fs,
+                pageCache,
+                jobScheduler,
+                IOController.DISABLED,
+                databaseLayout,
+                config,
+                NULL_CONTEXT_FACTORY,
+                NullLogProvider.getInstance());
+    }
+
+    private static void writePages(PagedFile pagedFile, int pages) throws IOException {
+        try (PageCursor cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+            for (int i = 0; i < pages; i++) {
+                assertTrue(cursor.next());
+                cursor.putInt(i);
+            }
+        }
+    }
+
+    private static List<Long> residentPages(PagedFile pagedFile) throws IOException {
+        List<Long> pages = new ArrayList<>();
+        try (PageCursor cursor = pagedFile.io(0, PF_SHARED_READ_LOCK | PF_NO_FAULT, NULL_CONTEXT)) {
+            while (cursor.next()) {
+                if (cursor.getCurrentPageId() != UNBOUND_PAGE_ID) {
+                    pages.add(cursor.getCurrentPageId());
+                }
+            }
+        }
+        return pages;
+    }
+}
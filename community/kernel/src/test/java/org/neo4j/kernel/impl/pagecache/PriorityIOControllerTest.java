@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.configuration.GraphDatabaseSettings;
+import org.neo4j.io.pagecache.IOController;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.scheduler.Group;
+import org.neo4j.time.Clocks;
+import org.neo4j.time.FakeClock;
+
+class PriorityIOControllerTest {
+    private final FakeClock clock = Clocks.fakeClock();
+
+    @Test
+    void tokenBucketMustAskForDelayOnceBurstIsUsedUp() {
+        TokenBucket bucket = new TokenBucket(MILLISECONDS.toNanos(10), SECONDS.toNanos(1), 0);
+        bucket.setRate(1000);
+
+        assertThat(bucket.take(10, 0)).isZero();
+        assertThat(bucket.take(5, 0)).isEqualTo(MILLISECONDS.toNanos(5));
+        assertThat(bucket.delay(0)).isEqualTo(MILLISECONDS.toNanos(5));
+        assertThat(bucket.delay(MILLISECONDS.toNanos(5))).isZero();
+    }
+
+    @Test
+    void tokenBucketMustBoundItsDebt() {
+        TokenBucket bucket = new TokenBucket(0, SECONDS.toNanos(1), 0);
+        bucket.setRate(10);
+
+        assertThat(bucket.take(1000, 0)).isEqualTo(SECONDS.toNanos(1));
+        assertThat(bucket.delay(SECONDS.toNanos(1))).isZero();
+    }
+
+    @Test
+    void unlimitedTokenBucketMustNeverDelay() {
+        TokenBucket bucket = new TokenBucket(0, SECONDS.toNanos(1), 0);
+        bucket.setRate(-1);
+
+        assertThat(bucket.rate()).isEqualTo(-1);
+        assertThat(bucket.take(Integer.MAX_VALUE, 0)).isZero();
+        assertThat(bucket.delay(0)).isZero();
+    }
+
+    @Test
+    void mustClassifyThreadsByTheirSchedulerGroup() throws InterruptedException {
+        assertThat(IOClass.current()).isEqualTo(IOClass.FOREGROUND);
+        assertThat(classOfThreadIn(Group.CHECKPOINT)).isEqualTo(IOClass.CHECKPOINT);
+        assertThat(classOfThreadIn(Group.FILE_IO_HELPER)).isEqualTo(IOClass.FILE_IO_HELPER);
+        assertThat(classOfThreadIn(Group.PAGE_CACHE_EVICTION)).isEqualTo(IOClass.EVICTION);
+        assertThat(classOfThreadIn(Group.INDEX_POPULATION)).isEqualTo(IOClass.INDEX_POPULATION);
+        assertThat(classOfThreadIn(Group.INDEX_POPULATION_WORK)).isEqualTo(IOClass.INDEX_POPULATION);
+        assertThat(classOfThreadIn(Group.TRANSACTION_TIMEOUT_MONITOR)).isEqualTo(IOClass.FOREGROUND);
+    }
+
+    @Test
+    void mustAccountIOPerClass() throws InterruptedException {
+        PriorityIOController controller = new PriorityIOController(clock, Duration.ofMillis(2));
+
+        controller.reportIO(3);
+        runIn(Group.CHECKPOINT, () -> controller.maybeLimitIO(5, FileFlushEvent.NULL));
+        runIn(Group.INDEX_POPULATION_WORK, () -> controller.reportIO(7));
+
+        assertThat(controller.completedIOs(IOClass.FOREGROUND)).isEqualTo(3);
+        assertThat(controller.completedIOs(IOClass.CHECKPOINT)).isEqualTo(5);
+        assertThat(controller.completedIOs(IOClass.INDEX_POPULATION)).isEqualTo(7);
+        assertThat(controller.completedIOs(IOClass.FILE_IO_HELPER)).isZero();
+    }
+
+    @Test
+    void mustDelayBackgroundClassOverItsBudget() throws InterruptedException {
+        PriorityIOController controller = new PriorityIOController(clock, Duration.ofMillis(2));
+        controller.setIopsLimit(IOClass.CHECKPOINT, 1000);
+
+        runIn(Group.CHECKPOINT, () -> controller.maybeLimitIO(60, FileFlushEvent.NULL));
+
+        assertThat(controller.overBudgetIOs(IOClass.CHECKPOINT)).isEqualTo(60);
+        assertThat(controller.delays(IOClass.CHECKPOINT)).isEqualTo(1);
+        assertThat(controller.iopsLimit(IOClass.CHECKPOINT)).isEqualTo(1000);
+    }
+
+    @Test
+    void mustNeverDelayForegroundOrEviction() throws InterruptedException {
+        PriorityIOController controller = new PriorityIOController(clock, Duration.ofMillis(2));
+        controller.setIopsLimit(IOClass.EVICTION, 10);
+
+        controller.maybeLimitIO(10_000, FileFlushEvent.NULL);
+        runIn(Group.PAGE_CACHE_EVICTION, () -> {
+            controller.maybeLimitIO(10_000, FileFlushEvent.NULL);
+            controller.maybeLimitPageFault();
+        });
+
+        assertThat(controller.delays(IOClass.FOREGROUND)).isZero();
+        assertThat(controller.overBudgetIOs(IOClass.EVICTION)).isEqualTo(10_000);
+        assertThat(controller.delays(IOClass.EVICTION)).isZero();
+    }
+
+    @Test
+    void backgroundPageFaultsMustPayForReportedIO() throws InterruptedException {
+        PriorityIOController controller = new PriorityIOController(clock, Duration.ofMillis(2));
+        controller.setIopsLimit(IOClass.INDEX_POPULATION, 1000);
+
+        runIn(Group.INDEX_POPULATION, () -> {
+            controller.reportIO(60);
+            controller.maybeLimitPageFault();
+        });
+
+        assertThat(controller.delays(IOClass.INDEX_POPULATION)).isEqualTo(1);
+    }
+
+    @Test
+    void mustLowerAndRestoreBudgetsBasedOnReadLatency() {
+        PriorityIOController controller = new PriorityIOController(clock, Duration.ofMillis(2));
+        controller.setIopsLimit(IOClass.CHECKPOINT, 1000);
+
+        for (int i = 0; i < 20; i++) {
+            controller.reportReadLatency(MILLISECONDS.toNanos(10));
+            adapt(controller);
+        }
+        assertThat(controller.pressureFactor()).isEqualTo(PriorityIOController.MIN_PRESSURE_FACTOR);
+        assertThat(controller.configuredLimit()).isEqualTo(100);
+
+        for (int i = 0; i < 20; i++) {
+            controller.reportReadLatency(MILLISECONDS.toNanos(0));
+            adapt(controller);
+        }
+        assertThat(controller.pressureFactor()).isEqualTo(1.0);
+        assertThat(controller.configuredLimit()).isEqualTo(1000);
+    }
+
+    @Test
+    void foregroundIOCannotBeLimited() {
+        PriorityIOController controller = new PriorityIOController(clock, Duration.ofMillis(2));
+
+        assertThrows(IllegalArgumentException.class, () -> controller.setIopsLimit(IOClass.FOREGROUND, 10));
+    }
+
+    @Test
+    void communityServiceMustCreatePriorityControllerWhenEnabled() {
+        var service = new CommunityIOControllerService();
+        assertThat(service.createIOController(Config.defaults(), clock)).isSameAs(IOController.DISABLED);
+
+        Config config = Config.newBuilder()
+                .set(GraphDatabaseInternalSettings.io_controller_priority_enabled, true)
+                .set(GraphDatabaseSettings.check_point_iops_limit, 300)
+                .build();
+        var controller = service.createIOController(config, clock);
+        assertThat(controller).isInstanceOf(PriorityIOController.class);
+        assertThat(controller.configuredLimit()).isEqualTo(300);
+
+        config.setDynamic(GraphDatabaseSettings.check_point_iops_limit, -1, "test");
+        assertThat(controller.configuredLimit()).isEqualTo(-1);
+    }
+
+    private void adapt(PriorityIOController controller) {
+        clock.forward(PriorityIOController.ADAPTATION_INTERVAL_NANOS, NANOSECONDS);
+        controller.maybeAdapt(clock.nanos());
+    }
+
+    private static IOClass classOfThreadIn(Group group) throws InterruptedException {
+        AtomicReference<IOClass> ioClass = new AtomicReference<>();
+        runIn(group, () -> ioClass.set(IOClass.current()));
+        return ioClass.get();
+    }
+
+    private static void runIn(Group group, Runnable runnable) throws InterruptedException {
+        Thread thread = new Thread(new ThreadGroup(group.groupName()), runnable);
+        thread.start();
+        thread.join();
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.cdc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.neo4j.kernel.impl.transaction.cdc.ChangeEvent.Type.NODE_CREATED;
+import static org.neo4j.kernel.impl.transaction.cdc.ChangeEvent.Type.NODE_PROPERTY_CHANGED;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.impl.transaction.log.LogicalTransactionStore;
+import org.neo4j.kernel.impl.transaction.log.TransactionCursor;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryCommit;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryStart;
+import org.neo4j.storageengine.api.CommandBatch;
+import org.neo4j.storageengine.api.StorageChangeVisitor;
+import org.neo4j.storageengine.api.StorageEngine;
+import org.neo4j.storageengine.api.TransactionIdStore;
+import org.neo4j.values.storable.Values;
+
+class TransactionLogChangeStreamTest {
+    private final LogicalTransactionStore transactionStore = mock(LogicalTransactionStore.class);
+    private final TransactionIdStore transactionIdStore = mock(TransactionIdStore.class);
+    private final StorageEngine storageEngine = mock(StorageEngine.class);
+    private final List<CommittedTransactionRepresentation> transactions = new ArrayList<>();
+    private final Map<CommandBatch, Long> transactionIds = new HashMap<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        for (long transactionId = 2; transactionId <= 5; transactionId++) {
+            CommandBatch commandBatch = mock(CommandBatch.class);
+            transactionIds.put(commandBatch, transactionId);
+            transactions.add(new CommittedTransactionRepresentation(
+                    mock(LogEntryStart.class), commandBatch, new LogEntryCommit(transactionId, 0, 0)));
+        }
+        when(transactionStore.getTransactions(anyLong()))
+                .thenAnswer(invocation -> cursorFrom(invocation.getArgument(0, Long.class)));
+        when(transactionStore.getTransactions(any(LogPosition.class))).thenAnswer(invocation -> {
+            LogPosition position = invocation.getArgument(0);
+            return cursorFrom(position.getByteOffset() + 1);
+        });
+        doAnswer(invocation -> {
+                    long transactionId = transactionIds.get(invocation.getArgument(0, CommandBatch.class));
+                    StorageChangeVisitor visitor = invocation.getArgument(1);
+                    visitor.nodeCreated(transactionId * 10);
+                    visitor.nodePropertyChanged(transactionId * 10, 1, null, Values.longValue(transactionId));
+                    return null;
+                })
+                .when(storageEngine)
+                .decodeChanges(any(), any());
+    }
+
+    @Test
+    void shouldReturnEmptyBatchIfNoNewTransactionHasBeenClosed() throws IOException {
+        // given
+        when(transactionIdStore.getLastClosedTransactionId()).thenReturn(1L);
+        TransactionLogChangeStream stream = stream(ChangePosition.afterTransaction(1), 100);
+
+        // when
+        ChangeBatch batch = stream.poll();
+
+        // then
+        assertThat(batch.isEmpty()).isTrue();
+        assertThat(batch.position()).isEqualTo(ChangePosition.afterTransaction(1));
+        verifyNoInteractions(transactionStore, storageEngine);
+    }
+
+    @Test
+    void shouldOnlyStreamClosedTransactionsAndResumeFromLogPosition() throws IOException {
+        // given
+        when(transactionIdStore.getLastClosedTransactionId()).thenReturn(3L);
+        TransactionLogChangeStream stream = stream(ChangePosition.afterTransaction(1), 100);
+
+        // when
+        ChangeBatch first = stream.poll();
+
+        // then
+        assertThat(first.events())
+                .containsExactly(
+                        new ChangeEvent(2, NODE_CREATED, 20, -1, -1, -1, null, null),
+                        new ChangeEvent(2, NODE_PROPERTY_CHANGED, 20, 1, -1, -1, null, Values.longValue(2)),
+                        new ChangeEvent(3, NODE_CREATED, 30, -1, -1, -1, null, null),
+                        new ChangeEvent(3, NODE_PROPERTY_CHANGED, 30, 1, -1, -1, null, Values.longValue(3)));
+        assertThat(first.position()).isEqualTo(new ChangePosition(3, positionAfter(3)));
+        verify(transactionStore).getTransactions(2);
+
+        // when
+        when(transactionIdStore.getLastClosedTransactionId()).thenReturn(5L);
+        ChangeBatch second = stream.poll();
+
+        // then
+        assertThat(second.events()).extracting(ChangeEvent::transactionId).containsExactly(4L, 4L, 5L, 5L);
+        assertThat(second.position()).isEqualTo(new ChangePosition(5, positionAfter(5)));
+        verify(transactionStore).getTransactions(positionAfter(3));
+    }
+
+    @Test
+    void shouldLimitBatchSizeAtTransactionBoundaries() throws IOException {
+        // given
+        when(transactionIdStore.getLastClosedTransactionId()).thenReturn(5L);
+        TransactionLogChangeStream stream = stream(ChangePosition.afterTransaction(1), 3);
+
+        // when
+        ChangeBatch first = stream.poll();
+        ChangeBatch second = stream.poll();
+        ChangeBatch third = stream.poll();
+
+        // then
+        assertThat(first.events()).extracting(ChangeEvent::transactionId).containsExactly(2L, 2L, 3L, 3L);
+        assertThat(second.events()).extracting(ChangeEvent::transactionId).containsExactly(4L, 4L, 5L, 5L);
+        assertThat(third.isEmpty()).isTrue();
+        assertThat(stream.position().transactionId()).isEqualTo(5);
+    }
+
+    private TransactionLogChangeStream stream(ChangePosition from, int maxBatchSize) {
+        return new TransactionLogChangeStream(transactionStore, transactionIdStore, storageEngine, from, maxBatchSize);
+    }
+
+    /**
+     * Positions in this test are simply the id of the transaction that they come after, as byte offset.
+     */
+    private static LogPosition positionAfter(long transactionId) {
+        return new LogPosition(0, transactionId);
+    }
+
+    private TransactionCursor cursorFrom(long transactionId) {
+        return new TransactionCursor() {
+            private int index = (int) transactionId - 3;
+
+            @Override
+            public boolean next() {
+                return ++index < transactions.size();
+            }
+
+            @Override
+            public CommittedTransactionRepresentation get() {
+                return transactions.get(index);
+            }
+
+            @Override
+            public LogPosition position() {
+                return positionAfter(index + 2);
+            }
+
+            @Override
+            public void close() {}
+        };
+    }
+}
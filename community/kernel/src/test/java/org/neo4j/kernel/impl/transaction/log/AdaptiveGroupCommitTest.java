@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveGroupCommitTest {
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    @Test
+    void mustNotWaitBeforeFirstForceHasBeenObserved() {
+        AdaptiveGroupCommit groupCommit = new AdaptiveGroupCommit(MILLISECONDS.toNanos(5), MAX_BATCH_SIZE);
+        groupCommit.drained(10, 0);
+        groupCommit.drained(10, MICROSECONDS.toNanos(100));
+
+        assertThat(groupCommit.waitWindowNanos()).isZero();
+        assertThat(groupCommit.targetBatchSize()).isEqualTo(1);
+    }
+
+    @Test
+    void mustWaitUpToOneForceWhenTransactionsArriveFasterThanForces() {
+        AdaptiveGroupCommit groupCommit = new AdaptiveGroupCommit(MILLISECONDS.toNanos(5), MAX_BATCH_SIZE);
+        long force = MILLISECONDS.toNanos(1);
+        long now = 0;
+        for (int i = 0; i < 100; i++) {
+            // A transaction every 10 microseconds, and a millisecond between drains.
+            now += force;
+            groupCommit.drained(100, now);
+            groupCommit.forced(force);
+        }
+
+        assertThat(groupCommit.waitWindowNanos()).isEqualTo(force);
+        // A hundred transactions per force, and as many again over the wait window.
+        assertThat(groupCommit.targetBatchSize()).isBetween(195, 205);
+    }
+
+    @Test
+    void mustOnlyWaitForWhatIsLeftOfTheLatencyTarget() {
+        AdaptiveGroupCommit groupCommit = new AdaptiveGroupCommit(MILLISECONDS.toNanos(5), MAX_BATCH_SIZE);
+        long force = MILLISECONDS.toNanos(2);
+        long now = 0;
+        for (int i = 0; i < 100; i++) {
+            now += force;
+            groupCommit.drained(100, now);
+            groupCommit.forced(force);
+        }
+
+        assertThat(groupCommit.waitWindowNanos()).isEqualTo(MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    void mustNotWaitWhenForcesAreTooSlowForTheLatencyTarget() {
+        AdaptiveGroupCommit groupCommit = new AdaptiveGroupCommit(MILLISECONDS.toNanos(5), MAX_BATCH_SIZE);
+        long force = MILLISECONDS.toNanos(3);
+        long now = 0;
+        for (int i = 0; i < 100; i++) {
+            now += force;
+            groupCommit.drained(100, now);
+            groupCommit.forced(force);
+        }
+
+        assertThat(groupCommit.waitWindowNanos()).isZero();
+    }
+
+    @Test
+    void mustNotWaitWhenNoTransactionIsExpectedWithinTheWindow() {
+        AdaptiveGroupCommit groupCommit = new AdaptiveGroupCommit(MILLISECONDS.toNanos(5), MAX_BATCH_SIZE);
+        long now = 0;
+        for (int i = 0; i < 100; i++) {
+            // A single transaction every 10 milliseconds, against forces of a millisecond.
+            now += MILLISECONDS.toNanos(10);
+            groupCommit.drained(1, now);
+            groupCommit.forced(MILLISECONDS.toNanos(1));
+        }
+
+        assertThat(groupCommit.waitWindowNanos()).isZero();
+        assertThat(groupCommit.targetBatchSize()).isEqualTo(1);
+    }
+
+    @Test
+    void targetBatchSizeMustNotExceedMaximum() {
+        AdaptiveGroupCommit groupCommit = new AdaptiveGroupCommit(MILLISECONDS.toNanos(5), 16);
+        long now = 0;
+        for (int i = 0; i < 100; i++) {
+            now += MILLISECONDS.toNanos(1);
+            groupCommit.drained(1000, now);
+            groupCommit.forced(MILLISECONDS.toNanos(1));
+        }
+
+        assertThat(groupCommit.targetBatchSize()).isEqualTo(16);
+    }
+}
@@ -217,7 +217,7 @@ class PhysicalLogicalTransactionStoreTest {
 
         life.add(createTransactionAppender(transactionIdStore, logFiles, Config.defaults(), jobScheduler));
         CorruptedLogsTruncator logPruner =
-                new CorruptedLogsTruncator(databaseDirectory, logFiles, fileSystem, INSTANCE);
+                new CorruptedLogsTruncator(databaseDirectory, logFiles, fileSystem, INSTANCE, jobScheduler);
         life.add(new TransactionLogsRecovery(
                 new TestRecoveryService(visitor, logFiles, txStore, recoveryPerformed),
                 logPruner,
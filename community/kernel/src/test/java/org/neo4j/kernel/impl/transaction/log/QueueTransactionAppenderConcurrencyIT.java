@@ -191,8 +191,8 @@ class QueueTransactionAppenderConcurrencyIT {
     }
 
     private QueueTransactionAppender createAppender(LogFiles logFiles) {
-        TransactionLogQueue logQueue =
-                new TransactionLogQueue(logFiles, transactionIdStore, databaseHealth, jobScheduler, logProvider);
+        TransactionLogQueue logQueue = new TransactionLogQueue(
+                logFiles, transactionIdStore, databaseHealth, Config.defaults(), jobScheduler, logProvider);
         return new QueueTransactionAppender(logQueue);
     }
 
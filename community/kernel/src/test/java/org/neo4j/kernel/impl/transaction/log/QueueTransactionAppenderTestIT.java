@@ -203,7 +203,8 @@ class QueueTransactionAppenderTestIT {
                         EventType.FILE_APPEND,
                         EventType.CLOSE_APPEND,
                         EventType.ROTATED_FALSE,
-                        EventType.LOG_FORCE);
+                        EventType.LOG_FORCE,
+                        EventType.GROUP_COMMIT);
     }
 
     @Test
@@ -234,7 +235,8 @@ class QueueTransactionAppenderTestIT {
     }
 
     private QueueTransactionAppender createAppender(LogFiles logFiles) {
-        var logQueue = new TransactionLogQueue(logFiles, transactionIdStore, databaseHealth, jobScheduler, logProvider);
+        var logQueue = new TransactionLogQueue(
+                logFiles, transactionIdStore, databaseHealth, Config.defaults(), jobScheduler, logProvider);
         return new QueueTransactionAppender(logQueue);
     }
 
@@ -272,6 +274,7 @@ class QueueTransactionAppenderTestIT {
         CLOSE_APPEND,
         LOG_FORCE_WAIT,
         LOG_FORCE,
+        GROUP_COMMIT,
         CLOSE
     }
 
@@ -300,6 +303,11 @@ class QueueTransactionAppenderTestIT {
             return new RecordingTransactionAppendEvent(events);
         }
 
+        @Override
+        public void groupCommitted(int transactions, long waitNanos, long forceNanos) {
+            events.add(EventType.GROUP_COMMIT);
+        }
+
         @Override
         public LogForceWaitEvent beginLogForceWait() {
             events.add(EventType.LOG_FORCE_WAIT);
@@ -205,5 +205,8 @@ class TransactionAppenderRotationIT {
                 }
             };
         }
+
+        @Override
+        public void groupCommitted(int transactions, long waitNanos, long forceNanos) {}
     }
 }
@@ -19,29 +19,37 @@
  */
 package org.neo4j.kernel.impl.transaction.log;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.neo4j.common.Subject.ANONYMOUS;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.dedicated_transaction_appender_adaptive_group_commit;
 import static org.neo4j.monitoring.PanicEventGenerator.NO_OP;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import org.apache.commons.lang3.ArrayUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.configuration.Config;
 import org.neo4j.graphdb.DatabaseShutdownException;
 import org.neo4j.io.ByteUnit;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.layout.DatabaseLayout;
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.KernelVersion;
 import org.neo4j.kernel.impl.api.TestCommand;
 import org.neo4j.kernel.impl.api.TestCommandReaderFactory;
 import org.neo4j.kernel.impl.api.TransactionToApply;
+import org.neo4j.kernel.impl.api.tracer.DefaultTracer;
 import org.neo4j.kernel.impl.api.txid.IdStoreTransactionIdGenerator;
 import org.neo4j.kernel.impl.transaction.SimpleLogVersionRepository;
 import org.neo4j.kernel.impl.transaction.SimpleTransactionIdStore;
@@ -53,6 +61,7 @@ import org.neo4j.logging.NullLogProvider;
 import org.neo4j.monitoring.DatabaseHealth;
 import org.neo4j.storageengine.api.StoreId;
 import org.neo4j.storageengine.api.cursor.StoreCursors;
+import org.neo4j.test.Race;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.LifeExtension;
 import org.neo4j.test.extension.Neo4jLayoutExtension;
@@ -146,6 +155,44 @@ class TransactionLogQueueIT {
                 () -> logQueue.submit(createTransaction(), LogAppendEvent.NULL).getCommittedTxId());
     }
 
+    @Test
+    void processMessagesConcurrentlyWithAdaptiveGroupCommit() throws Throwable {
+        LogFiles logFiles = buildLogFiles(logVersionRepository, transactionIdStore);
+        life.add(logFiles);
+
+        Config config = Config.defaults(dedicated_transaction_appender_adaptive_group_commit, true);
+        TransactionLogQueue logQueue = createLogQueue(logFiles, config);
+        life.add(logQueue);
+
+        DefaultTracer tracer = new DefaultTracer(PageCacheTracer.NULL);
+        int threads = 4;
+        int transactionsPerThread = 200;
+        Set<Long> committedTransactionIds = ConcurrentHashMap.newKeySet();
+        Race race = new Race();
+        race.addContestants(threads, () -> {
+            for (int i = 0; i < transactionsPerThread; i++) {
+                try {
+                    long transactionId = logQueue.submit(createTransaction(), tracer.logAppend())
+                            .getCommittedTxId();
+                    committedTransactionIds.add(transactionId);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+        race.go();
+
+        int transactions = threads * transactionsPerThread;
+        assertThat(committedTransactionIds).hasSize(transactions);
+        long lowestId = committedTransactionIds.stream().mapToLong(Long::longValue).min().orElseThrow();
+        long highestId = committedTransactionIds.stream().mapToLong(Long::longValue).max().orElseThrow();
+        assertEquals(transactions, highestId - lowestId + 1);
+        long groupCommits = tracer.groupCommitBatchSizes().count();
+        assertThat(groupCommits).isBetween(1L, (long) transactions);
+        assertEquals(groupCommits, tracer.groupCommitWaitTimes().count());
+        assertEquals(groupCommits, tracer.groupCommitForceTimes().count());
+    }
+
     private TransactionToApply createTransaction() {
         CompleteTransaction tx = new CompleteTransaction(
                 List.of(new TestCommand()), ArrayUtils.EMPTY_BYTE_ARRAY, 1, 2, 3, 4, KernelVersion.LATEST, ANONYMOUS);
@@ -159,7 +206,11 @@ class TransactionLogQueueIT {
     }
 
     private TransactionLogQueue createLogQueue(LogFiles logFiles) {
-        return new TransactionLogQueue(logFiles, transactionIdStore, databaseHealth, jobScheduler, logProvider);
+        return createLogQueue(logFiles, Config.defaults());
+    }
+
+    private TransactionLogQueue createLogQueue(LogFiles logFiles, Config config) {
+        return new TransactionLogQueue(logFiles, transactionIdStore, databaseHealth, config, jobScheduler, logProvider);
     }
 
     private LogFiles buildLogFiles(
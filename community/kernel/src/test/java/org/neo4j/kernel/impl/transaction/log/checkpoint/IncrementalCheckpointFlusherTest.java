@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.checkpoint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.neo4j.kernel.impl.transaction.log.checkpoint.IncrementalCheckpointFlusher.HORIZON_INTERVALS;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.impl.transaction.log.files.LogFile;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.storageengine.api.ClosedTransactionMetadata;
+import org.neo4j.storageengine.api.TransactionIdStore;
+
+class IncrementalCheckpointFlusherTest {
+    private final PageCache pageCache = mock(PageCache.class);
+    private final PagedFile first = mock(PagedFile.class);
+    private final PagedFile second = mock(PagedFile.class);
+    private final TransactionIdStore transactionIdStore = mock(TransactionIdStore.class);
+    private final CheckPointerImpl checkPointer = mock(CheckPointerImpl.class);
+    private final LogFile logFile = mock(LogFile.class);
+    private final FileSystemAbstraction fs = mock(FileSystemAbstraction.class);
+    private final JobScheduler scheduler = mock(JobScheduler.class);
+    private IncrementalCheckpointFlusher flusher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(pageCache.listExistingMappings()).thenReturn(List.of(first, second));
+        when(transactionIdStore.getLastClosedTransactionId()).thenReturn(5L);
+        // 100 pages per second is 10 pages per interval.
+        flusher = new IncrementalCheckpointFlusher(
+                pageCache,
+                transactionIdStore,
+                checkPointer,
+                logFile,
+                fs,
+                scheduler,
+                100,
+                "db",
+                NullLogProvider.getInstance());
+        flusher.start();
+    }
+
+    @Test
+    void shouldWriteBackPagesModifiedBeforeTheHorizonWithinTheIntervalBudget() throws IOException {
+        // given
+        when(first.flushOldDirtyPages(anyLong(), anyLong())).thenReturn(4L);
+        when(second.flushOldDirtyPages(anyLong(), anyLong())).thenReturn(6L);
+
+        // when
+        flusher.flushOldDirtyPages();
+
+        // then
+        verify(first).flushOldDirtyPages(5, 10);
+        verify(second).flushOldDirtyPages(5, 6);
+        assertThat(flusher.pacedFlushedPages()).isEqualTo(10);
+        assertThat(flusher.pacedFlushRate()).isEqualTo(10);
+        assertThat(flusher.pacedFlushTargetRate()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldStartFromNextFileInTheFollowingInterval() throws IOException {
+        // given
+        when(first.flushOldDirtyPages(anyLong(), anyLong())).thenReturn(10L);
+        when(second.flushOldDirtyPages(anyLong(), anyLong())).thenReturn(10L);
+
+        // when
+        flusher.flushOldDirtyPages();
+        flusher.flushOldDirtyPages();
+
+        // then
+        verify(first).flushOldDirtyPages(5, 10);
+        verify(second).flushOldDirtyPages(5, 10);
+        assertThat(flusher.pacedFlushedPages()).isEqualTo(20);
+    }
+
+    @Test
+    void shouldOnlyWriteBackPagesThatHaveNotBeenModifiedForAWhile() throws IOException {
+        // given
+        when(first.flushOldDirtyPages(anyLong(), anyLong())).thenReturn(0L);
+        when(second.flushOldDirtyPages(anyLong(), anyLong())).thenReturn(0L);
+        when(transactionIdStore.getLastClosedTransactionId()).thenReturn(17L);
+
+        // when
+        for (int i = 0; i < HORIZON_INTERVALS; i++) {
+            flusher.flushOldDirtyPages();
+        }
+        flusher.flushOldDirtyPages();
+
+        // then the transactions closed after the flusher started only become old enough after the horizon
+        verify(first, times(HORIZON_INTERVALS)).flushOldDirtyPages(5, 10);
+        verify(first).flushOldDirtyPages(17, 10);
+    }
+
+    @Test
+    void shouldEstimateRecoveryWindowFromLastCheckpoint() throws IOException {
+        // given
+        Path version3 = Path.of("log.3");
+        Path version4 = Path.of("log.4");
+        when(logFile.getLogFileForVersion(3)).thenReturn(version3);
+        when(logFile.getLogFileForVersion(4)).thenReturn(version4);
+        when(fs.getFileSize(version3)).thenReturn(1000L);
+        when(fs.getFileSize(version4)).thenReturn(2000L);
+        when(checkPointer.lastCheckPointedPosition()).thenReturn(new LogPosition(3, 400));
+        closedAt(new LogPosition(5, 300));
+
+        // when/then
+        assertThat(flusher.recoveryWindowBytes()).isEqualTo(600 + 2000 + 300);
+
+        // when/then
+        closedAt(new LogPosition(3, 900));
+        assertThat(flusher.recoveryWindowBytes()).isEqualTo(500);
+    }
+
+    @Test
+    void shouldNotWriteAnythingWhenNoFilesAreMapped() throws IOException {
+        // given
+        when(pageCache.listExistingMappings()).thenReturn(List.of());
+
+        // when
+        flusher.flushOldDirtyPages();
+
+        // then
+        verifyNoInteractions(first, second);
+        assertThat(flusher.pacedFlushedPages()).isZero();
+    }
+
+    private void closedAt(LogPosition position) {
+        when(transactionIdStore.getLastClosedTransaction())
+                .thenReturn(new ClosedTransactionMetadata(5, position, 0, 0));
+    }
+}
@@ -20,21 +20,28 @@
 package org.neo4j.kernel.impl.transaction.log.entry;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.common.Subject.ANONYMOUS;
 import static org.neo4j.kernel.KernelVersion.LATEST;
 import static org.neo4j.storageengine.api.TransactionIdStore.BASE_TX_CHECKSUM;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.neo4j.kernel.KernelVersion;
 import org.neo4j.kernel.impl.api.TestCommand;
 import org.neo4j.kernel.impl.api.TestCommandReaderFactory;
+import org.neo4j.kernel.impl.transaction.log.CompleteTransaction;
 import org.neo4j.kernel.impl.transaction.log.InMemoryClosableChannel;
 import org.neo4j.kernel.impl.transaction.log.LogPosition;
 import org.neo4j.storageengine.api.CommandReader;
+import org.neo4j.storageengine.api.StorageCommand;
 
 class VersionAwareLogEntryReaderTest {
     private final LogEntryReader logEntryReader = new VersionAwareLogEntryReader(new TestCommandReaderFactory());
@@ -116,6 +123,88 @@ class VersionAwareLogEntryReaderTest {
         assertNull(logEntry);
     }
 
+    @Test
+    void shouldReadCompressedCommandsAsIndividualCommandEntries() throws IOException {
+        // given
+        List<StorageCommand> commands = testCommands(20, 100);
+        final InMemoryClosableChannel channel = new InMemoryClosableChannel(true);
+        int checksum = writeTransaction(new CompressingLogEntryWriter<>(channel, LATEST), commands);
+        final InMemoryClosableChannel plainChannel = new InMemoryClosableChannel(true);
+        writeTransaction(new LogEntryWriter<>(plainChannel, LATEST), commands);
+
+        // when/then
+        assertInstanceOf(LogEntryStart.class, logEntryReader.readLogEntry(channel));
+        for (StorageCommand command : commands) {
+            assertEquals(new LogEntryCommand(command), logEntryReader.readLogEntry(channel));
+        }
+        LogEntry commit = logEntryReader.readLogEntry(channel);
+        assertInstanceOf(LogEntryCommit.class, commit);
+        assertEquals(checksum, ((LogEntryCommit) commit).getChecksum());
+        assertNull(logEntryReader.readLogEntry(channel));
+        assertTrue(channel.writerPosition() < plainChannel.writerPosition());
+    }
+
+    @Test
+    void shouldWriteSmallCommandBatchesUncompressed() throws IOException {
+        // given
+        List<StorageCommand> commands = testCommands(2, 10);
+        final InMemoryClosableChannel channel = new InMemoryClosableChannel(true);
+        writeTransaction(new CompressingLogEntryWriter<>(channel, LATEST), commands);
+        final InMemoryClosableChannel plainChannel = new InMemoryClosableChannel(true);
+        writeTransaction(new LogEntryWriter<>(plainChannel, LATEST), commands);
+
+        // when/then
+        assertEquals(plainChannel.writerPosition(), channel.writerPosition());
+        assertInstanceOf(LogEntryStart.class, logEntryReader.readLogEntry(channel));
+        assertEquals(new LogEntryCommand(commands.get(0)), logEntryReader.readLogEntry(channel));
+        assertEquals(new LogEntryCommand(commands.get(1)), logEntryReader.readLogEntry(channel));
+        assertInstanceOf(LogEntryCommit.class, logEntryReader.readLogEntry(channel));
+    }
+
+    @Test
+    void shouldDropPendingCompressedCommandsWhenChannelIsRepositioned() throws IOException {
+        // given
+        List<StorageCommand> commands = testCommands(20, 100);
+        final InMemoryClosableChannel channel = new InMemoryClosableChannel(true);
+        writeTransaction(new CompressingLogEntryWriter<>(channel, LATEST), commands);
+        LogEntry start = logEntryReader.readLogEntry(channel);
+        assertEquals(new LogEntryCommand(commands.get(0)), logEntryReader.readLogEntry(channel));
+
+        // when
+        channel.positionReader(0);
+
+        // then
+        assertEquals(start, logEntryReader.readLogEntry(channel));
+        assertEquals(new LogEntryCommand(commands.get(0)), logEntryReader.readLogEntry(channel));
+    }
+
+    @Test
+    void shouldFailOnMalformedCompressedCommands() {
+        // given
+        final InMemoryClosableChannel channel = new InMemoryClosableChannel(true);
+        byte[] garbage = new byte[16];
+        Arrays.fill(garbage, (byte) 0xFF);
+        writeCompressedCommandsHeader(channel, 1, 100, garbage.length);
+        channel.put(garbage, garbage.length);
+
+        // when/then
+        assertThrows(IOException.class, () -> logEntryReader.readLogEntry(channel));
+    }
+
+    @Test
+    void shouldNotTrustCompressedLengthBeyondTheEndOfTheChannel() throws IOException {
+        // given
+        final InMemoryClosableChannel channel = new InMemoryClosableChannel(true);
+        writeCompressedCommandsHeader(channel, 1, Integer.MAX_VALUE, Integer.MAX_VALUE / 2);
+        channel.put(new byte[16], 16);
+
+        // when
+        LogEntry logEntry = logEntryReader.readLogEntry(channel);
+
+        // then
+        assertNull(logEntry);
+    }
+
     @Disabled // TODO it's not clear what the benefit verifying the chain will give us, so it's disable for now
     @Test
     void shouldValidateChecksumChain() throws IOException {
@@ -156,6 +245,23 @@ class VersionAwareLogEntryReaderTest {
         assertTrue(e.getMessage().contains("The checksum chain is broken"));
     }
 
+    private static List<StorageCommand> testCommands(int count, int size) {
+        List<StorageCommand> commands = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] bytes = new byte[size];
+            bytes[0] = (byte) i;
+            commands.add(new TestCommand(bytes));
+        }
+        return commands;
+    }
+
+    private static int writeTransaction(LogEntryWriter<InMemoryClosableChannel> writer, List<StorageCommand> commands)
+            throws IOException {
+        writer.writeStartEntry(1, 2, BASE_TX_CHECKSUM, new byte[0]);
+        writer.serialize(new CompleteTransaction(commands, new byte[0], 1, 2, 3, -1, LATEST, ANONYMOUS));
+        return writer.writeCommitEntry(42, 3);
+    }
+
     private static void writeStartEntry(InMemoryClosableChannel channel, LogEntryStart start) {
         channel.beginChecksum();
         channel.put(start.kernelVersion().version()); // version
@@ -167,6 +273,15 @@ class VersionAwareLogEntryReaderTest {
         channel.put(start.getAdditionalHeader(), start.getAdditionalHeader().length);
     }
 
+    private static void writeCompressedCommandsHeader(
+            InMemoryClosableChannel channel, int commandCount, int uncompressedLength, int compressedLength) {
+        channel.put(LATEST.version());
+        channel.put(LogEntryTypeCodes.COMPRESSED_COMMANDS);
+        channel.putInt(commandCount);
+        channel.putInt(uncompressedLength);
+        channel.putInt(compressedLength);
+    }
+
     private static void writeCommitEntry(InMemoryClosableChannel channel, LogEntryCommit commit) {
         channel.put(commit.kernelVersion().version());
         channel.put(LogEntryTypeCodes.TX_COMMIT);
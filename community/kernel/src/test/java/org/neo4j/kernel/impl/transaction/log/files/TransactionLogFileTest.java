@@ -740,6 +740,16 @@ class TransactionLogFileTest {
             return NativeCallResult.SUCCESS;
         }
 
+        @Override
+        public NativeCallResult tryAdviseHugePages(long address, long length) {
+            return NativeCallResult.SUCCESS;
+        }
+
+        @Override
+        public NativeCallResult tryBindMemory(long address, long length, long nodeMask, boolean interleave) {
+            return NativeCallResult.SUCCESS;
+        }
+
         @Override
         public ErrorTranslator errorTranslator() {
             return callResult -> false;
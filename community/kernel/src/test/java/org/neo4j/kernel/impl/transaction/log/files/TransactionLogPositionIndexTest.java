@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.impl.transaction.log.entry.LogHeader;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.storageengine.api.StoreId;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.EphemeralTestDirectoryExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+@EphemeralTestDirectoryExtension
+class TransactionLogPositionIndexTest {
+    private static final StoreId STORE_ID = new StoreId(1, 2, "engine-1", "format-1", 3, 4);
+
+    @Inject
+    private FileSystemAbstraction fileSystem;
+
+    @Inject
+    private TestDirectory testDirectory;
+
+    private TransactionLogFilesHelper fileHelper;
+
+    @BeforeEach
+    void setUp() {
+        fileHelper = new TransactionLogFilesHelper(fileSystem, testDirectory.homePath());
+    }
+
+    @Test
+    void shouldOnlyRecordTransactionsThatAreAtLeastIntervalApart() throws IOException {
+        var index = newIndex(100);
+        var header = new LogHeader(0, 9, STORE_ID);
+
+        index.transactionAppended(10, 0, 64);
+        index.transactionAppended(11, 0, 120);
+        index.transactionAppended(12, 0, 170);
+        index.transactionAppended(13, 0, 300);
+
+        assertThat(index.startPositionAtOrBefore(10, header)).isEqualTo(new LogPosition(0, 64));
+        assertThat(index.startPositionAtOrBefore(12, header)).isEqualTo(new LogPosition(0, 170));
+        assertThat(index.startPositionAtOrBefore(13, header)).isEqualTo(new LogPosition(0, 300));
+        assertThat(index.startPositionAtOrBefore(9, header)).isNull();
+    }
+
+    @Test
+    void shouldWriteIndexFileOnRotationAndSearchIt() throws IOException {
+        var index = newIndex(1);
+        var header = new LogHeader(3, 99, STORE_ID);
+        for (int i = 0; i < 100; i++) {
+            index.transactionAppended(100 + i, 3, 64 + i * 10L);
+        }
+
+        index.logRotated(header);
+
+        assertThat(fileSystem.fileExists(fileHelper.getPositionIndexFileForVersion(3))).isTrue();
+        for (int i = 0; i < 100; i++) {
+            assertThat(index.startPositionAtOrBefore(100 + i, header)).isEqualTo(new LogPosition(3, 64 + i * 10L));
+        }
+        assertThat(index.startPositionAtOrBefore(1000, header)).isEqualTo(new LogPosition(3, 64 + 99 * 10L));
+        assertThat(index.startPositionAtOrBefore(99, header)).isNull();
+    }
+
+    @Test
+    void shouldIgnoreIndexFileWrittenForAnotherLogFile() throws IOException {
+        var index = newIndex(1);
+        index.transactionAppended(10, 1, 64);
+        index.logRotated(new LogHeader(1, 9, STORE_ID));
+
+        assertThat(index.startPositionAtOrBefore(10, new LogHeader(1, 5, STORE_ID))).isNull();
+    }
+
+    @Test
+    void shouldIgnoreTruncatedIndexFile() throws IOException {
+        var index = newIndex(1);
+        var header = new LogHeader(1, 9, STORE_ID);
+        index.transactionAppended(10, 1, 64);
+        index.transactionAppended(11, 1, 128);
+        index.logRotated(header);
+
+        try (StoreChannel channel = fileSystem.write(fileHelper.getPositionIndexFileForVersion(1))) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        assertThat(index.startPositionAtOrBefore(11, header)).isNull();
+    }
+
+    @Test
+    void shouldForgetTruncatedTransactionsAndDeleteNewerIndexFiles() throws IOException {
+        var index = newIndex(1);
+        index.transactionAppended(10, 1, 64);
+        index.logRotated(new LogHeader(1, 9, STORE_ID));
+        index.transactionAppended(11, 2, 64);
+        index.transactionAppended(12, 2, 128);
+
+        index.truncated(new LogPosition(2, 100), 2);
+
+        var header = new LogHeader(2, 10, STORE_ID);
+        assertThat(index.startPositionAtOrBefore(12, header)).isEqualTo(new LogPosition(2, 64));
+        assertThat(fileSystem.fileExists(fileHelper.getPositionIndexFileForVersion(1))).isTrue();
+
+        index.truncated(new LogPosition(1, 64), 2);
+
+        assertThat(index.startPositionAtOrBefore(12, header)).isNull();
+        assertThat(fileSystem.fileExists(fileHelper.getPositionIndexFileForVersion(1))).isFalse();
+    }
+
+    @Test
+    void shouldNotRecordAnythingWhenDisabled() throws IOException {
+        var index = newIndex(0);
+        var header = new LogHeader(0, 9, STORE_ID);
+        index.transactionAppended(10, 0, 64);
+        index.logRotated(header);
+
+        assertThat(index.startPositionAtOrBefore(10, header)).isNull();
+        assertThat(fileSystem.fileExists(fileHelper.getPositionIndexFileForVersion(0))).isFalse();
+    }
+
+    private TransactionLogPositionIndex newIndex(long interval) {
+        return new TransactionLogPositionIndex(fileSystem, fileHelper, interval, NullLogProvider.getInstance());
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.kernel.impl.transaction.log.files.TransactionLogSpareFiles.RECYCLING_PREFIX;
+import static org.neo4j.kernel.impl.transaction.log.files.TransactionLogSpareFiles.SPARE_PREFIX;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.EphemeralTestDirectoryExtension;
+import org.neo4j.test.scheduler.CallingThreadJobScheduler;
+import org.neo4j.test.utils.TestDirectory;
+
+@EphemeralTestDirectoryExtension
+class TransactionLogSpareFilesTest {
+    private static final String BASE_NAME = TransactionLogFilesHelper.DEFAULT_NAME;
+    private static final long ROTATION_THRESHOLD = 4096;
+
+    @Inject
+    private FileSystemAbstraction fileSystem;
+
+    @Inject
+    private TestDirectory testDirectory;
+
+    private Path directory;
+    private TransactionLogFilesHelper fileHelper;
+
+    @BeforeEach
+    void setUp() {
+        directory = testDirectory.homePath();
+        fileHelper = new TransactionLogFilesHelper(fileSystem, directory);
+    }
+
+    @Test
+    void shouldPrepareSpareOnStart() throws IOException {
+        var spareFiles = newSpareFiles(2);
+
+        spareFiles.start();
+
+        assertThat(spareFiles.numberOfSpares()).isEqualTo(1);
+        assertThat(fileSystem.fileExists(directory.resolve(SPARE_PREFIX + BASE_NAME + ".0"))).isTrue();
+    }
+
+    @Test
+    void shouldTakeRecycledLogFileAsZeroedLogFile() throws IOException {
+        var spareFiles = newSpareFiles(2);
+        spareFiles.start();
+        Path prunedLogFile = fileHelper.getLogFileForVersion(3);
+        writeNonZeroBytes(prunedLogFile, 100);
+
+        assertThat(spareFiles.recycle(prunedLogFile)).isTrue();
+
+        assertThat(fileSystem.fileExists(prunedLogFile)).isFalse();
+        assertThat(spareFiles.numberOfSpares()).isEqualTo(2);
+        Path first = fileHelper.getLogFileForVersion(10);
+        Path second = fileHelper.getLogFileForVersion(11);
+        assertThat(spareFiles.takeAs(first)).isTrue();
+        assertThat(spareFiles.takeAs(second)).isTrue();
+        assertZeroed(first);
+        assertZeroed(second);
+        // Only log files, and the spare that was prepared when the last one was taken
+        assertThat(fileSystem.listFiles(directory)).hasSize(3);
+        assertThat(fileHelper.getMatchedFiles()).hasSize(2);
+    }
+
+    @Test
+    void shouldNotKeepMoreSparesThanAllowed() throws IOException {
+        var spareFiles = newSpareFiles(1);
+        spareFiles.start();
+        Path prunedLogFile = fileHelper.getLogFileForVersion(3);
+        writeNonZeroBytes(prunedLogFile, 100);
+
+        assertThat(spareFiles.recycle(prunedLogFile)).isFalse();
+
+        assertThat(fileSystem.fileExists(prunedLogFile)).isTrue();
+        assertThat(spareFiles.numberOfSpares()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepSparesAndDeleteIncompletelyZeroedFilesOnStart() throws IOException {
+        Path spare = directory.resolve(SPARE_PREFIX + BASE_NAME + ".4");
+        Path recycling = directory.resolve(RECYCLING_PREFIX + BASE_NAME + ".5");
+        writeNonZeroBytes(spare, 0);
+        writeNonZeroBytes(recycling, 100);
+        var spareFiles = newSpareFiles(2);
+
+        spareFiles.start();
+
+        assertThat(spareFiles.numberOfSpares()).isEqualTo(1);
+        assertThat(fileSystem.fileExists(spare)).isTrue();
+        assertThat(fileSystem.fileExists(recycling)).isFalse();
+        Path logFile = fileHelper.getLogFileForVersion(0);
+        assertThat(spareFiles.takeAs(logFile)).isTrue();
+        // The spare that replaces it must not reuse the slots of the files found on start
+        assertThat(fileSystem.fileExists(directory.resolve(SPARE_PREFIX + BASE_NAME + ".6"))).isTrue();
+    }
+
+    @Test
+    void shouldDoNothingWhenDisabled() throws IOException {
+        var spareFiles = newSpareFiles(0);
+        spareFiles.start();
+        Path prunedLogFile = fileHelper.getLogFileForVersion(3);
+        writeNonZeroBytes(prunedLogFile, 100);
+
+        assertThat(spareFiles.recycle(prunedLogFile)).isFalse();
+        assertThat(spareFiles.takeAs(fileHelper.getLogFileForVersion(4))).isFalse();
+        assertThat(fileSystem.listFiles(directory)).hasSize(1);
+    }
+
+    @Test
+    void shouldNotRecycleAfterClose() throws IOException {
+        var spareFiles = newSpareFiles(2);
+        spareFiles.start();
+        Path prunedLogFile = fileHelper.getLogFileForVersion(3);
+        writeNonZeroBytes(prunedLogFile, 100);
+
+        spareFiles.close();
+
+        assertThat(spareFiles.recycle(prunedLogFile)).isFalse();
+        assertThat(fileSystem.fileExists(prunedLogFile)).isTrue();
+    }
+
+    @Test
+    void shouldKeepNoSparesWithoutScheduler() throws IOException {
+        var spareFiles = new TransactionLogSpareFiles(
+                fileSystem,
+                directory,
+                BASE_NAME,
+                new AtomicLong(ROTATION_THRESHOLD),
+                2,
+                INSTANCE,
+                NullLogProvider.getInstance(),
+                null,
+                DEFAULT_DATABASE_NAME);
+
+        spareFiles.start();
+
+        assertThat(spareFiles.numberOfSpares()).isZero();
+        assertThat(fileSystem.listFiles(directory)).isEmpty();
+    }
+
+    private TransactionLogSpareFiles newSpareFiles(int maxSpareFiles) {
+        return new TransactionLogSpareFiles(
+                fileSystem,
+                directory,
+                BASE_NAME,
+                new AtomicLong(ROTATION_THRESHOLD),
+                maxSpareFiles,
+                INSTANCE,
+                NullLogProvider.getInstance(),
+                new CallingThreadJobScheduler(),
+                DEFAULT_DATABASE_NAME);
+    }
+
+    private void writeNonZeroBytes(Path file, int length) throws IOException {
+        try (StoreChannel channel = fileSystem.write(file)) {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                buffer.put((byte) 7);
+            }
+            channel.writeAll(buffer.flip());
+        }
+    }
+
+    private void assertZeroed(Path file) throws IOException {
+        try (StoreChannel channel = fileSystem.read(file)) {
+            assertThat(channel.size()).isGreaterThanOrEqualTo(ROTATION_THRESHOLD);
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            channel.readAll(buffer);
+            for (int i = 0; i < buffer.limit(); i++) {
+                assertThat(buffer.get(i)).isZero();
+            }
+        }
+    }
+}
@@ -47,6 +47,8 @@ import org.neo4j.configuration.GraphDatabaseSettings;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.kernel.impl.transaction.log.files.LogFile;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
+import org.neo4j.kernel.impl.transaction.log.files.TransactionLogPositionIndex;
+import org.neo4j.kernel.impl.transaction.log.files.TransactionLogSpareFiles;
 import org.neo4j.kernel.impl.transaction.log.files.checkpoint.CheckpointFile;
 import org.neo4j.logging.AssertableLogProvider;
 import org.neo4j.logging.LogAssertions;
@@ -56,6 +58,8 @@ class LogPruningTest {
     private final Config config = Config.defaults();
     private FileSystemAbstraction fs;
     private LogFiles logFiles;
+    private TransactionLogPositionIndex positionIndex;
+    private TransactionLogSpareFiles spareFiles;
     private AssertableLogProvider logProvider;
     private SystemNanoClock clock;
     private LogPruneStrategyFactory factory;
@@ -66,6 +70,10 @@ class LogPruningTest {
         logFiles = mock(LogFiles.class);
         LogFile logFile = mock(LogFile.class);
         when(logFiles.getLogFile()).thenReturn(logFile);
+        positionIndex = mock(TransactionLogPositionIndex.class);
+        when(logFile.getPositionIndex()).thenReturn(positionIndex);
+        spareFiles = mock(TransactionLogSpareFiles.class);
+        when(logFile.getSpareFiles()).thenReturn(spareFiles);
         when(logFiles.getCheckpointFile()).thenReturn(mock(CheckpointFile.class));
         doAnswer(inv -> Path.of(String.valueOf(inv.getArguments()[0])))
                 .when(logFile)
@@ -86,6 +94,25 @@ class LogPruningTest {
         order.verify(fs).deleteFile(Path.of("4"));
         // Log file 5 is not deleted; it's the lowest version expected to remain after pruning.
         verifyNoMoreInteractions(fs);
+        verify(positionIndex).delete(3);
+        verify(positionIndex).delete(4);
+        verifyNoMoreInteractions(positionIndex);
+    }
+
+    @Test
+    void mustKeepLogFilesThatAreRecycledAsSpares() throws IOException {
+        when(factory.strategyFromConfigValue(eq(fs), eq(logFiles), eq(logProvider), eq(clock), anyString()))
+                .thenReturn(upTo -> new LogPruneStrategy.VersionRange(3, upTo));
+        when(spareFiles.recycle(Path.of("3"))).thenReturn(true);
+        LogPruning pruning = new LogPruningImpl(fs, logFiles, logProvider, factory, clock, config, new ReentrantLock());
+        pruning.pruneLogs(5);
+        verify(spareFiles).recycle(Path.of("3"));
+        verify(spareFiles).recycle(Path.of("4"));
+        // Only the log file that was not taken as a spare is deleted
+        verify(fs).deleteFile(Path.of("4"));
+        verifyNoMoreInteractions(fs);
+        verify(positionIndex).delete(3);
+        verify(positionIndex).delete(4);
     }
 
     @Test
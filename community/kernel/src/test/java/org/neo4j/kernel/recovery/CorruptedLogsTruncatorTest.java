@@ -60,10 +60,12 @@ import org.neo4j.kernel.impl.transaction.log.files.TransactionLogFilesHelper;
 import org.neo4j.kernel.impl.transaction.log.files.checkpoint.CheckpointFile;
 import org.neo4j.kernel.impl.transaction.tracing.LogCheckPointEvent;
 import org.neo4j.kernel.lifecycle.LifeSupport;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.StoreId;
 import org.neo4j.storageengine.api.TransactionId;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.scheduler.CallingThreadJobScheduler;
 import org.neo4j.test.utils.TestDirectory;
 
 @TestDirectoryExtension
@@ -81,6 +83,7 @@ class CorruptedLogsTruncatorTest {
     private TestDirectory testDirectory;
 
     private final LifeSupport life = new LifeSupport();
+    private final JobScheduler jobScheduler = new CallingThreadJobScheduler();
 
     private Path databaseDirectory;
     private LogFiles logFiles;
@@ -107,7 +110,7 @@ class CorruptedLogsTruncatorTest {
                         .build())
                 .build();
         life.add(logFiles);
-        logPruner = new CorruptedLogsTruncator(databaseDirectory, logFiles, fs, INSTANCE);
+        logPruner = new CorruptedLogsTruncator(databaseDirectory, logFiles, fs, INSTANCE, jobScheduler);
     }
 
     @AfterEach
@@ -325,6 +328,28 @@ class CorruptedLogsTruncatorTest {
         }
     }
 
+    @Test
+    void pruneMustDeletePositionIndexesOfTruncatedLogs() throws IOException {
+        life.start();
+        generateTransactionLogFiles(logFiles);
+        life.shutdown();
+
+        var fileHelper = new TransactionLogFilesHelper(fs, databaseDirectory);
+        for (long version = 0; version < TOTAL_NUMBER_OF_TRANSACTION_LOG_FILES; version++) {
+            fs.write(fileHelper.getPositionIndexFileForVersion(version)).close();
+        }
+        long highestCorrectLogFileIndex = 5;
+        Path highestCorrectLogFile = logFiles.getLogFile().getLogFileForVersion(highestCorrectLogFileIndex);
+        long byteOffset = Files.size(highestCorrectLogFile) - 3;
+
+        logPruner.truncate(new LogPosition(highestCorrectLogFileIndex, byteOffset));
+
+        for (long version = 0; version < TOTAL_NUMBER_OF_TRANSACTION_LOG_FILES; version++) {
+            Path indexFile = fileHelper.getPositionIndexFileForVersion(version);
+            assertEquals(version < highestCorrectLogFileIndex, fs.fileExists(indexFile), indexFile.toString());
+        }
+    }
+
     private static void checkEntryNameAndSize(ZipFile zipFile, String entryName, long expectedSize) throws IOException {
         ZipEntry entry = zipFile.getEntry(entryName);
         InputStream inputStream = zipFile.getInputStream(entry);
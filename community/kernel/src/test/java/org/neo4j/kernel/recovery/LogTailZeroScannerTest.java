@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.recovery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.io.fs.EphemeralFileSystemAbstraction;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+import org.neo4j.test.utils.TestDirectory;
+
+@TestDirectoryExtension
+class LogTailZeroScannerTest {
+    private static final int FILE_SIZE = 10_000;
+    private static final long CHUNK_SIZE = 4096;
+
+    @Inject
+    private FileSystemAbstraction fs;
+
+    @Inject
+    private TestDirectory testDirectory;
+
+    private ThreadPoolJobScheduler jobScheduler;
+
+    @BeforeEach
+    void setUp() {
+        jobScheduler = new ThreadPoolJobScheduler();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobScheduler.close();
+    }
+
+    @Test
+    void shouldFindNonZeroByteInAnyChunk() throws IOException {
+        Path file = testDirectory.file("log");
+        // Just before, on, and just after the boundaries of the chunks, which start at the offset of 100
+        for (int nonZeroPosition : new int[] {100, 4195, 4196, 8292, FILE_SIZE - 1}) {
+            writeFile(fs, file, nonZeroPosition);
+            try (StoreChannel channel = fs.read(file)) {
+                assertThat(hasNonZeroBytesAfter(channel, 100)).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void shouldIgnoreNonZeroBytesBeforeOffset() throws IOException {
+        Path file = testDirectory.file("log");
+        writeFile(fs, file, 99);
+        try (StoreChannel channel = fs.read(file)) {
+            assertThat(hasNonZeroBytesAfter(channel, 100)).isFalse();
+            assertThat(hasNonZeroBytesAfter(channel, FILE_SIZE)).isFalse();
+        }
+    }
+
+    @Test
+    void shouldReadChannelsThatCanNotBeMapped() throws IOException {
+        try (var ephemeralFs = new EphemeralFileSystemAbstraction()) {
+            Path directory = Path.of("logs").toAbsolutePath();
+            ephemeralFs.mkdirs(directory);
+            Path file = directory.resolve("log");
+            writeFile(ephemeralFs, file, 5000);
+            try (StoreChannel channel = ephemeralFs.read(file)) {
+                assertThat(hasNonZeroBytesAfter(channel, 100)).isTrue();
+                assertThat(hasNonZeroBytesAfter(channel, 5001)).isFalse();
+            }
+        }
+    }
+
+    private boolean hasNonZeroBytesAfter(StoreChannel channel, long offset) throws IOException {
+        return LogTailZeroScanner.hasNonZeroBytesAfter(channel, offset, CHUNK_SIZE, jobScheduler, INSTANCE);
+    }
+
+    private static void writeFile(FileSystemAbstraction fs, Path file, int nonZeroPosition) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(FILE_SIZE);
+        buffer.put(nonZeroPosition, (byte) 1);
+        try (StoreChannel channel = fs.write(file)) {
+            channel.truncate(0);
+            channel.writeAll(buffer);
+        }
+    }
+}
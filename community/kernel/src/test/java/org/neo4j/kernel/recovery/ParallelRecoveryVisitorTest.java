@@ -64,6 +64,7 @@ import org.neo4j.storageengine.api.CommandCreationContext;
 import org.neo4j.storageengine.api.CommandStream;
 import org.neo4j.storageengine.api.IndexUpdateListener;
 import org.neo4j.storageengine.api.MetadataProvider;
+import org.neo4j.storageengine.api.StorageChangeVisitor;
 import org.neo4j.storageengine.api.StorageCommand;
 import org.neo4j.storageengine.api.StorageEngine;
 import org.neo4j.storageengine.api.StorageLocks;
@@ -399,6 +400,11 @@ class ParallelRecoveryVisitorTest {
             throw new UnsupportedOperationException();
         }
 
+        @Override
+        public void decodeChanges(CommandBatch batch, StorageChangeVisitor visitor) {
+            throw new UnsupportedOperationException();
+        }
+
         @Override
         public void shutdown() {}
 
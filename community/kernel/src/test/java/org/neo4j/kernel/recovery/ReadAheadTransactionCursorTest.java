@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.recovery;
+
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_BYTE_ARRAY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.common.Subject.ANONYMOUS;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.kernel.KernelVersion;
+import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.log.CompleteTransaction;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.impl.transaction.log.TransactionCursor;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryCommit;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+
+class ReadAheadTransactionCursorTest {
+    private static final long TRANSACTION_SIZE = 60;
+    private static final long START_OFFSET = 64;
+
+    private final ThreadPoolJobScheduler jobScheduler = new ThreadPoolJobScheduler();
+    private final LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+
+    @AfterEach
+    void tearDown() {
+        jobScheduler.close();
+    }
+
+    @Test
+    void shouldReturnAllTransactionsWithTheirPositionsInOrder() throws IOException {
+        var source = new FakeTransactionCursor(10, null);
+
+        try (var cursor = readAhead(source, 1024)) {
+            for (int i = 1; i <= 10; i++) {
+                assertTrue(cursor.next());
+                assertThat(cursor.get().commitEntry().getTxId()).isEqualTo(i);
+                assertThat(cursor.position()).isEqualTo(new LogPosition(0, START_OFFSET + i * TRANSACTION_SIZE));
+            }
+            assertFalse(cursor.next());
+            assertThat(cursor.position()).isEqualTo(new LogPosition(0, START_OFFSET + 10 * TRANSACTION_SIZE));
+        }
+        assertTrue(source.closed);
+    }
+
+    @Test
+    void shouldReturnStartPositionWhenThereAreNoTransactions() throws IOException {
+        var source = new FakeTransactionCursor(0, null);
+
+        try (var cursor = readAhead(source, 1024)) {
+            assertThat(cursor.position()).isEqualTo(new LogPosition(0, START_OFFSET));
+            assertFalse(cursor.next());
+            assertThat(cursor.position()).isEqualTo(new LogPosition(0, START_OFFSET));
+        }
+    }
+
+    @Test
+    void shouldNotReadMoreThanMemoryBudgetAhead() throws IOException {
+        var source = new FakeTransactionCursor(100, null);
+
+        try (var cursor = readAhead(source, 100)) {
+            int transactions = 0;
+            while (cursor.next()) {
+                transactions++;
+            }
+            assertThat(transactions).isEqualTo(100);
+            // A transaction is only read ahead when the ones waiting take up less than the budget
+            long decodedSize = ReadAheadTransactionCursor.decodedSize(source.get(), TRANSACTION_SIZE);
+            assertThat(cursor.readAheadHighWaterMark()).isLessThanOrEqualTo(2 * decodedSize);
+            assertThat(memoryTracker.heapHighWaterMark()).isEqualTo(cursor.readAheadHighWaterMark());
+        }
+        assertThat(memoryTracker.estimatedHeapMemory()).isZero();
+    }
+
+    @Test
+    void shouldReadTransactionLargerThanBudgetWhenNothingElseIsWaiting() throws IOException {
+        var source = new FakeTransactionCursor(3, null);
+
+        try (var cursor = readAhead(source, 1)) {
+            assertTrue(cursor.next());
+            assertTrue(cursor.next());
+            assertTrue(cursor.next());
+            assertFalse(cursor.next());
+        }
+    }
+
+    @Test
+    void shouldThrowReadFailureAfterTransactionsReadBeforeIt() throws IOException {
+        var failure = new IOException("Corrupted log");
+        var source = new FakeTransactionCursor(2, failure);
+
+        try (var cursor = readAhead(source, 1024)) {
+            assertTrue(cursor.next());
+            assertTrue(cursor.next());
+            assertSame(failure, assertThrows(IOException.class, cursor::next));
+        }
+    }
+
+    @Test
+    void shouldStopReadingAheadOnClose() throws IOException {
+        var source = new FakeTransactionCursor(Integer.MAX_VALUE, null);
+
+        var cursor = readAhead(source, 100);
+        assertTrue(cursor.next());
+        cursor.close();
+
+        assertTrue(source.closed);
+        assertThat(memoryTracker.estimatedHeapMemory()).isZero();
+        int readTransactions = source.reads.get();
+        assertThat(readTransactions).isLessThan(10);
+        assertThat(source.reads.get()).isEqualTo(readTransactions);
+    }
+
+    @Test
+    void shouldCountTransactionLogBytesAcrossLogFiles() {
+        assertThat(ReadAheadTransactionCursor.transactionLogSize(new LogPosition(1, 100), new LogPosition(1, 160)))
+                .isEqualTo(60);
+        assertThat(ReadAheadTransactionCursor.transactionLogSize(new LogPosition(1, 100), new LogPosition(2, 160)))
+                .isEqualTo(160);
+    }
+
+    private ReadAheadTransactionCursor readAhead(TransactionCursor source, long memoryBudget) {
+        return new ReadAheadTransactionCursor(
+                source, new LogPosition(0, START_OFFSET), memoryBudget, memoryTracker, jobScheduler);
+    }
+
+    private static class FakeTransactionCursor implements TransactionCursor {
+        private final int transactions;
+        private final IOException failure;
+        private final AtomicInteger reads = new AtomicInteger();
+        private volatile boolean closed;
+        private CommittedTransactionRepresentation current;
+
+        FakeTransactionCursor(int transactions, IOException failure) {
+            this.transactions = transactions;
+            this.failure = failure;
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            if (reads.get() == transactions) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return false;
+            }
+            long txId = reads.incrementAndGet();
+            var transaction =
+                    new CompleteTransaction(List.of(), EMPTY_BYTE_ARRAY, 0, 0, 0, -1, KernelVersion.LATEST, ANONYMOUS);
+            current = new CommittedTransactionRepresentation(null, transaction, new LogEntryCommit(txId, 0, 0));
+            return true;
+        }
+
+        @Override
+        public CommittedTransactionRepresentation get() {
+            return current;
+        }
+
+        @Override
+        public LogPosition position() {
+            return new LogPosition(0, START_OFFSET + reads.get() * TRANSACTION_SIZE);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
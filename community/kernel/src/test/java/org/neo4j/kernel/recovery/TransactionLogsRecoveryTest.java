@@ -104,6 +104,7 @@ import org.neo4j.kernel.lifecycle.Lifecycle;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 import org.neo4j.logging.InternalLog;
 import org.neo4j.monitoring.Monitors;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.LogVersionRepository;
 import org.neo4j.storageengine.api.StorageEngine;
 import org.neo4j.storageengine.api.StoreId;
@@ -113,6 +114,7 @@ import org.neo4j.storageengine.api.TransactionIdStore;
 import org.neo4j.storageengine.api.cursor.StoreCursors;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.Neo4jLayoutExtension;
+import org.neo4j.test.scheduler.CallingThreadJobScheduler;
 import org.neo4j.test.utils.TestDirectory;
 
 @Neo4jLayoutExtension
@@ -137,6 +139,7 @@ class TransactionLogsRecoveryTest {
     private LogEntry expectedStartEntry;
     private LogEntry expectedCommitEntry;
     private final Monitors monitors = new Monitors();
+    private final JobScheduler jobScheduler = new CallingThreadJobScheduler();
     private final SimpleLogVersionRepository versionRepository = new SimpleLogVersionRepository();
     private LogFiles logFiles;
     private Path storeDir;
@@ -225,7 +228,7 @@ class TransactionLogsRecoveryTest {
             LogicalTransactionStore txStore = new PhysicalLogicalTransactionStore(
                     recoveryLogFiles, metadataCache, new TestCommandReaderFactory(), monitors, false, config);
             CorruptedLogsTruncator logPruner =
-                    new CorruptedLogsTruncator(storeDir, recoveryLogFiles, fileSystem, INSTANCE);
+                    new CorruptedLogsTruncator(storeDir, recoveryLogFiles, fileSystem, INSTANCE, jobScheduler);
             monitors.addMonitorListener(monitor);
             life.add(new TransactionLogsRecovery(
                     new DefaultRecoveryService(
@@ -329,7 +332,8 @@ class TransactionLogsRecoveryTest {
             TransactionMetadataCache metadataCache = new TransactionMetadataCache();
             LogicalTransactionStore txStore = new PhysicalLogicalTransactionStore(
                     logFiles, metadataCache, new TestCommandReaderFactory(), monitors, false, config);
-            CorruptedLogsTruncator logPruner = new CorruptedLogsTruncator(storeDir, logFiles, fileSystem, INSTANCE);
+            CorruptedLogsTruncator logPruner =
+                    new CorruptedLogsTruncator(storeDir, logFiles, fileSystem, INSTANCE, jobScheduler);
             monitors.addMonitorListener(new RecoveryMonitor() {
                 @Override
                 public void recoveryRequired(LogPosition recoveryPosition) {
@@ -537,7 +541,8 @@ class TransactionLogsRecoveryTest {
         RecoveryService recoveryService = mock(RecoveryService.class);
         when(recoveryService.getRecoveryStartInformation()).thenReturn(NO_RECOVERY_REQUIRED);
 
-        CorruptedLogsTruncator logPruner = new CorruptedLogsTruncator(storeDir, logFiles, fileSystem, INSTANCE);
+        CorruptedLogsTruncator logPruner =
+                new CorruptedLogsTruncator(storeDir, logFiles, fileSystem, INSTANCE, jobScheduler);
         RecoveryMonitor monitor = mock(RecoveryMonitor.class);
 
         TransactionLogsRecovery logsRecovery = new TransactionLogsRecovery(
@@ -617,7 +622,8 @@ class TransactionLogsRecoveryTest {
             TransactionMetadataCache metadataCache = new TransactionMetadataCache();
             LogicalTransactionStore txStore = new PhysicalLogicalTransactionStore(
                     logFiles, metadataCache, new TestCommandReaderFactory(), monitors, false, config);
-            CorruptedLogsTruncator logPruner = new CorruptedLogsTruncator(storeDir, logFiles, fileSystem, INSTANCE);
+            CorruptedLogsTruncator logPruner =
+                    new CorruptedLogsTruncator(storeDir, logFiles, fileSystem, INSTANCE, jobScheduler);
             monitors.addMonitorListener(monitor);
             life.add(new TransactionLogsRecovery(
                     new DefaultRecoveryService(
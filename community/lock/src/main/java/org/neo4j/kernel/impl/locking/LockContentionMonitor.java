@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking;
+
+import org.neo4j.lock.LockType;
+import org.neo4j.lock.ResourceType;
+
+/**
+ * Monitor of the lock waits recorded by a {@link LockContentionProfiler}. Only called for locks that a client actually
+ * had to wait for.
+ */
+public interface LockContentionMonitor {
+    /**
+     * Called when a lock client has stopped waiting for a lock, either because it got the lock, or because it gave up.
+     *
+     * @param resourceType type of the resource that was waited for.
+     * @param resourceId id of the resource that was waited for.
+     * @param lockType type of lock that was waited for.
+     * @param waitNanos how long the client waited.
+     * @param blockingTransactionId id of a transaction that held the lock when the client started waiting, or
+     * {@link LockContentionProfiler#UNKNOWN_TRANSACTION} if the lock had no holder by then.
+     */
+    void lockWaited(
+            ResourceType resourceType, long resourceId, LockType lockType, long waitNanos, long blockingTransactionId);
+
+    LockContentionMonitor NONE = (resourceType, resourceId, lockType, waitNanos, blockingTransactionId) -> {};
+}
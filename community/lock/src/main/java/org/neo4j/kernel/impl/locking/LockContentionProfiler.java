@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import org.neo4j.lock.LockType;
+import org.neo4j.lock.ResourceType;
+
+/**
+ * Always-on profile of the lock waits of a lock manager.
+ * <p>
+ * Only waits are recorded, so a lock that is taken without contention costs nothing here. For every wait the profiler
+ * keeps exact counts and wait times per {@link ResourceType}, and samples the wait into two space bounded
+ * {@link SpaceSavingSketch heavy hitters sketches}: one of the resources that were waited for the longest, per
+ * resource type, and one of the transactions that blocked others for the longest. A sketch that is busy with the wait
+ * of another client drops the sample rather than making the waiting client wait some more, so under heavy contention
+ * the sketches are sampled, while the totals per resource type stay exact.
+ * <p>
+ * Every recorded wait is also reported to the {@link LockContentionMonitor}, if one has been set.
+ */
+public final class LockContentionProfiler {
+    /** Blocking transaction id used when the lock that was waited for had no holder anymore. */
+    public static final long UNKNOWN_TRANSACTION = -1;
+
+    /** A profiler that records nothing, for lock managers that don't wait for locks. */
+    public static final LockContentionProfiler DISABLED = new LockContentionProfiler();
+
+    static final int HOT_RESOURCES_PER_TYPE = 64;
+    static final int BLOCKING_TRANSACTIONS = 64;
+
+    /** Resource types by type id, {@code null} for ids that are not profiled. */
+    private final ResourceType[] resourceTypes;
+
+    private final LongAdder[] waits;
+    private final LongAdder[] waitNanos;
+    private final SpaceSavingSketch[] hotResources;
+    private final SpaceSavingSketch blockingTransactions = new SpaceSavingSketch(BLOCKING_TRANSACTIONS);
+    private volatile LockContentionMonitor monitor = LockContentionMonitor.NONE;
+
+    public LockContentionProfiler(ResourceType... resourceTypes) {
+        int maxTypeId = -1;
+        for (ResourceType resourceType : resourceTypes) {
+            maxTypeId = Math.max(maxTypeId, resourceType.typeId());
+        }
+        this.resourceTypes = new ResourceType[maxTypeId + 1];
+        this.waits = new LongAdder[maxTypeId + 1];
+        this.waitNanos = new LongAdder[maxTypeId + 1];
+        this.hotResources = new SpaceSavingSketch[maxTypeId + 1];
+        for (ResourceType resourceType : resourceTypes) {
+            int typeId = resourceType.typeId();
+            this.resourceTypes[typeId] = resourceType;
+            this.waits[typeId] = new LongAdder();
+            this.waitNanos[typeId] = new LongAdder();
+            this.hotResources[typeId] = new SpaceSavingSketch(HOT_RESOURCES_PER_TYPE);
+        }
+    }
+
+    /**
+     * Set the monitor that every recorded wait is reported to. A profiler without any resource types, like
+     * {@link #DISABLED}, never reports anything, so it doesn't hold on to the monitor either.
+     */
+    public void setMonitor(LockContentionMonitor monitor) {
+        requireNonNull(monitor);
+        if (resourceTypes.length > 0) {
+            this.monitor = monitor;
+        }
+    }
+
+    /**
+     * Record that a lock client has stopped waiting for a lock. See
+     * {@link LockContentionMonitor#lockWaited(ResourceType, long, LockType, long, long)} for the parameters.
+     */
+    public void lockWaited(
+            ResourceType resourceType, long resourceId, LockType lockType, long waitNanos, long blockingTransactionId) {
+        int typeId = resourceType.typeId();
+        if (typeId >= resourceTypes.length || resourceTypes[typeId] == null) {
+            return;
+        }
+        this.waits[typeId].increment();
+        this.waitNanos[typeId].add(waitNanos);
+        hotResources[typeId].tryAdd(resourceId, waitNanos, blockingTransactionId);
+        if (blockingTransactionId != UNKNOWN_TRANSACTION) {
+            blockingTransactions.tryAdd(blockingTransactionId, waitNanos, 0);
+        }
+        monitor.lockWaited(resourceType, resourceId, lockType, waitNanos, blockingTransactionId);
+    }
+
+    /**
+     * @return the total number of waits and wait time of every profiled resource type.
+     */
+    public List<ResourceTypeContention> resourceTypeContention() {
+        List<ResourceTypeContention> contention = new ArrayList<>();
+        for (ResourceType resourceType : resourceTypes) {
+            if (resourceType != null) {
+                int typeId = resourceType.typeId();
+                contention.add(new ResourceTypeContention(resourceType, waits[typeId].sum(), waitNanos[typeId].sum()));
+            }
+        }
+        return contention;
+    }
+
+    /**
+     * @return the resources, of any type, that clients have waited the longest for, longest first.
+     */
+    public List<HotResource> hotResources(int limit) {
+        List<HotResource> resources = new ArrayList<>();
+        for (ResourceType resourceType : resourceTypes) {
+            if (resourceType != null) {
+                for (SpaceSavingSketch.Entry entry : hotResources[resourceType.typeId()].top(limit)) {
+                    resources.add(new HotResource(
+                            resourceType,
+                            entry.key(),
+                            entry.count(),
+                            entry.weight(),
+                            entry.maxOverestimate(),
+                            entry.attribute()));
+                }
+            }
+        }
+        resources.sort(Comparator.comparingLong(HotResource::waitNanos).reversed());
+        return resources.size() > limit ? resources.subList(0, limit) : resources;
+    }
+
+    /**
+     * @return the transactions that have held locks that others had to wait for the longest, longest first.
+     */
+    public List<BlockingTransaction> blockingTransactions(int limit) {
+        List<BlockingTransaction> transactions = new ArrayList<>();
+        for (SpaceSavingSketch.Entry entry : blockingTransactions.top(limit)) {
+            transactions.add(
+                    new BlockingTransaction(entry.key(), entry.count(), entry.weight(), entry.maxOverestimate()));
+        }
+        return transactions;
+    }
+
+    public record ResourceTypeContention(ResourceType resourceType, long waits, long waitNanos) {}
+
+    /**
+     * A resource that clients have waited for. Its wait time may be overestimated by up to
+     * {@code maxOverestimateNanos}, and its number of waits is only counted since the resource entered the profile.
+     */
+    public record HotResource(
+            ResourceType resourceType,
+            long resourceId,
+            long waits,
+            long waitNanos,
+            long maxOverestimateNanos,
+            long lastBlockingTransactionId) {}
+
+    /**
+     * A transaction that held locks that clients have waited for. Its blocking time may be overestimated by up to
+     * {@code maxOverestimateNanos}, and its number of waits is only counted since the transaction entered the profile.
+     */
+    public record BlockingTransaction(long transactionId, long waits, long waitNanos, long maxOverestimateNanos) {}
+}
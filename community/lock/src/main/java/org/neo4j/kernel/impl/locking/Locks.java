@@ -124,6 +124,13 @@ public interface Locks {
 
     void close();
 
+    /**
+     * @return the profiler that records where the clients of this lock manager have had to wait for locks.
+     */
+    default LockContentionProfiler contentionProfiler() {
+        return LockContentionProfiler.DISABLED;
+    }
+
     /** An implementation that doesn't do any locking **/
     Locks NO_LOCKS = new Locks() {
         @Override
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+
+/**
+ * A space bounded sketch of the keys with the largest total weight, using the Space-Saving algorithm: it keeps at most
+ * {@code capacity} counters, and a key that is not counted yet takes over the counter with the smallest weight,
+ * inheriting that weight as its possible overestimate. Any key whose true weight is larger than the total weight
+ * divided by the capacity is guaranteed to be in the sketch.
+ * <p>
+ * Besides the weight, each counter keeps the number of times its key was added since the key got the counter, and
+ * the attribute that came with the last addition.
+ */
+final class SpaceSavingSketch {
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final MutableLongObjectMap<Counter> counters;
+
+    SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+        this.counters = new LongObjectHashMap<>(capacity);
+    }
+
+    /**
+     * Add the given weight to the given key, unless another thread is updating the sketch at the same time, in which
+     * case this addition is dropped rather than waited for.
+     *
+     * @return {@code true} if the weight was added.
+     */
+    boolean tryAdd(long key, long weight, long attribute) {
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            Counter counter = counters.get(key);
+            if (counter == null) {
+                counter = newCounter(key);
+            }
+            counter.weight += weight;
+            counter.count++;
+            counter.attribute = attribute;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the counted keys with the largest weights first, at most {@code limit} of them.
+     */
+    List<Entry> top(int limit) {
+        List<Entry> entries = new ArrayList<>(capacity);
+        lock.lock();
+        try {
+            counters.forEachValue(counter -> entries.add(
+                    new Entry(counter.key, counter.count, counter.weight, counter.error, counter.attribute)));
+        } finally {
+            lock.unlock();
+        }
+        entries.sort(Comparator.comparingLong(Entry::weight).reversed());
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    private Counter newCounter(long key) {
+        Counter counter;
+        if (counters.size() < capacity) {
+            counter = new Counter();
+        } else {
+            counter = smallestCounter();
+            counters.remove(counter.key);
+            counter.error = counter.weight;
+            counter.count = 0;
+        }
+        counter.key = key;
+        counters.put(key, counter);
+        return counter;
+    }
+
+    private Counter smallestCounter() {
+        Counter smallest = null;
+        for (Counter counter : counters.values()) {
+            if (smallest == null || counter.weight < smallest.weight) {
+                smallest = counter;
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * A counted key.
+     *
+     * @param key the key.
+     * @param count number of additions since the key got its counter.
+     * @param weight total weight of the key, which may be overestimated by up to {@code maxOverestimate}.
+     * @param maxOverestimate the weight the counter already had when the key took it over.
+     * @param attribute the attribute of the last addition.
+     */
+    record Entry(long key, long count, long weight, long maxOverestimate, long attribute) {}
+
+    private static final class Counter {
+        private long key;
+        private long count;
+        private long weight;
+        private long error;
+        private long attribute;
+    }
+}
@@ -32,10 +32,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 import org.eclipse.collections.api.block.procedure.primitive.LongProcedure;
+import org.eclipse.collections.api.iterator.LongIterator;
 import org.neo4j.collection.trackable.HeapTrackingCollections;
 import org.neo4j.collection.trackable.HeapTrackingLongIntHashMap;
 import org.neo4j.configuration.Config;
@@ -47,12 +47,14 @@ import org.neo4j.kernel.impl.api.LeaseClient;
 import org.neo4j.kernel.impl.locking.LockAcquisitionTimeoutException;
 import org.neo4j.kernel.impl.locking.LockClientStateHolder;
 import org.neo4j.kernel.impl.locking.LockClientStoppedException;
+import org.neo4j.kernel.impl.locking.LockContentionProfiler;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.lock.AcquireLockTimeoutException;
 import org.neo4j.lock.ActiveLock;
 import org.neo4j.lock.LockTracer;
 import org.neo4j.lock.LockType;
 import org.neo4j.lock.LockWaitEvent;
+import org.neo4j.lock.ResourceLocker;
 import org.neo4j.lock.ResourceType;
 import org.neo4j.lock.ResourceTypes;
 import org.neo4j.memory.HeapEstimator;
@@ -80,7 +82,7 @@ public class ForsetiClient implements Locks.Client {
     private static final int NO_DEADLOCK_DEPTH = -1;
 
     /** resourceType -> lock map. These are the global lock maps, shared across all clients. */
-    private final ConcurrentMap<Long, ForsetiLockManager.Lock>[] lockMaps;
+    private final LockTable[] lockMaps;
 
     /**
      * The client uses this to track which locks it holds. It is solely an optimization to ensure we don't need to
@@ -147,17 +149,29 @@ public class ForsetiClient implements Locks.Client {
     private static final long CONCURRENT_NODE_SIZE = HeapEstimator.LONG_SIZE + HeapEstimator.HASH_MAP_NODE_SHALLOW_SIZE;
     private volatile long prepareThreadId;
 
-    public ForsetiClient(
-            ConcurrentMap<Long, ForsetiLockManager.Lock>[] lockMaps,
+    private final LockContentionProfiler contentionProfiler;
+
+    // The lock wait that is being timed for the contention profiler. Only accessed by the thread that acquires locks.
+    private boolean contended;
+    private long contendedSinceNanos;
+    private ResourceType contendedResourceType;
+    private long contendedResourceId;
+    private LockType contendedLockType;
+    private long blockingTransactionId;
+
+    ForsetiClient(
+            LockTable[] lockMaps,
             SystemNanoClock clock,
             boolean verboseDeadlocks,
-            long clientId) {
+            long clientId,
+            LockContentionProfiler contentionProfiler) {
         this.lockMaps = lockMaps;
         this.sharedLockCounts = new HeapTrackingLongIntHashMap[lockMaps.length];
         this.exclusiveLockCounts = new HeapTrackingLongIntHashMap[lockMaps.length];
         this.clock = clock;
         this.verboseDeadlocks = verboseDeadlocks;
         this.clientId = clientId;
+        this.contentionProfiler = contentionProfiler;
     }
 
     @Override
@@ -175,18 +189,41 @@ public class ForsetiClient implements Locks.Client {
     @Override
     public void acquireShared(LockTracer tracer, ResourceType resourceType, long... resourceIds)
             throws AcquireLockTimeoutException {
+        acquireShared(tracer, resourceType, resourceIds, false);
+    }
+
+    @Override
+    public void acquireSharedSorted(LockTracer tracer, ResourceType resourceType, long[] sortedResourceIds)
+            throws AcquireLockTimeoutException {
+        acquireShared(tracer, resourceType, ResourceLocker.distinctSortedIds(sortedResourceIds), true);
+    }
+
+    /**
+     * @param batch whether the given resource ids are a batch of distinct ids, that shares one wait context: the heap
+     * of all the locks that are new to this client is reserved up front, and the lock acquisition timeout applies to
+     * the batch as a whole, rather than to every lock on its own.
+     */
+    private void acquireShared(LockTracer tracer, ResourceType resourceType, long[] resourceIds, boolean batch)
+            throws AcquireLockTimeoutException {
         hasLocks = true;
         stateHolder.incrementActiveClients(this);
         LockWaitEvent waitEvent = null;
+        int reservedLocks = 0;
+        int acquiredLocks = 0;
+        long batchWaitStartNano = batch ? clock.nanos() : 0;
 
         try {
             // Grab the global lock map we will be using
-            ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap = lockMaps[resourceType.typeId()];
+            LockTable lockMap = lockMaps[resourceType.typeId()];
 
             // And grab our local lock maps
             HeapTrackingLongIntHashMap heldShareLocks = getSharedLockCount(resourceType);
             HeapTrackingLongIntHashMap heldExclusiveLocks = getExclusiveLockCount(resourceType);
 
+            if (batch) {
+                reservedLocks = reserveHeapForNewLocks(resourceIds, heldShareLocks, heldExclusiveLocks);
+            }
+
             for (long resourceId : resourceIds) {
                 // First, check if we already hold this as a shared lock
                 int heldCount = heldShareLocks.getIfAbsent(resourceId, NO_CLIENT_ID);
@@ -205,12 +242,16 @@ public class ForsetiClient implements Locks.Client {
                     continue;
                 }
 
-                memoryTracker.allocateHeap(CONCURRENT_NODE_SIZE);
+                if (reservedLocks > 0) {
+                    reservedLocks--;
+                } else {
+                    memoryTracker.allocateHeap(CONCURRENT_NODE_SIZE);
+                }
 
                 // We don't hold the lock, so we need to grab it via the global lock map
                 int tries = 0;
                 SharedLock mySharedLock = null;
-                long waitStartNano = clock.nanos();
+                long waitStartNano = batch ? batchWaitStartNano : clock.nanos();
 
                 // Retry loop
                 while (true) {
@@ -252,15 +293,20 @@ public class ForsetiClient implements Locks.Client {
                     if (waitEvent == null) {
                         waitEvent = tracer.waitForLock(SHARED, resourceType, transactionId, resourceId);
                     }
+                    acquiredLocks = publishAcquiredLocks(acquiredLocks);
                     // And take note of who we are waiting for. This is used for deadlock detection.
                     waitFor(existingLock, resourceType, resourceId, SHARED, tries++);
                 }
+                endContention();
 
                 // Make a local note about the fact that we now hold this lock
-                activeLockCount.incrementAndGet();
+                acquiredLocks++;
                 heldShareLocks.put(resourceId, 1);
             }
         } finally {
+            endContention();
+            publishAcquiredLocks(acquiredLocks);
+            releaseReservedHeap(reservedLocks);
             if (waitEvent != null) {
                 waitEvent.close();
                 clearWaitState();
@@ -269,6 +315,56 @@ public class ForsetiClient implements Locks.Client {
         }
     }
 
+    /**
+     * Reserve the heap for the locks among the given distinct resource ids that this client does not already hold in
+     * any of the given local lock maps.
+     *
+     * @return the number of locks that heap was reserved for.
+     */
+    private int reserveHeapForNewLocks(long[] resourceIds, HeapTrackingLongIntHashMap... heldLocks) {
+        int newLocks = 0;
+        for (long resourceId : resourceIds) {
+            if (!isHeld(resourceId, heldLocks)) {
+                newLocks++;
+            }
+        }
+        if (newLocks > 0) {
+            memoryTracker.allocateHeap(newLocks * CONCURRENT_NODE_SIZE);
+        }
+        return newLocks;
+    }
+
+    private static boolean isHeld(long resourceId, HeapTrackingLongIntHashMap[] heldLocks) {
+        for (HeapTrackingLongIntHashMap held : heldLocks) {
+            if (held.containsKey(resourceId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add the locks that have been acquired by a call so far to the active lock count with a single update. This is
+     * done before waiting for a lock, since the deadlock resolution compares the active lock counts of the clients.
+     *
+     * @return the number of acquired locks that are left to publish, which is none.
+     */
+    private int publishAcquiredLocks(int acquiredLocks) {
+        if (acquiredLocks > 0) {
+            activeLockCount.addAndGet(acquiredLocks);
+        }
+        return 0;
+    }
+
+    /**
+     * Give back the heap that was reserved for locks that were not taken after all, because acquiring the batch failed.
+     */
+    private void releaseReservedHeap(int reservedLocks) {
+        if (reservedLocks > 0) {
+            memoryTracker.releaseHeap(reservedLocks * CONCURRENT_NODE_SIZE);
+        }
+    }
+
     private void noteWaitingForLock(
             ForsetiLockManager.Lock lock, ResourceType resourceType, long resourceId, LockType lockType) {
         waitingForResourceType = resourceType;
@@ -277,6 +373,40 @@ public class ForsetiClient implements Locks.Client {
         waitingForLock = lock;
     }
 
+    private void startContention(
+            ForsetiLockManager.Lock lock, ResourceType resourceType, long resourceId, LockType lockType) {
+        contended = true;
+        contendedSinceNanos = clock.nanos();
+        contendedResourceType = resourceType;
+        contendedResourceId = resourceId;
+        contendedLockType = lockType;
+        blockingTransactionId = LockContentionProfiler.UNKNOWN_TRANSACTION;
+        LongIterator holders = lock.transactionIds().longIterator();
+        while (holders.hasNext()) {
+            long holder = holders.next();
+            if (holder != transactionId) {
+                blockingTransactionId = holder;
+                break;
+            }
+        }
+    }
+
+    /**
+     * Report the lock wait that is being timed, if any, to the contention profiler. This is called whenever a lock has
+     * been acquired, and when acquiring gives up, and costs no more than a field read if we didn't have to wait.
+     */
+    private void endContention() {
+        if (contended) {
+            contended = false;
+            contentionProfiler.lockWaited(
+                    contendedResourceType,
+                    contendedResourceId,
+                    contendedLockType,
+                    clock.nanos() - contendedSinceNanos,
+                    blockingTransactionId);
+        }
+    }
+
     private void clearWaitState() {
         clearWaitList();
         waitingForLock = null;
@@ -306,14 +436,36 @@ public class ForsetiClient implements Locks.Client {
     @Override
     public void acquireExclusive(LockTracer tracer, ResourceType resourceType, long... resourceIds)
             throws AcquireLockTimeoutException {
+        acquireExclusive(tracer, resourceType, resourceIds, false);
+    }
+
+    @Override
+    public void acquireExclusiveSorted(LockTracer tracer, ResourceType resourceType, long[] sortedResourceIds)
+            throws AcquireLockTimeoutException {
+        acquireExclusive(tracer, resourceType, ResourceLocker.distinctSortedIds(sortedResourceIds), true);
+    }
+
+    /**
+     * @param batch whether the given resource ids are a batch of distinct ids, that shares one wait context, see
+     * {@link #acquireShared(LockTracer, ResourceType, long[], boolean)}.
+     */
+    private void acquireExclusive(LockTracer tracer, ResourceType resourceType, long[] resourceIds, boolean batch)
+            throws AcquireLockTimeoutException {
         hasLocks = true;
         stateHolder.incrementActiveClients(this);
         LockWaitEvent waitEvent = null;
+        int reservedLocks = 0;
+        int acquiredLocks = 0;
+        long batchWaitStartNano = batch ? clock.nanos() : 0;
 
         try {
-            ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap = lockMaps[resourceType.typeId()];
+            LockTable lockMap = lockMaps[resourceType.typeId()];
             HeapTrackingLongIntHashMap heldLocks = getExclusiveLockCount(resourceType);
 
+            if (batch) {
+                reservedLocks = reserveHeapForNewLocks(resourceIds, heldLocks);
+            }
+
             for (long resourceId : resourceIds) {
                 int heldCount = heldLocks.getIfAbsent(resourceId, NO_CLIENT_ID);
                 if (heldCount != NO_CLIENT_ID) {
@@ -322,14 +474,19 @@ public class ForsetiClient implements Locks.Client {
                     continue;
                 }
 
-                memoryTracker.allocateHeap(CONCURRENT_NODE_SIZE);
+                if (reservedLocks > 0) {
+                    reservedLocks--;
+                } else {
+                    memoryTracker.allocateHeap(CONCURRENT_NODE_SIZE);
+                }
                 // Grab the global lock
                 ForsetiLockManager.Lock existingLock;
                 int tries = 0;
-                long waitStartNano = clock.nanos();
+                long waitStartNano = batch ? batchWaitStartNano : clock.nanos();
                 boolean upgraded = false;
                 while ((existingLock = lockMap.putIfAbsent(resourceId, myExclusiveLock)) != null) {
                     assertValid(waitStartNano, resourceType, resourceId);
+                    acquiredLocks = publishAcquiredLocks(acquiredLocks);
 
                     // If this is a shared lock:
                     // Given a grace period of tries (to try and not starve readers), grab an update lock and wait
@@ -348,16 +505,20 @@ public class ForsetiClient implements Locks.Client {
                     }
                     waitFor(existingLock, resourceType, resourceId, EXCLUSIVE, tries++);
                 }
+                endContention();
 
                 if (upgraded) {
                     // return this memory in case of upgrade as shared lock already tracks it
                     memoryTracker.releaseHeap(CONCURRENT_NODE_SIZE);
                 } else {
-                    activeLockCount.incrementAndGet();
+                    acquiredLocks++;
                 }
                 heldLocks.put(resourceId, 1);
             }
         } finally {
+            endContention();
+            publishAcquiredLocks(acquiredLocks);
+            releaseReservedHeap(reservedLocks);
             if (waitEvent != null) {
                 waitEvent.close();
                 clearWaitState();
@@ -372,7 +533,7 @@ public class ForsetiClient implements Locks.Client {
         stateHolder.incrementActiveClients(this);
 
         try {
-            ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap = lockMaps[resourceType.typeId()];
+            LockTable lockMap = lockMaps[resourceType.typeId()];
             HeapTrackingLongIntHashMap heldLocks = getExclusiveLockCount(resourceType);
 
             int heldCount = heldLocks.getIfAbsent(resourceId, NO_CLIENT_ID);
@@ -417,7 +578,7 @@ public class ForsetiClient implements Locks.Client {
         stateHolder.incrementActiveClients(this);
 
         try {
-            ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap = lockMaps[resourceType.typeId()];
+            LockTable lockMap = lockMaps[resourceType.typeId()];
             HeapTrackingLongIntHashMap heldShareLocks = getSharedLockCount(resourceType);
             HeapTrackingLongIntHashMap heldExclusiveLocks = getExclusiveLockCount(resourceType);
 
@@ -480,7 +641,7 @@ public class ForsetiClient implements Locks.Client {
         try {
             HeapTrackingLongIntHashMap sharedLocks = getSharedLockCount(resourceType);
             HeapTrackingLongIntHashMap exclusiveLocks = getExclusiveLockCount(resourceType);
-            ConcurrentMap<Long, ForsetiLockManager.Lock> resourceTypeLocks = lockMaps[resourceType.typeId()];
+            LockTable resourceTypeLocks = lockMaps[resourceType.typeId()];
             for (long resourceId : resourceIds) {
                 if (releaseLocalLock(resourceType, resourceId, sharedLocks)) {
                     continue;
@@ -500,7 +661,7 @@ public class ForsetiClient implements Locks.Client {
         stateHolder.incrementActiveClients(this);
 
         try {
-            ConcurrentMap<Long, ForsetiLockManager.Lock> resourceTypeLocks = lockMaps[resourceType.typeId()];
+            LockTable resourceTypeLocks = lockMaps[resourceType.typeId()];
             HeapTrackingLongIntHashMap exclusiveLocks = getExclusiveLockCount(resourceType);
             HeapTrackingLongIntHashMap sharedLocks = getSharedLockCount(resourceType);
             for (long resourceId : resourceIds) {
@@ -626,7 +787,7 @@ public class ForsetiClient implements Locks.Client {
         List<ActiveLock> locks = new ArrayList<>();
         for (int typeId = 0; typeId < lockMaps.length; typeId++) {
             ResourceType resourceType = ResourceTypes.fromId(typeId);
-            ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap = lockMaps[typeId];
+            LockTable lockMap = lockMaps[typeId];
             if (lockMap != null) {
                 lockMap.forEach((resourceId, lock) -> {
                     if (lock.isOwnedBy(this)) {
@@ -640,7 +801,7 @@ public class ForsetiClient implements Locks.Client {
 
     @Override
     public boolean holdsLock(long id, ResourceType resource, LockType lockType) {
-        ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap = lockMaps[resource.typeId()];
+        LockTable lockMap = lockMaps[resource.typeId()];
         ForsetiLockManager.Lock lock = lockMap.get(id);
         if (lock == null) {
             return false;
@@ -695,7 +856,7 @@ public class ForsetiClient implements Locks.Client {
     }
 
     /** Release a lock from the global pool. */
-    private void releaseGlobalLock(ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap, long resourceId) {
+    private void releaseGlobalLock(LockTable lockMap, long resourceId) {
         ForsetiLockManager.Lock lock = lockMap.get(resourceId);
         if (lock instanceof ExclusiveLock) {
             lockMap.remove(resourceId);
@@ -730,7 +891,7 @@ public class ForsetiClient implements Locks.Client {
             LockTracer tracer,
             LockWaitEvent waitEvent,
             ResourceType resourceType,
-            ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap,
+            LockTable lockMap,
             long resourceId,
             SharedLock sharedLock,
             long waitStartNano)
@@ -810,6 +971,9 @@ public class ForsetiClient implements Locks.Client {
 
     private void waitFor(
             ForsetiLockManager.Lock lock, ResourceType type, long resourceId, LockType lockType, int tries) {
+        if (!contended) {
+            startContention(lock, type, resourceId, lockType);
+        }
         clearAndCopyWaitList(lock);
         noteWaitingForLock(lock, type, resourceId, lockType);
         incrementalBackoffWait(tries);
@@ -1081,9 +1245,9 @@ public class ForsetiClient implements Locks.Client {
      * is no need to check for those. It is used when releasing all locks.
      */
     private class ReleaseSharedDontCheckExclusiveVisitor implements LongProcedure {
-        private ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap;
+        private LockTable lockMap;
 
-        private LongProcedure initialize(ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap) {
+        private LongProcedure initialize(LockTable lockMap) {
             this.lockMap = lockMap;
             return this;
         }
@@ -1100,10 +1264,9 @@ public class ForsetiClient implements Locks.Client {
      */
     private class ReleaseExclusiveLocksAndClearSharedVisitor implements LongProcedure {
         private HeapTrackingLongIntHashMap sharedLockCounts;
-        private ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap;
+        private LockTable lockMap;
 
-        private LongProcedure initialize(
-                HeapTrackingLongIntHashMap sharedLockCounts, ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap) {
+        private LongProcedure initialize(HeapTrackingLongIntHashMap sharedLockCounts, LockTable lockMap) {
             this.sharedLockCounts = sharedLockCounts;
             this.lockMap = lockMap;
             return this;
@@ -19,16 +19,15 @@
  */
 package org.neo4j.kernel.impl.locking.forseti;
 
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.lock_manager_striped_lock_table;
 import static org.neo4j.configuration.GraphDatabaseInternalSettings.lock_manager_verbose_deadlocks;
 
-import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
 import org.eclipse.collections.api.set.primitive.LongSet;
 import org.neo4j.configuration.Config;
 import org.neo4j.configuration.SettingChangeListener;
+import org.neo4j.kernel.impl.locking.LockContentionProfiler;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.lock.LockType;
 import org.neo4j.lock.ResourceType;
@@ -50,7 +49,8 @@ import org.neo4j.time.SystemNanoClock;
  * <h2>Locking algorithm</h2>
  * <p/>
  * Forseti is used by acquiring clients, which act as agents on behalf of whoever wants to grab locks. The clients
- * have access to a central map of locks.
+ * have access to a central map of locks, with one {@link LockTable} per resource type. By default these are backed by
+ * concurrent hash maps, but they can be switched over to {@link StripedLockTable striped primitive hash tables}.
  * <p/>
  * To grab a lock, a client must insert itself into the holder list of the lock it wants. The lock may either be a
  * shared lock or an exclusive lock. In the case of a shared lock, the client simply appends itself to the holder list.
@@ -155,12 +155,15 @@ public class ForsetiLockManager implements Locks {
     private final Config config;
     private final SettingChangeListener<Boolean> verboseDeadlocksSettingListener;
 
-    /** Pointers to lock maps, one array per resource type. */
-    private final ConcurrentMap<Long, ForsetiLockManager.Lock>[] lockMaps;
+    /** Pointers to lock tables, one per resource type. */
+    private final LockTable[] lockMaps;
 
     /** Reverse lookup resource types by id, used for introspection */
     private final ResourceType[] resourceTypes;
 
+    /** Records the lock waits of all clients. */
+    private final LockContentionProfiler contentionProfiler;
+
     /** Counter to keep internal client ids unique, important to be thread safe! */
     private final AtomicLong clientIds = new AtomicLong();
 
@@ -168,17 +171,18 @@ public class ForsetiLockManager implements Locks {
     private volatile boolean verboseDeadlocks;
     private volatile boolean closed;
 
-    @SuppressWarnings("unchecked")
     public ForsetiLockManager(Config config, SystemNanoClock clock, ResourceType... resourceTypes) {
         this.config = config;
         int maxResourceId = findMaxResourceId(resourceTypes);
-        this.lockMaps = new ConcurrentMap[maxResourceId];
+        this.lockMaps = new LockTable[maxResourceId];
         this.resourceTypes = new ResourceType[maxResourceId];
 
+        boolean stripedLockTable = config.get(lock_manager_striped_lock_table);
         for (ResourceType type : resourceTypes) {
-            this.lockMaps[type.typeId()] = new ConcurrentHashMap<>(16, 0.6f, 512);
+            this.lockMaps[type.typeId()] = stripedLockTable ? new StripedLockTable() : new ConcurrentHashMapLockTable();
             this.resourceTypes[type.typeId()] = type;
         }
+        this.contentionProfiler = new LockContentionProfiler(resourceTypes);
         this.clock = clock;
         this.verboseDeadlocks = config.get(lock_manager_verbose_deadlocks);
         this.verboseDeadlocksSettingListener = (oldValue, newValue) -> verboseDeadlocks = newValue;
@@ -194,7 +198,12 @@ public class ForsetiLockManager implements Locks {
             throw new IllegalStateException(this + " already closed");
         }
 
-        return new ForsetiClient(lockMaps, clock, verboseDeadlocks, clientIds.incrementAndGet());
+        return new ForsetiClient(lockMaps, clock, verboseDeadlocks, clientIds.incrementAndGet(), contentionProfiler);
+    }
+
+    @Override
+    public LockContentionProfiler contentionProfiler() {
+        return contentionProfiler;
     }
 
     @Override
@@ -202,14 +211,13 @@ public class ForsetiLockManager implements Locks {
         for (int i = 0; i < lockMaps.length; i++) {
             if (lockMaps[i] != null) {
                 var resourceType = resourceTypes[i];
-                for (Map.Entry<Long, Lock> entry : lockMaps[i].entrySet()) {
-                    var lock = entry.getValue();
+                lockMaps[i].forEach((resourceId, lock) -> {
                     var description = lock.describeWaitList();
                     var transactionIds = lock.transactionIds();
                     int lockIdentityHashCode = System.identityHashCode(lock);
                     transactionIds.forEach(txId -> out.visit(
-                            lock.type(), resourceType, txId, entry.getKey(), description, 0, lockIdentityHashCode));
-                }
+                            lock.type(), resourceType, txId, resourceId, description, 0, lockIdentityHashCode));
+                });
             }
         }
     }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking.forseti;
+
+import org.eclipse.collections.api.block.procedure.primitive.LongObjectProcedure;
+
+/**
+ * The table that maps resource ids of a single resource type to the lock currently held on them. It is shared by all
+ * clients of a {@link ForsetiLockManager}, and must be safe for concurrent use.
+ */
+interface LockTable {
+    /**
+     * @return the lock on the given resource, or {@code null} if the resource is not locked.
+     */
+    ForsetiLockManager.Lock get(long resourceId);
+
+    /**
+     * Associate the given lock with the given resource, unless the resource is already locked.
+     *
+     * @return the lock that was already associated with the resource, or {@code null} if the given lock was inserted.
+     */
+    ForsetiLockManager.Lock putIfAbsent(long resourceId, ForsetiLockManager.Lock lock);
+
+    /**
+     * Associate the given lock with the given resource, replacing any lock that is already associated with it.
+     */
+    void put(long resourceId, ForsetiLockManager.Lock lock);
+
+    /**
+     * Remove the lock associated with the given resource, if any.
+     */
+    void remove(long resourceId);
+
+    /**
+     * Visit all the locks in this table. The view of the table is only weakly consistent; locks that are added or
+     * removed while the table is being visited may or may not be seen.
+     */
+    void forEach(LongObjectProcedure<ForsetiLockManager.Lock> procedure);
+}
@@ -23,8 +23,7 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.StringJoiner;
 import org.eclipse.collections.api.set.primitive.LongSet;
 import org.eclipse.collections.impl.factory.primitive.LongSets;
 import org.neo4j.lock.LockType;
@@ -54,11 +53,10 @@ class SharedLock implements ForsetiLockManager.Lock {
         }
     }
 
-    private final ConcurrentHashMap.KeySetView<ForsetiClient, Boolean> clientsHoldingThisLock =
-            ConcurrentHashMap.newKeySet();
+    private final SharedLockHolders clientsHoldingThisLock;
 
     SharedLock(ForsetiClient client) {
-        clientsHoldingThisLock.add(client);
+        clientsHoldingThisLock = new SharedLockHolders(client);
     }
 
     public boolean acquire(ForsetiClient client) {
@@ -123,14 +121,16 @@ class SharedLock implements ForsetiLockManager.Lock {
 
     @Override
     public String describeWaitList() {
-        return clientsHoldingThisLock.stream()
-                .map(ForsetiClient::describeWaitList)
-                .collect(Collectors.joining(", ", "SharedLock[", "]"));
+        StringJoiner description = new StringJoiner(", ", "SharedLock[", "]");
+        for (ForsetiClient client : clientsHoldingThisLock) {
+            description.add(client.describeWaitList());
+        }
+        return description.toString();
     }
 
     @Override
     public void collectOwners(Set<ForsetiClient> owners) {
-        owners.addAll(clientsHoldingThisLock);
+        clientsHoldingThisLock.collectInto(owners);
     }
 
     @Override
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking.forseti;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The set of clients holding a {@link SharedLock}.
+ * <p>
+ * Most shared locks only ever have a handful of holders, so the set starts out as a copy-on-write array, which costs
+ * a single small allocation per change and nothing to look up or iterate. Once the set grows past
+ * {@link #MAX_ARRAY_HOLDERS} clients, it is inflated into a concurrent hash set for good, so that heavily shared
+ * locks don't have to copy long arrays.
+ */
+final class SharedLockHolders implements Iterable<ForsetiClient> {
+    static final int MAX_ARRAY_HOLDERS = 8;
+
+    private static final VarHandle HOLDERS;
+
+    static {
+        try {
+            HOLDERS = MethodHandles.lookup().findVarHandle(SharedLockHolders.class, "holders", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** Either a {@code ForsetiClient[]}, or the {@code Set<ForsetiClient>} it has been inflated into. */
+    @SuppressWarnings("FieldMayBeFinal")
+    private volatile Object holders;
+
+    SharedLockHolders(ForsetiClient client) {
+        holders = new ForsetiClient[] {client};
+    }
+
+    boolean add(ForsetiClient client) {
+        while (true) {
+            Object current = holders;
+            if (!(current instanceof ForsetiClient[] array)) {
+                return asSet(current).add(client);
+            }
+            if (indexOf(array, client) >= 0) {
+                return false;
+            }
+            Object update;
+            if (array.length < MAX_ARRAY_HOLDERS) {
+                ForsetiClient[] grown = Arrays.copyOf(array, array.length + 1);
+                grown[array.length] = client;
+                update = grown;
+            } else {
+                Set<ForsetiClient> inflated = ConcurrentHashMap.newKeySet();
+                Collections.addAll(inflated, array);
+                inflated.add(client);
+                update = inflated;
+            }
+            if (HOLDERS.compareAndSet(this, current, update)) {
+                return true;
+            }
+        }
+    }
+
+    boolean remove(ForsetiClient client) {
+        while (true) {
+            Object current = holders;
+            if (!(current instanceof ForsetiClient[] array)) {
+                return asSet(current).remove(client);
+            }
+            int index = indexOf(array, client);
+            if (index < 0) {
+                return false;
+            }
+            ForsetiClient[] shrunk = new ForsetiClient[array.length - 1];
+            System.arraycopy(array, 0, shrunk, 0, index);
+            System.arraycopy(array, index + 1, shrunk, index, shrunk.length - index);
+            if (HOLDERS.compareAndSet(this, current, shrunk)) {
+                return true;
+            }
+        }
+    }
+
+    boolean contains(ForsetiClient client) {
+        Object current = holders;
+        if (current instanceof ForsetiClient[] array) {
+            return indexOf(array, client) >= 0;
+        }
+        return asSet(current).contains(client);
+    }
+
+    void collectInto(Set<ForsetiClient> clients) {
+        Object current = holders;
+        if (current instanceof ForsetiClient[] array) {
+            Collections.addAll(clients, array);
+        } else {
+            clients.addAll(asSet(current));
+        }
+    }
+
+    /**
+     * @return an iterator over the holders. Just like for the concurrent set, the iterator is weakly consistent, and
+     * never throws {@link java.util.ConcurrentModificationException}.
+     */
+    @Override
+    public Iterator<ForsetiClient> iterator() {
+        Object current = holders;
+        if (current instanceof ForsetiClient[] array) {
+            return Arrays.asList(array).iterator();
+        }
+        return asSet(current).iterator();
+    }
+
+    private static int indexOf(ForsetiClient[] array, ForsetiClient client) {
+        for (int i = 0; i < array.length; i++) {
+            if (client.equals(array[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<ForsetiClient> asSet(Object holders) {
+        return (Set<ForsetiClient>) holders;
+    }
+}
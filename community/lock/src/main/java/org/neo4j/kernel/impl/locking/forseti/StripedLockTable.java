@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking.forseti;
+
+import java.util.concurrent.locks.StampedLock;
+import org.eclipse.collections.api.block.procedure.primitive.LongObjectProcedure;
+
+/**
+ * A {@link LockTable} that spreads its locks over a fixed number of stripes, where each stripe is an open addressing
+ * hash table of primitive resource ids, using linear probing.
+ * <p>
+ * Unlike a {@link java.util.concurrent.ConcurrentHashMap} of boxed resource ids, this table does not allocate a key
+ * object or a map entry for every lock that is taken, which takes a lot of short-lived garbage out of workloads that
+ * lock many resources.
+ * <p>
+ * Lookups are optimistic: they probe their stripe without locking it, and only fall back to taking the read lock of
+ * the stripe if a concurrent change was detected. Changes take the write lock of their stripe. Removals shift the
+ * entries that follow back into place, rather than leaving tombstones behind, so the probe sequences stay short and a
+ * stripe never needs to be cleaned up.
+ */
+final class StripedLockTable implements LockTable {
+    static final int DEFAULT_STRIPES = 256;
+    private static final int INITIAL_STRIPE_CAPACITY = 8;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    StripedLockTable() {
+        this(DEFAULT_STRIPES);
+    }
+
+    StripedLockTable(int stripes) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Number of stripes must be a power of two, but was " + stripes);
+        }
+        this.stripes = new Stripe[stripes];
+        this.stripeMask = stripes - 1;
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public ForsetiLockManager.Lock get(long resourceId) {
+        long hash = hash(resourceId);
+        return stripe(hash).get(resourceId, hash);
+    }
+
+    @Override
+    public ForsetiLockManager.Lock putIfAbsent(long resourceId, ForsetiLockManager.Lock lock) {
+        long hash = hash(resourceId);
+        return stripe(hash).put(resourceId, hash, lock, true);
+    }
+
+    @Override
+    public void put(long resourceId, ForsetiLockManager.Lock lock) {
+        long hash = hash(resourceId);
+        stripe(hash).put(resourceId, hash, lock, false);
+    }
+
+    @Override
+    public void remove(long resourceId) {
+        long hash = hash(resourceId);
+        stripe(hash).remove(resourceId, hash);
+    }
+
+    @Override
+    public void forEach(LongObjectProcedure<ForsetiLockManager.Lock> procedure) {
+        for (Stripe stripe : stripes) {
+            stripe.forEach(procedure);
+        }
+    }
+
+    /**
+     * @return the number of locks in this table.
+     */
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private Stripe stripe(long hash) {
+        return stripes[(int) hash & stripeMask];
+    }
+
+    /**
+     * The low bits of the hash pick the stripe, and the high bits pick the home slot within the stripe, so that the
+     * resource ids that end up in the same stripe are still spread out over its slots.
+     */
+    private static long hash(long resourceId) {
+        long hash = resourceId * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    private static int homeSlot(long hash, int mask) {
+        return (int) (hash >>> 32) & mask;
+    }
+
+    /**
+     * The contents of a stripe. A slot is empty when its lock is {@code null}, since any long is a valid resource id.
+     * The table is replaced as a whole when the stripe grows, so an optimistic reader always sees key and lock arrays
+     * of the same length, even if it races with a resize.
+     */
+    private static final class Table {
+        private final long[] resourceIds;
+        private final ForsetiLockManager.Lock[] locks;
+        private final int mask;
+
+        Table(int capacity) {
+            this.resourceIds = new long[capacity];
+            this.locks = new ForsetiLockManager.Lock[capacity];
+            this.mask = capacity - 1;
+        }
+
+        /**
+         * @return the slot of the given resource, or the negated slot plus one of the empty slot that ends its probe
+         * sequence, or {@link Integer#MIN_VALUE} if the table is full of other resources.
+         */
+        int find(long resourceId, long hash) {
+            for (int i = 0, slot = homeSlot(hash, mask); i <= mask; i++, slot = (slot + 1) & mask) {
+                if (locks[slot] == null) {
+                    return -slot - 1;
+                }
+                if (resourceIds[slot] == resourceId) {
+                    return slot;
+                }
+            }
+            return Integer.MIN_VALUE;
+        }
+    }
+
+    private static final class Stripe extends StampedLock {
+        private Table table = new Table(INITIAL_STRIPE_CAPACITY);
+        private int size;
+
+        ForsetiLockManager.Lock get(long resourceId, long hash) {
+            long stamp = tryOptimisticRead();
+            ForsetiLockManager.Lock lock = find(table, resourceId, hash);
+            if (validate(stamp)) {
+                return lock;
+            }
+            stamp = readLock();
+            try {
+                return find(table, resourceId, hash);
+            } finally {
+                unlockRead(stamp);
+            }
+        }
+
+        ForsetiLockManager.Lock put(long resourceId, long hash, ForsetiLockManager.Lock lock, boolean onlyIfAbsent) {
+            long stamp = writeLock();
+            try {
+                int slot = table.find(resourceId, hash);
+                if (slot >= 0) {
+                    ForsetiLockManager.Lock existing = table.locks[slot];
+                    if (!onlyIfAbsent) {
+                        table.locks[slot] = lock;
+                    }
+                    return existing;
+                }
+                // Grow at half capacity, which also guarantees that the probe above found an empty slot.
+                if (size + 1 > (table.mask + 1) >>> 1) {
+                    grow();
+                    slot = table.find(resourceId, hash);
+                }
+                slot = -slot - 1;
+                table.resourceIds[slot] = resourceId;
+                table.locks[slot] = lock;
+                size++;
+                return null;
+            } finally {
+                unlockWrite(stamp);
+            }
+        }
+
+        void remove(long resourceId, long hash) {
+            long stamp = writeLock();
+            try {
+                Table t = table;
+                int slot = t.find(resourceId, hash);
+                if (slot < 0) {
+                    return;
+                }
+                // Backward shift deletion: move every entry in the rest of the cluster that would no longer be
+                // reachable from its home slot into the hole, until we reach an empty slot.
+                int mask = t.mask;
+                int next = (slot + 1) & mask;
+                while (t.locks[next] != null) {
+                    int home = homeSlot(hash(t.resourceIds[next]), mask);
+                    if (((next - home) & mask) >= ((next - slot) & mask)) {
+                        t.resourceIds[slot] = t.resourceIds[next];
+                        t.locks[slot] = t.locks[next];
+                        slot = next;
+                    }
+                    next = (next + 1) & mask;
+                }
+                t.locks[slot] = null;
+                size--;
+            } finally {
+                unlockWrite(stamp);
+            }
+        }
+
+        void forEach(LongObjectProcedure<ForsetiLockManager.Lock> procedure) {
+            // Visit a copy, so that the procedure is free to use this table while we are visiting it.
+            long[] resourceIds;
+            ForsetiLockManager.Lock[] locks;
+            long stamp = readLock();
+            try {
+                resourceIds = table.resourceIds.clone();
+                locks = table.locks.clone();
+            } finally {
+                unlockRead(stamp);
+            }
+            for (int i = 0; i < locks.length; i++) {
+                if (locks[i] != null) {
+                    procedure.value(resourceIds[i], locks[i]);
+                }
+            }
+        }
+
+        int size() {
+            long stamp = readLock();
+            try {
+                return size;
+            } finally {
+                unlockRead(stamp);
+            }
+        }
+
+        private void grow() {
+            Table old = table;
+            Table grown = new Table((old.mask + 1) << 1);
+            for (int i = 0; i <= old.mask; i++) {
+                ForsetiLockManager.Lock lock = old.locks[i];
+                if (lock != null) {
+                    long resourceId = old.resourceIds[i];
+                    int slot = -grown.find(resourceId, hash(resourceId)) - 1;
+                    grown.resourceIds[slot] = resourceId;
+                    grown.locks[slot] = lock;
+                }
+            }
+            table = grown;
+        }
+
+        private static ForsetiLockManager.Lock find(Table table, long resourceId, long hash) {
+            int slot = table.find(resourceId, hash);
+            return slot >= 0 ? table.locks[slot] : null;
+        }
+    }
+}
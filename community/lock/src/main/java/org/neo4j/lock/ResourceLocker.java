@@ -70,6 +70,55 @@ public interface ResourceLocker {
      */
     void releaseShared(ResourceType resourceType, long... resourceIds);
 
+    /**
+     * Exclusively locks a batch of resources of the same type in one call. The ids must be sorted in ascending order,
+     * and an id that occurs more than once is only locked once. Since every caller locks its batch in the same order,
+     * two batches that overlap will not deadlock with each other. A locker may treat the batch as one acquisition, e.g.
+     * with one timeout for the whole batch. Release the batch with
+     * {@link #releaseExclusiveSorted(ResourceType, long[])}.
+     *
+     * @param tracer lock tracer
+     * @param resourceType type of the resources to lock.
+     * @param sortedResourceIds ids of the resources to lock, in ascending order.
+     * @throws IllegalArgumentException if the ids are not sorted.
+     * @throws AcquireLockTimeoutException in case of timeout
+     */
+    default void acquireExclusiveSorted(LockTracer tracer, ResourceType resourceType, long[] sortedResourceIds) {
+        acquireExclusive(tracer, resourceType, distinctSortedIds(sortedResourceIds));
+    }
+
+    /**
+     * Releases a batch of exclusive locks that was {@link #acquireExclusiveSorted(LockTracer, ResourceType, long[])
+     * acquired in one call}.
+     * @param resourceType type of the resources to unlock.
+     * @param sortedResourceIds ids of the resources to unlock, in ascending order.
+     */
+    default void releaseExclusiveSorted(ResourceType resourceType, long[] sortedResourceIds) {
+        releaseExclusive(resourceType, distinctSortedIds(sortedResourceIds));
+    }
+
+    /**
+     * Shared counterpart of {@link #acquireExclusiveSorted(LockTracer, ResourceType, long[])}.
+     *
+     * @param tracer lock tracer
+     * @param resourceType type of the resources to lock.
+     * @param sortedResourceIds ids of the resources to lock, in ascending order.
+     * @throws IllegalArgumentException if the ids are not sorted.
+     */
+    default void acquireSharedSorted(LockTracer tracer, ResourceType resourceType, long[] sortedResourceIds) {
+        acquireShared(tracer, resourceType, distinctSortedIds(sortedResourceIds));
+    }
+
+    /**
+     * Releases a batch of shared locks that was {@link #acquireSharedSorted(LockTracer, ResourceType, long[])
+     * acquired in one call}.
+     * @param resourceType type of the resources to unlock.
+     * @param sortedResourceIds ids of the resources to unlock, in ascending order.
+     */
+    default void releaseSharedSorted(ResourceType resourceType, long[] sortedResourceIds) {
+        releaseShared(resourceType, distinctSortedIds(sortedResourceIds));
+    }
+
     /**
      * @return all locks that are "active", i.e. either locked or being awaited to be locked.
      */
@@ -86,6 +135,35 @@ public interface ResourceLocker {
      */
     boolean holdsLock(long id, ResourceType resource, LockType lockType);
 
+    /**
+     * @param sortedIds ids sorted in ascending order.
+     * @return the given ids without duplicates, which is the given array itself if there were none.
+     * @throws IllegalArgumentException if the ids are not sorted.
+     */
+    static long[] distinctSortedIds(long[] sortedIds) {
+        int duplicates = 0;
+        for (int i = 1; i < sortedIds.length; i++) {
+            if (sortedIds[i] < sortedIds[i - 1]) {
+                throw new IllegalArgumentException(
+                        "Resource ids must be sorted in ascending order, but got " + Arrays.toString(sortedIds));
+            }
+            if (sortedIds[i] == sortedIds[i - 1]) {
+                duplicates++;
+            }
+        }
+        if (duplicates == 0) {
+            return sortedIds;
+        }
+        long[] distinct = new long[sortedIds.length - duplicates];
+        int count = 0;
+        for (int i = 0; i < sortedIds.length; i++) {
+            if (i == 0 || sortedIds[i] != sortedIds[i - 1]) {
+                distinct[count++] = sortedIds[i];
+            }
+        }
+        return distinct;
+    }
+
     ResourceLocker PREVENT = new ResourceLocker() {
         @Override
         public boolean tryExclusiveLock(ResourceType resourceType, long resourceId) {
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.neo4j.kernel.impl.locking.LockContentionProfiler.UNKNOWN_TRANSACTION;
+import static org.neo4j.lock.LockType.EXCLUSIVE;
+import static org.neo4j.lock.LockType.SHARED;
+import static org.neo4j.lock.ResourceTypes.LABEL;
+import static org.neo4j.lock.ResourceTypes.NODE;
+import static org.neo4j.lock.ResourceTypes.RELATIONSHIP;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.kernel.impl.locking.LockContentionProfiler.BlockingTransaction;
+import org.neo4j.kernel.impl.locking.LockContentionProfiler.HotResource;
+import org.neo4j.kernel.impl.locking.LockContentionProfiler.ResourceTypeContention;
+
+class LockContentionProfilerTest {
+    @Test
+    void shouldSumWaitsPerResourceType() {
+        LockContentionProfiler profiler = new LockContentionProfiler(NODE, RELATIONSHIP);
+
+        profiler.lockWaited(NODE, 1, EXCLUSIVE, 100, 7);
+        profiler.lockWaited(NODE, 2, SHARED, 50, 8);
+        profiler.lockWaited(RELATIONSHIP, 1, EXCLUSIVE, 10, UNKNOWN_TRANSACTION);
+
+        assertThat(profiler.resourceTypeContention())
+                .containsExactly(
+                        new ResourceTypeContention(NODE, 2, 150), new ResourceTypeContention(RELATIONSHIP, 1, 10));
+    }
+
+    @Test
+    void shouldIgnoreWaitsForResourceTypesThatAreNotProfiled() {
+        LockContentionMonitor monitor = mock(LockContentionMonitor.class);
+        LockContentionProfiler profiler = new LockContentionProfiler(NODE);
+        profiler.setMonitor(monitor);
+
+        profiler.lockWaited(LABEL, 1, EXCLUSIVE, 100, 7);
+
+        assertThat(profiler.resourceTypeContention()).containsExactly(new ResourceTypeContention(NODE, 0, 0));
+        assertThat(profiler.hotResources(10)).isEmpty();
+        assertThat(profiler.blockingTransactions(10)).isEmpty();
+        verifyNoInteractions(monitor);
+    }
+
+    @Test
+    void shouldReportHotResourcesOfAllTypesLongestWaitFirst() {
+        LockContentionProfiler profiler = new LockContentionProfiler(NODE, RELATIONSHIP);
+
+        profiler.lockWaited(NODE, 1, EXCLUSIVE, 100, 7);
+        profiler.lockWaited(RELATIONSHIP, 5, EXCLUSIVE, 300, 8);
+        profiler.lockWaited(NODE, 1, SHARED, 50, 9);
+        profiler.lockWaited(NODE, 2, SHARED, 20, 9);
+
+        assertThat(profiler.hotResources(2))
+                .containsExactly(
+                        new HotResource(RELATIONSHIP, 5, 1, 300, 0, 8), new HotResource(NODE, 1, 2, 150, 0, 9));
+    }
+
+    @Test
+    void shouldAttributeWaitsToKnownBlockingTransactions() {
+        LockContentionProfiler profiler = new LockContentionProfiler(NODE);
+
+        profiler.lockWaited(NODE, 1, EXCLUSIVE, 100, 7);
+        profiler.lockWaited(NODE, 2, EXCLUSIVE, 300, 7);
+        profiler.lockWaited(NODE, 3, EXCLUSIVE, 200, 8);
+        profiler.lockWaited(NODE, 4, EXCLUSIVE, 1000, UNKNOWN_TRANSACTION);
+
+        assertThat(profiler.blockingTransactions(10))
+                .containsExactly(new BlockingTransaction(7, 2, 400, 0), new BlockingTransaction(8, 1, 200, 0));
+    }
+
+    @Test
+    void shouldReportWaitsToMonitor() {
+        LockContentionMonitor monitor = mock(LockContentionMonitor.class);
+        LockContentionProfiler profiler = new LockContentionProfiler(NODE);
+        profiler.setMonitor(monitor);
+
+        profiler.lockWaited(NODE, 1, EXCLUSIVE, 100, 7);
+
+        verify(monitor).lockWaited(NODE, 1, EXCLUSIVE, 100, 7);
+    }
+
+    @Test
+    void disabledProfilerShouldRecordNothing() {
+        LockContentionMonitor monitor = mock(LockContentionMonitor.class);
+        LockContentionProfiler.DISABLED.setMonitor(monitor);
+
+        LockContentionProfiler.DISABLED.lockWaited(NODE, 1, EXCLUSIVE, 100, 7);
+
+        assertThat(LockContentionProfiler.DISABLED.resourceTypeContention()).isEmpty();
+        assertThat(LockContentionProfiler.DISABLED.hotResources(10)).isEmpty();
+        assertThat(LockContentionProfiler.DISABLED.blockingTransactions(10)).isEmpty();
+        verifyNoInteractions(monitor);
+    }
+}
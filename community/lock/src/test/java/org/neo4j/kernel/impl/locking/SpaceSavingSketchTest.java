@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SpaceSavingSketchTest {
+    @Test
+    void shouldCountKeysExactlyWhileBelowCapacity() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(4);
+
+        assertThat(sketch.tryAdd(1, 10, 100)).isTrue();
+        assertThat(sketch.tryAdd(2, 30, 200)).isTrue();
+        assertThat(sketch.tryAdd(1, 5, 101)).isTrue();
+
+        assertThat(sketch.top(10))
+                .containsExactly(
+                        new SpaceSavingSketch.Entry(2, 1, 30, 0, 200), new SpaceSavingSketch.Entry(1, 2, 15, 0, 101));
+    }
+
+    @Test
+    void shouldLimitNumberOfReturnedEntries() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(4);
+        for (int key = 1; key <= 4; key++) {
+            sketch.tryAdd(key, key, 0);
+        }
+
+        List<SpaceSavingSketch.Entry> top = sketch.top(2);
+
+        assertThat(top).extracting(SpaceSavingSketch.Entry::key).containsExactly(4L, 3L);
+    }
+
+    @Test
+    void shouldReplaceSmallestCounterWhenFull() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+        sketch.tryAdd(1, 10, 0);
+        sketch.tryAdd(2, 3, 0);
+
+        sketch.tryAdd(3, 1, 0);
+
+        assertThat(sketch.top(10))
+                .containsExactly(
+                        new SpaceSavingSketch.Entry(1, 1, 10, 0, 0), new SpaceSavingSketch.Entry(3, 1, 4, 3, 0));
+    }
+
+    @Test
+    void shouldKeepHeavyHittersAmongManyLightKeys() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(8);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.tryAdd(i % 3 == 0 ? 42 : 1_000 + i, 1, 0);
+        }
+
+        SpaceSavingSketch.Entry top = sketch.top(1).get(0);
+        assertThat(top.key()).isEqualTo(42);
+        assertThat(top.weight() - top.maxOverestimate()).isLessThanOrEqualTo(3334);
+        assertThat(top.weight()).isGreaterThanOrEqualTo(3334);
+    }
+}
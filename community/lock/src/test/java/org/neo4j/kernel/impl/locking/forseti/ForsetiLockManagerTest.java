@@ -24,11 +24,13 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.test.Race.throwing;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -41,8 +43,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.neo4j.configuration.Config;
 import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.configuration.GraphDatabaseSettings;
 import org.neo4j.kernel.DeadlockDetectedException;
 import org.neo4j.kernel.impl.api.LeaseService;
+import org.neo4j.kernel.impl.locking.LockAcquisitionTimeoutException;
+import org.neo4j.kernel.impl.locking.LockContentionProfiler;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.lock.ActiveLock;
 import org.neo4j.lock.LockTracer;
@@ -56,6 +61,7 @@ import org.neo4j.test.RandomSupport;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.RandomExtension;
 import org.neo4j.time.Clocks;
+import org.neo4j.time.FakeClock;
 import org.neo4j.util.concurrent.BinaryLatch;
 
 @ExtendWith(RandomExtension.class)
@@ -259,6 +265,149 @@ class ForsetiLockManagerTest {
         assertThat(memoryTracker.estimatedHeapMemory()).isZero();
     }
 
+    @Test
+    void shouldAcquireAndReleaseSortedBatchesOncePerDistinctId() {
+        try (Locks.Client client = manager.newClient()) {
+            client.initialize(LeaseService.NoLeaseClient.INSTANCE, 1, EmptyMemoryTracker.INSTANCE, config);
+
+            client.acquireExclusiveSorted(LockTracer.NONE, ResourceTypes.NODE, new long[] {1, 2, 2, 5});
+            client.acquireSharedSorted(LockTracer.NONE, ResourceTypes.NODE, new long[] {0, 1, 1, 7});
+            assertThat(client.activeLockCount()).isEqualTo(5);
+            assertTrue(client.holdsLock(2, ResourceTypes.NODE, LockType.EXCLUSIVE));
+            assertTrue(client.holdsLock(7, ResourceTypes.NODE, LockType.SHARED));
+
+            client.releaseSharedSorted(ResourceTypes.NODE, new long[] {0, 1, 1, 7});
+            client.releaseExclusiveSorted(ResourceTypes.NODE, new long[] {1, 2, 2, 5});
+            assertThat(client.activeLockCount()).isZero();
+        }
+    }
+
+    @Test
+    void shouldCountLocksOfSortedBatchBeforeWaitingForTheRest() throws Exception {
+        try (OtherThreadExecutor executor = new OtherThreadExecutor("batch");
+                Locks.Client holder = manager.newClient();
+                Locks.Client batch = manager.newClient()) {
+            holder.initialize(LeaseService.NoLeaseClient.INSTANCE, 1, EmptyMemoryTracker.INSTANCE, config);
+            batch.initialize(LeaseService.NoLeaseClient.INSTANCE, 2, EmptyMemoryTracker.INSTANCE, config);
+            holder.acquireExclusive(LockTracer.NONE, ResourceTypes.NODE, 3);
+
+            Future<Object> acquisition = executor.executeDontWait(() -> {
+                batch.acquireExclusiveSorted(LockTracer.NONE, ResourceTypes.NODE, new long[] {1, 2, 3});
+                return null;
+            });
+            executor.waitUntilWaiting(details -> details.isAt(ForsetiClient.class, "acquireExclusive"));
+
+            // The deadlock resolution compares the lock counts of the clients, so they must include the waiting batch
+            assertThat(batch.activeLockCount()).isEqualTo(2);
+            holder.releaseExclusive(ResourceTypes.NODE, 3);
+            acquisition.get();
+            assertThat(batch.activeLockCount()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void shouldApplyAcquisitionTimeoutToSortedBatchAsAWhole() throws Exception {
+        Config timeoutConfig = Config.defaults(GraphDatabaseSettings.lock_acquisition_timeout, Duration.ofMillis(100));
+        FakeClock clock = Clocks.fakeClock();
+        var timeoutManager = new ForsetiLockManager(timeoutConfig, clock, ResourceTypes.values());
+        try (OtherThreadExecutor executor = new OtherThreadExecutor("batch");
+                Locks.Client holder = timeoutManager.newClient();
+                Locks.Client batch = timeoutManager.newClient()) {
+            holder.initialize(LeaseService.NoLeaseClient.INSTANCE, 1, EmptyMemoryTracker.INSTANCE, timeoutConfig);
+            batch.initialize(LeaseService.NoLeaseClient.INSTANCE, 2, EmptyMemoryTracker.INSTANCE, timeoutConfig);
+            holder.acquireExclusive(LockTracer.NONE, ResourceTypes.NODE, 1, 2);
+
+            Future<Object> acquisition = executor.executeDontWait(() -> {
+                batch.acquireExclusiveSorted(LockTracer.NONE, ResourceTypes.NODE, new long[] {1, 2});
+                return null;
+            });
+            executor.waitUntilWaiting(details -> details.isAt(ForsetiClient.class, "acquireExclusive"));
+            clock.forward(60, TimeUnit.MILLISECONDS);
+            holder.releaseExclusive(ResourceTypes.NODE, 1);
+            while (!batch.holdsLock(1, ResourceTypes.NODE, LockType.EXCLUSIVE)) {
+                Thread.onSpinWait();
+            }
+            // Neither lock has been waited for longer than the timeout, but the batch has
+            clock.forward(60, TimeUnit.MILLISECONDS);
+
+            assertThatThrownBy(acquisition::get).hasRootCauseInstanceOf(LockAcquisitionTimeoutException.class);
+        } finally {
+            timeoutManager.close();
+        }
+    }
+
+    @Test
+    void shouldRejectBatchesThatAreNotSorted() {
+        try (Locks.Client client = manager.newClient()) {
+            client.initialize(LeaseService.NoLeaseClient.INSTANCE, 1, EmptyMemoryTracker.INSTANCE, config);
+
+            long[] unsortedIds = {2, 1};
+            assertThatThrownBy(() -> client.acquireExclusiveSorted(LockTracer.NONE, ResourceTypes.NODE, unsortedIds))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(client.activeLockCount()).isZero();
+        }
+    }
+
+    @Test
+    void shouldTrackSameMemoryForSortedBatchesAsForSingleLocks() {
+        LocalMemoryTracker singleLocksMemory = new LocalMemoryTracker();
+        LocalMemoryTracker batchMemory = new LocalMemoryTracker();
+        long[] sortedIds = {1, 3, 3, 4, 8, 9};
+        try (Locks.Client singleLocks = manager.newClient();
+                Locks.Client batch = manager.newClient()) {
+            singleLocks.initialize(LeaseService.NoLeaseClient.INSTANCE, 1, singleLocksMemory, config);
+            batch.initialize(LeaseService.NoLeaseClient.INSTANCE, 2, batchMemory, config);
+
+            singleLocks.acquireShared(LockTracer.NONE, ResourceTypes.NODE, 3);
+            batch.acquireShared(LockTracer.NONE, ResourceTypes.NODE, 3);
+            for (long id : new long[] {1, 3, 4, 8, 9}) {
+                singleLocks.acquireShared(LockTracer.NONE, ResourceTypes.NODE, id);
+            }
+            batch.acquireSharedSorted(LockTracer.NONE, ResourceTypes.NODE, sortedIds);
+
+            assertThat(batchMemory.estimatedHeapMemory()).isEqualTo(singleLocksMemory.estimatedHeapMemory());
+        }
+        assertThat(batchMemory.estimatedHeapMemory()).isZero();
+    }
+
+    @Test
+    void shouldProfileLockWaitsAndTheirBlockingTransaction() throws Exception {
+        try (OtherThreadExecutor executor = new OtherThreadExecutor("test");
+                Locks.Client client1 = manager.newClient();
+                Locks.Client client2 = manager.newClient()) {
+            client1.initialize(LeaseService.NoLeaseClient.INSTANCE, 1, EmptyMemoryTracker.INSTANCE, config);
+            client2.initialize(LeaseService.NoLeaseClient.INSTANCE, 2, EmptyMemoryTracker.INSTANCE, config);
+            client1.acquireExclusive(LockTracer.NONE, ResourceTypes.NODE, 5);
+            client1.acquireShared(LockTracer.NONE, ResourceTypes.RELATIONSHIP, 5);
+            client2.acquireShared(LockTracer.NONE, ResourceTypes.RELATIONSHIP, 5);
+            assertThat(manager.contentionProfiler().hotResources(10)).isEmpty();
+
+            Future<Object> waiting = executor.executeDontWait(() -> {
+                client2.acquireShared(LockTracer.NONE, ResourceTypes.NODE, 5);
+                return null;
+            });
+            executor.waitUntilWaiting(details -> details.isAt(ForsetiClient.class, "acquireShared"));
+            client1.releaseExclusive(ResourceTypes.NODE, 5);
+            waiting.get();
+        }
+
+        LockContentionProfiler profiler = manager.contentionProfiler();
+        assertThat(profiler.resourceTypeContention())
+                .filteredOn(contention -> contention.resourceType() == ResourceTypes.NODE)
+                .singleElement()
+                .extracting(LockContentionProfiler.ResourceTypeContention::waits)
+                .isEqualTo(1L);
+        assertThat(profiler.hotResources(10)).singleElement().satisfies(resource -> {
+            assertThat(resource.resourceType()).isEqualTo(ResourceTypes.NODE);
+            assertThat(resource.resourceId()).isEqualTo(5);
+            assertThat(resource.waits()).isEqualTo(1);
+            assertThat(resource.lastBlockingTransactionId()).isEqualTo(1);
+        });
+        assertThat(profiler.blockingTransactions(10))
+                .extracting(LockContentionProfiler.BlockingTransaction::transactionId)
+                .containsExactly(1L);
+    }
+
     private void takeAndAssertActiveLocks(Locks.Client client, boolean allowedToDeadlock) {
         Map<Long, Integer> exclusiveLocks = new HashMap<>();
         Map<Long, Integer> sharedLocks = new HashMap<>();
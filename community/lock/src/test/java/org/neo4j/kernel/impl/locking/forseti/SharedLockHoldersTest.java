@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking.forseti;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class SharedLockHoldersTest {
+    @Test
+    void shouldAddAndRemoveHolders() {
+        ForsetiClient clientA = mock(ForsetiClient.class);
+        ForsetiClient clientB = mock(ForsetiClient.class);
+        SharedLockHolders holders = new SharedLockHolders(clientA);
+
+        assertThat(holders.add(clientA)).isFalse();
+        assertThat(holders.add(clientB)).isTrue();
+        assertThat(holders).containsExactly(clientA, clientB);
+
+        assertThat(holders.remove(clientA)).isTrue();
+        assertThat(holders.remove(clientA)).isFalse();
+        assertThat(holders.contains(clientA)).isFalse();
+        assertThat(holders.contains(clientB)).isTrue();
+    }
+
+    @Test
+    void shouldKeepHoldersWhenInflatingPastArrayCapacity() {
+        Set<ForsetiClient> expected = new HashSet<>();
+        ForsetiClient first = mock(ForsetiClient.class);
+        expected.add(first);
+        SharedLockHolders holders = new SharedLockHolders(first);
+        for (int i = 0; i < SharedLockHolders.MAX_ARRAY_HOLDERS * 2; i++) {
+            ForsetiClient client = mock(ForsetiClient.class);
+            assertThat(holders.add(client)).isTrue();
+            expected.add(client);
+        }
+
+        assertThat(holders).containsExactlyInAnyOrderElementsOf(expected);
+        Set<ForsetiClient> collected = new HashSet<>();
+        holders.collectInto(collected);
+        assertThat(collected).isEqualTo(expected);
+
+        assertThat(holders.remove(first)).isTrue();
+        assertThat(holders.contains(first)).isFalse();
+        assertThat(holders.add(first)).isTrue();
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking.forseti;
+
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.lock_manager_striped_lock_table;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.kernel.impl.locking.Locks;
+import org.neo4j.lock.ResourceTypes;
+import org.neo4j.time.SystemNanoClock;
+
+/** Runs the locking compatibility suite against a lock manager that uses {@link StripedLockTable}s. */
+class StripedLockTableLockingCompatibilityTest extends LockingCompatibilityTest {
+    @Override
+    protected Locks createLockManager(Config config, SystemNanoClock clock) {
+        Config stripedConfig = Config.newBuilder()
+                .fromConfig(config)
+                .set(lock_manager_striped_lock_table, true)
+                .build();
+        return new ForsetiLockManager(stripedConfig, clock, ResourceTypes.values());
+    }
+}
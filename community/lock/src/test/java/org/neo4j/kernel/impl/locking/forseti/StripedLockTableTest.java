@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking.forseti;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.neo4j.test.Race;
+
+class StripedLockTableTest {
+    @Test
+    void shouldPutGetAndRemoveLocks() {
+        StripedLockTable table = new StripedLockTable(4);
+        ForsetiLockManager.Lock lock = mock(ForsetiLockManager.Lock.class);
+        ForsetiLockManager.Lock other = mock(ForsetiLockManager.Lock.class);
+
+        assertThat(table.get(42)).isNull();
+        assertThat(table.putIfAbsent(42, lock)).isNull();
+        assertThat(table.putIfAbsent(42, other)).isSameAs(lock);
+        assertThat(table.get(42)).isSameAs(lock);
+
+        table.put(42, other);
+        assertThat(table.get(42)).isSameAs(other);
+        assertThat(table.size()).isEqualTo(1);
+
+        table.remove(42);
+        assertThat(table.get(42)).isNull();
+        assertThat(table.size()).isZero();
+    }
+
+    @Test
+    void shouldHandleAnyResourceId() {
+        StripedLockTable table = new StripedLockTable(1);
+        long[] resourceIds = {0, -1, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (long resourceId : resourceIds) {
+            assertThat(table.putIfAbsent(resourceId, mock(ForsetiLockManager.Lock.class))).isNull();
+        }
+        for (long resourceId : resourceIds) {
+            assertThat(table.get(resourceId)).isNotNull();
+        }
+        assertThat(table.size()).isEqualTo(resourceIds.length);
+    }
+
+    @Test
+    void shouldKeepAllOtherLocksReachableWhileGrowingAndRemoving() {
+        StripedLockTable table = new StripedLockTable(2);
+        Map<Long, ForsetiLockManager.Lock> expected = new HashMap<>();
+        for (long resourceId = 0; resourceId < 10_000; resourceId++) {
+            ForsetiLockManager.Lock lock = mock(ForsetiLockManager.Lock.class);
+            table.put(resourceId, lock);
+            expected.put(resourceId, lock);
+        }
+        for (long resourceId = 0; resourceId < 10_000; resourceId += 3) {
+            table.remove(resourceId);
+            expected.remove(resourceId);
+        }
+
+        assertThat(table.size()).isEqualTo(expected.size());
+        for (long resourceId = 0; resourceId < 10_000; resourceId++) {
+            assertThat(table.get(resourceId)).isSameAs(expected.get(resourceId));
+        }
+        Map<Long, ForsetiLockManager.Lock> visited = new HashMap<>();
+        table.forEach(visited::put);
+        assertThat(visited).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldRejectNumberOfStripesThatIsNotPowerOfTwo() {
+        assertThatThrownBy(() -> new StripedLockTable(3)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldGiveEachResourceToExactlyOneConcurrentInserter() throws Throwable {
+        StripedLockTable table = new StripedLockTable(8);
+        AtomicInteger inserted = new AtomicInteger();
+        int resources = 1_000;
+        Race race = new Race();
+        race.addContestants(4, () -> {
+            ForsetiLockManager.Lock lock = mock(ForsetiLockManager.Lock.class);
+            for (long resourceId = 0; resourceId < resources; resourceId++) {
+                if (table.putIfAbsent(resourceId, lock) == null) {
+                    inserted.incrementAndGet();
+                }
+                assertThat(table.get(resourceId)).isNotNull();
+            }
+        });
+        race.go();
+
+        assertThat(inserted.get()).isEqualTo(resources);
+        assertThat(table.size()).isEqualTo(resources);
+    }
+}
@@ -23,8 +23,10 @@ import static org.apache.commons.lang3.exception.ExceptionUtils.getStackTrace;
 import static org.neo4j.internal.nativeimpl.LinuxErrorTranslator.EINVAL;
 import static org.neo4j.internal.nativeimpl.LinuxErrorTranslator.ERANGE;
 
+import com.sun.jna.Function;
 import com.sun.jna.LastErrorException;
 import com.sun.jna.Native;
+import com.sun.jna.NativeLibrary;
 import com.sun.jna.Platform;
 import com.sun.jna.Pointer;
 
@@ -48,6 +50,36 @@ public class LinuxNativeAccess implements NativeAccess {
      */
     private static final int POSIX_FADV_DONTNEED = 4;
 
+    /**
+     * Constant defined in mman.h and enables transparent huge pages for the specified memory range.
+     * For more info check man page for madvise.
+     */
+    private static final int MADV_HUGEPAGE = 14;
+
+    /**
+     * Constant defined in numaif.h and sets the preferred node for allocation of the specified memory range.
+     * For more info check man page for mbind.
+     */
+    private static final int MPOL_PREFERRED = 1;
+
+    /**
+     * Constant defined in numaif.h and interleaves page allocations of the specified memory range over the nodes.
+     * For more info check man page for mbind.
+     */
+    private static final int MPOL_INTERLEAVE = 3;
+
+    /**
+     * The mbind function exported by libnuma, which is the C library wrapper for the mbind system call.
+     * Null if libnuma is not installed.
+     */
+    private static final Function MBIND = lookupMbind();
+
+    /**
+     * System call number of mbind, which is not exported by the C library itself. Only used when libnuma is not
+     * installed. Zero if the current architecture is not supported.
+     */
+    private static final long SYS_MBIND = mbindSyscallNumber();
+
     private static final boolean NATIVE_ACCESS_AVAILABLE;
     private static final Throwable INITIALIZATION_FAILURE;
 
@@ -91,6 +123,25 @@ public class LinuxNativeAccess implements NativeAccess {
      */
     private static native int posix_fallocate(int fd, long offset, long len) throws LastErrorException;
 
+    /**
+     * Give advice about use of memory. Allows an application to tell the kernel how it expects to use the memory
+     * region starting at address and extending for length bytes, so that the kernel can choose appropriate
+     * read-ahead and caching techniques. The advice is not binding.
+     * @param address page aligned start address of the memory region
+     * @param length length of the memory region in bytes
+     * @param advice advise options
+     * @return 0 on success. On error, -1 is returned and errno is set
+     */
+    private static native int madvise(long address, long length, int advice) throws LastErrorException;
+
+    /**
+     * Invoke the system call with the given number and arguments. Used for calls that the C library does not wrap.
+     * @param number system call number
+     * @return the return value of the system call. On error, -1 is returned and errno is set
+     */
+    private static native long syscall(
+            long number, long arg1, long arg2, long arg3, long arg4, long arg5, long arg6) throws LastErrorException;
+
     /**
      * Return pointer to a string describing error number, possibly using the LC_MESSAGES part of the current locale to select the appropriate language.
      * @param errnum error number to describe
@@ -140,6 +191,40 @@ public class LinuxNativeAccess implements NativeAccess {
         return wrapResult(() -> posix_fallocate(fd, 0, bytes));
     }
 
+    @Override
+    public NativeCallResult tryAdviseHugePages(long address, long length) {
+        if (address <= 0 || length <= 0) {
+            return new NativeCallResult(ERROR, "Incorrect memory region.");
+        }
+        return wrapResult(() -> madvise(address, length, MADV_HUGEPAGE));
+    }
+
+    @Override
+    public NativeCallResult tryBindMemory(long address, long length, long nodeMask, boolean interleave) {
+        if (address <= 0 || length <= 0) {
+            return new NativeCallResult(ERROR, "Incorrect memory region.");
+        }
+        if (nodeMask == 0) {
+            return new NativeCallResult(ERROR, "Node mask should contain at least one node.");
+        }
+        if (MBIND == null && SYS_MBIND == 0) {
+            return new NativeCallResult(
+                    ERROR, "Memory binding requires libnuma, which is not available on " + Platform.ARCH + ".");
+        }
+        final long maskPointer = Native.malloc(Long.BYTES);
+        if (maskPointer == 0) {
+            return new NativeCallResult(ERROR, "Unable to allocate node mask.");
+        }
+        try {
+            new Pointer(maskPointer).setLong(0, nodeMask);
+            int mode = interleave ? MPOL_INTERLEAVE : MPOL_PREFERRED;
+            // The kernel reads one bit less than the given maximum node count, hence the extra one.
+            return wrapResult(() -> mbind(address, length, mode, maskPointer, Long.SIZE + 1));
+        } finally {
+            Native.free(maskPointer);
+        }
+    }
+
     @Override
     public ErrorTranslator errorTranslator() {
         return LinuxErrorTranslator.INSTANCE;
@@ -158,6 +243,37 @@ public class LinuxNativeAccess implements NativeAccess {
         return descriptionBuilder.toString();
     }
 
+    private static int mbind(long address, long length, int mode, long maskPointer, long maxNode) {
+        if (MBIND != null) {
+            return (int) MBIND.invokeLong(
+                    new Object[] {new Pointer(address), length, mode, new Pointer(maskPointer), maxNode, 0});
+        }
+        return (int) syscall(SYS_MBIND, address, length, mode, maskPointer, maxNode, 0);
+    }
+
+    private static Function lookupMbind() {
+        if (!Platform.isLinux()) {
+            return null;
+        }
+        try {
+            return NativeLibrary.getInstance("numa").getFunction("mbind", Function.THROW_LAST_ERROR);
+        } catch (UnsatisfiedLinkError e) {
+            return null;
+        }
+    }
+
+    private static long mbindSyscallNumber() {
+        if (Platform.isLinux() && Platform.is64Bit()) {
+            if (Platform.isIntel()) {
+                return 237;
+            }
+            if (Platform.isARM()) {
+                return 235;
+            }
+        }
+        return 0;
+    }
+
     private static NativeCallResult wrapResult(NativeCall call) {
         try {
             int result = call.call();
@@ -68,6 +68,28 @@ public interface NativeAccess {
      */
     NativeCallResult tryPreallocateSpace(int fd, long bytes);
 
+    /**
+     * Try to advice that memory region starting at provided address should be backed by transparent huge pages.
+     * Useful for large, long living memory regions that are accessed randomly. For example: page cache memory.
+     * @param address start address of the memory region, aligned to the operating system page size
+     * @param length length of the memory region in bytes
+     * @return returns zero on success, or an error number on failure
+     */
+    NativeCallResult tryAdviseHugePages(long address, long length);
+
+    /**
+     * Try to set the NUMA memory policy of the memory region starting at provided address.
+     * The policy only applies to pages that are touched for the first time after this call, so it should be set before
+     * the memory region is used.
+     * @param address start address of the memory region, aligned to the operating system page size
+     * @param length length of the memory region in bytes
+     * @param nodeMask bit mask of the NUMA nodes to place the memory region on
+     * @param interleave if {@code true} pages are interleaved over all nodes in the mask, otherwise pages are
+     * preferably allocated on the lowest node in the mask
+     * @return returns zero on success, or an error number on failure
+     */
+    NativeCallResult tryBindMemory(long address, long length, long nodeMask, boolean interleave);
+
     /**
      * High level error translator to be able to map high level exceptions checks with low level error codes on particular system
      */
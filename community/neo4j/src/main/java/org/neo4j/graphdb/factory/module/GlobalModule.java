@@ -64,6 +64,7 @@ import org.neo4j.io.locker.Locker;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.kernel.availability.CompositeDatabaseAvailabilityGuard;
 import org.neo4j.kernel.diagnostics.providers.DbmsDiagnosticsManager;
+import org.neo4j.kernel.diagnostics.providers.PageCacheDiagnostics;
 import org.neo4j.kernel.extension.ExtensionFactory;
 import org.neo4j.kernel.extension.ExtensionFailureStrategies;
 import org.neo4j.kernel.extension.GlobalExtensions;
@@ -71,6 +72,7 @@ import org.neo4j.kernel.extension.context.GlobalExtensionContext;
 import org.neo4j.kernel.impl.cache.VmPauseMonitorComponent;
 import org.neo4j.kernel.impl.factory.DbmsInfo;
 import org.neo4j.kernel.impl.pagecache.ConfiguringPageCacheFactory;
+import org.neo4j.kernel.impl.pagecache.PageCacheFiles;
 import org.neo4j.kernel.impl.pagecache.PageCacheLifecycle;
 import org.neo4j.kernel.impl.scheduler.JobSchedulerFactory;
 import org.neo4j.kernel.impl.security.URLAccessRules;
@@ -231,6 +233,9 @@ public class GlobalModule {
                         fileSystem, globalConfig, logService, tracers, jobScheduler, globalClock, memoryPools));
 
         globalLife.add(new PageCacheLifecycle(pageCache));
+        globalDependencies.satisfyDependency(new PageCacheDiagnostics(pageCache));
+        globalDependencies.satisfyDependency(
+                globalLife.add(new PageCacheFiles(pageCache, logService.getInternalLogProvider())));
 
         dbmsDiagnosticsManager = new DbmsDiagnosticsManager(globalDependencies, logService);
         globalDependencies.satisfyDependency(dbmsDiagnosticsManager);
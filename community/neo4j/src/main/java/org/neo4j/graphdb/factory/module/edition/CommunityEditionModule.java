@@ -380,7 +380,7 @@ public class CommunityEditionModule extends AbstractEditionModule implements Def
     }
 
     protected CommitProcessFactory createCommitProcessFactory() {
-        return new CommunityCommitProcessFactory();
+        return new CommunityCommitProcessFactory(globalModule.getGlobalConfig(), globalModule.getJobScheduler());
     }
 
     @Override
@@ -62,6 +62,7 @@ import org.neo4j.kernel.api.net.NetworkConnectionTracker;
 import org.neo4j.kernel.api.net.TrackedNetworkConnection;
 import org.neo4j.kernel.api.procedure.SystemProcedure;
 import org.neo4j.kernel.impl.coreapi.InternalTransaction;
+import org.neo4j.kernel.impl.pagecache.PageCacheFiles;
 import org.neo4j.kernel.impl.query.QueryExecutionEngine;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.logging.Log;
@@ -323,6 +324,17 @@ public class BuiltInDbmsProcedures {
                 .map(c -> new CapabilityResult(c, service.get(c.name())));
     }
 
+    @Admin
+    @Internal
+    @SystemProcedure
+    @Description("List the page cache statistics of all files currently mapped by the page cache. "
+            + "Resident and dirty page counts are computed when the procedure is called.")
+    @Procedure(name = "dbms.listPageCacheFiles", mode = DBMS)
+    public Stream<PageCacheFileResult> listPageCacheFiles() {
+        PageCacheFiles pageCacheFiles = resolver.resolveDependency(PageCacheFiles.class);
+        return pageCacheFiles.statistics().stream().map(PageCacheFileResult::new);
+    }
+
     private NetworkConnectionTracker getConnectionTracker() {
         return resolver.resolveDependency(NetworkConnectionTracker.class);
     }
@@ -29,7 +29,9 @@ import static org.neo4j.storageengine.util.StoreIdDecodeUtils.decodeId;
 
 import java.security.NoSuchAlgorithmException;
 import java.time.ZoneId;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -48,14 +50,19 @@ import org.neo4j.internal.kernel.api.security.AccessMode;
 import org.neo4j.internal.kernel.api.security.SecurityContext;
 import org.neo4j.internal.schema.IndexProviderDescriptor;
 import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.api.KernelTransactionHandle;
 import org.neo4j.kernel.api.procedure.SystemProcedure;
+import org.neo4j.kernel.impl.api.KernelTransactions;
 import org.neo4j.kernel.impl.api.index.IndexingService;
 import org.neo4j.kernel.impl.coreapi.InternalTransaction;
+import org.neo4j.kernel.impl.locking.LockContentionProfiler;
+import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.kernel.impl.query.QueryExecutionEngine;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.procedure.Admin;
 import org.neo4j.procedure.Context;
 import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Internal;
 import org.neo4j.procedure.Mode;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
@@ -263,6 +270,74 @@ public class BuiltInProcedures {
         return Stream.of(new BooleanResult(Boolean.TRUE));
     }
 
+    @Admin
+    @Internal
+    @SystemProcedure
+    @Description("List the number of times transactions have had to wait for a lock, and the total time they waited, "
+            + "per resource type, since the database was started.")
+    @Procedure(name = "db.lockContention.resourceTypes", mode = READ)
+    public Stream<ResourceTypeContentionResult> lockContentionPerResourceType() {
+        return contentionProfiler().resourceTypeContention().stream()
+                .map(contention -> new ResourceTypeContentionResult(
+                        contention.resourceType().name(),
+                        contention.waits(),
+                        TimeUnit.NANOSECONDS.toMillis(contention.waitNanos())));
+    }
+
+    @Admin
+    @Internal
+    @SystemProcedure
+    @Description("List the resources that transactions have waited the longest for to lock, along with the last "
+            + "transaction that held the lock while others waited, and its current query if it is still running. "
+            + "The wait times of the resources are approximate, and may be overestimated by up to the given amount.")
+    @Procedure(name = "db.lockContention.hotResources", mode = READ)
+    public Stream<HotResourceResult> hotLockResources(@Name(value = "limit", defaultValue = "10") long limit) {
+        Map<Long, String> queries = runningQueriesByTransaction();
+        return contentionProfiler().hotResources(Math.toIntExact(limit)).stream()
+                .map(resource -> new HotResourceResult(
+                        resource.resourceType().name(),
+                        resource.resourceId(),
+                        resource.waits(),
+                        TimeUnit.NANOSECONDS.toMillis(resource.waitNanos()),
+                        TimeUnit.NANOSECONDS.toMillis(resource.maxOverestimateNanos()),
+                        resource.lastBlockingTransactionId(),
+                        queries.get(resource.lastBlockingTransactionId())));
+    }
+
+    @Admin
+    @Internal
+    @SystemProcedure
+    @Description("List the transactions that have held locks that other transactions waited the longest for, along "
+            + "with their current query if they are still running. The blocking times are approximate, and may be "
+            + "overestimated by up to the given amount.")
+    @Procedure(name = "db.lockContention.blockingTransactions", mode = READ)
+    public Stream<BlockingTransactionResult> blockingTransactions(
+            @Name(value = "limit", defaultValue = "10") long limit) {
+        Map<Long, String> queries = runningQueriesByTransaction();
+        return contentionProfiler().blockingTransactions(Math.toIntExact(limit)).stream()
+                .map(transaction -> new BlockingTransactionResult(
+                        transaction.transactionId(),
+                        transaction.waits(),
+                        TimeUnit.NANOSECONDS.toMillis(transaction.waitNanos()),
+                        TimeUnit.NANOSECONDS.toMillis(transaction.maxOverestimateNanos()),
+                        queries.get(transaction.transactionId())));
+    }
+
+    private LockContentionProfiler contentionProfiler() {
+        return resolver.resolveDependency(Locks.class).contentionProfiler();
+    }
+
+    private Map<Long, String> runningQueriesByTransaction() {
+        Map<Long, String> queries = new HashMap<>();
+        for (KernelTransactionHandle transaction :
+                resolver.resolveDependency(KernelTransactions.class).activeTransactions()) {
+            transaction
+                    .executingQuery()
+                    .ifPresent(query -> queries.put(transaction.getTransactionSequenceNumber(), query.rawQueryText()));
+        }
+        return queries;
+    }
+
     private ZoneId getConfiguredTimeZone() {
         Config config = resolver.resolveDependency(Config.class);
         return config.get(GraphDatabaseSettings.db_timezone).getZoneId();
@@ -298,6 +373,20 @@ public class BuiltInProcedures {
 
     public record BooleanResult(Boolean success) {}
 
+    public record ResourceTypeContentionResult(String resourceType, long waits, long waitTimeMillis) {}
+
+    public record HotResourceResult(
+            String resourceType,
+            long resourceId,
+            long waits,
+            long waitTimeMillis,
+            long maxOverestimateMillis,
+            long lastBlockingTransactionId,
+            String lastBlockingQuery) {}
+
+    public record BlockingTransactionResult(
+            long transactionId, long waits, long waitTimeMillis, long maxOverestimateMillis, String currentQuery) {}
+
     public record NodeResult(Node node) {}
 
     public record WeightedNodeResult(Node node, double weight) {}
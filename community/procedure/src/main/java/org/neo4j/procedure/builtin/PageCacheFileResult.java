@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.procedure.builtin;
+
+import org.neo4j.io.pagecache.monitoring.PagedFileStatistics;
+
+public class PageCacheFileResult {
+    public final String database;
+    public final String path;
+    public final long pageSize;
+    public final long pins;
+    public final long hits;
+    public final double hitRatio;
+    public final long faults;
+    public final long evictions;
+    public final long flushes;
+    public final long bytesRead;
+    public final long bytesWritten;
+    public final long residentPages;
+    public final long dirtyPages;
+
+    public PageCacheFileResult(PagedFileStatistics statistics) {
+        this.database = statistics.databaseName();
+        this.path = statistics.path().toString();
+        this.pageSize = statistics.pageSize();
+        this.pins = statistics.pins();
+        this.hits = statistics.hits();
+        this.hitRatio = statistics.hitRatio();
+        this.faults = statistics.faults();
+        this.evictions = statistics.evictions();
+        this.flushes = statistics.flushes();
+        this.bytesRead = statistics.bytesRead();
+        this.bytesWritten = statistics.bytesWritten();
+        this.residentPages = statistics.residentPages();
+        this.dirtyPages = statistics.dirtyPages();
+    }
+}
@@ -22,10 +22,12 @@ package org.neo4j.internal.recordstorage;
 import java.util.Arrays;
 import java.util.Comparator;
 import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.PropertyType;
 import org.neo4j.kernel.impl.store.record.PropertyBlock;
 import org.neo4j.storageengine.api.EntityUpdates;
 import org.neo4j.storageengine.api.cursor.StoreCursors;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
 public class PropertyPhysicalToLogicalConverter {
     private static final Comparator<PropertyBlock> BLOCK_COMPARATOR =
@@ -33,20 +35,48 @@ public class PropertyPhysicalToLogicalConverter {
 
     private final PropertyStore propertyStore;
     private final StoreCursors storeCursors;
+    private final boolean readFromStore;
     private PropertyBlock[] beforeBlocks = new PropertyBlock[8];
     private int beforeBlocksCursor;
     private PropertyBlock[] afterBlocks = new PropertyBlock[8];
     private int afterBlocksCursor;
 
     public PropertyPhysicalToLogicalConverter(PropertyStore propertyStore, StoreCursors storeCursors) {
+        this(propertyStore, storeCursors, true);
+    }
+
+    /**
+     * @param readFromStore whether or not the store is known to contain the dynamic records of light property blocks.
+     * If not, e.g. when converting commands of transactions that may have been followed by other transactions, such
+     * values are read {@link PropertyStore#getValueIfPresent(PropertyBlock, StoreCursors) if still present} and
+     * otherwise reported as {@link Values#NO_VALUE}.
+     */
+    PropertyPhysicalToLogicalConverter(PropertyStore propertyStore, StoreCursors storeCursors, boolean readFromStore) {
         this.propertyStore = propertyStore;
         this.storeCursors = storeCursors;
+        this.readFromStore = readFromStore;
     }
 
     /**
      * Converts physical changes to PropertyRecords for a entity into logical updates
      */
     public void convertPropertyRecord(EntityCommandGrouper<?>.Cursor changes, EntityUpdates.Builder properties) {
+        convertPropertyRecord(changes, (key, before, after) -> {
+            if (before == null) {
+                properties.added(key, after);
+            } else if (after == null) {
+                properties.removed(key, before);
+            } else {
+                properties.changed(key, before, after);
+            }
+        });
+    }
+
+    /**
+     * Converts physical changes to PropertyRecords for a entity into logical changes, one call to the given
+     * {@link PropertyChangeVisitor} per added, changed or removed property.
+     */
+    void convertPropertyRecord(EntityCommandGrouper<?>.Cursor changes, PropertyChangeVisitor visitor) {
         mapBlocks(changes);
 
         int bc = 0;
@@ -87,14 +117,14 @@ public class PropertyPhysicalToLogicalConverter {
                 if (!beforeBlock.hasSameContentsAs(afterBlock)) {
                     Value beforeVal = valueOf(beforeBlock);
                     Value afterVal = valueOf(afterBlock);
-                    properties.changed(key, beforeVal, afterVal);
+                    visitor.propertyChanged(key, beforeVal, afterVal);
                 }
             } else {
                 // ADD/REMOVE
                 if (afterBlock != null) {
-                    properties.added(key, valueOf(afterBlock));
+                    visitor.propertyChanged(key, null, valueOf(afterBlock));
                 } else {
-                    properties.removed(key, valueOf(beforeBlock));
+                    visitor.propertyChanged(key, valueOf(beforeBlock), null);
                 }
             }
         }
@@ -130,6 +160,22 @@ public class PropertyPhysicalToLogicalConverter {
         if (block == null) {
             return null;
         }
+        if (!readFromStore && block.isLight() && isDynamic(block.getType())) {
+            return propertyStore.getValueIfPresent(block, storeCursors);
+        }
         return block.getType().value(block, propertyStore, storeCursors);
     }
+
+    private static boolean isDynamic(PropertyType type) {
+        return type == PropertyType.STRING || type == PropertyType.ARRAY;
+    }
+
+    @FunctionalInterface
+    interface PropertyChangeVisitor {
+        /**
+         * @param before value before the change, or {@code null} if the property was added.
+         * @param after value after the change, or {@code null} if the property was removed.
+         */
+        void propertyChanged(int propertyKeyId, Value before, Value after);
+    }
 }
@@ -20,14 +20,17 @@
 package org.neo4j.internal.recordstorage;
 
 import static java.lang.Math.toIntExact;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.transaction_id_range_size;
 
 import java.util.function.Supplier;
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.configuration.Config;
+import org.neo4j.internal.id.PageIdRange;
 import org.neo4j.internal.recordstorage.RecordAccess.LoadMonitor;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.KernelVersion;
 import org.neo4j.kernel.KernelVersionProvider;
+import org.neo4j.kernel.impl.store.CommonAbstractStore;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.PropertyStore;
 import org.neo4j.kernel.impl.store.StandardDynamicRecordAllocator;
@@ -49,6 +52,8 @@ class RecordStorageCommandCreationContext implements CommandCreationContext {
     private final TokenNameLookup tokenNameLookup;
     private final InternalLogProvider logProvider;
     private final int denseNodeThreshold;
+    private final IdRangeAllocator nodeIds;
+    private final IdRangeAllocator relationshipIds;
 
     private KernelVersionProvider kernelVersionProvider;
     private PropertyCreator propertyCreator;
@@ -71,6 +76,10 @@ class RecordStorageCommandCreationContext implements CommandCreationContext {
         this.neoStores = neoStores;
         this.config = config;
         this.propertyStore = neoStores.getPropertyStore();
+        int maxIdRangeSize = config.get(transaction_id_range_size);
+        this.nodeIds = maxIdRangeSize > 1 ? new IdRangeAllocator(neoStores.getNodeStore(), maxIdRangeSize) : null;
+        this.relationshipIds =
+                maxIdRangeSize > 1 ? new IdRangeAllocator(neoStores.getRelationshipStore(), maxIdRangeSize) : null;
     }
 
     @Override
@@ -113,7 +122,7 @@ class RecordStorageCommandCreationContext implements CommandCreationContext {
 
     @Override
     public long reserveNode() {
-        return nextId(StoreType.NODE);
+        return nodeIds != null ? nodeIds.nextId() : nextId(StoreType.NODE);
     }
 
     @Override
@@ -123,7 +132,7 @@ class RecordStorageCommandCreationContext implements CommandCreationContext {
             int relationshipType,
             boolean sourceNodeAddedInTx,
             boolean targetNodeAddedInTx) {
-        return nextId(StoreType.RELATIONSHIP);
+        return relationshipIds != null ? relationshipIds.nextId() : nextId(StoreType.RELATIONSHIP);
     }
 
     @Override
@@ -147,7 +156,12 @@ class RecordStorageCommandCreationContext implements CommandCreationContext {
     }
 
     @Override
-    public void close() {}
+    public void close() {
+        if (nodeIds != null) {
+            nodeIds.release();
+            relationshipIds.release();
+        }
+    }
 
     TransactionRecordState createTransactionRecordState(
             ResourceLocker locks,
@@ -177,4 +191,35 @@ class RecordStorageCommandCreationContext implements CommandCreationContext {
     public KernelVersion kernelVersion() {
         return kernelVersionProvider.kernelVersion();
     }
+
+    /**
+     * Hands out ids from ranges that this transaction reserves from the id generator of a store. Each new range may
+     * hold twice as many ids as the previous one, so that transactions that only create a few records don't hold on to
+     * many ids, while transactions that create many records get whole pages to themselves.
+     */
+    private class IdRangeAllocator {
+        private final CommonAbstractStore<?, ?> store;
+        private final int maxIdRangeSize;
+        private PageIdRange range = PageIdRange.EMPTY;
+
+        IdRangeAllocator(CommonAbstractStore<?, ?> store, int maxIdRangeSize) {
+            this.store = store;
+            this.maxIdRangeSize = maxIdRangeSize;
+        }
+
+        long nextId() {
+            if (!range.hasNext()) {
+                int maxIds = Math.min(maxIdRangeSize, Math.max(1, range.size() * 2));
+                range = store.getIdGenerator().nextPageRange(maxIds, store.getRecordsPerPage(), cursorContext);
+            }
+            return range.nextId();
+        }
+
+        void release() {
+            if (range.hasNext()) {
+                store.getIdGenerator().releasePageRange(range, cursorContext);
+            }
+            range = PageIdRange.EMPTY;
+        }
+    }
 }
@@ -101,11 +101,13 @@ import org.neo4j.logging.InternalLog;
 import org.neo4j.logging.InternalLogProvider;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.monitoring.Health;
+import org.neo4j.storageengine.api.CommandBatch;
 import org.neo4j.storageengine.api.CommandBatchToApply;
 import org.neo4j.storageengine.api.CommandCreationContext;
 import org.neo4j.storageengine.api.CommandStream;
 import org.neo4j.storageengine.api.ConstraintRuleAccessor;
 import org.neo4j.storageengine.api.IndexUpdateListener;
+import org.neo4j.storageengine.api.StorageChangeVisitor;
 import org.neo4j.storageengine.api.StorageCommand;
 import org.neo4j.storageengine.api.StorageEngine;
 import org.neo4j.storageengine.api.StorageLocks;
@@ -130,6 +132,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
     private static final String STORAGE_ENGINE_START_TAG = "storageEngineStart";
     private static final String SCHEMA_CACHE_START_TAG = "schemaCacheStart";
     private static final String TOKENS_INIT_TAG = "tokensInitialisation";
+    private static final String DECODE_CHANGES_TAG = "decodeChanges";
 
     private final NeoStores neoStores;
     private final RecordDatabaseLayout databaseLayout;
@@ -522,6 +525,14 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
         }
     }
 
+    @Override
+    public void decodeChanges(CommandBatch batch, StorageChangeVisitor visitor) throws IOException {
+        try (var cursorContext = contextFactory.create(DECODE_CHANGES_TAG);
+                var storeCursors = createStorageCursors(cursorContext)) {
+            new StorageChangeDecoder(neoStores.getPropertyStore(), storeCursors).decode(batch, visitor);
+        }
+    }
+
     @Override
     public void rollback(ReadableTransactionState txState, CursorContext cursorContext) {
         // Extract allocated IDs from created nodes/relationships from txState
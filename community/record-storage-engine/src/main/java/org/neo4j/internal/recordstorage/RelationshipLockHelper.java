@@ -297,24 +297,20 @@ final class RelationshipLockHelper {
         return connection.get(old) != connection.get(actual);
     }
 
-    private static void lockRelationshipsExclusively(ResourceLocker locker, long[] ids) {
-        long lastId = NULL_REFERENCE.longValue();
-        for (long id : ids) {
-            if (id != lastId) {
-                locker.acquireExclusive(NONE, RELATIONSHIP, id);
-            }
-            lastId = id;
-        }
+    private static void lockRelationshipsExclusively(ResourceLocker locker, long[] sortedIds) {
+        locker.acquireExclusiveSorted(NONE, RELATIONSHIP, withoutNullReferences(sortedIds));
     }
 
-    private static void unlockRelationshipsExclusively(ResourceLocker locker, long[] ids) {
-        long lastId = NULL_REFERENCE.longValue();
-        for (long id : ids) {
-            if (id != lastId) {
-                locker.releaseExclusive(RELATIONSHIP, id);
-            }
-            lastId = id;
+    private static void unlockRelationshipsExclusively(ResourceLocker locker, long[] sortedIds) {
+        locker.releaseExclusiveSorted(RELATIONSHIP, withoutNullReferences(sortedIds));
+    }
+
+    private static long[] withoutNullReferences(long[] sortedIds) {
+        int first = 0;
+        while (first < sortedIds.length && sortedIds[first] == NULL_REFERENCE.longValue()) {
+            first++;
         }
+        return first == 0 ? sortedIds : Arrays.copyOfRange(sortedIds, first, sortedIds.length);
     }
 
     /**
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_LONG_ARRAY;
+import static org.neo4j.kernel.impl.store.NodeLabelsField.fieldPointsToDynamicRecordOfLabels;
+
+import java.io.IOException;
+import org.apache.commons.lang3.ArrayUtils;
+import org.neo4j.internal.recordstorage.Command.Mode;
+import org.neo4j.internal.recordstorage.Command.NodeCommand;
+import org.neo4j.internal.recordstorage.Command.PropertyCommand;
+import org.neo4j.internal.recordstorage.Command.RelationshipCommand;
+import org.neo4j.kernel.impl.store.DynamicNodeLabels;
+import org.neo4j.kernel.impl.store.InlineNodeLabels;
+import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.storageengine.api.CommandStream;
+import org.neo4j.storageengine.api.StorageChangeVisitor;
+import org.neo4j.storageengine.api.StorageCommand;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+
+/**
+ * Decodes the node, relationship and property commands of a committed transaction into logical changes. Decoding
+ * looks at the commands, since the store may already contain changes of later transactions. The only exception is
+ * out-of-line property values that the commands don't carry, which are read from the store
+ * {@link PropertyStore#getValueIfPresent(org.neo4j.kernel.impl.store.record.PropertyBlock, StoreCursors) if still
+ * present}.
+ * <p>
+ * Instances keep state between calls and are therefore not thread safe.
+ */
+class StorageChangeDecoder {
+    private final EntityCommandGrouper<NodeCommand> nodeCommands = new EntityCommandGrouper<>(NodeCommand.class, 16);
+    private final EntityCommandGrouper<RelationshipCommand> relationshipCommands =
+            new EntityCommandGrouper<>(RelationshipCommand.class, 16);
+    private final PropertyPhysicalToLogicalConverter converter;
+
+    StorageChangeDecoder(PropertyStore propertyStore, StoreCursors storeCursors) {
+        this.converter = new PropertyPhysicalToLogicalConverter(propertyStore, storeCursors, false);
+    }
+
+    void decode(CommandStream commands, StorageChangeVisitor visitor) throws IOException {
+        nodeCommands.clear();
+        relationshipCommands.clear();
+        commands.accept(this::group);
+
+        EntityCommandGrouper<NodeCommand>.Cursor nodes = nodeCommands.sortAndAccessGroups();
+        while (nodes.nextEntity()) {
+            long nodeId = nodes.currentEntityId();
+            NodeCommand command = nodes.currentEntityCommand();
+            Mode mode = modeOf(command);
+            if (mode == Mode.CREATE) {
+                visitor.nodeCreated(nodeId);
+            }
+            if (command != null) {
+                decodeLabelChanges(nodeId, command, visitor);
+            }
+            converter.convertPropertyRecord(
+                    nodes, (key, before, after) -> visitor.nodePropertyChanged(nodeId, key, before, after));
+            if (mode == Mode.DELETE) {
+                visitor.nodeDeleted(nodeId);
+            }
+        }
+
+        EntityCommandGrouper<RelationshipCommand>.Cursor relationships = relationshipCommands.sortAndAccessGroups();
+        while (relationships.nextEntity()) {
+            long relationshipId = relationships.currentEntityId();
+            RelationshipCommand command = relationships.currentEntityCommand();
+            Mode mode = modeOf(command);
+            if (mode == Mode.CREATE) {
+                RelationshipRecord record = command.getAfter();
+                visitor.relationshipCreated(
+                        relationshipId, record.getType(), record.getFirstNode(), record.getSecondNode());
+            }
+            converter.convertPropertyRecord(
+                    relationships,
+                    (key, before, after) -> visitor.relationshipPropertyChanged(relationshipId, key, before, after));
+            if (mode == Mode.DELETE) {
+                RelationshipRecord record = command.getBefore();
+                visitor.relationshipDeleted(
+                        relationshipId, record.getType(), record.getFirstNode(), record.getSecondNode());
+            }
+        }
+    }
+
+    private static void decodeLabelChanges(long nodeId, NodeCommand command, StorageChangeVisitor visitor) {
+        long[] before = labelsOf(command.getBefore());
+        long[] after = labelsOf(command.getAfter());
+        if (before == null || after == null) {
+            // The command doesn't carry the dynamic label records, so the label changes can't be decoded
+            return;
+        }
+        for (long labelId : after) {
+            if (!ArrayUtils.contains(before, labelId)) {
+                visitor.nodeLabelAdded(nodeId, (int) labelId);
+            }
+        }
+        for (long labelId : before) {
+            if (!ArrayUtils.contains(after, labelId)) {
+                visitor.nodeLabelRemoved(nodeId, (int) labelId);
+            }
+        }
+    }
+
+    /**
+     * @return the labels of the node, or {@code null} if they are stored in dynamic records not in the command.
+     */
+    private static long[] labelsOf(NodeRecord node) {
+        if (!node.inUse()) {
+            return EMPTY_LONG_ARRAY;
+        }
+        long labelField = node.getLabelField();
+        if (!fieldPointsToDynamicRecordOfLabels(labelField)) {
+            return InlineNodeLabels.parseInlined(labelField);
+        }
+        Iterable<DynamicRecord> records = node.getUsedDynamicLabelRecords();
+        return records.iterator().hasNext() ? DynamicNodeLabels.parseHeavyRecords(records) : null;
+    }
+
+    private boolean group(StorageCommand command) {
+        if (command instanceof NodeCommand nodeCommand) {
+            nodeCommands.add(nodeCommand);
+        } else if (command instanceof RelationshipCommand relationshipCommand) {
+            relationshipCommands.add(relationshipCommand);
+        } else if (command instanceof PropertyCommand propertyCommand) {
+            if (propertyCommand.getAfter().isNodeSet()) {
+                nodeCommands.add(propertyCommand);
+            } else if (propertyCommand.getAfter().isRelSet()) {
+                relationshipCommands.add(propertyCommand);
+            }
+        }
+        return false;
+    }
+
+    private static Mode modeOf(Command command) {
+        return command == null ? Mode.UPDATE : command.getMode();
+    }
+}
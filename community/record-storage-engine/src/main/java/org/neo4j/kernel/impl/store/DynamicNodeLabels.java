@@ -259,7 +259,7 @@ public class DynamicNodeLabels implements NodeLabels {
         return storedLongs[0];
     }
 
-    private static long[] parseHeavyRecords(Iterable<DynamicRecord> records) {
+    public static long[] parseHeavyRecords(Iterable<DynamicRecord> records) {
         var heavyRecordData = readFullByteArrayFromHeavyRecords(records, ARRAY);
         long[] storedLongs =
                 (long[]) DynamicArrayStore.getNumbersArray(heavyRecordData.header(), heavyRecordData.data())
@@ -26,11 +26,13 @@ import static org.neo4j.internal.recordstorage.RecordCursorTypes.DYNAMIC_STRING_
 import static org.neo4j.io.IOUtils.closeAllUnchecked;
 import static org.neo4j.kernel.impl.store.NoStoreHeaderFormat.NO_STORE_HEADER_FORMAT;
 import static org.neo4j.kernel.impl.store.record.AbstractBaseRecord.NO_ID;
+import static org.neo4j.kernel.impl.store.record.RecordLoad.CHECK;
 import static org.neo4j.kernel.impl.store.record.RecordLoad.NORMAL;
 
 import java.nio.ByteBuffer;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import org.eclipse.collections.api.set.ImmutableSet;
@@ -52,6 +54,7 @@ import org.neo4j.kernel.impl.store.format.standard.StandardFormatSettings;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
 import org.neo4j.kernel.impl.store.record.PropertyBlock;
 import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.Record;
 import org.neo4j.kernel.impl.store.record.RecordLoad;
 import org.neo4j.logging.InternalLogProvider;
 import org.neo4j.memory.MemoryTracker;
@@ -293,6 +296,42 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord, NoStoreHe
         }
     }
 
+    /**
+     * Reads the value of a block that may be older than the store, e.g. one read from the transaction log. Unlike
+     * {@link #getValue(PropertyBlock, StoreCursors)} this doesn't fail if the dynamic records of a light block have
+     * been deleted since the block was written, but returns {@link Values#NO_VALUE}. Dynamic records are never changed
+     * in place, so a value that is returned is the one the block had, unless its records have been deleted and then
+     * reused by a later transaction.
+     */
+    public Value getValueIfPresent(PropertyBlock block, StoreCursors storeCursors) {
+        PropertyType type = block.getType();
+        RecordStore<DynamicRecord> dynamicStore = dynamicStoreForValueType(type);
+        if (!block.isLight() || dynamicStore == null) {
+            return getValue(block, storeCursors);
+        }
+
+        List<DynamicRecord> dynamicRecords = new ArrayList<>();
+        try {
+            dynamicStore.streamRecords(
+                    block.getSingleValueLong(),
+                    CHECK,
+                    true,
+                    dynamicStoreCursorForType(storeCursors, type),
+                    record -> record.inUse()
+                            && record.isStartRecord() == dynamicRecords.isEmpty()
+                            && dynamicRecords.add(record));
+        } catch (RecordChainCycleDetectedException | InconsistentDataReadException e) {
+            return Values.NO_VALUE;
+        }
+        if (dynamicRecords.isEmpty()
+                || !Record.NULL_REFERENCE.is(dynamicRecords.get(dynamicRecords.size() - 1).getNextBlock())) {
+            return Values.NO_VALUE;
+        }
+        return type == PropertyType.STRING
+                ? getTextValueFor(dynamicRecords, storeCursors)
+                : getArrayFor(dynamicRecords, storeCursors);
+    }
+
     private PageCursor dynamicStoreCursorForType(StoreCursors storeCursors, PropertyType type) {
         return switch (type) {
             case ARRAY -> storeCursors.readCursor(DYNAMIC_ARRAY_STORE_CURSOR);
@@ -23,11 +23,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.DYNAMIC_STRING_STORE_CURSOR;
 import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
 import static org.neo4j.io.pagecache.context.EmptyVersionContextSupplier.EMPTY;
 import static org.neo4j.kernel.impl.transaction.log.LogTailMetadata.EMPTY_LOG_TAIL;
 import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
 
+import java.util.ArrayList;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -41,6 +43,8 @@ import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.PropertyStore;
 import org.neo4j.kernel.impl.store.StoreFactory;
+import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
+import org.neo4j.kernel.impl.store.record.DynamicRecord;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.impl.store.record.PropertyBlock;
 import org.neo4j.kernel.impl.store.record.PropertyRecord;
@@ -225,6 +229,53 @@ class PropertyPhysicalToLogicalConverterTest {
         assertEquals(expected, update);
     }
 
+    @Test
+    void shouldReportLightDynamicValuesAsNoValueWhenNoLongerInStore() {
+        // GIVEN
+        converter =
+                new PropertyPhysicalToLogicalConverter(store, new CachedStoreCursors(neoStores, NULL_CONTEXT), false);
+        int key = 10;
+        PropertyBlock lightBefore = property(key, longString);
+        lightBefore.setValueRecords(new ArrayList<>());
+        PropertyRecord before = propertyRecord(lightBefore);
+        PropertyRecord after = propertyRecord(property(key, longerString));
+
+        // WHEN
+        EntityUpdates update = convert(none, none, change(before, after));
+
+        // THEN
+        EntityUpdates expected = EntityUpdates.forEntity(0, false)
+                .changed(key, Values.NO_VALUE, longerString)
+                .build();
+        assertEquals(expected, update);
+    }
+
+    @Test
+    void shouldReadLightDynamicValuesFromStoreWhenNotReadingFromStoreIfStillPresent() {
+        // GIVEN
+        var storeCursors = new CachedStoreCursors(neoStores, NULL_CONTEXT);
+        converter = new PropertyPhysicalToLogicalConverter(store, storeCursors, false);
+        int key = 10;
+        PropertyBlock lightBefore = property(key, longString);
+        try (var cursor = storeCursors.writeCursor(DYNAMIC_STRING_STORE_CURSOR)) {
+            for (DynamicRecord valueRecord : lightBefore.getValueRecords()) {
+                store.getStringStore().updateRecord(valueRecord, cursor, NULL_CONTEXT, storeCursors);
+            }
+        }
+        lightBefore.setValueRecords(new ArrayList<>());
+        PropertyRecord before = propertyRecord(lightBefore);
+        PropertyRecord after = propertyRecord(property(key, longerString));
+
+        // WHEN
+        EntityUpdates update = convert(none, none, change(before, after));
+
+        // THEN
+        EntityUpdates expected = EntityUpdates.forEntity(0, false)
+                .changed(key, longString, longerString)
+                .build();
+        assertEquals(expected, update);
+    }
+
     private static PropertyRecord propertyRecord(PropertyBlock... propertyBlocks) {
         PropertyRecord record = new PropertyRecord(0);
         if (propertyBlocks != null) {
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.neo4j.internal.recordstorage.Command.NodeCommand;
+import org.neo4j.internal.recordstorage.Command.PropertyCommand;
+import org.neo4j.internal.recordstorage.Command.RelationshipCommand;
+import org.neo4j.kernel.impl.store.DynamicNodeLabels;
+import org.neo4j.kernel.impl.store.InlineNodeLabels;
+import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.allocator.ReusableRecordsAllocator;
+import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.storageengine.api.StorageChangeVisitor;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+class StorageChangeDecoderTest {
+    private final StorageChangeDecoder decoder =
+            new StorageChangeDecoder(mock(PropertyStore.class), StoreCursors.NULL);
+
+    @Test
+    void shouldDecodeCreatedNodeWithProperties() throws IOException {
+        // given
+        NodeRecord after = new NodeRecord(5);
+        after.setInUse(true);
+        after.setCreated();
+        PropertyRecord propertiesAfter = propertyRecord(true, property(1, Values.of(42)), property(2, Values.of("a")));
+        propertiesAfter.setNodeId(5);
+        PropertyRecord propertiesBefore = propertyRecord(false);
+        propertiesBefore.setNodeId(5);
+
+        // when
+        List<String> changes = decode(
+                new PropertyCommand(propertiesBefore, propertiesAfter), new NodeCommand(new NodeRecord(5), after));
+
+        // then
+        assertThat(changes).containsExactly("+node 5", "node 5 1: null -> Int(42)", "node 5 2: null -> String(\"a\")");
+    }
+
+    @Test
+    void shouldDecodeChangedAndRemovedPropertiesOfExistingRelationship() throws IOException {
+        // given
+        PropertyRecord before = propertyRecord(true, property(1, Values.of(1)), property(2, Values.of(2)));
+        before.setRelId(7);
+        PropertyRecord after = propertyRecord(true, property(1, Values.of(10)));
+        after.setRelId(7);
+
+        // when
+        List<String> changes = decode(new PropertyCommand(before, after));
+
+        // then
+        assertThat(changes).containsExactly("relationship 7 1: Int(1) -> Int(10)", "relationship 7 2: Int(2) -> null");
+    }
+
+    @Test
+    void shouldDecodeCreatedAndDeletedRelationships() throws IOException {
+        // given
+        RelationshipRecord created = new RelationshipRecord(3);
+        created.setInUse(true);
+        created.setCreated();
+        created.setLinks(10, 11, 4);
+        RelationshipRecord deletedBefore = new RelationshipRecord(2);
+        deletedBefore.setInUse(true);
+        deletedBefore.setLinks(12, 13, 5);
+
+        // when
+        List<String> changes = decode(
+                new RelationshipCommand(new RelationshipRecord(3), created),
+                new RelationshipCommand(deletedBefore, new RelationshipRecord(2)));
+
+        // then
+        assertThat(changes).containsExactly("-relationship 2 (12)-[5]->(13)", "+relationship 3 (10)-[4]->(11)");
+    }
+
+    @Test
+    void shouldDecodeDeletedNodeAfterItsRemovedProperties() throws IOException {
+        // given
+        NodeRecord before = new NodeRecord(9);
+        before.setInUse(true);
+        PropertyRecord propertiesBefore = propertyRecord(true, property(1, Values.of(true)));
+        propertiesBefore.setNodeId(9);
+        PropertyRecord propertiesAfter = propertyRecord(false);
+        propertiesAfter.setNodeId(9);
+
+        // when
+        List<String> changes = decode(
+                new NodeCommand(before, new NodeRecord(9)), new PropertyCommand(propertiesBefore, propertiesAfter));
+
+        // then
+        assertThat(changes).containsExactly("node 9 1: Boolean('true') -> null", "-node 9");
+    }
+
+    @Test
+    void shouldDecodeAddedAndRemovedInlinedLabels() throws IOException {
+        // given
+        NodeRecord before = nodeWithInlinedLabels(4, 1, 2);
+        NodeRecord after = nodeWithInlinedLabels(4, 2, 3);
+
+        // when
+        List<String> changes = decode(new NodeCommand(before, after));
+
+        // then
+        assertThat(changes).containsExactly("node 4 +label 3", "node 4 -label 1");
+    }
+
+    @Test
+    void shouldDecodeRemovedDynamicLabelsOfDeletedNode() throws IOException {
+        // given
+        NodeRecord before = new NodeRecord(9);
+        before.setInUse(true);
+        List<DynamicRecord> labelRecords = DynamicNodeLabels.allocateRecordsForDynamicLabels(
+                9,
+                new long[] {1, 2, 3, 4, 5, 6, 7, 8},
+                new ReusableRecordsAllocator(60, new DynamicRecord(20), new DynamicRecord(21), new DynamicRecord(22)),
+                NULL_CONTEXT,
+                INSTANCE);
+        before.setLabelField(DynamicNodeLabels.dynamicPointer(labelRecords), labelRecords);
+
+        // when
+        List<String> changes = decode(new NodeCommand(before, new NodeRecord(9)));
+
+        // then
+        assertThat(changes)
+                .containsExactly(
+                        "node 9 -label 1",
+                        "node 9 -label 2",
+                        "node 9 -label 3",
+                        "node 9 -label 4",
+                        "node 9 -label 5",
+                        "node 9 -label 6",
+                        "node 9 -label 7",
+                        "node 9 -label 8",
+                        "-node 9");
+    }
+
+    private List<String> decode(Command... commands) throws IOException {
+        List<String> changes = new ArrayList<>();
+        decoder.decode(new GroupOfCommands(StoreCursors.NULL, commands), new StorageChangeVisitor() {
+            @Override
+            public void nodeCreated(long nodeId) {
+                changes.add("+node " + nodeId);
+            }
+
+            @Override
+            public void nodeDeleted(long nodeId) {
+                changes.add("-node " + nodeId);
+            }
+
+            @Override
+            public void nodeLabelAdded(long nodeId, int labelId) {
+                changes.add("node " + nodeId + " +label " + labelId);
+            }
+
+            @Override
+            public void nodeLabelRemoved(long nodeId, int labelId) {
+                changes.add("node " + nodeId + " -label " + labelId);
+            }
+
+            @Override
+            public void relationshipCreated(long relationshipId, int type, long startNodeId, long endNodeId) {
+                changes.add("+relationship " + relationshipId + " (" + startNodeId + ")-[" + type + "]->(" + endNodeId
+                        + ")");
+            }
+
+            @Override
+            public void relationshipDeleted(long relationshipId, int type, long startNodeId, long endNodeId) {
+                changes.add("-relationship " + relationshipId + " (" + startNodeId + ")-[" + type + "]->(" + endNodeId
+                        + ")");
+            }
+
+            @Override
+            public void nodePropertyChanged(long nodeId, int propertyKeyId, Value before, Value after) {
+                changes.add("node " + nodeId + " " + propertyKeyId + ": " + before + " -> " + after);
+            }
+
+            @Override
+            public void relationshipPropertyChanged(long relationshipId, int propertyKeyId, Value before, Value after) {
+                changes.add("relationship " + relationshipId + " " + propertyKeyId + ": " + before + " -> " + after);
+            }
+        });
+        return changes;
+    }
+
+    private static NodeRecord nodeWithInlinedLabels(long id, long... labelIds) {
+        NodeRecord node = new NodeRecord(id);
+        node.setInUse(true);
+        new InlineNodeLabels(node).put(labelIds, null, null, NULL_CONTEXT, StoreCursors.NULL, INSTANCE);
+        return node;
+    }
+
+    private static PropertyRecord propertyRecord(boolean inUse, PropertyBlock... blocks) {
+        PropertyRecord record = new PropertyRecord(0);
+        record.setInUse(inUse);
+        for (PropertyBlock block : blocks) {
+            record.addPropertyBlock(block);
+        }
+        return record;
+    }
+
+    private static PropertyBlock property(int key, Value value) {
+        PropertyBlock block = new PropertyBlock();
+        PropertyStore.encodeValue(block, key, value, null, null, NULL_CONTEXT, INSTANCE);
+        return block;
+    }
+}
@@ -27,7 +27,9 @@ import org.neo4j.adversaries.Adversary;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.monitoring.PageFileAccesses;
 import org.neo4j.io.pagecache.monitoring.PageFileCounters;
+import org.neo4j.io.pagecache.monitoring.PageFileResidency;
 import org.neo4j.io.pagecache.tracing.FileFlushEvent;
 import org.neo4j.io.pagecache.tracing.version.FileTruncateEvent;
 
@@ -127,6 +129,16 @@ public class AdversarialPagedFile implements PagedFile {
         return delegate.pageFileCounters();
     }
 
+    @Override
+    public PageFileAccesses accesses() {
+        return delegate.accesses();
+    }
+
+    @Override
+    public PageFileResidency residency() {
+        return delegate.residency();
+    }
+
     @Override
     public boolean isMultiVersioned() {
         return delegate.isMultiVersioned();
@@ -45,6 +45,12 @@ public class DelegatingPageSwapper implements PageSwapper {
         return delegate.read(filePageId, bufferAddress, bufferLength);
     }
 
+    @Override
+    public long read(long startFilePageId, long[] bufferAddresses, int[] bufferLengths, int length)
+            throws IOException {
+        return delegate.read(startFilePageId, bufferAddresses, bufferLengths, length);
+    }
+
     @Override
     public void close() throws IOException {
         delegate.close();
@@ -22,7 +22,9 @@ package org.neo4j.io.pagecache;
 import java.io.IOException;
 import java.nio.file.Path;
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.monitoring.PageFileAccesses;
 import org.neo4j.io.pagecache.monitoring.PageFileCounters;
+import org.neo4j.io.pagecache.monitoring.PageFileResidency;
 import org.neo4j.io.pagecache.tracing.FileFlushEvent;
 import org.neo4j.io.pagecache.tracing.version.FileTruncateEvent;
 
@@ -103,6 +105,21 @@ public class DelegatingPagedFile implements PagedFile {
         return delegate.pageFileCounters();
     }
 
+    @Override
+    public PageFileAccesses accesses() {
+        return delegate.accesses();
+    }
+
+    @Override
+    public PageFileResidency residency() {
+        return delegate.residency();
+    }
+
+    @Override
+    public long flushOldDirtyPages(long lastModifiedTransactionId, long maxPages) throws IOException {
+        return delegate.flushOldDirtyPages(lastModifiedTransactionId, maxPages);
+    }
+
     @Override
     public boolean isMultiVersioned() {
         return delegate.isMultiVersioned();
@@ -34,4 +34,7 @@ public class LogEntryTypeCodes {
 
     // Checkpoint that contains transaction info (tx id, checksum, commit timestamp)
     public static final byte DETACHED_CHECK_POINT_V5_0 = (byte) 9;
+
+    // All commands of a command batch in one LZ4 compressed block, read back as individual command entries
+    public static final byte COMPRESSED_COMMANDS = (byte) 10;
 }
@@ -22,6 +22,7 @@ package org.neo4j.kernel.impl.transaction.log.entry;
 import static org.neo4j.storageengine.api.TransactionIdStore.BASE_TX_CHECKSUM;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import org.neo4j.io.fs.PositionableChannel;
 import org.neo4j.io.fs.ReadPastEndException;
 import org.neo4j.kernel.KernelVersion;
@@ -33,12 +34,18 @@ import org.neo4j.util.FeatureToggles;
 
 /**
  * Reads {@link LogEntry log entries} off of a channel. Supported versions can be read intermixed.
+ * <p>
+ * A {@link LogEntryCompressedCommands compressed commands} entry is decompressed as a whole, after which its commands
+ * are handed out one {@link LogEntryCommand} at a time, just like uncompressed commands are. While those commands are
+ * handed out, {@link #lastPosition()} keeps pointing at the start of the compressed entry.
  */
 public class VersionAwareLogEntryReader implements LogEntryReader {
     private static final boolean VERIFY_CHECKSUM_CHAIN =
             FeatureToggles.flag(LogEntryReader.class, "verifyChecksumChain", false);
     private final CommandReaderFactory commandReaderFactory;
     private final LogPositionMarker positionMarker;
+    private final LogPositionMarker pendingCommandsMarker = new LogPositionMarker();
+    private final ArrayDeque<LogEntryCommand> pendingCommands = new ArrayDeque<>();
     private final boolean verifyChecksumChain;
     private LogEntryParserSet parserSet;
     private int lastTxChecksum = BASE_TX_CHECKSUM;
@@ -56,6 +63,12 @@ public class VersionAwareLogEntryReader implements LogEntryReader {
     @Override
     public LogEntry readLogEntry(ReadableClosablePositionAwareChecksumChannel channel) throws IOException {
         try {
+            if (!pendingCommands.isEmpty()) {
+                LogEntryCommand command = nextPendingCommand(channel);
+                if (command != null) {
+                    return command;
+                }
+            }
             channel.getCurrentPosition(positionMarker);
 
             byte versionCode = channel.get();
@@ -123,6 +136,9 @@ public class VersionAwareLogEntryReader implements LogEntryReader {
                 throw new IOException(message, e);
             }
 
+            if (entry instanceof LogEntryCompressedCommands compressedCommands) {
+                return firstOfCompressedCommands(compressedCommands, channel);
+            }
             verifyChecksumChain(entry);
             return entry;
         } catch (ReadPastEndException e) {
@@ -130,6 +146,29 @@ public class VersionAwareLogEntryReader implements LogEntryReader {
         }
     }
 
+    private LogEntry firstOfCompressedCommands(
+            LogEntryCompressedCommands entry, ReadableClosablePositionAwareChecksumChannel channel) throws IOException {
+        pendingCommands.addAll(entry.getCommands());
+        channel.getCurrentPosition(pendingCommandsMarker);
+        LogEntryCommand first = pendingCommands.poll();
+        // An empty block is not expected, but skipping over it keeps the entry stream intact
+        return first != null ? first : readLogEntry(channel);
+    }
+
+    private LogEntryCommand nextPendingCommand(ReadableClosablePositionAwareChecksumChannel channel)
+            throws IOException {
+        // The pending commands are only valid as long as nobody moved the channel since they were decompressed
+        long logVersion = pendingCommandsMarker.getLogVersion();
+        long byteOffset = pendingCommandsMarker.getByteOffset();
+        channel.getCurrentPosition(pendingCommandsMarker);
+        if (pendingCommandsMarker.getLogVersion() == logVersion
+                && pendingCommandsMarker.getByteOffset() == byteOffset) {
+            return pendingCommands.poll();
+        }
+        pendingCommands.clear();
+        return null;
+    }
+
     private void verifyChecksumChain(LogEntry e) {
         if (VERIFY_CHECKSUM_CHAIN && verifyChecksumChain) {
             if (e instanceof LogEntryStart) {
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.entry.v50;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.neo4j.io.ByteUnit;
+import org.neo4j.io.fs.InputStreamReadableChannel;
+import org.neo4j.io.fs.ReadableChannel;
+import org.neo4j.io.fs.ReadableChecksumChannel;
+import org.neo4j.kernel.KernelVersion;
+import org.neo4j.kernel.impl.transaction.log.LogPositionMarker;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntry;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryCommand;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryCompressedCommands;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryParser;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryTypeCodes;
+import org.neo4j.storageengine.api.CommandReader;
+import org.neo4j.storageengine.api.CommandReaderFactory;
+import org.neo4j.storageengine.api.StorageCommand;
+
+/**
+ * Parses a block of LZ4 compressed commands. The block is laid out as the number of commands, the uncompressed and
+ * compressed lengths of the block, followed by the compressed bytes. Uncompressed, the block is just the serialized
+ * commands one after the other, without any log entry headers in between.
+ */
+public class CompressedCommandsLogEntryParserV5_0 extends LogEntryParser {
+    // LZ4 can not compress better than this, so any larger uncompressed length means that the block is corrupt.
+    private static final int MAX_COMPRESSION_RATIO = 255;
+    // The compressed bytes are read in chunks of this size, so that the buffer only grows as the bytes arrive.
+    private static final int READ_CHUNK_SIZE = (int) ByteUnit.kibiBytes(64);
+    private static final LZ4SafeDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().safeDecompressor();
+
+    public CompressedCommandsLogEntryParserV5_0() {
+        super(LogEntryTypeCodes.COMPRESSED_COMMANDS);
+    }
+
+    @Override
+    public LogEntry parse(
+            KernelVersion version,
+            ReadableChecksumChannel channel,
+            LogPositionMarker marker,
+            CommandReaderFactory commandReaderFactory)
+            throws IOException {
+        int commandCount = channel.getInt();
+        int uncompressedLength = channel.getInt();
+        int compressedLength = channel.getInt();
+        // Every command takes at least one byte, which bounds the number of commands by the uncompressed length.
+        if (commandCount < 0
+                || commandCount > uncompressedLength
+                || compressedLength < 0
+                || uncompressedLength < 0
+                || uncompressedLength > (long) compressedLength * MAX_COMPRESSION_RATIO) {
+            throw new IOException("Invalid compressed commands block of " + commandCount + " commands, "
+                    + uncompressedLength + " uncompressed and " + compressedLength + " compressed bytes");
+        }
+        byte[] compressed = readCompressed(channel, compressedLength);
+        byte[] uncompressed = new byte[uncompressedLength];
+        int decompressedLength;
+        try {
+            decompressedLength =
+                    DECOMPRESSOR.decompress(compressed, 0, compressedLength, uncompressed, 0, uncompressedLength);
+        } catch (LZ4Exception e) {
+            throw new IOException("Malformed compressed commands block of " + compressedLength + " bytes", e);
+        }
+        if (decompressedLength != uncompressedLength) {
+            throw new IOException("Compressed commands block decompressed to " + decompressedLength
+                    + " bytes, but " + uncompressedLength + " bytes were expected");
+        }
+
+        CommandReader commandReader = commandReaderFactory.get(version);
+        ReadableChannel block = new InputStreamReadableChannel(new ByteArrayInputStream(uncompressed));
+        List<LogEntryCommand> commands = new ArrayList<>(commandCount);
+        for (int i = 0; i < commandCount; i++) {
+            StorageCommand command = commandReader.read(block);
+            if (command == null) {
+                throw new IOException(
+                        "Compressed commands block ended after " + i + " of " + commandCount + " commands");
+            }
+            commands.add(new LogEntryCommand(command));
+        }
+        return new LogEntryCompressedCommands(commands);
+    }
+
+    /**
+     * Reads the compressed bytes without trusting the length up front. The buffer is grown as the bytes are read, so a
+     * corrupt length runs into the end of the channel before it can make us allocate more than the channel holds. The
+     * uncompressed length is in turn bounded by the compressed one, through the maximum compression ratio.
+     */
+    private static byte[] readCompressed(ReadableChannel channel, int compressedLength) throws IOException {
+        byte[] compressed = new byte[Math.min(compressedLength, READ_CHUNK_SIZE)];
+        byte[] chunk = new byte[compressed.length];
+        int read = 0;
+        while (read < compressedLength) {
+            int length = Math.min(compressedLength - read, chunk.length);
+            channel.get(chunk, length);
+            if (read + length > compressed.length) {
+                int grownLength = (int) Math.min(compressedLength, Math.max(read + length, 2L * compressed.length));
+                compressed = Arrays.copyOf(compressed, grownLength);
+            }
+            System.arraycopy(chunk, 0, compressed, read, length);
+            read += length;
+        }
+        return compressed;
+    }
+}
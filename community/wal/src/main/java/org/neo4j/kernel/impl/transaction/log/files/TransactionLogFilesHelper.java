@@ -35,11 +35,13 @@ import org.neo4j.io.fs.FileSystemAbstraction;
 public class TransactionLogFilesHelper {
     public static final String DEFAULT_NAME = "neostore.transaction.db";
     public static final String CHECKPOINT_FILE_PREFIX = "checkpoint";
-    public static final DirectoryStream.Filter<Path> DEFAULT_FILENAME_FILTER =
-            new LogicalLogFilenameFilter(quote(DEFAULT_NAME), quote(CHECKPOINT_FILE_PREFIX));
+    // Deliberately not followed by the version suffix, so that position index files never match the log file filter
+    private static final String POSITION_INDEX_SUFFIX = "-index";
+    // Matches everything that belongs in the transaction logs directory, including the position index files
+    public static final DirectoryStream.Filter<Path> DEFAULT_FILENAME_FILTER = new LogicalLogFilenameFilter(
+            quote(DEFAULT_NAME), quote(DEFAULT_NAME + POSITION_INDEX_SUFFIX), quote(CHECKPOINT_FILE_PREFIX));
     public static final Predicate<String> DEFAULT_FILENAME_PREDICATE =
             file -> file.startsWith(DEFAULT_NAME) || file.startsWith(CHECKPOINT_FILE_PREFIX);
-
     private static final String VERSION_SUFFIX = ".";
     private static final String REGEX_VERSION_SUFFIX = "\\.";
     private static final Path[] EMPTY_FILES_ARRAY = {};
@@ -64,6 +66,13 @@ public class TransactionLogFilesHelper {
         return Path.of(logBaseName.toAbsolutePath() + VERSION_SUFFIX + version);
     }
 
+    /**
+     * @return the file of the sparse transaction position index of the log file with the given version.
+     */
+    public Path getPositionIndexFileForVersion(long version) {
+        return Path.of(logBaseName.toAbsolutePath() + POSITION_INDEX_SUFFIX + VERSION_SUFFIX + version);
+    }
+
     public static long getLogVersion(Path historyLogFile) {
         String historyLogFilename = historyLogFile.getFileName().toString();
         int index = historyLogFilename.lastIndexOf(VERSION_SUFFIX);